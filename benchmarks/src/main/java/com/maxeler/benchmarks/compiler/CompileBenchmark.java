@@ -0,0 +1,75 @@
+package com.maxeler.benchmarks.compiler;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.internal.compiler.ClassFile;
+import org.eclipse.jdt.internal.compiler.CompilationResult;
+import org.eclipse.jdt.internal.compiler.ICompilerRequestor;
+import org.eclipse.jdt.internal.compiler.batch.FileSystem;
+import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Full compilation of a set of kernels, from sources to class file bytes, with a fresh compiler
+ * for each compilation as the batch compiler does. The boot class path stays open across compilations.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 10, time = 2)
+@Fork(2)
+public class CompileBenchmark {
+
+	@Param
+	public MaxjCorpus.Shape shape;
+
+	@Param("8")
+	public int kernels;
+
+	@Param("100")
+	public int methods;
+
+	@Param("16")
+	public int depth;
+
+	private ICompilationUnit[] units;
+	private FileSystem environment;
+	int bytes;
+
+	@Setup
+	public void setUp() {
+		this.units = MaxjCorpus.units(this.shape, this.kernels, this.methods, this.depth);
+		this.environment = Compilers.bootClasspath();
+	}
+
+	@TearDown
+	public void tearDown() {
+		this.environment.cleanup();
+	}
+
+	@Benchmark
+	public int compile() {
+		this.bytes = 0;
+		Compilers.compiler(this.environment, new ICompilerRequestor() {
+			public void acceptResult(CompilationResult result) {
+				Compilers.checkNoErrors(result);
+				ClassFile[] classFiles = result.getClassFiles();
+				for (int i = 0; i < classFiles.length; i++)
+					CompileBenchmark.this.bytes += classFiles[i].getBytes().length;
+			}
+		}).compile(this.units.clone()); // the compiler drops the units it parsed
+		return this.bytes;
+	}
+}
@@ -0,0 +1,112 @@
+package com.maxeler.benchmarks.compiler;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.jdt.internal.compiler.CompilationResult;
+import org.eclipse.jdt.internal.compiler.Compiler;
+import org.eclipse.jdt.internal.compiler.DefaultErrorHandlingPolicies;
+import org.eclipse.jdt.internal.compiler.ICompilerRequestor;
+import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
+import org.eclipse.jdt.internal.compiler.batch.FileSystem;
+import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
+import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.problem.DefaultProblemFactory;
+import org.eclipse.jdt.internal.compiler.problem.ProblemReporter;
+
+/**
+ * Compiler set up shared by the benchmarks: Java 6 options, the boot class path of the running VM
+ * (a Java 8 VM, whose rt.jar the compiler can read), and a requestor which fails on errors,
+ * so that a broken corpus is not silently measured.
+ */
+final class Compilers {
+
+	private Compilers() {
+		// not instantiable
+	}
+
+	static CompilerOptions options() {
+		Map<String, String> settings = new HashMap<String, String>();
+		settings.put(CompilerOptions.OPTION_Compliance, CompilerOptions.VERSION_1_6);
+		settings.put(CompilerOptions.OPTION_Source, CompilerOptions.VERSION_1_6);
+		settings.put(CompilerOptions.OPTION_TargetPlatform, CompilerOptions.VERSION_1_6);
+		return new CompilerOptions(settings);
+	}
+
+	static ProblemReporter problemReporter(CompilerOptions options) {
+		return new ProblemReporter(DefaultErrorHandlingPolicies.proceedWithAllProblems(), options, new DefaultProblemFactory());
+	}
+
+	static FileSystem bootClasspath() {
+		String bootClasspath = System.getProperty("sun.boot.class.path");
+		if (bootClasspath == null)
+			throw new IllegalStateException("The benchmarks must run on a Java 8 VM");
+		List<String> entries = new ArrayList<String>();
+		for (String entry : bootClasspath.split(File.pathSeparator)) {
+			if (new File(entry).exists())
+				entries.add(entry);
+		}
+		return new FileSystem(entries.toArray(new String[entries.size()]), null, null);
+	}
+
+	/**
+	 * Answer a compiler whose results go to the given requestor.
+	 */
+	static Compiler compiler(FileSystem environment, ICompilerRequestor requestor) {
+		return new Compiler(environment, DefaultErrorHandlingPolicies.proceedWithAllProblems(), options(), requestor, new DefaultProblemFactory());
+	}
+
+	static void checkNoErrors(CompilationResult result) {
+		if (result.hasErrors())
+			throw new IllegalStateException("Corpus does not compile: " + result.getErrors()[0]);
+	}
+
+	/**
+	 * A compiler which stops before code generation, so that generation alone can be measured.
+	 */
+	static class ResolvingCompiler extends Compiler {
+		ResolvingCompiler(FileSystem environment) {
+			super(environment, DefaultErrorHandlingPolicies.proceedWithAllProblems(), options(),
+				new ICompilerRequestor() {
+					public void acceptResult(CompilationResult result) {
+						checkNoErrors(result);
+					}
+				},
+				new DefaultProblemFactory());
+		}
+
+		/**
+		 * Parse, resolve and analyse the given units, answer their declarations ready for code generation.
+		 */
+		CompilationUnitDeclaration[] resolve(ICompilationUnit[] units) {
+			return resolve(units, true);
+		}
+
+		/**
+		 * Parse and resolve the given units, then analyse them if asked, answer their declarations.
+		 */
+		CompilationUnitDeclaration[] resolve(ICompilationUnit[] units, boolean analyse) {
+			beginToCompile(units.clone()); // the compiler drops the units it parsed
+			CompilationUnitDeclaration[] declarations = new CompilationUnitDeclaration[this.totalUnits];
+			for (int i = 0; i < this.totalUnits; i++) {
+				CompilationUnitDeclaration unit = this.unitsToProcess[i];
+				this.lookupEnvironment.unitBeingCompleted = unit;
+				this.parser.getMethodBodies(unit);
+				if (unit.scope != null) {
+					unit.scope.faultInTypes();
+					unit.scope.verifyMethods(this.lookupEnvironment.methodVerifier());
+				}
+				unit.resolve();
+				if (analyse)
+					unit.analyseCode();
+				checkNoErrors(unit.compilationResult);
+				declarations[i] = unit;
+			}
+			this.lookupEnvironment.unitBeingCompleted = null;
+			return declarations;
+		}
+	}
+}
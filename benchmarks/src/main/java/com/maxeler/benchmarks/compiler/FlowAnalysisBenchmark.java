@@ -0,0 +1,86 @@
+package com.maxeler.benchmarks.compiler;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
+import org.eclipse.jdt.internal.compiler.batch.FileSystem;
+import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Flow analysis alone, on kernels whose methods declare hundreds of locals (beyond the 64 kept in the
+ * bits of a flow info) assigned in nested <code>IF/ELSE</code> and <code>SWITCH/CASE</code> statements:
+ * the kernels are parsed and resolved before each invocation, then the benchmark analyses their code.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 20)
+@Measurement(iterations = 40)
+@Fork(2)
+public class FlowAnalysisBenchmark {
+
+	@Param({ "60", "500", "1000" })
+	public int locals;
+
+	@Param("4")
+	public int kernels;
+
+	@Param("20")
+	public int methods;
+
+	@Param("24")
+	public int depth;
+
+	private ICompilationUnit[] units;
+	private FileSystem environment;
+	private Compilers.ResolvingCompiler compiler;
+	private CompilationUnitDeclaration[] declarations;
+
+	@Setup(Level.Trial)
+	public void setUpTrial() {
+		this.units = MaxjCorpus.localsUnits(this.kernels, this.methods, this.locals, this.depth);
+		this.environment = Compilers.bootClasspath();
+	}
+
+	@Setup(Level.Invocation)
+	public void resolve() {
+		this.compiler = new Compilers.ResolvingCompiler(this.environment);
+		this.declarations = this.compiler.resolve(this.units, false);
+	}
+
+	@TearDown(Level.Invocation)
+	public void reset() {
+		this.compiler.reset();
+		this.declarations = null;
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDownTrial() {
+		this.environment.cleanup();
+	}
+
+	@Benchmark
+	public int analyse() {
+		int problems = 0;
+		for (int i = 0; i < this.declarations.length; i++) {
+			CompilationUnitDeclaration unit = this.declarations[i];
+			unit.analyseCode();
+			problems += unit.compilationResult.problemCount;
+			Compilers.checkNoErrors(unit.compilationResult);
+		}
+		return problems;
+	}
+}
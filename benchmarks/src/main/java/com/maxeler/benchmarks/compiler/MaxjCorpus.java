@@ -0,0 +1,316 @@
+package com.maxeler.benchmarks.compiler;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.jdt.internal.compiler.batch.CompilationUnit;
+import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
+
+/**
+ * Synthetic MaxJ sources, shaped after large kernels: every kernel is a .maxj unit whose methods
+ * all use one construct (or all of them), repeated <code>depth</code> times per method.
+ * The kernels compile against two support units, <code>bench.Kernel</code> (DSL statements)
+ * and <code>bench.Var</code> (overloaded operators).
+ */
+public final class MaxjCorpus {
+
+	public enum Shape {
+		/** deep <code>a + b * c - d ...</code> chains */
+		ARITHMETIC,
+		/** <code>a &lt;== b + c</code> connects */
+		CONNECT,
+		/** <code>IF/ELSE</code> statements */
+		IF_ELSE,
+		/** <code>SWITCH/CASE/OTHERWISE</code> statements */
+		SWITCH_CASE,
+		/** composite <code>a[i][j]</code> accesses */
+		ARRAY_ACCESS,
+		/** all of the above */
+		MIXED
+	}
+
+	static final String PACKAGE = "bench";
+	private static final int VARS = 8;
+	private static final String[] OPERATORS = { "+", "*", "-", "+", "/", "*" };
+
+	static final String KERNEL =
+		"package bench;\n" +
+		"public class Kernel {\n" +
+		"	protected int statements;\n" +
+		"	public void _IF(Var c) { statements++; }\n" +
+		"	public void _ELSE() { statements++; }\n" +
+		"	public void _END_IF() { statements++; }\n" +
+		"	public void _SWITCH(Var c) { statements++; }\n" +
+		"	public void _CASE(int c) { statements++; }\n" +
+		"	public void _OTHERWISE() { statements++; }\n" +
+		"	public void _END_SWITCH() { statements++; }\n" +
+		"}\n";
+
+	static final String VAR =
+		"package bench;\n" +
+		"public class Var {\n" +
+		"	final int id;\n" +
+		"	public Var(int id) { this.id = id; }\n" +
+		"	public Var add(Var o) { return new Var(id + o.id); }\n" +
+		"	public Var add(int o) { return new Var(id + o); }\n" +
+		"	public Var addAsRHS(int o) { return new Var(o + id); }\n" +
+		"	public Var sub(Var o) { return new Var(id - o.id); }\n" +
+		"	public Var sub(int o) { return new Var(id - o); }\n" +
+		"	public Var mul(Var o) { return new Var(id * o.id); }\n" +
+		"	public Var mul(int o) { return new Var(id * o); }\n" +
+		"	public Var mulAsRHS(int o) { return new Var(o * id); }\n" +
+		"	public Var div(Var o) { return new Var(id / o.id); }\n" +
+		"	public Var neg() { return new Var(-id); }\n" +
+		"	public Var gt(Var o) { return new Var(id > o.id ? 1 : 0); }\n" +
+		"	public Var lt(Var o) { return new Var(id < o.id ? 1 : 0); }\n" +
+		"	public Var eq(Var o) { return new Var(id == o.id ? 1 : 0); }\n" +
+		"	public Var neq(Var o) { return new Var(id != o.id ? 1 : 0); }\n" +
+		"	public Var ternaryIf(Var a, Var b) { return id != 0 ? a : b; }\n" +
+		"	public void connect(Var o) { /* hardware wire */ }\n" +
+		"	public Var get(int i) { return new Var(id + i); }\n" +
+		"	public Var get(int i, int j) { return new Var(id + i * j); }\n" +
+		"}\n";
+
+	private MaxjCorpus() {
+		// not instantiable
+	}
+
+	/**
+	 * Answer the support units and the given number of kernels of the given shape.
+	 */
+	public static ICompilationUnit[] units(Shape shape, int kernels, int methods, int depth) {
+		List<ICompilationUnit> units = new ArrayList<ICompilationUnit>();
+		units.add(new CompilationUnit(KERNEL.toCharArray(), PACKAGE + "/Kernel.java", null));
+		units.add(new CompilationUnit(VAR.toCharArray(), PACKAGE + "/Var.java", null));
+		for (int i = 0; i < kernels; i++)
+			units.add(kernel(shape, i, methods, depth));
+		return units.toArray(new ICompilationUnit[units.size()]);
+	}
+
+	/**
+	 * Answer the support units and the given number of kernels whose methods declare the given number of
+	 * locals, assigned in <code>IF/ELSE</code> and <code>SWITCH/CASE</code> statements nested <code>depth</code> deep.
+	 */
+	public static ICompilationUnit[] localsUnits(int kernels, int methods, int locals, int depth) {
+		List<ICompilationUnit> units = new ArrayList<ICompilationUnit>();
+		units.add(new CompilationUnit(KERNEL.toCharArray(), PACKAGE + "/Kernel.java", null));
+		units.add(new CompilationUnit(VAR.toCharArray(), PACKAGE + "/Var.java", null));
+		for (int i = 0; i < kernels; i++)
+			units.add(localsKernel(i, methods, locals, depth));
+		return units.toArray(new ICompilationUnit[units.size()]);
+	}
+
+	/**
+	 * Answer a kernel unit made of the given number of methods declaring the given number of locals.
+	 * Each nesting level assigns locals spread over all of them, in both branches of an <code>IF/ELSE</code>,
+	 * in the cases of a <code>SWITCH</code>, and in a Java <code>if</code>; the next level nests in the last branch.
+	 */
+	public static CompilationUnit localsKernel(int index, int methods, int locals, int depth) {
+		String name = "LocalsKernel" + index;
+		StringBuilder source = new StringBuilder(methods * (locals + depth * 8) * 24);
+		source.append("package ").append(PACKAGE).append(";\n");
+		source.append("public class ").append(name).append(" extends Kernel {\n");
+		for (int m = 0; m < methods; m++) {
+			source.append("\tpublic Var m").append(m).append('(');
+			for (int v = 0; v < VARS; v++)
+				source.append("Var v").append(v).append(", ");
+			source.append("int i) {\n");
+			for (int l = 0; l < locals; l++)
+				source.append("\t\tVar l").append(l).append(" = ").append(var(l)).append(";\n");
+			int next = m;
+			for (int d = 0; d < depth; d++) {
+				source.append("\t\tIF (").append(local(next++, locals)).append(" > ").append(local(next++, locals)).append(") {\n");
+				source.append("\t\t\t").append(local(next++, locals)).append(" = ").append(local(next++, locals)).append(" + ").append(local(next++, locals)).append(";\n");
+				source.append("\t\t} ELSE {\n");
+				source.append("\t\t\t").append(local(next++, locals)).append(" <== ").append(local(next++, locals)).append(";\n");
+				source.append("\t\t\tSWITCH (").append(local(next++, locals)).append(") {\n");
+				source.append("\t\t\t\tCASE (0) { ").append(local(next++, locals)).append(" = ").append(local(next++, locals)).append("; }\n");
+				source.append("\t\t\t\tCASE (1) { ").append(local(next++, locals)).append(" <== ").append(local(next++, locals)).append(" * 2; }\n");
+				source.append("\t\t\t\tOTHERWISE {\n");
+				source.append("\t\t\t\t\tif (i > ").append(d).append(") ").append(local(next++, locals)).append(" = ").append(local(next++, locals)).append(";\n");
+			}
+			for (int d = 0; d < depth; d++)
+				source.append("\t\t\t\t}\n\t\t\t}\n\t\t}\n");
+			source.append("\t\treturn l0 + l").append(locals - 1).append(";\n");
+			source.append("\t}\n");
+		}
+		source.append("}\n");
+		return new CompilationUnit(source.toString().toCharArray(), PACKAGE + '/' + name + ".maxj", null);
+	}
+
+	/**
+	 * Answer the name of the n-th local of a kernel method with the given number of locals,
+	 * successive locals being far apart so that they fall in different bit vectors of the flow infos.
+	 */
+	private static String local(int n, int locals) {
+		return "l" + (int) ((n * 97L) % locals);
+	}
+
+	/**
+	 * Answer the support units and the given number of kernels whose methods use the given number of
+	 * distinct constants of each kind, so that every kernel class has a very large constant pool.
+	 */
+	public static ICompilationUnit[] constantsUnits(int kernels, int methods, int constants) {
+		List<ICompilationUnit> units = new ArrayList<ICompilationUnit>();
+		units.add(new CompilationUnit(KERNEL.toCharArray(), PACKAGE + "/Kernel.java", null));
+		units.add(new CompilationUnit(VAR.toCharArray(), PACKAGE + "/Var.java", null));
+		for (int i = 0; i < kernels; i++)
+			units.add(constantsKernel(i, methods, constants));
+		return units.toArray(new ICompilationUnit[units.size()]);
+	}
+
+	/**
+	 * Answer a kernel unit made of the given number of methods, each adding the given number of distinct
+	 * <code>int</code>, <code>long</code>, <code>float</code>, <code>double</code> and <code>String</code>
+	 * constants, none of them shared with another method: 8 constant pool slots per constant.
+	 */
+	public static CompilationUnit constantsKernel(int index, int methods, int constants) {
+		String name = "ConstantsKernel" + index;
+		StringBuilder source = new StringBuilder(methods * constants * 128);
+		source.append("package ").append(PACKAGE).append(";\n");
+		source.append("public class ").append(name).append(" extends Kernel {\n");
+		for (int m = 0; m < methods; m++) {
+			source.append("\tpublic Var m").append(m).append("(Var v0, int i) {\n");
+			source.append("\t\tVar r = v0;\n\t\tlong l = i;\n\t\tdouble d = i;\n\t\tfloat f = i;\n\t\tString s = null;\n");
+			for (int k = 0; k < constants; k++) {
+				int c = m * constants + k;
+				source.append("\t\tr = r + ").append(100000 + c).append(";\n");
+				source.append("\t\tl += ").append(10000000000L + c).append("L;\n");
+				source.append("\t\tf += ").append(c).append(".25f;\n");
+				source.append("\t\td += ").append(c).append(".5;\n");
+				source.append("\t\ts = \"c").append(c).append("\";\n");
+			}
+			source.append("\t\treturn r + (int) (l + d + f) + s.length();\n");
+			source.append("\t}\n");
+		}
+		source.append("}\n");
+		return new CompilationUnit(source.toString().toCharArray(), PACKAGE + '/' + name + ".maxj", null);
+	}
+
+	/**
+	 * Answer the support units and the given number of kernels whose methods have the given number of
+	 * branch targets, hence of stack map frames.
+	 */
+	public static ICompilationUnit[] branchesUnits(int kernels, int methods, int targets) {
+		List<ICompilationUnit> units = new ArrayList<ICompilationUnit>();
+		units.add(new CompilationUnit(KERNEL.toCharArray(), PACKAGE + "/Kernel.java", null));
+		units.add(new CompilationUnit(VAR.toCharArray(), PACKAGE + "/Var.java", null));
+		for (int i = 0; i < kernels; i++)
+			units.add(branchesKernel(i, methods, targets));
+		return units.toArray(new ICompilationUnit[units.size()]);
+	}
+
+	/**
+	 * Answer a kernel unit made of the given number of methods, each a flat <code>switch</code> with one case
+	 * per branch target, as lowered from large decoders. Every fourth case declares a block local, so that
+	 * the methods also record thousands of locals, all live at disjoint ranges of the same slot.
+	 * Cases return rather than break to keep 5,000 targets within the 64 KB limit of a method.
+	 */
+	public static CompilationUnit branchesKernel(int index, int methods, int targets) {
+		String name = "BranchesKernel" + index;
+		StringBuilder source = new StringBuilder(methods * targets * 40);
+		source.append("package ").append(PACKAGE).append(";\n");
+		source.append("public class ").append(name).append(" extends Kernel {\n");
+		for (int m = 0; m < methods; m++) {
+			source.append("\tpublic Var m").append(m).append('(');
+			for (int v = 0; v < VARS; v++)
+				source.append("Var v").append(v).append(", ");
+			source.append("int i) {\n");
+			source.append("\t\tswitch (i) {\n");
+			for (int t = 0; t < targets; t++) {
+				source.append("\t\t\tcase ").append(t).append(": ");
+				if (t % 4 == 0)
+					source.append("{ Var t").append(t).append(" = ").append(var(t + m)).append("; return t").append(t).append("; }\n");
+				else
+					source.append("return ").append(var(t + m)).append(";\n");
+			}
+			source.append("\t\t}\n");
+			source.append("\t\treturn v0;\n");
+			source.append("\t}\n");
+		}
+		source.append("}\n");
+		return new CompilationUnit(source.toString().toCharArray(), PACKAGE + '/' + name + ".maxj", null);
+	}
+
+	/**
+	 * Answer a kernel unit made of the given number of methods of the given shape.
+	 */
+	public static CompilationUnit kernel(Shape shape, int index, int methods, int depth) {
+		String name = "Kernel" + shape.ordinal() + "_" + index;
+		StringBuilder source = new StringBuilder(methods * depth * 48);
+		source.append("package ").append(PACKAGE).append(";\n");
+		source.append("public class ").append(name).append(" extends Kernel {\n");
+		for (int m = 0; m < methods; m++) {
+			source.append("\tpublic Var m").append(m).append('(');
+			for (int v = 0; v < VARS; v++)
+				source.append("Var v").append(v).append(", ");
+			source.append("int i, int j) {\n");
+			source.append("\t\tVar r = v0;\n");
+			Shape methodShape = shape == Shape.MIXED ? Shape.values()[m % Shape.MIXED.ordinal()] : shape;
+			switch (methodShape) {
+				case ARITHMETIC :
+					appendArithmetic(source, depth);
+					break;
+				case CONNECT :
+					appendConnects(source, depth);
+					break;
+				case IF_ELSE :
+					appendIfElse(source, depth);
+					break;
+				case SWITCH_CASE :
+					appendSwitchCase(source, depth);
+					break;
+				case ARRAY_ACCESS :
+					appendArrayAccesses(source, depth);
+					break;
+				default :
+					throw new IllegalArgumentException(methodShape.toString());
+			}
+			source.append("\t\treturn r;\n");
+			source.append("\t}\n");
+		}
+		source.append("}\n");
+		return new CompilationUnit(source.toString().toCharArray(), PACKAGE + '/' + name + ".maxj", null);
+	}
+
+	private static String var(int i) {
+		return "v" + (i % VARS);
+	}
+
+	private static void appendArithmetic(StringBuilder source, int depth) {
+		source.append("\t\tr = ").append(var(0));
+		for (int d = 1; d <= depth; d++)
+			source.append(' ').append(OPERATORS[d % OPERATORS.length]).append(' ').append(var(d));
+		source.append(";\n");
+	}
+
+	private static void appendConnects(StringBuilder source, int depth) {
+		for (int d = 0; d < depth; d++)
+			source.append("\t\t").append(var(d)).append(" <== ").append(var(d + 1)).append(" + ").append(var(d + 2)).append(";\n");
+	}
+
+	private static void appendIfElse(StringBuilder source, int depth) {
+		for (int d = 0; d < depth; d++) {
+			source.append("\t\tIF (").append(var(d)).append(" > ").append(var(d + 1)).append(") {\n");
+			source.append("\t\t\tr <== ").append(var(d + 2)).append(";\n");
+			source.append("\t\t} ELSE {\n");
+			source.append("\t\t\tr <== ").append(var(d + 3)).append(" * 2;\n");
+			source.append("\t\t}\n");
+		}
+	}
+
+	private static void appendSwitchCase(StringBuilder source, int depth) {
+		source.append("\t\tSWITCH (").append(var(1)).append(") {\n");
+		for (int d = 0; d < depth; d++)
+			source.append("\t\t\tCASE (").append(d).append(") { r <== ").append(var(d)).append(" + ").append(d).append("; }\n");
+		source.append("\t\t\tOTHERWISE { r <== -").append(var(depth)).append("; }\n");
+		source.append("\t\t}\n");
+	}
+
+	private static void appendArrayAccesses(StringBuilder source, int depth) {
+		source.append("\t\tr = ").append(var(0)).append("[i][j]");
+		for (int d = 1; d <= depth; d++)
+			source.append(" + ").append(var(d)).append(d % 2 == 0 ? "[i + " + d + "][j]" : "[j - " + d + "]");
+		source.append(";\n");
+	}
+}
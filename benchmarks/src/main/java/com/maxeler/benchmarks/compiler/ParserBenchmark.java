@@ -0,0 +1,70 @@
+package com.maxeler.benchmarks.compiler;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.internal.compiler.CompilationResult;
+import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
+import org.eclipse.jdt.internal.compiler.batch.CompilationUnit;
+import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.parser.Parser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Parsing of a large kernel: the diet parse the compiler starts with (declarations only),
+ * then the parse of all method bodies, as done for each unit being processed.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class ParserBenchmark {
+
+	@Param
+	public MaxjCorpus.Shape shape;
+
+	@Param("200")
+	public int methods;
+
+	@Param("16")
+	public int depth;
+
+	private CompilationUnit unit;
+	private Parser parser;
+
+	@Setup
+	public void setUp() {
+		CompilerOptions options = Compilers.options();
+		this.unit = MaxjCorpus.kernel(this.shape, 0, this.methods, this.depth);
+		this.parser = new Parser(Compilers.problemReporter(options), false);
+		// fail early on a broken corpus
+		CompilationResult result = new CompilationResult(this.unit, 0, 1, options.maxProblemsPerUnit);
+		this.parser.parse(this.unit, result);
+		Compilers.checkNoErrors(result);
+	}
+
+	@Benchmark
+	public CompilationUnitDeclaration dietParse() {
+		CompilationResult result = new CompilationResult(this.unit, 0, 1, 100);
+		return this.parser.dietParse(this.unit, result);
+	}
+
+	@Benchmark
+	public CompilationUnitDeclaration dietParseAndMethodBodies() {
+		CompilationResult result = new CompilationResult(this.unit, 0, 1, 100);
+		CompilationUnitDeclaration declaration = this.parser.dietParse(this.unit, result);
+		this.parser.getMethodBodies(declaration);
+		return declaration;
+	}
+}
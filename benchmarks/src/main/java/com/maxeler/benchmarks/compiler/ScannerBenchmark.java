@@ -0,0 +1,61 @@
+package com.maxeler.benchmarks.compiler;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.core.compiler.InvalidInputException;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
+import org.eclipse.jdt.internal.compiler.parser.Scanner;
+import org.eclipse.jdt.internal.compiler.parser.TerminalTokens;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Scanning of a large kernel, token by token, as the parser does it.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 10, time = 1)
+@Fork(2)
+public class ScannerBenchmark {
+
+	@Param
+	public MaxjCorpus.Shape shape;
+
+	@Param("200")
+	public int methods;
+
+	@Param("16")
+	public int depth;
+
+	private char[] source;
+	private Scanner scanner;
+
+	@Setup
+	public void setUp() {
+		this.source = MaxjCorpus.kernel(this.shape, 0, this.methods, this.depth).getContents();
+		this.scanner = new Scanner(false, false, false, ClassFileConstants.JDK1_6, null, null, false);
+		this.scanner.useDSLConstructs = true;
+	}
+
+	@Benchmark
+	public int scan() throws InvalidInputException {
+		Scanner s = this.scanner;
+		s.setSource(this.source);
+		s.resetTo(0, this.source.length - 1);
+		int tokens = 0;
+		while (s.getNextToken() != TerminalTokens.TokenNameEOF)
+			tokens++;
+		return tokens;
+	}
+}
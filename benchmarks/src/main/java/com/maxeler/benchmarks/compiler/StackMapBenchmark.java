@@ -0,0 +1,85 @@
+package com.maxeler.benchmarks.compiler;
+
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.jdt.internal.compiler.ClassFile;
+import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
+import org.eclipse.jdt.internal.compiler.batch.FileSystem;
+import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Code generation of methods with thousands of branch targets, dominated by their stack map frames:
+ * with 5,000 targets, each method is close to the 64 KB limit and has as many frames and 1,250 block locals.
+ * The kernels are resolved and analysed before each invocation, as in {@link ClassFileBenchmark}.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 20)
+@Measurement(iterations = 40)
+@Fork(2)
+public class StackMapBenchmark {
+
+	@Param({"500", "5000"})
+	public int targets;
+
+	@Param("4")
+	public int kernels;
+
+	@Param("4")
+	public int methods;
+
+	private ICompilationUnit[] units;
+	private FileSystem environment;
+	private Compilers.ResolvingCompiler compiler;
+	private CompilationUnitDeclaration[] declarations;
+
+	@Setup(Level.Trial)
+	public void setUpTrial() {
+		this.units = MaxjCorpus.branchesUnits(this.kernels, this.methods, this.targets);
+		this.environment = Compilers.bootClasspath();
+	}
+
+	@Setup(Level.Invocation)
+	public void resolve() {
+		this.compiler = new Compilers.ResolvingCompiler(this.environment);
+		this.declarations = this.compiler.resolve(this.units);
+	}
+
+	@TearDown(Level.Invocation)
+	public void reset() {
+		this.compiler.reset();
+		this.declarations = null;
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDownTrial() {
+		this.environment.cleanup();
+	}
+
+	@Benchmark
+	public int generate() {
+		int bytes = 0;
+		for (int i = 0; i < this.declarations.length; i++) {
+			CompilationUnitDeclaration unit = this.declarations[i];
+			unit.generateCode();
+			ClassFile[] classFiles = unit.compilationResult.getClassFiles();
+			for (int j = 0; j < classFiles.length; j++)
+				bytes += classFiles[j].getBytes().length;
+		}
+		return bytes;
+	}
+}
@@ -14,6 +14,7 @@ import java.io.File;
 import java.io.IOException;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Enumeration;
 import java.util.Hashtable;
 import java.util.Set;
@@ -21,6 +22,8 @@ import java.util.zip.ZipEntry;
 import java.util.zip.ZipException;
 import java.util.zip.ZipFile;
 
+import org.eclipse.jdt.internal.compiler.util.JarIndex;
+
 /**
  * Used as a zip file cache.
  */
@@ -44,6 +47,19 @@ public class Archive {
 	private void initialize() {
 		// initialize packages
 		this.packagesCache = new Hashtable<String, ArrayList<String>>();
+		JarIndex index = JarIndex.get(this.file);
+		if (index != null) {
+			// shared with the other compilers of the machine, package names are expected to end with '/'
+			String[] packageNames = index.getPackageNames();
+			for (int i = 0; i < packageNames.length; i++) {
+				String[] entryNames = index.getEntryNames(packageNames[i]);
+				if (entryNames.length == 0)
+					continue;
+				ArrayList<String> types = new ArrayList<String>(Arrays.asList(entryNames));
+				this.packagesCache.put(packageNames[i].length() == 0 ? packageNames[i] : packageNames[i] + '/', types);
+			}
+			return;
+		}
 		nextEntry : for (Enumeration<? extends ZipEntry> e = this.zipFile.entries(); e.hasMoreElements(); ) {
 			String fileName = ((ZipEntry) e.nextElement()).getName();
 
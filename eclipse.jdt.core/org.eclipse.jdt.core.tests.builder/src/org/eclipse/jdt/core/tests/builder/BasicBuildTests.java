@@ -12,11 +12,20 @@
  *******************************************************************************/
 package org.eclipse.jdt.core.tests.builder;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.util.Arrays;
 import java.util.Hashtable;
 
 import junit.framework.*;
 
 import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IProject;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.preferences.IEclipsePreferences;
@@ -24,8 +33,12 @@ import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.compiler.CategorizedProblem;
+import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.core.tests.util.Util;
+import org.eclipse.jdt.internal.compiler.util.SimpleLookupTable;
 import org.eclipse.jdt.internal.core.JavaModelManager;
+import org.eclipse.jdt.internal.core.builder.JavaBuilder;
+import org.eclipse.jdt.internal.core.builder.State;
 
 /**
  * Basic tests of the image builder.
@@ -629,4 +642,93 @@ public class BasicBuildTests extends BuilderTests {
 				"Problem : The type java.lang.Object cannot be resolved. It is indirectly referenced from required .class files [ resource : </Project/src/X.java> range : <0,1> category : <10> severity : <2>]"
 			);
 	}
+
+	// the references section of a saved state survives being copied and being encoded again
+	public void testStateRoundTrip() throws Exception {
+		IPath projectPath = env.addProject("Project"); //$NON-NLS-1$
+		env.addExternalJars(projectPath, Util.getJavaClassLibs());
+
+		// remove old package fragment root so that names don't collide
+		env.removePackageFragmentRoot(projectPath, ""); //$NON-NLS-1$
+
+		IPath root = env.addPackageFragmentRoot(projectPath, "src"); //$NON-NLS-1$
+		env.setOutputFolder(projectPath, "bin"); //$NON-NLS-1$
+
+		env.addClass(root, "p1", "A", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class A extends java.util.ArrayList {\n"+ //$NON-NLS-1$
+			"	public int size() { return super.size() + new A2().n; }\n"+ //$NON-NLS-1$
+			"}\n"+ //$NON-NLS-1$
+			"class A2 { int n; }\n" //$NON-NLS-1$
+		);
+		env.addClass(root, "p2", "B", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n"+ //$NON-NLS-1$
+			"import p1.A;\n"+ //$NON-NLS-1$
+			"public class B {\n"+ //$NON-NLS-1$
+			"	int f(A a) { return a.size() + java.lang.Math.abs(-1); }\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+		);
+
+		fullBuild(projectPath);
+		expectingNoProblems();
+
+		IProject project = env.getProject(projectPath);
+		State state = (State) JavaModelManager.getJavaModelManager().getLastBuiltState(project, null);
+		byte[] bytes = writeState(state);
+
+		// a state whose references were never decoded writes its section back as is
+		State copied = readState(project, bytes);
+		assertTrue("copied state differs", Arrays.equals(bytes, writeState(copied))); //$NON-NLS-1$
+		assertEquals(state.toString(), copied.toString());
+
+		// once decoded, the references are encoded again with their own name ids
+		assertSameReferences(state.getReferences(), copied.getReferences());
+		byte[] encoded = writeState(copied);
+		assertEquals("encoded state size", bytes.length, encoded.length); //$NON-NLS-1$
+		State reencoded = readState(project, encoded);
+		assertSameReferences(state.getReferences(), reencoded.getReferences());
+		assertTrue("defined type names differ", CharOperation.equals( //$NON-NLS-1$
+			state.getDefinedTypeNamesFor("src/p1/A.java"), //$NON-NLS-1$
+			reencoded.getDefinedTypeNamesFor("src/p1/A.java"))); //$NON-NLS-1$
+	}
+
+	private static byte[] writeState(State state) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream out = new DataOutputStream(bytes);
+		JavaBuilder.writeState(state, out);
+		out.close();
+		return bytes.toByteArray();
+	}
+
+	private static State readState(IProject project, byte[] bytes) throws IOException {
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+		try {
+			return JavaBuilder.readState(project, in);
+		} finally {
+			in.close();
+		}
+	}
+
+	// compares the names of each ReferenceCollection, whose fields are not visible outside of the builder
+	private static void assertSameReferences(SimpleLookupTable expected, SimpleLookupTable actual) throws IllegalAccessException {
+		assertEquals("reference count", expected.elementSize, actual.elementSize); //$NON-NLS-1$
+		Object[] keyTable = expected.keyTable;
+		for (int i = 0, l = keyTable.length; i < l; i++) {
+			if (keyTable[i] == null) continue;
+			Object expectedCollection = expected.valueTable[i];
+			Object actualCollection = actual.get(keyTable[i]);
+			assertNotNull("missing references for " + keyTable[i], actualCollection); //$NON-NLS-1$
+			assertEquals(expectedCollection.getClass(), actualCollection.getClass());
+			for (Class c = expectedCollection.getClass(); c != Object.class; c = c.getSuperclass()) {
+				Field[] fields = c.getDeclaredFields();
+				for (int j = 0, m = fields.length; j < m; j++) {
+					Field field = fields[j];
+					if (Modifier.isStatic(field.getModifiers())) continue;
+					field.setAccessible(true);
+					assertTrue(field.getName() + " differ for " + keyTable[i], //$NON-NLS-1$
+						Arrays.deepEquals((Object[]) field.get(expectedCollection), (Object[]) field.get(actualCollection)));
+				}
+			}
+		}
+	}
 }
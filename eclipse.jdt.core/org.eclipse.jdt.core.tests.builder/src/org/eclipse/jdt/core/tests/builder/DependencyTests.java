@@ -1193,6 +1193,97 @@ public class DependencyTests extends BuilderTests {
 		expectingNoProblems();
 	}
 
+	public void testMemberChange() throws JavaModelException {
+		IPath projectPath = env.addProject("Project"); //$NON-NLS-1$
+		env.addExternalJars(projectPath, Util.getJavaClassLibs());
+
+		// remove old package fragment root so that names don't collide
+		env.removePackageFragmentRoot(projectPath,""); //$NON-NLS-1$
+
+		IPath root = env.addPackageFragmentRoot(projectPath, "src"); //$NON-NLS-1$
+		env.setOutputFolder(projectPath, "bin"); //$NON-NLS-1$
+
+		env.addClass(root, "p1", "A", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class A {\n"+ //$NON-NLS-1$
+			"	public void foo() {}\n"+ //$NON-NLS-1$
+			"	public void bar() {}\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+		);
+
+		env.addClass(root, "p2", "B", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n"+ //$NON-NLS-1$
+			"public class B {\n"+ //$NON-NLS-1$
+			"	void m(p1.A a) { a.foo(); }\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+		);
+
+		IPath cPath = env.addClass(root, "p2", "C", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n"+ //$NON-NLS-1$
+			"public class C {\n"+ //$NON-NLS-1$
+			"	void m(p1.A a) { a.bar(); }\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+		);
+
+		fullBuild(projectPath);
+		expectingNoProblems();
+
+		env.addClass(root, "p1", "A", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class A {\n"+ //$NON-NLS-1$
+			"	public void foo() {}\n"+ //$NON-NLS-1$
+			"	public void bar(int i) {}\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+		);
+
+		incrementalBuild(projectPath);
+		expectingCompiledClasses(new String[] {"p1.A", "p2.C"}); //$NON-NLS-1$ //$NON-NLS-2$
+		expectingOnlyProblemsFor(cPath);
+		expectingSpecificProblemFor(cPath, new Problem("C", "The method bar(int) in the type A is not applicable for the arguments ()", cPath, 49, 52, CategorizedProblem.CAT_MEMBER, IMarker.SEVERITY_ERROR)); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	public void testCloseMethodChange() throws JavaModelException {
+		if ((AbstractCompilerTest.getPossibleComplianceLevels() & AbstractCompilerTest.F_1_7) == 0) return;
+
+		IPath projectPath = env.addProject("Project", "1.7"); //$NON-NLS-1$ //$NON-NLS-2$
+		env.addExternalJars(projectPath, Util.getJavaClassLibs());
+
+		// remove old package fragment root so that names don't collide
+		env.removePackageFragmentRoot(projectPath,""); //$NON-NLS-1$
+
+		IPath root = env.addPackageFragmentRoot(projectPath, "src"); //$NON-NLS-1$
+		env.setOutputFolder(projectPath, "bin"); //$NON-NLS-1$
+
+		env.addClass(root, "p1", "R", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class R implements AutoCloseable {\n"+ //$NON-NLS-1$
+			"	public void close() {}\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+		);
+
+		IPath uPath = env.addClass(root, "p2", "U", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n"+ //$NON-NLS-1$
+			"public class U {\n"+ //$NON-NLS-1$
+			"	void m() { try (p1.R r = new p1.R()) {} }\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+		);
+
+		fullBuild(projectPath);
+		expectingNoProblems();
+
+		// only the close() method changes, which U looks up implicitly
+		env.addClass(root, "p1", "R", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n"+ //$NON-NLS-1$
+			"public class R implements AutoCloseable {\n"+ //$NON-NLS-1$
+			"	public void close() throws Exception {}\n"+ //$NON-NLS-1$
+			"}\n" //$NON-NLS-1$
+		);
+
+		incrementalBuild(projectPath);
+		expectingCompiledClasses(new String[] {"p1.R", "p2.U"}); //$NON-NLS-1$ //$NON-NLS-2$
+		expectingOnlyProblemsFor(uPath);
+	}
+
 // https://bugs.eclipse.org/bugs/show_bug.cgi?id=159709
 // Full build and incremental build behave differently for deprecation
 // warnings, which is unexpected. Guard test for DeprecatedTest#test015 (the
@@ -10,10 +10,13 @@
  *******************************************************************************/
 package org.eclipse.jdt.core.tests.builder;
 
+import java.io.ByteArrayInputStream;
+import java.util.Arrays;
 import java.util.Hashtable;
 
 import junit.framework.Test;
 
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IFolder;
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IProject;
@@ -24,6 +27,7 @@ import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.compiler.CategorizedProblem;
 import org.eclipse.jdt.core.tests.util.Util;
+import org.eclipse.jdt.internal.core.builder.AbstractImageBuilder;
 
 public class IncrementalTests extends BuilderTests {
 
@@ -1202,4 +1206,125 @@ public class IncrementalTests extends BuilderTests {
 		incrementalBuild(projectPath);
 		expectingSpecificProblemFor(aPath, new Problem("A", "The import w.I cannot be resolved", aPath, 18, 21, CategorizedProblem.CAT_IMPORT, IMarker.SEVERITY_ERROR)); //$NON-NLS-1$ //$NON-NLS-2$
 	}
+
+	/*
+	 * Ensures that units compiled in groups sized from the available memory share the library types
+	 * read by the previous groups without losing the types compiled by them.
+	 */
+	public void testAdaptiveGroupSize() throws JavaModelException {
+		IPath projectPath = env.addProject("Project"); //$NON-NLS-1$
+		env.addExternalJars(projectPath, Util.getJavaClassLibs());
+		env.setOutputFolder(projectPath, "bin"); //$NON-NLS-1$
+
+		env.addClass(projectPath, "p", "A", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p;\n" +
+			"public class A extends java.util.ArrayList<String> {\n" +
+			"	B b;\n" +
+			"}"); //$NON-NLS-1$
+		env.addClass(projectPath, "p", "B", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p;\n" +
+			"public class B extends java.util.ArrayList<A> {\n" +
+			"	static class M {}\n" +
+			"}"); //$NON-NLS-1$
+		IPath cPath = env.addClass(projectPath, "p", "C", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p;\n" +
+			"public class C extends java.util.ArrayList<B.M> {\n" +
+			"	String s = new A().get(0) + size();\n" +
+			"}"); //$NON-NLS-1$
+
+		boolean previous = AbstractImageBuilder.ADAPTIVE_AT_ONCE;
+		int previousMin = AbstractImageBuilder.MIN_AT_ONCE;
+		long previousUnitMemory = AbstractImageBuilder.UnitMemory;
+		AbstractImageBuilder.ADAPTIVE_AT_ONCE = true;
+		AbstractImageBuilder.MIN_AT_ONCE = 1;
+		AbstractImageBuilder.UnitMemory = Long.MAX_VALUE / 4; // one unit per group
+		try {
+			fullBuild(projectPath);
+			expectingNoProblems();
+
+			env.addClass(projectPath, "p", "C", //$NON-NLS-1$ //$NON-NLS-2$
+				"package p;\n" +
+				"public class C extends java.util.ArrayList<B.M> {\n" +
+				"	int s = new A().get(0) + size();\n" +
+				"}"); //$NON-NLS-1$
+			env.addClass(projectPath, "p", "B", //$NON-NLS-1$ //$NON-NLS-2$
+				"package p;\n" +
+				"public class B extends java.util.ArrayList<A> {\n" +
+				"	static class M { int i; }\n" +
+				"}"); //$NON-NLS-1$
+
+			incrementalBuild(projectPath);
+			expectingOnlySpecificProblemFor(cPath, new Problem("C", "Type mismatch: cannot convert from String to int", cPath, 70, 93, CategorizedProblem.CAT_TYPE, IMarker.SEVERITY_ERROR)); //$NON-NLS-1$ //$NON-NLS-2$
+		} finally {
+			AbstractImageBuilder.ADAPTIVE_AT_ONCE = previous;
+			AbstractImageBuilder.MIN_AT_ONCE = previousMin;
+			AbstractImageBuilder.UnitMemory = previousUnitMemory;
+		}
+	}
+	/*
+	 * Ensures that a class file whose contents did not change is not rewritten when
+	 * only hashes of the output are compared, and that a changed one still is.
+	 */
+	public void testSkipUnchangedOutput() throws CoreException {
+		boolean previous = AbstractImageBuilder.SKIP_UNCHANGED_OUTPUT;
+		AbstractImageBuilder.SKIP_UNCHANGED_OUTPUT = true;
+		try {
+			IPath projectPath = env.addProject("Project"); //$NON-NLS-1$
+			env.addExternalJars(projectPath, Util.getJavaClassLibs());
+			env.setOutputFolder(projectPath, "bin"); //$NON-NLS-1$
+
+			env.addClass(projectPath, "p", "A", //$NON-NLS-1$ //$NON-NLS-2$
+				"package p;\n" +
+				"public class A {\n" +
+				"	public int foo() { return 1; }\n" +
+				"}"); //$NON-NLS-1$
+
+			fullBuild(projectPath);
+			expectingNoProblems();
+
+			IFile classFile = env.getWorkspace().getRoot().getFile(projectPath.append("bin/p/A.class")); //$NON-NLS-1$
+			long stamp = classFile.getModificationStamp();
+
+			env.addClass(projectPath, "p", "A", //$NON-NLS-1$ //$NON-NLS-2$
+				"package p;\n" +
+				"public class A { // unchanged\n" +
+				"	public int foo() { return 1; }\n" +
+				"}"); //$NON-NLS-1$
+
+			incrementalBuild(projectPath);
+			expectingNoProblems();
+			assertEquals("A.class should not have been rewritten", stamp, classFile.getModificationStamp()); //$NON-NLS-1$
+
+			// change A.class behind the builder's back but keep its stamp: only a builder
+			// which reads the class file back to compare it would notice and rewrite it
+			byte[] bytes = org.eclipse.jdt.internal.core.util.Util.getResourceContentsAsByteArray(classFile);
+			byte[] changedBytes = new byte[bytes.length + 1];
+			System.arraycopy(bytes, 0, changedBytes, 0, bytes.length);
+			classFile.setContents(new ByteArrayInputStream(changedBytes), true, false, null);
+			classFile.revertModificationStamp(stamp);
+
+			env.addClass(projectPath, "p", "A", //$NON-NLS-1$ //$NON-NLS-2$
+				"package p;\n" +
+				"public class A { // still unchanged\n" +
+				"	public int foo() { return 1; }\n" +
+				"}"); //$NON-NLS-1$
+
+			incrementalBuild(projectPath);
+			expectingNoProblems();
+			assertTrue("A.class should not have been read back", //$NON-NLS-1$
+				Arrays.equals(changedBytes, org.eclipse.jdt.internal.core.util.Util.getResourceContentsAsByteArray(classFile)));
+
+			env.addClass(projectPath, "p", "A", //$NON-NLS-1$ //$NON-NLS-2$
+				"package p;\n" +
+				"public class A { // unchanged\n" +
+				"	public int foo() { return 2; }\n" +
+				"}"); //$NON-NLS-1$
+
+			incrementalBuild(projectPath);
+			expectingNoProblems();
+			assertTrue("A.class should have been rewritten", stamp != classFile.getModificationStamp()); //$NON-NLS-1$
+		} finally {
+			AbstractImageBuilder.SKIP_UNCHANGED_OUTPUT = previous;
+		}
+	}
 }
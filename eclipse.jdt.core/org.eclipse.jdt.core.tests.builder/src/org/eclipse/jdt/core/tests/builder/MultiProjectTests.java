@@ -23,6 +23,7 @@ import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.compiler.CategorizedProblem;
 import org.eclipse.jdt.core.tests.util.Util;
+import org.eclipse.jdt.internal.core.builder.ProjectBuildCoordinator;
 
 
 public class MultiProjectTests extends BuilderTests {
@@ -58,6 +59,7 @@ public class MultiProjectTests extends BuilderTests {
 		suite.addTest(new MultiProjectTests("test102_missing_required_binaries"));
 		suite.addTest(new MultiProjectTests("test103_missing_required_binaries"));
 		suite.addTest(new MultiProjectTests("test438923"));
+		suite.addTest(new MultiProjectTests("testParallelProjectBuilds"));
 		return suite;
 	}
 
@@ -1668,4 +1670,71 @@ public void test438923() throws JavaModelException {
 	fullBuild();
 	expectingNoProblems();
 }
+
+// independent projects are compiled ahead on worker threads, dependents once their prerequisites are built
+public void testParallelProjectBuilds() throws JavaModelException {
+	int parallelBuilds = ProjectBuildCoordinator.PARALLEL_BUILDS;
+	ProjectBuildCoordinator.PARALLEL_BUILDS = 3;
+	ProjectBuildCoordinator.PrecompiledProjectsTaken = 0;
+	try {
+		IPath p1 = env.addProject("P1"); //$NON-NLS-1$
+		env.addExternalJars(p1, Util.getJavaClassLibs());
+		env.removePackageFragmentRoot(p1, ""); //$NON-NLS-1$
+		IPath root1 = env.addPackageFragmentRoot(p1, "src"); //$NON-NLS-1$
+		env.setOutputFolder(p1, "bin"); //$NON-NLS-1$
+		env.addClass(root1, "p1", "A", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p1;\n" +
+			"public class A {\n" +
+			"  public int foo() { return 1; }\n" +
+			"}\n"
+		);
+
+		IPath p2 = env.addProject("P2"); //$NON-NLS-1$
+		env.addExternalJars(p2, Util.getJavaClassLibs());
+		env.removePackageFragmentRoot(p2, ""); //$NON-NLS-1$
+		IPath root2 = env.addPackageFragmentRoot(p2, "src"); //$NON-NLS-1$
+		env.setOutputFolder(p2, "bin"); //$NON-NLS-1$
+		env.addRequiredProject(p2, p1);
+		env.addClass(root2, "p2", "B", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p2;\n" +
+			"public class B extends p1.A {\n" +
+			"  public int bar() { return foo(); }\n" +
+			"}\n"
+		);
+
+		IPath p3 = env.addProject("P3"); //$NON-NLS-1$
+		env.addExternalJars(p3, Util.getJavaClassLibs());
+		env.removePackageFragmentRoot(p3, ""); //$NON-NLS-1$
+		IPath root3 = env.addPackageFragmentRoot(p3, "src"); //$NON-NLS-1$
+		env.setOutputFolder(p3, "bin"); //$NON-NLS-1$
+		IPath c = env.addClass(root3, "p3", "C", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p3;\n" +
+			"public class C {\n" +
+			"  Missing m;\n" +
+			"}\n"
+		);
+
+		IPath p4 = env.addProject("P4"); //$NON-NLS-1$
+		env.addExternalJars(p4, Util.getJavaClassLibs());
+		env.removePackageFragmentRoot(p4, ""); //$NON-NLS-1$
+		IPath root4 = env.addPackageFragmentRoot(p4, "src"); //$NON-NLS-1$
+		IPath bin4 = env.setOutputFolder(p4, "bin"); //$NON-NLS-1$
+		env.addRequiredProject(p4, p2);
+		env.addRequiredProject(p4, p1);
+		env.addClass(root4, "p4", "D", //$NON-NLS-1$ //$NON-NLS-2$
+			"package p4;\n" +
+			"public class D extends p2.B {\n" +
+			"  public int baz() { return bar() + foo(); }\n" +
+			"}\n"
+		);
+
+		fullBuild();
+		expectingOnlyProblemsFor(c);
+		expectingPresenceOf(bin4.append("p4").append("D.class")); //$NON-NLS-1$ //$NON-NLS-2$
+		// P3 requires no project so it is compiled ahead while P1 is built, the others may be left to their own builders
+		assertTrue("no project was compiled ahead", ProjectBuildCoordinator.PrecompiledProjectsTaken > 0); //$NON-NLS-1$
+	} finally {
+		ProjectBuildCoordinator.PARALLEL_BUILDS = parallelBuilds;
+	}
+}
 }
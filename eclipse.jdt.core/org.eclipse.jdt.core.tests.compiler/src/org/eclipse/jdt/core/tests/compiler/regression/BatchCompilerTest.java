@@ -38,11 +38,21 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintWriter;
+import java.io.RandomAccessFile;
 import java.io.StringReader;
+import java.io.StringWriter;
+import java.net.ConnectException;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 
 import junit.framework.Test;
 
@@ -51,10 +61,17 @@ import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.core.compiler.CompilationProgress;
 import org.eclipse.jdt.core.compiler.batch.BatchCompiler;
 import org.eclipse.jdt.core.tests.util.Util;
+import org.eclipse.jdt.internal.compiler.ClassFilePool;
+import org.eclipse.jdt.internal.compiler.ReadManager;
+import org.eclipse.jdt.internal.compiler.batch.BinaryTypeCache;
 import org.eclipse.jdt.internal.compiler.batch.ClasspathJar;
 import org.eclipse.jdt.internal.compiler.batch.ClasspathLocation;
+import org.eclipse.jdt.internal.compiler.batch.CompilerServer;
+import org.eclipse.jdt.internal.compiler.batch.IncrementalBuilder;
 import org.eclipse.jdt.internal.compiler.batch.Main;
+import org.eclipse.jdt.internal.compiler.util.JarIndex;
 import org.eclipse.jdt.internal.compiler.util.ManifestAnalyzer;
+import org.eclipse.jdt.internal.compiler.util.SourceReader;
 
 public class BatchCompilerTest extends AbstractRegressionTest {
 	public static final String OUTPUT_DIR_PLACEHOLDER = "---OUTPUT_DIR_PLACEHOLDER---";
@@ -1565,6 +1582,8 @@ public void test012(){
         "                       created); this option can be overridden per source\n" +
         "                       directory\n" +
         "    -d none            generate no .class files\n" +
+        "    -d <file>.jar      write the .class files into the given jar, which only\n" +
+        "                       changes if some of them changed\n" +
         "    -encoding <enc>    specify default encoding for all source files. Each\n" + 
         "                       file/directory can override it when suffixed with\n" + 
         "                       ''[''<enc>'']'' (e.g. X.java[utf8]).\n" + 
@@ -1637,6 +1656,8 @@ public void test012(){
         "    @<file>            read command line arguments from file\n" +
         "    -maxProblems <n>   max number of problems per compilation unit (100 by\n" +
         "                       default)\n" +
+        "    -maxWarnings <n>   max number of warnings per compilation unit, the others\n" +
+        "                       are counted in a single warning (all by default)\n" +
         "    -log <file>        log to a file. If the file extension is ''.xml'', then\n" +
         "                       the log will be a xml file.\n" +
         "    -proceedOnError[:Fatal]\n" + 
@@ -1647,9 +1668,25 @@ public void test012(){
         "    -referenceInfo     compute reference info\n" +
         "    -progress          show progress (only in -log mode)\n" +
         "    -time              display speed information \n" +
+        "    -stats:<file>      export the time and memory spent per compilation unit\n" +
+        "                       and phase, and lookup counters, to <file> as CSV if its\n" +
+        "                       name ends with .csv, as JSON otherwise\n" +
         "    -noExit            do not call System.exit(n) at end of compilation (n==0\n" +
         "                       if no error)\n" +
         "    -repeat <n>        repeat compilation process <n> times for perf analysis\n" +
+        "    -parseThreads <n>  parse method bodies with <n> worker threads ahead of\n" +
+        "                       code generation (0 by default)\n" +
+        "    -processThreads <n>\n" +
+        "                       resolve, analyse and generate the units with <n>\n" +
+        "                       worker compilers, which each build the bindings of\n" +
+        "                       all the units (0 by default)\n" +
+        "    -fuseOperatorChains\n" +
+        "                       compile chains of an overloaded operator, a + b + c,\n" +
+        "                       to a single call a.add(b, c) when the type of a\n" +
+        "                       declares such an n-ary or varargs method\n" +
+        "    -operatorCallSites list the invocations overloaded operators and DSL\n" +
+        "                       statements compile to in an OperatorCallSites\n" +
+        "                       class file attribute\n" +
         "    -inlineJSR         inline JSR bytecode (implicit if target >= 1.5)\n" +
         "    -enableJavadoc     consider references in javadoc\n" +
         "    -parameters        generate method parameters attribute (for target >= 1.8)\n" +
@@ -14045,4 +14082,778 @@ public void testBug419351() {
 		new File(lib1Path).delete();
 	}
 }
+// method bodies parsed by worker threads report their problems as when parsed by the processing thread
+public void testParseThreads() {
+	this.runNegativeTest(
+		new String[] {
+			"p/X.java",
+			"package p;\n" +
+			"public class X {\n" +
+			"	int foo() {\n" +
+			"		return new Y().bar( ;\n" +
+			"	}\n" +
+			"}\n",
+			"p/Y.java",
+			"package p;\n" +
+			"public class Y {\n" +
+			"	int bar() {\n" +
+			"		return 0;\n" +
+			"	}\n" +
+			"}\n",
+		},
+		"\"" + OUTPUT_DIR +  File.separator + "p" + File.separator + "X.java\""
+		+ " \"" + OUTPUT_DIR +  File.separator + "p" + File.separator + "Y.java\""
+		+ " -1.5 -proc:none -parseThreads 2 -d none",
+		"",
+		"----------\n" +
+		"1. ERROR in ---OUTPUT_DIR_PLACEHOLDER---/p/X.java (at line 4)\n" +
+		"	return new Y().bar( ;\n" +
+		"	                  ^\n" +
+		"Syntax error, insert \")\" to complete Expression\n" +
+		"----------\n" +
+		"1 problem (1 error)\n",
+		true);
+}
+public void testParseThreads2() {
+	this.runNegativeTest(
+		new String[] {
+			"X.java",
+			"public class X {}\n",
+		},
+		"\"" + OUTPUT_DIR +  File.separator + "X.java\""
+		+ " -1.5 -parseThreads -1 -d none",
+		"",
+		"number of threads must be a non-negative integer: -1\n",
+		true);
+}
+// units processed by worker compilers report their problems in the order of the units
+public void testProcessThreads() {
+	this.runNegativeTest(
+		new String[] {
+			"p/X.java",
+			"package p;\n" +
+			"public class X {\n" +
+			"	int foo() {\n" +
+			"		return new Y().bar(\"\");\n" +
+			"	}\n" +
+			"}\n",
+			"p/Y.java",
+			"package p;\n" +
+			"public class Y {\n" +
+			"	int bar() {\n" +
+			"		return z;\n" +
+			"	}\n" +
+			"}\n",
+			"p/Z.java",
+			"package p;\n" +
+			"public class Z {\n" +
+			"	Y y = new X();\n" +
+			"}\n",
+		},
+		"\"" + OUTPUT_DIR +  File.separator + "p" + File.separator + "X.java\""
+		+ " \"" + OUTPUT_DIR +  File.separator + "p" + File.separator + "Y.java\""
+		+ " \"" + OUTPUT_DIR +  File.separator + "p" + File.separator + "Z.java\""
+		+ " -1.5 -proc:none -processThreads 2 -d none",
+		"",
+		"----------\n" +
+		"1. ERROR in ---OUTPUT_DIR_PLACEHOLDER---/p/X.java (at line 4)\n" +
+		"	return new Y().bar(\"\");\n" +
+		"	               ^^^\n" +
+		"The method bar() in the type Y is not applicable for the arguments (String)\n" +
+		"----------\n" +
+		"----------\n" +
+		"2. ERROR in ---OUTPUT_DIR_PLACEHOLDER---/p/Y.java (at line 4)\n" +
+		"	return z;\n" +
+		"	       ^\n" +
+		"z cannot be resolved to a variable\n" +
+		"----------\n" +
+		"----------\n" +
+		"3. ERROR in ---OUTPUT_DIR_PLACEHOLDER---/p/Z.java (at line 3)\n" +
+		"	Y y = new X();\n" +
+		"	      ^^^^^^^\n" +
+		"Type mismatch: cannot convert from X to Y\n" +
+		"----------\n" +
+		"3 problems (3 errors)\n",
+		true);
+}
+public void testProcessThreads2() {
+	this.runNegativeTest(
+		new String[] {
+			"X.java",
+			"public class X {}\n",
+		},
+		"\"" + OUTPUT_DIR +  File.separator + "X.java\""
+		+ " -1.5 -processThreads -1 -d none",
+		"",
+		"number of threads must be a non-negative integer: -1\n",
+		true);
+}
+// worker compilers write the class files of a serial compilation, also for the units found on the source path
+public void testProcessThreads3() throws IOException {
+	String root = OUTPUT_DIR + File.separator + "processThreads";
+	String sourcePath = root + File.separator + "sp";
+	String serial = root + File.separator + "serial";
+	String parallel = root + File.separator + "parallel";
+	new File(sourcePath + File.separator + "q").mkdirs();
+	try {
+		List sources = new ArrayList();
+		for (int i = 0; i < 20; i++) {
+			String source = root + File.separator + "X" + i + ".java";
+			Util.writeToFile(
+				"public class X" + i + " {\n" +
+				"	q.Z z = new q.Z();\n" +
+				"	X" + (i + 1) % 20 + " next;\n" +
+				"	private int count;\n" +
+				"	class M { int get() { return count + z.get(); } }\n" +
+				"	Runnable r = new Runnable() { public void run() { count++; } };\n" +
+				"	String s() { return \"X" + i + "\" + next.s(); }\n" +
+				"}\n",
+				source);
+			sources.add(source);
+		}
+		Util.writeToFile(
+			"package q;\n" +
+			"public class Z {\n" +
+			"	public int get() { return 1; }\n" +
+			"}\n",
+			sourcePath + File.separator + "q" + File.separator + "Z.java");
+		String[] options = new String[] { "-1.5", "-proc:none", "-sourcepath", sourcePath };
+		List arguments = new ArrayList(sources);
+		arguments.addAll(Arrays.asList(options));
+		arguments.addAll(Arrays.asList(new String[] { "-d", serial }));
+		StringWriter err = new StringWriter();
+		assertTrue(new Main(new PrintWriter(new StringWriter()), new PrintWriter(err), false, null, null)
+			.compile((String[]) arguments.toArray(new String[arguments.size()])));
+		assertEquals("", err.toString());
+		arguments = new ArrayList(sources);
+		arguments.addAll(Arrays.asList(options));
+		arguments.addAll(Arrays.asList(new String[] { "-processThreads", "3", "-d", parallel }));
+		assertTrue(new Main(new PrintWriter(new StringWriter()), new PrintWriter(err), false, null, null)
+			.compile((String[]) arguments.toArray(new String[arguments.size()])));
+		assertEquals("", err.toString());
+		String[] classFiles = new File(serial).list();
+		Arrays.sort(classFiles);
+		String[] parallelClassFiles = new File(parallel).list();
+		Arrays.sort(parallelClassFiles);
+		assertEquals(Arrays.asList(classFiles).toString(), Arrays.asList(parallelClassFiles).toString());
+		assertTrue(new File(parallel, "q" + File.separator + "Z.class").exists());
+		for (int i = 0; i < classFiles.length; i++) {
+			File expected = new File(serial, classFiles[i]);
+			if (expected.isDirectory())
+				continue;
+			assertTrue(classFiles[i] + " differs when processed by a worker compiler", Arrays.equals(
+				org.eclipse.jdt.internal.compiler.util.Util.getFileByteContent(expected),
+				org.eclipse.jdt.internal.compiler.util.Util.getFileByteContent(new File(parallel, classFiles[i]))));
+		}
+		assertTrue(Arrays.equals(
+			org.eclipse.jdt.internal.compiler.util.Util.getFileByteContent(new File(serial, "q" + File.separator + "Z.class")),
+			org.eclipse.jdt.internal.compiler.util.Util.getFileByteContent(new File(parallel, "q" + File.separator + "Z.class"))));
+	} finally {
+		Util.delete(root);
+	}
+}
+// the compiler server compiles the requests of clients which present its token, and only theirs
+public void testCompilerServer() throws Exception {
+	String root = OUTPUT_DIR + File.separator + "server";
+	String source = root + File.separator + "X.java";
+	String outputDir = root + File.separator + "bin";
+	new File(root).mkdirs();
+	final CompilerServer server = new CompilerServer(0);
+	int port = server.bind();
+	final Throwable[] failure = new Throwable[1];
+	Thread serverThread = new Thread() {
+		public void run() {
+			try {
+				server.run();
+			} catch (Throwable t) {
+				failure[0] = t;
+			}
+		}
+	};
+	serverThread.start();
+	File tokenFile = CompilerServer.getTokenFile(port);
+	try {
+		assertTrue(tokenFile.isFile());
+		Util.writeToFile(
+			"public class X {\n" +
+			"	int m() { return 1; }\n" +
+			"}\n",
+			source);
+		String[] arguments = new String[] { source, "-1.5", "-proc:none", "-d", outputDir };
+		StringWriter out = new StringWriter();
+		StringWriter err = new StringWriter();
+		assertTrue(CompilerServer.compile(port, arguments, null, new PrintWriter(out), new PrintWriter(err)));
+		assertEquals("", err.toString());
+		assertTrue(new File(outputDir, "X.class").exists());
+
+		// arguments and options do not have to fit writeUTF(String) once encoded
+		StringBuffer classpath = new StringBuffer(outputDir);
+		while (classpath.length() <= 65535)
+			classpath.append(File.pathSeparator).append(outputDir);
+		Map options = new HashMap();
+		options.put(JavaCore.COMPILER_TASK_TAGS, classpath.toString());
+		String[] longArguments = new String[] { source, "-1.5", "-proc:none", "-classpath", classpath.toString(), "-d", outputDir };
+		assertTrue(CompilerServer.compile(port, longArguments, options, new PrintWriter(out), new PrintWriter(err)));
+		assertEquals("", err.toString());
+
+		// compilation problems are streamed back to the client
+		Util.writeToFile(
+			"public class X {\n" +
+			"	int m() { return \"\"; }\n" +
+			"}\n",
+			source);
+		assertFalse(CompilerServer.compile(port, arguments, null, new PrintWriter(out), new PrintWriter(err)));
+		assertTrue(err.toString(), err.toString().indexOf("Type mismatch: cannot convert from String to int") != -1);
+
+		// a request with another token is dropped
+		byte[] token = org.eclipse.jdt.internal.compiler.util.Util.getFileByteContent(tokenFile);
+		FileOutputStream output = new FileOutputStream(tokenFile);
+		output.write(new byte[token.length]);
+		output.close();
+		try {
+			CompilerServer.compile(port, arguments, null, new PrintWriter(out), new PrintWriter(err));
+			fail("request with a wrong token was served");
+		} catch (ConnectException e) {
+			fail("the server should have been reached");
+		} catch (IOException e) {
+			// expected
+		}
+		output = new FileOutputStream(tokenFile);
+		output.write(token);
+		output.close();
+	} finally {
+		CompilerServer.stop(port);
+		serverThread.join(10000);
+		Util.delete(root);
+	}
+	assertNull(failure[0]);
+	assertFalse(serverThread.isAlive());
+	assertFalse(tokenFile.exists());
+	try {
+		CompilerServer.compile(port, new String[0], null, null, null);
+		fail("no server should listen on port " + port);
+	} catch (ConnectException e) {
+		// expected, MaxjTask compiles in process then
+	}
+}
+// incremental builds only recompile the changed units & the ones referencing structurally changed types
+public void testIncrementalBuilder() {
+	String root = OUTPUT_DIR + File.separator + "incremental";
+	String sourceDir = root + File.separator + "src";
+	String outputDir = root + File.separator + "bin";
+	new File(sourceDir + File.separator + "p").mkdirs();
+	new File(sourceDir + File.separator + "q").mkdirs();
+	new File(outputDir).mkdirs();
+	String a = sourceDir + File.separator + "p" + File.separator + "A.java";
+	String b = sourceDir + File.separator + "q" + File.separator + "B.java";
+	String c = sourceDir + File.separator + "q" + File.separator + "C.java";
+	try {
+		Util.writeToFile(
+			"package p;\n" +
+			"public class A {\n" +
+			"	public int m() { return 1; }\n" +
+			"}\n",
+			a);
+		Util.writeToFile(
+			"package q;\n" +
+			"import p.A;\n" +
+			"public class B {\n" +
+			"	long n() { return new A().m(); }\n" +
+			"}\n",
+			b);
+		Util.writeToFile(
+			"package q;\n" +
+			"public class C {\n" +
+			"	int k() { return 2; }\n" +
+			"}\n",
+			c);
+		StringWriter out = new StringWriter();
+		StringWriter err = new StringWriter();
+		IncrementalBuilder builder = new IncrementalBuilder(
+			outputDir,
+			new String[] { "-1.5", "-proc:none", "-d", outputDir },
+			null,
+			new PrintWriter(out),
+			new PrintWriter(err));
+		String[] sources = new String[] { a, b, c };
+		assertTrue(builder.build(sources));
+		assertEquals(3, builder.compiledUnits);
+		assertTrue(new File(outputDir, IncrementalBuilder.STATE_FILE_NAME).exists());
+
+		assertTrue(builder.build(sources));
+		assertEquals("no change", 0, builder.compiledUnits);
+
+		long lastModified = new File(a).lastModified();
+		Util.writeToFile(
+			"package p;\n" +
+			"public class A {\n" +
+			"	public int m() { return 2; }\n" +
+			"}\n",
+			a);
+		new File(a).setLastModified(lastModified + 2000);
+		assertTrue(builder.build(sources));
+		assertEquals("body change", 1, builder.compiledUnits);
+
+		Util.writeToFile(
+			"package p;\n" +
+			"public class A {\n" +
+			"	public long m() { return 2; }\n" +
+			"}\n",
+			a);
+		new File(a).setLastModified(lastModified + 4000);
+		assertTrue(builder.build(sources));
+		assertEquals("structural change", 2, builder.compiledUnits);
+
+		assertTrue(new File(a).delete());
+		assertFalse(builder.build(new String[] { b, c }));
+		assertEquals("deleted type", 1, builder.compiledUnits);
+		assertFalse(new File(outputDir + File.separator + "p" + File.separator + "A.class").exists());
+		assertTrue(err.toString(), err.toString().indexOf("The import p.A cannot be resolved") != -1);
+	} finally {
+		Util.delete(root);
+	}
+}
+// a unit compiled by an earlier round is compiled again when a type it inlines a constant of changes in a later round
+public void testIncrementalBuilder2() throws Exception {
+	String root = OUTPUT_DIR + File.separator + "incremental2";
+	String sourceDir = root + File.separator + "src";
+	String outputDir = root + File.separator + "bin";
+	new File(sourceDir + File.separator + "p").mkdirs();
+	new File(outputDir).mkdirs();
+	String a = sourceDir + File.separator + "p" + File.separator + "A.java";
+	String c = sourceDir + File.separator + "p" + File.separator + "C.java";
+	try {
+		Util.writeToFile(
+			"package p;\n" +
+			"public class A {\n" +
+			"	public static final int Y = 1;\n" +
+			"	public static int useC() { return C.X; }\n" +
+			"}\n",
+			a);
+		Util.writeToFile(
+			"package p;\n" +
+			"public class C {\n" +
+			"	public static final int X = A.Y + 1;\n" +
+			"}\n",
+			c);
+		IncrementalBuilder builder = new IncrementalBuilder(
+			outputDir,
+			new String[] { "-1.5", "-proc:none", "-d", outputDir },
+			null,
+			new PrintWriter(new StringWriter()),
+			new PrintWriter(new StringWriter()));
+		String[] sources = new String[] { a, c };
+		assertTrue(builder.build(sources));
+		assertEquals(2, useC(outputDir));
+
+		long lastModified = new File(a).lastModified();
+		Util.writeToFile(
+			"package p;\n" +
+			"public class A {\n" +
+			"	public static final int Y = 5;\n" +
+			"	public static int useC() { return C.X; }\n" +
+			"}\n",
+			a);
+		new File(a).setLastModified(lastModified + 2000);
+		assertTrue(builder.build(sources));
+		// A, then C for the new value of A.Y, then A again for the new value of C.X
+		assertEquals(3, builder.compiledUnits);
+		assertEquals(6, useC(outputDir));
+	} finally {
+		Util.delete(root);
+	}
+}
+private int useC(String outputDir) throws Exception {
+	URLClassLoader loader = new URLClassLoader(new URL[] { new File(outputDir).toURI().toURL() }, null);
+	return ((Integer) loader.loadClass("p.A").getMethod("useC").invoke(null)).intValue();
+}
+// the shared jar index answers the packages and entries of a jar, and reads them as the zip file does
+public void testJarIndex() {
+	String root = OUTPUT_DIR + File.separator + "jarIndex";
+	String jarPath = root + File.separator + "lib.jar";
+	new File(root).mkdirs();
+	try {
+		Util.createJar(
+			new String[] {
+				"p/A.java",
+				"package p;\n" +
+				"public class A {\n" +
+				"}",
+				"p/q/B.java",
+				"package p.q;\n" +
+				"public class B extends p.A {\n" +
+				"}",
+			},
+			jarPath,
+			JavaCore.VERSION_1_5);
+		JarIndex index = JarIndex.get(new File(jarPath));
+		assertNotNull(index);
+		assertSame(index, JarIndex.get(new File(jarPath)));
+		assertTrue(index.isPackage(""));
+		assertTrue(index.isPackage("p"));
+		assertTrue(index.isPackage("p/q"));
+		assertFalse(index.isPackage("q"));
+		assertEquals("[A.class]", Arrays.asList(index.getEntryNames("p")).toString());
+		assertTrue(index.contains("p/q/B.class"));
+		assertFalse(index.contains("p/B.class"));
+
+		ZipFile zipFile = new ZipFile(jarPath);
+		RandomAccessFile archive = new RandomAccessFile(jarPath, "r");
+		try {
+			byte[] expected = org.eclipse.jdt.internal.compiler.util.Util.getZipEntryByteContent(zipFile.getEntry("p/q/B.class"), zipFile);
+			assertTrue(Arrays.equals(expected, index.getEntryContent(archive, "p/q/B.class")));
+			assertNull(index.getEntryContent(archive, "p/q/C.class"));
+		} finally {
+			archive.close();
+			zipFile.close();
+		}
+
+		ClasspathJar classpathJar = new ClasspathJar(new File(jarPath), true, null, null);
+		classpathJar.initialize();
+		try {
+			assertNotNull(classpathJar.findClass("B".toCharArray(), "p/q", "p/q/B.class"));
+			char[][][] typeNames = classpathJar.findTypeNames("p/q");
+			assertEquals(1, typeNames.length);
+			assertEquals("p.q.B", new String(CharOperation.concatWith(typeNames[0], '.')));
+		} finally {
+			classpathJar.reset();
+		}
+	} catch (IOException e) {
+		fail(e.getMessage());
+	} finally {
+		Util.delete(root);
+	}
+}
+// library types are read once by successive compilations sharing the binary type cache
+public void testBinaryTypeCache() {
+	String root = OUTPUT_DIR + File.separator + "binaryTypeCache";
+	String jarPath = root + File.separator + "lib.jar";
+	String source = root + File.separator + "X.java";
+	new File(root).mkdirs();
+	BinaryTypeCache.enable(100);
+	try {
+		Util.createJar(
+			new String[] {
+				"p/A.java",
+				"package p;\n" +
+				"public class A {\n" +
+				"	public int m() { return 1; }\n" +
+				"}",
+			},
+			jarPath,
+			JavaCore.VERSION_1_5);
+		Util.writeToFile(
+			"public class X {\n" +
+			"	int n() { return new p.A().m(); }\n" +
+			"}\n",
+			source);
+		String[] arguments = new String[] {
+			source, "-1.5", "-proc:none", "-d", root + File.separator + "bin",
+			"-cp", jarPath
+		};
+		BinaryTypeCache cache = BinaryTypeCache.getDefault();
+		StringWriter err = new StringWriter();
+		assertTrue(new Main(new PrintWriter(new StringWriter()), new PrintWriter(err), false, null, null).compile(arguments));
+		int size = cache.size();
+		int hits = cache.hits;
+		assertTrue(size > 0);
+		assertTrue(new Main(new PrintWriter(new StringWriter()), new PrintWriter(err), false, null, null).compile(arguments));
+		assertEquals(size, cache.size());
+		assertTrue(cache.hits > hits);
+		assertEquals("", err.toString());
+
+		// the types of a changed jar are read again
+		new File(jarPath).setLastModified(new File(jarPath).lastModified() + 2000);
+		assertTrue(new Main(new PrintWriter(new StringWriter()), new PrintWriter(err), false, null, null).compile(arguments));
+		assertEquals(size + 1, cache.size());
+	} catch (IOException e) {
+		fail(e.getMessage());
+	} finally {
+		BinaryTypeCache.enable(0);
+		Util.delete(root);
+	}
+}
+// -stats: writes the time spent in each phase and the counters of each unit, slowest units first
+public void testStats() {
+	String jsonFile = OUTPUT_DIR + File.separator + "stats.json";
+	String csvFile = OUTPUT_DIR + File.separator + "stats.csv";
+	String[] sources = new String[] {
+		"V.java",
+		"public class V {\n" +
+		"	public V add(V o) { return this; }\n" +
+		"}\n",
+		"X.java",
+		"public class X {\n" +
+		"	V foo(V a, V b) { return a + b + a; }\n" +
+		"}\n",
+	};
+	String commandLine = "\"" + OUTPUT_DIR +  File.separator + "V.java\""
+		+ " \"" + OUTPUT_DIR +  File.separator + "X.java\""
+		+ " -1.5 -proc:none -d none";
+	this.runConformTest(sources, commandLine + " -stats:\"" + jsonFile + "\"", "", "", true);
+	String json = Util.fileContent(jsonFile);
+	assertTrue(json, json.indexOf("\"elapsedMillis\": ") != -1);
+	assertTrue(json, json.indexOf("\"phaseMillis\": { \"parse\": ") != -1);
+	assertTrue(json, json.indexOf("\"elapsedNanos\": ") != -1);
+	assertTrue(json, json.indexOf("\"parse\": { \"nanos\": ") != -1);
+	assertTrue(json, json.indexOf("\"operatorOverloadHits\": ") != -1);
+	assertTrue(json, json.indexOf("V.java\", \"lineCount\": 3") != -1);
+	assertTrue(json, json.indexOf("X.java\", \"lineCount\": 3") != -1);
+
+	this.runConformTest(sources, commandLine + " -parseThreads 2 -stats:\"" + csvFile + "\"", "", "", true);
+	String csv = Util.fileContent(csvFile);
+	assertTrue(csv, csv.startsWith("file,lineCount,elapsedNanos,parseNanos,parseAllocatedBytes,"));
+	assertEquals(csv, 3, csv.split("\n").length);
+}
+public void testStats2() {
+	this.runNegativeTest(
+		new String[] {
+			"X.java",
+			"public class X {}\n",
+		},
+		"\"" + OUTPUT_DIR +  File.separator + "X.java\""
+		+ " -1.5 -stats: -d none",
+		"",
+		"missing statistics file name: -stats:\n",
+		true);
+}
+// sources read ahead by the read manager decode as when read directly, whether they are mapped or not
+public void testSourceReading() throws IOException {
+	String root = OUTPUT_DIR + File.separator + "sourceReading";
+	String bin = root + File.separator + "bin";
+	new File(root).mkdirs();
+	try {
+		List arguments = new ArrayList();
+		for (int i = 0; i < 2 * ReadManager.THRESHOLD; i++) {
+			String source = root + File.separator + "X" + i + ".java";
+			Util.writeToFile("public class X" + i + " { X" + (i + 1) + " next; }\n", source);
+			arguments.add(source);
+		}
+		// large enough to be memory-mapped
+		StringBuffer buffer = new StringBuffer("public class X" + 2 * ReadManager.THRESHOLD + " {\n");
+		for (int i = 0; i < 5000; i++)
+			buffer.append("	int f").append(i).append(" = ").append(i).append(";\n");
+		buffer.append("	Y y;\n}\n");
+		String source = root + File.separator + "X" + 2 * ReadManager.THRESHOLD + ".java";
+		Util.writeToFile(buffer.toString(), source);
+		arguments.add(source);
+		// UTF-8 with a BOM
+		source = root + File.separator + "Y.java";
+		FileOutputStream output = new FileOutputStream(source);
+		try {
+			output.write(new byte[] { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF });
+			output.write("public class Y { char c = '\u00e9'; }\n".getBytes("UTF-8"));
+		} finally {
+			output.close();
+		}
+		arguments.add(source);
+		arguments.addAll(Arrays.asList(new String[] { "-encoding", "UTF-8", "-1.5", "-proc:none", "-d", bin }));
+
+		StringWriter err = new StringWriter();
+		assertTrue(new Main(new PrintWriter(new StringWriter()), new PrintWriter(err), false, null, null)
+			.compile((String[]) arguments.toArray(new String[arguments.size()])));
+		assertEquals("", err.toString());
+		assertTrue(new File(bin, "Y.class").exists());
+		assertTrue(new File(bin, "X" + 2 * ReadManager.THRESHOLD + ".class").exists());
+
+		// as the compiler server does, large files can be read instead of mapped
+		File large = new File(root, "X" + 2 * ReadManager.THRESHOLD + ".java");
+		char[] mapped = SourceReader.getFileCharContent(large, "UTF-8");
+		SourceReader.disableMapping();
+		assertEquals(new String(mapped), new String(SourceReader.getFileCharContent(large, "UTF-8")));
+		assertEquals(buffer.toString(), new String(mapped));
+	} finally {
+		Util.delete(root);
+	}
+}
+// class files recycled by the class file pool are written as the ones created for a single type
+public void testClassFilePool() throws IOException {
+	String root = OUTPUT_DIR + File.separator + "classFilePool";
+	String pooled = root + File.separator + "pooled";
+	String unpooled = root + File.separator + "unpooled";
+	new File(root).mkdirs();
+	try {
+		List sources = new ArrayList();
+		for (int i = 0; i < 3 * ClassFilePool.POOL_SIZE / 2; i++) {
+			StringBuffer buffer = new StringBuffer("public class X" + i + " {\n");
+			if (i % 3 == 0) {
+				// a large type next to small ones, so that its grown class file and byte arrays get reused
+				for (int j = 0; j < 300; j++)
+					buffer.append("	String m").append(j).append("(int i) { return i > ").append(j).append(" ? \"a").append(j).append("\" : m").append(j + 1).append("(i + 1); }\n");
+				buffer.append("	String m300(int i) { return null; }\n");
+			} else {
+				buffer.append("	static class M").append(i).append(" { long l = ").append(i).append("L; }\n");
+				buffer.append("	Runnable r = new Runnable() { public void run() { System.out.println(").append(i).append("); } };\n");
+			}
+			buffer.append("}\n");
+			String source = root + File.separator + "X" + i + ".java";
+			Util.writeToFile(buffer.toString(), source);
+			sources.add(source);
+		}
+		// all the types in a single compilation, reusing the released class files
+		List arguments = new ArrayList(sources);
+		arguments.addAll(Arrays.asList(new String[] { "-1.5", "-proc:none", "-d", pooled }));
+		StringWriter err = new StringWriter();
+		assertTrue(new Main(new PrintWriter(new StringWriter()), new PrintWriter(err), false, null, null)
+			.compile((String[]) arguments.toArray(new String[arguments.size()])));
+		assertEquals("", err.toString());
+		// each type in its own compilation, with a fresh pool
+		for (int i = 0, size = sources.size(); i < size; i++) {
+			assertTrue(new Main(new PrintWriter(new StringWriter()), new PrintWriter(err), false, null, null)
+				.compile(new String[] { (String) sources.get(i), "-1.5", "-proc:none", "-d", unpooled }));
+			assertEquals("", err.toString());
+		}
+		String[] classFiles = new File(unpooled).list();
+		Arrays.sort(classFiles);
+		String[] pooledClassFiles = new File(pooled).list();
+		Arrays.sort(pooledClassFiles);
+		assertEquals(Arrays.asList(classFiles).toString(), Arrays.asList(pooledClassFiles).toString());
+		for (int i = 0; i < classFiles.length; i++) {
+			byte[] expected = org.eclipse.jdt.internal.compiler.util.Util.getFileByteContent(new File(unpooled, classFiles[i]));
+			byte[] actual = org.eclipse.jdt.internal.compiler.util.Util.getFileByteContent(new File(pooled, classFiles[i]));
+			assertTrue(classFiles[i] + " differs once pooled", Arrays.equals(expected, actual));
+		}
+	} finally {
+		Util.delete(root);
+	}
+}
+// -d out.jar writes the class files into a jar, which only changes when some of them changed
+public void testJarOutput() throws IOException {
+	String root = OUTPUT_DIR + File.separator + "jarOutput";
+	String jarPath = root + File.separator + "out" + File.separator + "out.jar";
+	String x = root + File.separator + "X.java";
+	String y = root + File.separator + "Y.java";
+	new File(root).mkdirs();
+	try {
+		Util.writeToFile("public class X { Y y; }\n", x);
+		Util.writeToFile("public class Y {}\n", y);
+		StringWriter err = new StringWriter();
+		assertTrue(new Main(new PrintWriter(new StringWriter()), new PrintWriter(err), false, null, null)
+			.compile(new String[] { x, y, "-1.5", "-proc:none", "-d", jarPath }));
+		File jar = new File(jarPath);
+		ZipFile zipFile = new ZipFile(jar);
+		try {
+			assertNotNull(zipFile.getEntry("META-INF/MANIFEST.MF"));
+			assertNotNull(zipFile.getEntry("X.class"));
+			assertNotNull(zipFile.getEntry("Y.class"));
+		} finally {
+			zipFile.close();
+		}
+
+		// unchanged class files leave the jar untouched
+		long lastModified = jar.lastModified() - 2000;
+		jar.setLastModified(lastModified);
+		assertTrue(new Main(new PrintWriter(new StringWriter()), new PrintWriter(err), false, null, null)
+			.compile(new String[] { x, y, "-1.5", "-proc:none", "-d", jarPath }));
+		assertEquals(lastModified, jar.lastModified());
+
+		// the entries which were not compiled again are kept
+		Util.writeToFile("public class X { Y y; int i; }\n", x);
+		assertTrue(new Main(new PrintWriter(new StringWriter()), new PrintWriter(err), false, null, null)
+			.compile(new String[] { x, "-cp", jarPath, "-1.5", "-proc:none", "-d", jarPath }));
+		assertTrue(lastModified != jar.lastModified());
+		zipFile = new ZipFile(jar);
+		try {
+			assertEquals("META-INF/MANIFEST.MF", ((ZipEntry) zipFile.entries().nextElement()).getName());
+			assertNotNull(zipFile.getEntry("Y.class"));
+			assertEquals(3, zipFile.size());
+		} finally {
+			zipFile.close();
+		}
+		assertEquals("", err.toString());
+	} finally {
+		Util.delete(root);
+	}
+}
+// -maxWarnings keeps the first warnings of a unit, those suppressed aside, and counts the others in a single warning
+public void testMaxWarnings() {
+	this.runConformTest(
+		new String[] {
+			"X.java",
+			"public class X {\n" +
+			"	void foo() {\n" +
+			"		int a = 0;\n" +
+			"		int b = 0;\n" +
+			"		int c = 0;\n" +
+			"		int d = 0;\n" +
+			"	}\n" +
+			"	@SuppressWarnings(\"unused\")\n" +
+			"	void bar() {\n" +
+			"		int e = 0;\n" +
+			"	}\n" +
+			"}\n",
+		},
+		"\"" + OUTPUT_DIR +  File.separator + "X.java\""
+		+ " -1.5 -proc:none -maxWarnings 2 -d none",
+		"",
+		"----------\n" +
+		"1. WARNING in ---OUTPUT_DIR_PLACEHOLDER---/X.java (at line 3)\n" +
+		"	int a = 0;\n" +
+		"	    ^\n" +
+		"The value of the local variable a is not used\n" +
+		"----------\n" +
+		"2. WARNING in ---OUTPUT_DIR_PLACEHOLDER---/X.java (at line 4)\n" +
+		"	int b = 0;\n" +
+		"	    ^\n" +
+		"The value of the local variable b is not used\n" +
+		"----------\n" +
+		"3. WARNING in ---OUTPUT_DIR_PLACEHOLDER---/X.java (at line 5)\n" +
+		"	int c = 0;\n" +
+		"	    ^\n" +
+		"2 more warnings in this compilation unit\n" +
+		"----------\n" +
+		"3 problems (3 warnings)\n",
+		true);
+}
+public void testMaxWarnings2() {
+	this.runNegativeTest(
+		new String[] {
+			"X.java",
+			"public class X {}\n",
+		},
+		"\"" + OUTPUT_DIR +  File.separator + "X.java\""
+		+ " -1.5 -maxWarnings 0 -d none",
+		"",
+		"max warnings must be a positive integer: 0\n",
+		true);
+}
+// the inference of a generic operator method is done once for the same argument and expected types, whatever the type using it
+public void testOperatorInferenceCache() {
+	runOperatorInferenceCacheTest("-1.5");
+}
+// same at 1.8, where generic operator methods are still inferred from the argument types
+public void testOperatorInferenceCache18() {
+	runOperatorInferenceCacheTest("-1.8");
+}
+private void runOperatorInferenceCacheTest(String compliance) {
+	String jsonFile = OUTPUT_DIR + File.separator + "stats.json";
+	String y =
+		"public class Y {\n" +
+		"	V<Integer> bar(V<String> a, V<Integer> b) { return a + b + b; }\n" +
+		"}\n";
+	this.runConformTest(
+		new String[] {
+			"V.java",
+			"public class V<T> {\n" +
+			"	public <U extends Number> V<U> add(V<U> o) { return o; }\n" +
+			"}\n",
+			"X.java",
+			y.replace('Y', 'X').replace("bar", "foo"),
+			"Y.java",
+			y,
+		},
+		"\"" + OUTPUT_DIR +  File.separator + "V.java\""
+		+ " \"" + OUTPUT_DIR +  File.separator + "X.java\""
+		+ " \"" + OUTPUT_DIR +  File.separator + "Y.java\""
+		+ " " + compliance + " -proc:none -d none -stats:\"" + jsonFile + "\"",
+		"",
+		"",
+		true);
+	String json = Util.fileContent(jsonFile);
+	assertTrue(json, json.indexOf("\"operatorInferenceHits\": 2, \"operatorInferenceMisses\": 2 }") != -1);
+	int start = json.indexOf("Y.java\"");
+	assertTrue(json, start != -1);
+	String unit = json.substring(start, json.indexOf('\n', start));
+	assertTrue(unit, unit.indexOf("\"operatorInferenceHits\": 2, \"operatorInferenceMisses\": 0 }") != -1);
+}
 }
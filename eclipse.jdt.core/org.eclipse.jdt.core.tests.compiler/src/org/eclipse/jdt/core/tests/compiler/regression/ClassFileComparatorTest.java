@@ -12,11 +12,13 @@ package org.eclipse.jdt.core.tests.compiler.regression;
 
 import junit.framework.Test;
 import java.io.*;
+import java.util.Arrays;
 
 import org.eclipse.jdt.core.compiler.batch.BatchCompiler;
 import org.eclipse.jdt.core.tests.util.Util;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFormatException;
+import org.eclipse.jdt.internal.compiler.util.SimpleSetOfCharArray;
 
 public class ClassFileComparatorTest extends AbstractRegressionTest {
 
@@ -33,6 +35,10 @@ public class ClassFileComparatorTest extends AbstractRegressionTest {
 
 
 	private void compileAndDeploy(String source, String className) {
+		compileAndDeploy(source, className, "");
+	}
+
+	private void compileAndDeploy(String source, String className, String options) {
 		File directory = new File(SOURCE_DIRECTORY);
 		if (!directory.exists()) {
 			if (!directory.mkdirs()) {
@@ -56,7 +62,9 @@ public class ClassFileComparatorTest extends AbstractRegressionTest {
 			.append(fileName)
 			.append("\" -d \"")
 			.append(EVAL_DIRECTORY)
-			.append("\" -nowarn -g -classpath \"")
+			.append("\" -nowarn -g ")
+			.append(options)
+			.append(" -classpath \"")
 			.append(Util.getJavaClassLibsAsString())
 			.append(SOURCE_DIRECTORY)
 			.append("\"");
@@ -93,6 +101,20 @@ public class ClassFileComparatorTest extends AbstractRegressionTest {
 		}
 	}
 
+	private String getStructurallyChangedMembers(String classFile1, String classFile2) throws IOException, ClassFormatException {
+		ClassFileReader reader = ClassFileReader.read(EVAL_DIRECTORY + File.separator + classFile1 + ".class");
+		byte[] classFileBytes = org.eclipse.jdt.internal.compiler.util.Util.getFileByteContent(new File(EVAL_DIRECTORY + File.separator + classFile2 + ".class"));
+		SimpleSetOfCharArray changedMembers = new SimpleSetOfCharArray(3);
+		if (!reader.hasStructuralChanges(classFileBytes, changedMembers))
+			return null;
+		String[] names = new String[changedMembers.elementSize];
+		for (int i = 0, index = 0, l = changedMembers.values.length; i < l; i++)
+			if (changedMembers.values[i] != null)
+				names[index++] = new String(changedMembers.values[i]);
+		Arrays.sort(names);
+		return Arrays.asList(names).toString();
+	}
+
 	public void test001() {
 		try {
 			String sourceA001 =
@@ -467,4 +489,73 @@ public class ClassFileComparatorTest extends AbstractRegressionTest {
 			removeTempClass("A016");
 		}
 	}
+
+	// the fields & methods which changed are reported when the type itself did not change
+	public void test017() throws Exception {
+		try {
+			String sourceA017 =
+				"public class A017 {\n" +
+				"  public static final int K = 1;\n" +
+				"  public int f;\n" +
+				"  public A017(int f) {}\n" +
+				"  public Object add(Object o) { return this; }\n" +
+				"  public Object neg() { return this; }\n" +
+				"  public void v(int... x) {}\n" +
+				"}";
+			compileAndDeploy(sourceA017, "A017", "-1.5");
+			String sourceA017_2 =
+				"public class A017_2 {\n" +
+				"  public static final int K = 2;\n" +
+				"  public int f;\n" +
+				"  public A017_2(int f) { this.f = f; }\n" +
+				"  public A017_2(int f, int g) {}\n" +
+				"  public Object add(Object o) { return o; }\n" +
+				"  public Object mul(Object o) { return o; }\n" +
+				"  public void v(int[] x) {}\n" +
+				"}";
+			compileAndDeploy(sourceA017_2, "A017_2", "-1.5");
+			String sourceA017_3 =
+				"public class A017_3 {\n" +
+				"  public static final int K = 1;\n" +
+				"  public int f;\n" +
+				"  public A017_3(int f) { this.f = -f; }\n" +
+				"  public Object add(Object o) { return o; }\n" +
+				"  public Object neg() { return null; }\n" +
+				"  public void v(int... x) { x = null; }\n" +
+				"}";
+			compileAndDeploy(sourceA017_3, "A017_3", "-1.5");
+			assertEquals("[<init>/*, K, mul/1, neg/0, v/*]", getStructurallyChangedMembers("A017", "A017_2"));
+			assertNull(getStructurallyChangedMembers("A017", "A017_3"));
+		} finally {
+			removeTempClass("A017");
+		}
+	}
+
+	// changes to the type itself or to its abstract methods report no member
+	public void test018() throws Exception {
+		try {
+			String sourceA018 =
+				"public abstract class A018 {\n" +
+				"  public void foo() {}\n" +
+				"  abstract void bar();\n" +
+				"}";
+			compileAndDeploy(sourceA018, "A018");
+			String sourceA018_2 =
+				"public abstract class A018_2 implements Cloneable {\n" +
+				"  public void foo() {}\n" +
+				"  abstract void bar();\n" +
+				"}";
+			compileAndDeploy(sourceA018_2, "A018_2");
+			String sourceA018_3 =
+				"public abstract class A018_3 {\n" +
+				"  public void foo() {}\n" +
+				"  abstract void bar(int i);\n" +
+				"}";
+			compileAndDeploy(sourceA018_3, "A018_3");
+			assertEquals("[]", getStructurallyChangedMembers("A018", "A018_2"));
+			assertEquals("[]", getStructurallyChangedMembers("A018", "A018_3"));
+		} finally {
+			removeTempClass("A018");
+		}
+	}
 }
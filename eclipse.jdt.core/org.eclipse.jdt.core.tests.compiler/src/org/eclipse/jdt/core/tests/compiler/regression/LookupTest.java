@@ -14,6 +14,7 @@
 package org.eclipse.jdt.core.tests.compiler.regression;
 
 import java.io.File;
+import java.util.Arrays;
 import java.util.Hashtable;
 import java.util.Map;
 
@@ -3493,6 +3494,57 @@ public void test106() {
 		"The method foo3(Set<T>) from the type X is never used locally\n" + 
 		"----------\n");
 }
+// the members looked up by a unit, including the operator methods, and the supertypes of its types are recorded
+public void test107() {
+	if (this.complianceLevel < ClassFileConstants.JDK1_5)
+		return;
+	this.runConformTest(
+		new String[] {
+			"V.java", //---------------------------
+			"public class V {\n" +
+			"	public int f;\n" +
+			"	public V(int f) { this.f = f; }\n" +
+			"	public V add(V o) { return new V(f + o.f); }\n" +
+			"	public V neg() { return new V(-f); }\n" +
+			"}\n",
+			"X.java", //---------------------------
+			"import static java.lang.Math.max;\n" +
+			"public class X {\n" +
+			"	public static void main(String[] args) {\n" +
+			"		V a = new V(1), b = new V(2);\n" +
+			"		V r = a + b;\n" +
+			"		System.out.println((-r).f + max(1, 2));\n" +
+			"	}\n" +
+			"}\n" +
+			"class Y extends V {\n" +
+			"	Y() { super(0); }\n" +
+			"}\n",
+		},
+		"-1",
+		Util.concatWithClassLibs(OUTPUT_DIR, true/*output in front*/),
+		false, // do not flush output
+		null,  // vm args
+		null, // options
+		new ICompilerRequestor() {
+			public void acceptResult(CompilationResult result) {
+				if (!CharOperation.endsWith(result.getFileName(), "X.java".toCharArray()))
+					return;
+				assertNotNull("missing member references", result.memberReferences);
+				String[] expected = { "<init>/1", "add/1", "neg/0", "f", "out", "println/1", "max/*" };
+				next : for (int i = 0; i < expected.length; i++) {
+					for (int j = 0, length = result.memberReferences.length; j < length; j++)
+						if (CharOperation.equals(result.memberReferences[j], expected[i].toCharArray()))
+							continue next;
+					assertTrue("missing member reference " + expected[i], false);
+				}
+				String[] superTypes = new String[result.superTypeReferences.length];
+				for (int i = 0; i < superTypes.length; i++)
+					superTypes[i] = new String(result.superTypeReferences[i]);
+				Arrays.sort(superTypes);
+				assertEquals("wrong supertype references", "[Object, V]", Arrays.asList(superTypes).toString());
+			}
+		});
+}
 public static Class testClass() {	return LookupTest.class;
 }
 }
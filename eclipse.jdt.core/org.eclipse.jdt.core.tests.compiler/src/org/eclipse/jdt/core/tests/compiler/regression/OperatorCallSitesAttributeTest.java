@@ -0,0 +1,230 @@
+package org.eclipse.jdt.core.tests.compiler.regression;
+
+import java.io.File;
+import java.util.Map;
+
+import junit.framework.Test;
+
+import org.eclipse.jdt.core.ToolFactory;
+import org.eclipse.jdt.core.util.IAttributeNamesConstants;
+import org.eclipse.jdt.core.util.IClassFileAttribute;
+import org.eclipse.jdt.core.util.IClassFileReader;
+import org.eclipse.jdt.core.util.IMethodInfo;
+import org.eclipse.jdt.core.util.IOperatorCallSite;
+import org.eclipse.jdt.core.util.IOperatorCallSitesAttribute;
+import org.eclipse.jdt.core.util.IOpcodeMnemonics;
+import org.eclipse.jdt.internal.compiler.ast.OperatorIds;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
+import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+
+/**
+ * Operator overloading: with {@link CompilerOptions#OPTION_OperatorCallSitesAttribute}, the OperatorCallSites
+ * attribute of a class lists the invocations its overloaded operators compile to, per method and pc.
+ */
+public class OperatorCallSitesAttributeTest extends AbstractRegressionTest {
+
+	public OperatorCallSitesAttributeTest(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		return buildMinimalComplianceTestSuite(testClass(), F_1_5);
+	}
+
+	public static Class testClass() {
+		return OperatorCallSitesAttributeTest.class;
+	}
+
+	protected Map getCompilerOptions() {
+		Map options = super.getCompilerOptions();
+		options.put(CompilerOptions.OPTION_OperatorCallSitesAttribute, CompilerOptions.GENERATE);
+		return options;
+	}
+
+	static final String V =
+		"public class V {\n" +
+		"	final int id;\n" +
+		"	public V(int id) { this.id = id; }\n" +
+		"	public V add(V o) { return new V(id + o.id); }\n" +
+		"	public V mul(V o) { return new V(id * o.id); }\n" +
+		"	public V neg() { return new V(-id); }\n" +
+		"	public V get(int i) { return new V(id + i); }\n" +
+		"	public String toString() { return String.valueOf(id); }\n" +
+		"}\n";
+
+	static final String X =
+		"public class X {\n" +
+		"	static V s = new V(1) + new V(2);\n" +
+		"	public static void main(String[] args) {\n" +
+		"		V a = new V(2), b = new V(3);\n" +
+		"		V r = a + b * a;\n" +
+		"		System.out.print(s + \" \" + r + \" \" + -r + \" \" + a[1]);\n" +
+		"	}\n" +
+		"}\n";
+
+	// the sites of the compiler and model readers, checked against the code of their methods
+	public void test001() throws Exception {
+		this.runConformTest(
+			new String[] {
+				"V.java",
+				V,
+				"X.java",
+				X
+			},
+			"3 8 -8 3");
+
+		String path = OUTPUT_DIR + File.separator + "X.class";
+		int[] sites = ClassFileReader.read(path).getOperatorCallSites();
+		assertNotNull("no operator call sites", sites);
+		assertEquals("wrong number of sites", 5 * 7, sites.length);
+
+		IClassFileReader classFileReader = ToolFactory.createDefaultClassFileReader(path, IClassFileReader.ALL);
+		IClassFileAttribute attribute = org.eclipse.jdt.internal.core.util.Util.getAttribute(classFileReader, IAttributeNamesConstants.OPERATOR_CALL_SITES);
+		assertNotNull("no operator call sites attribute", attribute);
+		IOperatorCallSite[] callSites = ((IOperatorCallSitesAttribute) attribute).getOperatorCallSites();
+		assertEquals("wrong number of sites", 5, callSites.length);
+
+		IMethodInfo[] methodInfos = classFileReader.getMethodInfos();
+		StringBuffer buffer = new StringBuffer();
+		for (int i = 0; i < callSites.length; i++) {
+			IOperatorCallSite site = callSites[i];
+			assertEquals("method index", sites[i * 7], site.getMethodIndex());
+			assertEquals("pc", sites[i * 7 + 1], site.getPC());
+			assertEquals("kind", sites[i * 7 + 2], site.getKind());
+			assertEquals("operator", sites[i * 7 + 3], site.getOperator());
+			assertEquals("line", sites[i * 7 + 4], site.getLineNumber());
+			assertEquals("source start", sites[i * 7 + 5], site.getSourceStart());
+			assertEquals("source end", sites[i * 7 + 6], site.getSourceEnd());
+			IMethodInfo methodInfo = methodInfos[site.getMethodIndex()];
+			byte[] bytecodes = methodInfo.getCodeAttribute().getBytecodes();
+			assertEquals("not an invocation", IOpcodeMnemonics.INVOKEVIRTUAL, bytecodes[site.getPC()] & 0xFF);
+			buffer
+				.append(methodInfo.getName())
+				.append(' ').append(site.getKind())
+				.append(' ').append(site.getOperator())
+				.append(' ').append(site.getLineNumber())
+				.append(' ').append(X.substring(site.getSourceStart(), site.getSourceEnd() + 1))
+				.append('\n');
+		}
+		assertEquals("wrong sites",
+			"<clinit> " + ClassFileConstants.OPERATOR_SITE_BINARY + " " + OperatorIds.PLUS + " 2 new V(1) + new V(2)\n" +
+			"main " + ClassFileConstants.OPERATOR_SITE_BINARY + " " + OperatorIds.MULTIPLY + " 5 b * a\n" +
+			"main " + ClassFileConstants.OPERATOR_SITE_BINARY + " " + OperatorIds.PLUS + " 5 a + b * a\n" +
+			"main " + ClassFileConstants.OPERATOR_SITE_UNARY + " " + OperatorIds.MINUS + " 6 -r\n" +
+			"main " + ClassFileConstants.OPERATOR_SITE_ARRAY_GET + " 0 6 a[1]\n",
+			buffer.toString());
+	}
+
+	// the option is off by default
+	public void test002() throws Exception {
+		Map options = super.getCompilerOptions();
+		this.runConformTest(
+			new String[] {
+				"V.java",
+				V,
+				"X.java",
+				X
+			},
+			"3 8 -8 3",
+			options);
+		assertNull("unexpected operator call sites", ClassFileReader.read(OUTPUT_DIR + File.separator + "X.class").getOperatorCallSites());
+		assertEquals(CompilerOptions.DO_NOT_GENERATE, new CompilerOptions().getMap().get(CompilerOptions.OPTION_OperatorCallSitesAttribute));
+	}
+
+	static final String K =
+		"public class K {\n" +
+		"	public void _IF(boolean c) { System.out.print(\"IF \"); }\n" +
+		"	public void _ELSE() { System.out.print(\"ELSE \"); }\n" +
+		"	public void _END_IF() { System.out.print(\"END_IF \"); }\n" +
+		"	public void _SWITCH(int v) { System.out.print(\"SWITCH \"); }\n" +
+		"	public void _CASE(int v) { System.out.print(\"CASE \"); }\n" +
+		"	public void _OTHERWISE() { System.out.print(\"OTHERWISE \"); }\n" +
+		"	public void _END_SWITCH() { System.out.print(\"END_SWITCH \"); }\n" +
+		"}\n";
+
+	static final String W =
+		"public class W {\n" +
+		"	final int id;\n" +
+		"	public W(int id) { this.id = id; }\n" +
+		"	public W add(W o) { return new W(id + o.id); }\n" +
+		"	public W connect(W o) { System.out.print(\"connect \"); return this; }\n" +
+		"}\n";
+
+	// the sites of the DSL statements, compound assignments and connections of a MaxJ unit
+	public void test003() throws Exception {
+		String y =
+			"public class Y extends K {\n" +
+			"	void run(W a, W b, boolean c, int s) {\n" +
+			"		IF (c) a += b; ELSE a <== b;\n" +
+			"		SWITCH (s) {\n" +
+			"			CASE (1) { a += b; }\n" +
+			"			OTHERWISE { }\n" +
+			"		}\n" +
+			"	}\n" +
+			"	public static void main(String[] args) {\n" +
+			"		new Y().run(new W(1), new W(2), true, 1);\n" +
+			"	}\n" +
+			"}\n";
+		this.runConformTest(
+			new String[] {
+				"Y.maxj",
+				y,
+				"K.java",
+				K,
+				"W.java",
+				W
+			},
+			"IF ELSE connect END_IF SWITCH CASE OTHERWISE END_SWITCH");
+
+		int[] sites = ClassFileReader.read(OUTPUT_DIR + File.separator + "Y.class").getOperatorCallSites();
+		assertNotNull("no operator call sites", sites);
+		StringBuffer buffer = new StringBuffer();
+		for (int i = 0; i < sites.length; i += 7) {
+			String source = y.substring(sites[i + 5], sites[i + 6] + 1);
+			int lineEnd = source.indexOf('\n');
+			buffer
+				.append(sites[i + 2])
+				.append(' ').append(sites[i + 3])
+				.append(' ').append(sites[i + 4])
+				.append(' ').append(lineEnd == -1 ? source : source.substring(0, lineEnd))
+				.append('\n');
+		}
+		assertEquals("wrong sites",
+			ClassFileConstants.OPERATOR_SITE_IF + " 0 3 IF (c) a += b; ELSE a <== b;\n" +
+			ClassFileConstants.OPERATOR_SITE_COMPOUND_ASSIGNMENT + " " + OperatorIds.PLUS + " 3 a += b\n" +
+			ClassFileConstants.OPERATOR_SITE_ELSE + " 0 3 IF (c) a += b; ELSE a <== b;\n" +
+			ClassFileConstants.OPERATOR_SITE_CONNECT + " 0 3 a <== b\n" +
+			ClassFileConstants.OPERATOR_SITE_END_IF + " 0 3 IF (c) a += b; ELSE a <== b;\n" +
+			ClassFileConstants.OPERATOR_SITE_SWITCH + " 0 4 SWITCH (s) {\n" +
+			ClassFileConstants.OPERATOR_SITE_CASE + " 0 5 CASE (1\n" +
+			ClassFileConstants.OPERATOR_SITE_COMPOUND_ASSIGNMENT + " " + OperatorIds.PLUS + " 5 a += b\n" +
+			ClassFileConstants.OPERATOR_SITE_OTHERWISE + " 0 6 OTHERWISE\n" +
+			ClassFileConstants.OPERATOR_SITE_END_SWITCH + " 0 4 SWITCH (s) {\n",
+			buffer.toString());
+	}
+
+	// line numbers which do not fit the attribute are clamped
+	public void test004() throws Exception {
+		StringBuffer x = new StringBuffer("public class X {\n");
+		for (int i = 0; i < 70000; i++)
+			x.append('\n');
+		x.append(
+			"	public static void main(String[] args) {\n" +
+			"		System.out.print(new V(1) + new V(2));\n" +
+			"	}\n" +
+			"}\n");
+		this.runConformTest(
+			new String[] {
+				"X.java",
+				x.toString(),
+				"V.java",
+				V
+			},
+			"3");
+		int[] sites = ClassFileReader.read(OUTPUT_DIR + File.separator + "X.class").getOperatorCallSites();
+		assertEquals("wrong number of sites", 7, sites.length);
+		assertEquals("line", 0xFFFF, sites[4]);
+		assertEquals("source start", "new V(1) + new V(2)", x.substring(sites[5], sites[6] + 1));
+	}
+}
@@ -0,0 +1,155 @@
+package org.eclipse.jdt.core.tests.compiler.regression;
+
+import java.util.Map;
+
+import junit.framework.Test;
+
+import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+
+/**
+ * Operator overloading: with {@link CompilerOptions#OPTION_FuseOperatorChains}, a chain
+ * <code>a + b + c</code> compiles to a single call <code>a.add(b, c)</code> when the type of
+ * <code>a</code> declares such an n-ary or varargs method, and to a call per operator otherwise.
+ * The sample type counts its instances, so the tests tell fused chains from unfused ones.
+ */
+public class OperatorChainFusionTest extends AbstractRegressionTest {
+
+	public OperatorChainFusionTest(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		return buildMinimalComplianceTestSuite(testClass(), F_1_5);
+	}
+
+	public static Class testClass() {
+		return OperatorChainFusionTest.class;
+	}
+
+	protected Map getCompilerOptions() {
+		Map options = super.getCompilerOptions();
+		options.put(CompilerOptions.OPTION_FuseOperatorChains, CompilerOptions.ENABLED);
+		return options;
+	}
+
+	static final String V =
+		"public class V {\n" +
+		"	public static int created;\n" +
+		"	final int id;\n" +
+		"	public V(int id) { this.id = id; created++; }\n" +
+		"	public V add(V o) { return new V(id + o.id); }\n" +
+		"	public V add(int o) { return new V(id + o); }\n" +
+		"	public V add(V... os) { int s = id; for (V o : os) s += o.id; return new V(s); }\n" +
+		"	public V sub(V o) { return new V(id - o.id); }\n" +
+		"	public V mul(V o) { return new V(id * o.id); }\n" +
+		"	public V mul(V a, V b) { return new V(id * a.id * b.id); }\n" +
+		"	public String toString() { return String.valueOf(id); }\n" +
+		"}\n";
+
+	// a chain of + goes to add(V...)
+	public void test001() {
+		this.runConformTest(
+			new String[] {
+				"V.java",
+				V,
+				"X.java",
+				"public class X {\n" +
+				"	public static void main(String[] args) {\n" +
+				"		V a = new V(1), b = new V(2), c = new V(3), d = new V(4);\n" +
+				"		V.created = 0;\n" +
+				"		V r = a + b + c + d;\n" +
+				"		System.out.print(r + \":\" + V.created);\n" +
+				"	}\n" +
+				"}\n"
+			},
+			"10:1");
+	}
+
+	// a chain of * goes to the n-ary mul(V, V), a longer one only for its first operators
+	public void test002() {
+		this.runConformTest(
+			new String[] {
+				"V.java",
+				V,
+				"X.java",
+				"public class X {\n" +
+				"	public static void main(String[] args) {\n" +
+				"		V a = new V(2), b = new V(3), c = new V(4);\n" +
+				"		V.created = 0;\n" +
+				"		V r = a * b * c;\n" +
+				"		System.out.print(r + \":\" + V.created + \" \");\n" +
+				"		V.created = 0;\n" +
+				"		r = a * b * c * a;\n" +
+				"		System.out.print(r + \":\" + V.created);\n" +
+				"	}\n" +
+				"}\n"
+			},
+			"24:1 48:2");
+	}
+
+	// no n-ary variant, or one which does not take the operands: a call per operator
+	public void test003() {
+		this.runConformTest(
+			new String[] {
+				"V.java",
+				V,
+				"X.java",
+				"public class X {\n" +
+				"	public static void main(String[] args) {\n" +
+				"		V a = new V(1), b = new V(2), c = new V(3);\n" +
+				"		V.created = 0;\n" +
+				"		V r = a - b - c;\n" +
+				"		System.out.print(r + \":\" + V.created + \" \");\n" +
+				"		V.created = 0;\n" +
+				"		r = a + 1 + 2;\n" +
+				"		System.out.print(r + \":\" + V.created);\n" +
+				"	}\n" +
+				"}\n"
+			},
+			"-4:2 4:2");
+	}
+
+	// operands are still evaluated left to right, nested chains are fused on their own
+	public void test004() {
+		this.runConformTest(
+			new String[] {
+				"V.java",
+				V,
+				"X.java",
+				"public class X {\n" +
+				"	static StringBuffer order = new StringBuffer();\n" +
+				"	static V log(V v) { order.append(v.id); return v; }\n" +
+				"	public static void main(String[] args) {\n" +
+				"		V a = new V(1), b = new V(2), c = new V(3), d = new V(4);\n" +
+				"		V.created = 0;\n" +
+				"		V r = log(a) + log(b) + (log(c) + log(d) + log(a)) + log(b);\n" +
+				"		System.out.print(r + \":\" + V.created + \" \" + order);\n" +
+				"	}\n" +
+				"}\n"
+			},
+			"13:2 123412");
+	}
+
+	// the option is off by default
+	public void test005() {
+		Map options = super.getCompilerOptions();
+		options.put(CompilerOptions.OPTION_FuseOperatorChains, CompilerOptions.DISABLED);
+		this.runConformTest(
+			new String[] {
+				"V.java",
+				V,
+				"X.java",
+				"public class X {\n" +
+				"	public static void main(String[] args) {\n" +
+				"		V a = new V(1), b = new V(2), c = new V(3), d = new V(4);\n" +
+				"		V.created = 0;\n" +
+				"		V r = a + b + c + d;\n" +
+				"		System.out.print(r + \":\" + V.created);\n" +
+				"	}\n" +
+				"}\n"
+			},
+			"10:3",
+			options);
+		assertEquals(CompilerOptions.DISABLED, new CompilerOptions().getMap().get(CompilerOptions.OPTION_FuseOperatorChains));
+	}
+}
@@ -0,0 +1,300 @@
+package org.eclipse.jdt.core.tests.compiler.regression;
+
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.List;
+
+import junit.framework.Test;
+
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.internal.compiler.ASTVisitor;
+import org.eclipse.jdt.internal.compiler.ast.ArrayReference;
+import org.eclipse.jdt.internal.compiler.ast.Assignment;
+import org.eclipse.jdt.internal.compiler.ast.BinaryExpression;
+import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
+import org.eclipse.jdt.internal.compiler.ast.CompositeArrayReference;
+import org.eclipse.jdt.internal.compiler.ast.ConditionalExpression;
+import org.eclipse.jdt.internal.compiler.ast.EqualEqualExpression;
+import org.eclipse.jdt.internal.compiler.ast.OperatorIds;
+import org.eclipse.jdt.internal.compiler.ast.OperatorOverloadSelectors;
+import org.eclipse.jdt.internal.compiler.ast.StringLiteral;
+import org.eclipse.jdt.internal.compiler.ast.UnaryExpression;
+import org.eclipse.jdt.internal.compiler.lookup.BlockScope;
+import org.eclipse.jdt.internal.compiler.lookup.CompilationUnitScope;
+import org.eclipse.jdt.internal.compiler.lookup.MethodBinding;
+import org.eclipse.jdt.internal.compiler.lookup.TypeBinding;
+
+/**
+ * Operator overloading: selectors of overloaded operators are taken from the shared
+ * {@link OperatorOverloadSelectors} tables, and resolving an operator seen before does not allocate.
+ * The binary operators are the ones of examples/src/main/java/com/maxeler/examples/operatoroverloading/MyInteger.java,
+ * read from the repository, the other overloaded operators the ones of {@link #W}.
+ */
+public class OperatorOverloadSelectorsTest extends AbstractRegressionTest {
+
+	// number of times each operator of the sample is resolved again in the allocation test
+	private static final int ITERATIONS = 10000;
+	static final String EXAMPLE_PACKAGE = "com/maxeler/examples/operatoroverloading/";
+
+	public OperatorOverloadSelectorsTest(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		return buildMinimalComplianceTestSuite(testClass(), F_1_5);
+	}
+
+	public static Class testClass() {
+		return OperatorOverloadSelectorsTest.class;
+	}
+
+	static final String X =
+		"package com.maxeler.examples.operatoroverloading;\n" +
+		"public class X {\n" +
+		"	public static void main(String[] args) {\n" +
+		"		MyInteger i = new MyInteger(6);\n" +
+		"		MyInteger j = new MyInteger(3);\n" +
+		"		System.out.print((i + j).getValue() + \" \");\n" +
+		"		System.out.print((1 + i).getValue() + \" \");\n" +
+		"		System.out.print((i & 2).getValue() + \" \");\n" +
+		"		System.out.print((i / j).getValue() + \" \");\n" +
+		"		System.out.print((12 / i).getValue() + \" \");\n" +
+		"		System.out.print((i === j) + \" \");\n" +
+		"		System.out.print((6 === i) + \" \");\n" +
+		"		System.out.print((i !== j) + \" \");\n" +
+		"		System.out.print((i > j) + \" \");\n" +
+		"		System.out.print((7 > i) + \" \");\n" +
+		"		System.out.print((i < j) + \" \");\n" +
+		"		System.out.print((i * j).getValue() + \" \");\n" +
+		"		System.out.print((2 * i).getValue() + \" \");\n" +
+		"		System.out.print((i - j).getValue() + \" \");\n" +
+		"		System.out.print((10 - i).getValue() + \" \");\n" +
+		"		System.out.print((i ^ j).getValue());\n" +
+		"	}\n" +
+		"}\n";
+
+	static final String W =
+		"public class W {\n" +
+		"	final int id;\n" +
+		"	public W(int id) { this.id = id; }\n" +
+		"	public W neg() { return new W(-id); }\n" +
+		"	public W add(W o) { return new W(id + o.id); }\n" +
+		"	public W add(W... os) { int s = id; for (W o : os) s += o.id; return new W(s); }\n" +
+		"	public W get(int i) { return new W(id * 10 + i); }\n" +
+		"	public void put(int i, W v) { System.out.print(\"put\" + i + \"=\" + v + \" \"); }\n" +
+		"	public W get(int i, int j) { return new W(id * 100 + i * 10 + j); }\n" +
+		"	public void put(int i, int j, W v) { System.out.print(\"put\" + i + j + \"=\" + v + \" \"); }\n" +
+		"	public W ternaryIf(W a, W b) { return id != 0 ? a : b; }\n" +
+		"	public String toString() { return String.valueOf(id); }\n" +
+		"}\n";
+
+	static final String Y =
+		"public class Y {\n" +
+		"	public static void main(String[] args) {\n" +
+		"		W a = new W(1), b = new W(2), c = new W(3);\n" +
+		"		System.out.print(-a + \" \");\n" +
+		"		System.out.print(a[4] + \" \");\n" +
+		"		a[5] = b;\n" +
+		"		System.out.print(a[6:7] + \" \");\n" +
+		"		a[8:9] = c;\n" +
+		"		System.out.print((a ? b : c) + \" \");\n" +
+		"		System.out.print(a + b + c);\n" +
+		"	}\n" +
+		"}\n";
+
+	public void test001() {
+		this.runConformTest(
+			new String[] {
+				EXAMPLE_PACKAGE + "X.java",
+				X,
+				EXAMPLE_PACKAGE + "MyInteger.java",
+				readExample("MyInteger")
+			},
+			"9 7 2 2 2 false true true true true false 18 12 3 4 5");
+	}
+
+	// the selector tables answer the names the operators always bound to
+	public void test002() {
+		assertEquals("add", new String(OperatorOverloadSelectors.binary(OperatorIds.PLUS)));
+		assertEquals("addAsRHS", new String(OperatorOverloadSelectors.binaryAsRHS(OperatorIds.PLUS)));
+		assertEquals("eq", new String(OperatorOverloadSelectors.binary(OperatorIds.EQUAL_EQUAL_EQUAL)));
+		assertEquals("neqAsRHS", new String(OperatorOverloadSelectors.binaryAsRHS(OperatorIds.NOT_EQUAL_EQUAL)));
+		assertEquals("CECINESTPASUNOPERATEUR_eq", new String(OperatorOverloadSelectors.binary(OperatorIds.EQUAL_EQUAL)));
+		assertEquals("neg", new String(OperatorOverloadSelectors.unary(OperatorIds.MINUS)));
+		assertEquals("sub", new String(OperatorOverloadSelectors.binary(OperatorIds.MINUS)));
+		assertSame(CharOperation.NO_CHAR, OperatorOverloadSelectors.binary(OperatorIds.AND_AND));
+		assertSame(CharOperation.NO_CHAR, OperatorOverloadSelectors.binaryAsRHS(OperatorIds.INSTANCEOF));
+	}
+
+	// resolving again the operators of the sample must not allocate, their lookups are answered by the cache
+	public void test003() {
+		final List expressions = new ArrayList();
+		final List scopes = new ArrayList();
+		final long[] allocated = { -1 };
+		this.runConformTest(
+			new String[] {
+				EXAMPLE_PACKAGE + "X.java",
+				X,
+				EXAMPLE_PACKAGE + "MyInteger.java",
+				readExample("MyInteger")
+			},
+			new ASTVisitor() {
+				public boolean visit(CompilationUnitDeclaration unit, CompilationUnitScope scope) {
+					return CharOperation.endsWith(unit.getFileName(), "/X.java".toCharArray());
+				}
+				public boolean visit(BinaryExpression binaryExpression, BlockScope scope) {
+					if (binaryExpression.left instanceof StringLiteral || binaryExpression.right instanceof StringLiteral)
+						return true; // string concatenation of the printed results
+					expressions.add(binaryExpression);
+					scopes.add(scope);
+					return true;
+				}
+				public boolean visit(EqualEqualExpression equalEqualExpression, BlockScope scope) {
+					expressions.add(equalEqualExpression);
+					scopes.add(scope);
+					return true;
+				}
+				public void endVisit(CompilationUnitDeclaration unit, CompilationUnitScope scope) {
+					// the environment and its operator cache are still alive once the unit is generated
+					if (!expressions.isEmpty() && allocated[0] == -1)
+						allocated[0] = measureResolution(expressions, scopes);
+				}
+			});
+		assertEquals(16, expressions.size());
+		if (allocated[0] < 0)
+			return; // allocation counting not available on this VM
+		// a single array, invocation site or cache key per lookup would cost at least ITERATIONS * 16 * 16 bytes,
+		// leave some room for the measurement itself
+		assertTrue("Resolving the operators allocated " + allocated[0] + " bytes", allocated[0] < 4096);
+	}
+
+	// resolving again the unary, array access, composite array access, conditional and fused operators must not allocate either
+	public void test004() {
+		final List expressions = new ArrayList();
+		final List scopes = new ArrayList();
+		final long[] allocated = { -1 };
+		this.runConformTest(
+			new String[] {
+				"W.java",
+				W,
+				"Y.java",
+				Y
+			},
+			new ASTVisitor() {
+				public boolean visit(CompilationUnitDeclaration unit, CompilationUnitScope scope) {
+					return CharOperation.endsWith(unit.getFileName(), "/Y.java".toCharArray());
+				}
+				public boolean visit(UnaryExpression unaryExpression, BlockScope scope) {
+					return add(unaryExpression, scope);
+				}
+				public boolean visit(ArrayReference arrayReference, BlockScope scope) {
+					return add(arrayReference, scope);
+				}
+				public boolean visit(CompositeArrayReference arrayReference, BlockScope scope) {
+					return add(arrayReference, scope);
+				}
+				public boolean visit(Assignment assignment, BlockScope scope) {
+					return add(assignment, scope); // the put of the array accesses
+				}
+				public boolean visit(ConditionalExpression conditionalExpression, BlockScope scope) {
+					return add(conditionalExpression, scope);
+				}
+				public boolean visit(BinaryExpression binaryExpression, BlockScope scope) {
+					if (binaryExpression.left instanceof BinaryExpression && binaryExpression.appropriateMethodForOverload != null)
+						add(binaryExpression, scope); // the lookup of the n-ary add(W...) of a + b + c
+					return true;
+				}
+				private boolean add(Object expression, BlockScope scope) {
+					expressions.add(expression);
+					scopes.add(scope);
+					return true;
+				}
+				public void endVisit(CompilationUnitDeclaration unit, CompilationUnitScope scope) {
+					if (!expressions.isEmpty() && allocated[0] == -1)
+						allocated[0] = measureResolution(expressions, scopes);
+				}
+			});
+		assertEquals(9, expressions.size());
+		if (allocated[0] < 0)
+			return; // allocation counting not available on this VM
+		// a single array, invocation site or cache key per lookup would cost at least ITERATIONS * 9 * 16 bytes
+		assertTrue("Resolving the operators allocated " + allocated[0] + " bytes", allocated[0] < 4096);
+	}
+
+	/*
+	 * Answer the method the given operator binds to, looked up again.
+	 */
+	static MethodBinding lookup(Object expression, BlockScope scope) {
+		if (expression instanceof BinaryExpression) {
+			BinaryExpression binaryExpression = (BinaryExpression) expression;
+			if (!(binaryExpression.left instanceof BinaryExpression))
+				return binaryExpression.getMethodBindingForOverload(scope);
+			// the lookup of the fused chain, see BinaryExpression.fuseOperatorChain(..)
+			BinaryExpression left = (BinaryExpression) binaryExpression.left;
+			TypeBinding[] argumentTypes = scope.getOperatorOverloadArgumentTypes(2);
+			argumentTypes[0] = left.right.resolvedType;
+			argumentTypes[1] = binaryExpression.right.resolvedType;
+			return scope.getOperatorOverloadMethod(left.left.resolvedType, binaryExpression.getSelector(), argumentTypes, binaryExpression.expectedType);
+		}
+		if (expression instanceof UnaryExpression)
+			return ((UnaryExpression) expression).getMethodBindingForOverload(scope);
+		if (expression instanceof ArrayReference)
+			return ((ArrayReference) expression).getMethodBindingForOverload(scope);
+		if (expression instanceof CompositeArrayReference)
+			return ((CompositeArrayReference) expression).getMethodBindingForOverload(scope);
+		if (expression instanceof ConditionalExpression)
+			return ((ConditionalExpression) expression).getMethodBindingForOverload(scope);
+		Assignment assignment = (Assignment) expression;
+		if (assignment.lhs instanceof ArrayReference)
+			return ((ArrayReference) assignment.lhs).getMethodBindingForOverload(scope, assignment.expression);
+		return ((CompositeArrayReference) assignment.lhs).getMethodBindingForOverload(scope, assignment.expression);
+	}
+
+	long measureResolution(List expressions, List scopes) {
+		Object[] operators = expressions.toArray();
+		BlockScope[] operatorScopes = (BlockScope[]) scopes.toArray(new BlockScope[scopes.size()]);
+		for (int i = 0; i < operators.length; i++)
+			assertTrue(lookup(operators[i], operatorScopes[i]).isValidBinding());
+
+		ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+		if (!(threadBean instanceof com.sun.management.ThreadMXBean))
+			return -1;
+		com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean) threadBean;
+		if (!allocationBean.isThreadAllocatedMemorySupported() || !allocationBean.isThreadAllocatedMemoryEnabled())
+			return -1;
+		long threadId = Thread.currentThread().getId();
+		int checksum = 0;
+		for (int n = 0; n < ITERATIONS; n++) // warm up, so that the measure does not count what the VM allocates to compile the lookups
+			for (int i = 0; i < operators.length; i++)
+				checksum += lookup(operators[i], operatorScopes[i]).selector.length;
+		long before = allocationBean.getThreadAllocatedBytes(threadId);
+		for (int n = 0; n < ITERATIONS; n++)
+			for (int i = 0; i < operators.length; i++)
+				checksum += lookup(operators[i], operatorScopes[i]).selector.length;
+		long allocated = allocationBean.getThreadAllocatedBytes(threadId) - before;
+		assertTrue(checksum > 0);
+		return allocated;
+	}
+
+	/*
+	 * Answer the source of the given type of the operator overloading example, found above the current directory.
+	 */
+	static String readExample(String typeName) {
+		String path = "examples/src/main/java/" + EXAMPLE_PACKAGE + typeName + ".java";
+		for (File directory = new File(System.getProperty("user.dir")).getAbsoluteFile(); directory != null; directory = directory.getParentFile()) {
+			File example = new File(directory, path);
+			if (example.isFile()) {
+				try {
+					return new String(org.eclipse.jdt.internal.compiler.util.Util.getFileCharContent(example, "UTF-8"));
+				} catch (IOException e) {
+					throw new RuntimeException(e);
+				}
+			}
+		}
+		fail("Cannot find " + path);
+		return null;
+	}
+}
@@ -17,9 +17,17 @@ import org.eclipse.jdt.core.ToolFactory;
 import org.eclipse.jdt.core.compiler.IScanner;
 import org.eclipse.jdt.core.compiler.ITerminalSymbols;
 import org.eclipse.jdt.core.compiler.InvalidInputException;
+import org.eclipse.jdt.internal.compiler.CompilationResult;
+import org.eclipse.jdt.internal.compiler.DefaultErrorHandlingPolicies;
+import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
+import org.eclipse.jdt.internal.compiler.batch.CompilationUnit;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
+import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.parser.Parser;
 import org.eclipse.jdt.internal.compiler.parser.Scanner;
 import org.eclipse.jdt.internal.compiler.parser.TerminalTokens;
+import org.eclipse.jdt.internal.compiler.problem.DefaultProblemFactory;
+import org.eclipse.jdt.internal.compiler.problem.ProblemReporter;
 import org.eclipse.jdt.internal.core.util.PublicScanner;
 
 public class ScannerTest extends AbstractRegressionTest {
@@ -1398,4 +1406,66 @@ public class ScannerTest extends AbstractRegressionTest {
 				"----------\n");
 		}
 	}
+
+	// DSL keywords are only recognized by scanners of MaxJ units
+	public void test065() {
+		char[] source = "IF ELSE CASE SWITCH OTHERWISE IFX If I S CASES ELSE1 _IF".toCharArray();
+		int[] dslTokens = new int[] {
+			TerminalTokens.TokenNameIF,
+			TerminalTokens.TokenNameELSE,
+			TerminalTokens.TokenNameCASE,
+			TerminalTokens.TokenNameSWITCH,
+			TerminalTokens.TokenNameOTHERWISE,
+		};
+		for (int pass = 0; pass < 2; pass++) {
+			Scanner scanner = new Scanner(false, false, false, ClassFileConstants.JDK1_5, null, null, false);
+			scanner.useDSLConstructs = pass == 1;
+			scanner.setSource(source);
+			scanner.resetTo(0, source.length - 1);
+			try {
+				for (int i = 0; i < 12; i++) {
+					int token = scanner.getNextToken();
+					int expected = scanner.useDSLConstructs && i < dslTokens.length ? dslTokens[i] : TerminalTokens.TokenNameIdentifier;
+					assertEquals("Unexpected token for " + new String(scanner.getCurrentTokenSource()), expected, token);
+				}
+				assertEquals(TerminalTokens.TokenNameEOF, scanner.getNextToken());
+			} catch (InvalidInputException e) {
+				assertTrue("Should not happen", false);
+			}
+		}
+	}
+
+	// a parser reused across units only recognizes DSL keywords in MaxJ units
+	public void test066() {
+		Parser parser = new Parser(
+			new ProblemReporter(DefaultErrorHandlingPolicies.proceedWithAllProblems(),
+				new CompilerOptions(getCompilerOptions()),
+				new DefaultProblemFactory()),
+			false);
+		String[] units = new String[] {
+			"X.maxj",
+			"public class X {\n" +
+			"	void foo(Object a) {\n" +
+			"		IF (a) {\n" +
+			"		} ELSE {\n" +
+			"		}\n" +
+			"	}\n" +
+			"}\n",
+			"Y.java",
+			"public class Y {\n" +
+			"	int IF = 1;\n" +
+			"	int foo() {\n" +
+			"		int ELSE = IF;\n" +
+			"		return ELSE;\n" +
+			"	}\n" +
+			"}\n",
+		};
+		for (int i = 0; i < units.length; i += 2) {
+			CompilationUnit unit = new CompilationUnit(units[i + 1].toCharArray(), units[i], null);
+			CompilationResult compilationResult = new CompilationResult(unit, 0, 1, 10);
+			CompilationUnitDeclaration unitDeclaration = parser.parse(unit, compilationResult);
+			assertEquals(units[i], 0, compilationResult.problemCount);
+			assertEquals(units[i].endsWith(".maxj"), unitDeclaration.isMaxJ);
+		}
+	}
 }
@@ -110,6 +110,9 @@ public static Test suite() {
 	since_1_5.add(AssignmentTest_1_5.class);
 	since_1_5.add(InnerClass15Test.class);
 	since_1_5.add(NullAnnotationTest.class);
+	since_1_5.add(OperatorOverloadSelectorsTest.class);
+	since_1_5.add(OperatorChainFusionTest.class);
+	since_1_5.add(OperatorCallSitesAttributeTest.class);
 
 	// Tests to run when compliance is greater than 1.5
 	ArrayList since_1_6 = new ArrayList();
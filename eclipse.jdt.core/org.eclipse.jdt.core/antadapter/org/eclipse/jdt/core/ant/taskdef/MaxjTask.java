@@ -1,7 +1,9 @@
 package org.eclipse.jdt.core.ant.taskdef;
 
+import java.io.IOException;
 import java.io.PrintWriter;
 import java.io.File;
+import java.net.ConnectException;
 import java.util.ArrayList;
 import java.util.Map;
 
@@ -10,8 +12,12 @@ import org.apache.tools.ant.Project;
 import org.apache.tools.ant.Task;
 import org.apache.tools.ant.types.Path;
 import org.apache.tools.ant.types.Reference;
+import org.eclipse.jdt.internal.compiler.batch.CompilerServer;
+import org.eclipse.jdt.internal.compiler.batch.IncrementalBuilder;
+import org.eclipse.jdt.internal.compiler.batch.JarOutput;
 import org.eclipse.jdt.internal.compiler.batch.Main;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.util.SuffixConstants;
 import org.eclipse.jdt.internal.compiler.util.Util;
 
 /**
@@ -38,6 +44,14 @@ public class MaxjTask extends Task{
 		private String source;
 		private String encoding;
 		private boolean listFiles;
+		private int parseThreads;
+		private int processThreads;
+		private int server;
+		private boolean incremental;
+		private boolean fuseOperatorChains;
+		private boolean operatorCallSites;
+		private File stats;
+		private int maxWarnings;
 
 		private Path classpathPath;
 		private Path srcPath;
@@ -66,6 +80,14 @@ public class MaxjTask extends Task{
 			this.nowarn = false;
 			this.encoding = EMPTY_STRING;
 			this.listFiles = false;
+			this.parseThreads = 0;
+			this.processThreads = 0;
+			this.server = 0;
+			this.incremental = false;
+			this.fuseOperatorChains = false;
+			this.operatorCallSites = false;
+			this.stats = null;
+			this.maxWarnings = 0;
 
 			this.classpathPath = null;
 			this.srcPath = null;
@@ -95,6 +117,10 @@ public class MaxjTask extends Task{
 		}
 		
 		public void execute() throws BuildException{
+			if(this.incremental && this.server > 0){
+				// the incremental builder compiles in process, with its own state
+				throw new BuildException("The incremental and server attributes cannot be used together", getLocation());//$NON-NLS-1$
+			}
 			try {
 				createArgumnetsLine();
 				
@@ -120,8 +146,19 @@ public class MaxjTask extends Task{
 						log("Compiler options:",Project.MSG_VERBOSE);//$NON-NLS-1$
 					}
 				}
-				Main compiler = new Main(new PrintWriter(System.out), new PrintWriter(System.err),true, this.customDefaultOptions, null);
-				boolean success = compiler.compile(argStringArray);
+				boolean success;
+				boolean toJar = JarOutput.isJar(this.destdir);
+				if(this.incremental && toJar){
+					log("Incremental compilation needs a destination folder, compiling " + this.destdir + " as a whole",Project.MSG_WARN);//$NON-NLS-1$ //$NON-NLS-2$
+				}
+				if(this.incremental && !this.destdir.equals(EMPTY_STRING) && !toJar){
+					success = compileIncrementally(argStringArray);
+				} else if(this.server > 0){
+					success = compileOnServer(argStringArray);
+				} else {
+					Main compiler = new Main(new PrintWriter(System.out), new PrintWriter(System.err),true, this.customDefaultOptions, null);
+					success = compiler.compile(argStringArray);
+				}
 				if(!success){
 					if(this.failonerror){
 						throw new BuildException(FAIL_MSG, getLocation());
@@ -135,6 +172,54 @@ public class MaxjTask extends Task{
 
 		}
 
+		/*
+		 * Only recompile the changed source files and their dependents, the dependency
+		 * graph being kept in destdir between builds.
+		 */
+		protected boolean compileIncrementally(String[] argStringArray) {
+			ArrayList sourceFiles = new ArrayList();
+			for(int i = 0; i < this.filesAndFolders.size(); i++){
+				collectSourceFiles(new File((String)this.filesAndFolders.get(i)), sourceFiles);
+			}
+			String[] options = new String[argStringArray.length - this.fileListIndex - 1];
+			System.arraycopy(argStringArray, this.fileListIndex + 1, options, 0, options.length);
+			String[] sources = new String[sourceFiles.size()];
+			sourceFiles.toArray(sources);
+			IncrementalBuilder builder = new IncrementalBuilder(this.destdir, options, this.customDefaultOptions, new PrintWriter(System.out), new PrintWriter(System.err));
+			boolean success = builder.build(sources);
+			log("Compiled " + builder.compiledUnits + " of " + sources.length + " source files",Project.MSG_INFO);//$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			return success;
+		}
+
+		protected void collectSourceFiles(File file, ArrayList sourceFiles){
+			if(file.isDirectory()){
+				File[] children = file.listFiles();
+				for(int i = 0; i < children.length; i++){
+					collectSourceFiles(children[i], sourceFiles);
+				}
+			} else {
+				String name = file.getName();
+				if(name.endsWith(SuffixConstants.SUFFIX_STRING_java) || name.endsWith(SuffixConstants.SUFFIX_STRING_maxjava))
+					sourceFiles.add(file.getAbsolutePath());
+			}
+		}
+
+		/*
+		 * Hand the compilation over to a running compiler server, falling back to
+		 * an in process compilation when no server listens on the configured port.
+		 * A connection lost during the compilation fails the build, as its output
+		 * may already have been written.
+		 */
+		protected boolean compileOnServer(String[] argStringArray) throws IOException {
+			try {
+				return CompilerServer.compile(this.server, argStringArray, this.customDefaultOptions, new PrintWriter(System.out), new PrintWriter(System.err));
+			} catch (ConnectException e) {
+				log("Compiler server not available on port " + this.server + ", compiling in process",Project.MSG_WARN);//$NON-NLS-1$ //$NON-NLS-2$
+				Main compiler = new Main(new PrintWriter(System.out), new PrintWriter(System.err),true, this.customDefaultOptions, null);
+				return compiler.compile(argStringArray);
+			}
+		}
+
 		protected void createArgumnetsLine() {
 
 			if(this.srcPath != null){
@@ -260,7 +345,7 @@ public class MaxjTask extends Task{
 				this.arguments.add(this.destdir);
 				log("",Project.MSG_INFO);//$NON-NLS-1$
 				log("",Project.MSG_INFO);//$NON-NLS-1$
-				log("Compiling to folder " + this.destdir ,Project.MSG_INFO);//$NON-NLS-1$
+				log((JarOutput.isJar(this.destdir) ? "Compiling to jar " : "Compiling to folder ") + this.destdir ,Project.MSG_INFO);//$NON-NLS-1$ //$NON-NLS-2$
 			}
 			else{
 				log("",Project.MSG_INFO);//$NON-NLS-1$
@@ -273,6 +358,27 @@ public class MaxjTask extends Task{
 			if (!this.failonerror) {
 				this.arguments.add("-proceedOnError"); //$NON-NLS-1$
 			}
+			if (this.parseThreads > 0) {
+				this.arguments.add("-parseThreads"); //$NON-NLS-1$
+				this.arguments.add(String.valueOf(this.parseThreads));
+			}
+			if (this.processThreads > 0) {
+				this.arguments.add("-processThreads"); //$NON-NLS-1$
+				this.arguments.add(String.valueOf(this.processThreads));
+			}
+			if (this.fuseOperatorChains) {
+				this.arguments.add("-fuseOperatorChains"); //$NON-NLS-1$
+			}
+			if (this.operatorCallSites) {
+				this.arguments.add("-operatorCallSites"); //$NON-NLS-1$
+			}
+			if (this.stats != null) {
+				this.arguments.add("-stats:" + this.stats.getAbsolutePath()); //$NON-NLS-1$
+			}
+			if (this.maxWarnings > 0) {
+				this.arguments.add("-maxWarnings"); //$NON-NLS-1$
+				this.arguments.add(String.valueOf(this.maxWarnings));
+			}
 
 			for(int i = 0; i < this.compilersArg.size(); i++){
 				this.arguments.add(((CompileargTask)this.compilersArg.get(i)).getValue());
@@ -438,4 +544,28 @@ public class MaxjTask extends Task{
 	    public void setEncoding(String encoding) {
 			this.encoding = encoding;
 	    }
+	    public void setParseThreads(int parseThreads) {
+			this.parseThreads = parseThreads;
+	    }
+	    public void setProcessThreads(int processThreads) {
+			this.processThreads = processThreads;
+	    }
+	    public void setServer(int port) {
+			this.server = port;
+	    }
+	    public void setIncremental(boolean incremental) {
+			this.incremental = incremental;
+	    }
+	    public void setFuseOperatorChains(boolean fuseOperatorChains) {
+			this.fuseOperatorChains = fuseOperatorChains;
+	    }
+	    public void setOperatorCallSites(boolean operatorCallSites) {
+			this.operatorCallSites = operatorCallSites;
+	    }
+	    public void setStats(File stats) {
+			this.stats = stats;
+	    }
+	    public void setMaxWarnings(int maxWarnings) {
+			this.maxWarnings = maxWarnings;
+	    }
 }
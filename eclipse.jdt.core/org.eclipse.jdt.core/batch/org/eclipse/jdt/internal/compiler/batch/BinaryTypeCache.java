@@ -0,0 +1,103 @@
+package org.eclipse.jdt.internal.compiler.batch;
+
+import java.io.File;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
+
+/**
+ * A cache of the binary types read from classpath jars, shared by the compilations of a VM
+ * (successive <code>MaxjTask</code> invocations of an Ant build, or the requests of a {@link CompilerServer}),
+ * so that library class files are read and decoded once.
+ * <p>
+ * Types are keyed by jar path, jar modification time and size, and entry name, so a changed jar never
+ * answers stale types. Cached types are fully initialized class file readers, which no longer refer to
+ * their class file bytes and are not modified by the compilations which use them. The least recently
+ * used types are discarded once the capacity of the cache is reached.
+ * <p>
+ * The cache is disabled unless the <code>jdt.compiler.binaryTypeCache</code> system property gives
+ * its capacity (a number of types), or it is enabled with {@link #enable(int)}.
+ */
+public class BinaryTypeCache {
+
+	public static final int DEFAULT_CAPACITY = 20000;
+
+	private static BinaryTypeCache Default;
+
+	static {
+		String setting = System.getProperty("jdt.compiler.binaryTypeCache"); //$NON-NLS-1$
+		if (setting != null) {
+			try {
+				enable(Integer.parseInt(setting));
+			} catch (NumberFormatException e) {
+				// leave disabled
+			}
+		}
+	}
+
+	private LinkedHashMap<String, ClassFileReader> types;
+	public int hits, misses;
+
+private BinaryTypeCache(final int capacity) {
+	this.types = new LinkedHashMap<String, ClassFileReader>(Math.min(capacity, 1024), 0.75f, true /* access order */) {
+		private static final long serialVersionUID = 1L;
+		protected boolean removeEldestEntry(Map.Entry<String, ClassFileReader> eldest) {
+			return size() > capacity;
+		}
+	};
+}
+
+/**
+ * Answer the cache shared by the compilations of this VM, or <code>null</code> if it is disabled.
+ */
+public static synchronized BinaryTypeCache getDefault() {
+	return Default;
+}
+
+/**
+ * Enable the shared cache with the given capacity, or disable it if the capacity is not positive.
+ * Types cached so far are discarded.
+ */
+public static synchronized void enable(int capacity) {
+	Default = capacity > 0 ? new BinaryTypeCache(capacity) : null;
+}
+
+/**
+ * Answer the key of the given jar, as it is now, for {@link #get(String, String)} and {@link #put(String, String, ClassFileReader)}.
+ */
+public static String getJarKey(File jar, String path) {
+	StringBuffer buffer = new StringBuffer(path.length() + 32);
+	buffer.append(path).append('|');
+	buffer.append(jar.lastModified()).append('|');
+	buffer.append(jar.length()).append('|');
+	return buffer.toString();
+}
+
+/**
+ * Answer the type read from the given entry of the given jar, or <code>null</code> if it is not cached.
+ */
+public synchronized ClassFileReader get(String jarKey, String entryName) {
+	ClassFileReader reader = this.types.get(jarKey.concat(entryName));
+	if (reader == null)
+		this.misses++;
+	else
+		this.hits++;
+	return reader;
+}
+
+/**
+ * Remember the type read from the given entry of the given jar. The reader must be fully initialized.
+ */
+public synchronized void put(String jarKey, String entryName, ClassFileReader reader) {
+	this.types.put(jarKey.concat(entryName), reader);
+}
+
+public synchronized int size() {
+	return this.types.size();
+}
+
+public String toString() {
+	return "Binary type cache: " + size() + " types, " + this.hits + " hits, " + this.misses + " misses"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+}
+}
@@ -10,9 +10,11 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.compiler.batch;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.RandomAccessFile;
 import java.util.ArrayList;
 import java.util.Enumeration;
 import java.util.Hashtable;
@@ -26,16 +28,24 @@ import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFormatException;
 import org.eclipse.jdt.internal.compiler.env.AccessRuleSet;
 import org.eclipse.jdt.internal.compiler.env.NameEnvironmentAnswer;
+import org.eclipse.jdt.internal.compiler.util.JarIndex;
 import org.eclipse.jdt.internal.compiler.util.ManifestAnalyzer;
 import org.eclipse.jdt.internal.compiler.util.Util;
 
 @SuppressWarnings({"rawtypes", "unchecked"})
 public class ClasspathJar extends ClasspathLocation {
 
+private static final String MANIFEST = "META-INF/MANIFEST.MF"; //$NON-NLS-1$
+
 protected File file;
 protected ZipFile zipFile;
 protected boolean closeZipFileAtEnd;
 protected Hashtable packageCache;
+// shared index of the jar, if any, in which case binary jars are read through a random access file
+protected JarIndex index;
+protected RandomAccessFile archive;
+// key of the jar in the binary type cache, if enabled
+protected String binaryTypeCacheKey;
 
 public ClasspathJar(File file, boolean closeZipFileAtEnd,
 		AccessRuleSet accessRuleSet, String destinationPath) {
@@ -51,9 +61,16 @@ public List fetchLinkedJars(FileSystem.ClasspathSectionProblemReporter problemRe
 	try {
 		initialize();
 		ArrayList result = new ArrayList();
-		ZipEntry manifest = this.zipFile.getEntry("META-INF/MANIFEST.MF"); //$NON-NLS-1$
-		if (manifest != null) { // non-null implies regular file
-			inputStream = this.zipFile.getInputStream(manifest);
+		if (this.archive != null) {
+			byte[] manifest = this.index.getEntryContent(this.archive, MANIFEST);
+			if (manifest != null)
+				inputStream = new ByteArrayInputStream(manifest);
+		} else {
+			ZipEntry manifest = this.zipFile.getEntry(MANIFEST);
+			if (manifest != null) // non-null implies regular file
+				inputStream = this.zipFile.getInputStream(manifest);
+		}
+		if (inputStream != null) {
 			ManifestAnalyzer analyzer = new ManifestAnalyzer();
 			boolean success = analyzer.analyzeManifestContents(inputStream);
 			List calledFileNames = analyzer.getCalledFileNames();
@@ -94,8 +111,33 @@ public NameEnvironmentAnswer findClass(char[] typeName, String qualifiedPackageN
 	if (!isPackage(qualifiedPackageName))
 		return null; // most common case
 
+	BinaryTypeCache cache = BinaryTypeCache.getDefault();
+	if (cache != null) {
+		if (this.binaryTypeCacheKey == null)
+			this.binaryTypeCacheKey = BinaryTypeCache.getJarKey(this.file, getPath());
+		ClassFileReader reader = cache.get(this.binaryTypeCacheKey, qualifiedBinaryFileName);
+		if (reader != null)
+			return new NameEnvironmentAnswer(reader, fetchAccessRestriction(qualifiedBinaryFileName));
+	}
 	try {
-		ClassFileReader reader = ClassFileReader.read(this.zipFile, qualifiedBinaryFileName);
+		// cached types are fully initialized, so that they do not keep their bytes
+		boolean fullyInitialize = cache != null;
+		ClassFileReader reader = null;
+		if (this.archive != null) {
+			byte[] contents = null;
+			try {
+				contents = this.index.getEntryContent(this.archive, qualifiedBinaryFileName);
+			} catch (IOException e) {
+				// not readable without inflating streams
+				reader = ClassFileReader.read(getZipFile(), qualifiedBinaryFileName, fullyInitialize);
+			}
+			if (contents != null)
+				reader = new ClassFileReader(contents, qualifiedBinaryFileName.toCharArray(), fullyInitialize);
+		} else {
+			reader = ClassFileReader.read(this.zipFile, qualifiedBinaryFileName, fullyInitialize);
+		}
+		if (reader != null && cache != null)
+			cache.put(this.binaryTypeCacheKey, qualifiedBinaryFileName, reader);
 		if (reader != null)
 			return new NameEnvironmentAnswer(reader, fetchAccessRestriction(qualifiedBinaryFileName));
 	} catch(ClassFormatException e) {
@@ -110,41 +152,53 @@ public char[][][] findTypeNames(String qualifiedPackageName) {
 		return null; // most common case
 
 	ArrayList answers = new ArrayList();
-	nextEntry : for (Enumeration e = this.zipFile.entries(); e.hasMoreElements(); ) {
-		String fileName = ((ZipEntry) e.nextElement()).getName();
-
-		// add the package name & all of its parent packages
-		int last = fileName.lastIndexOf('/');
-		while (last > 0) {
-			// extract the package name
-			String packageName = fileName.substring(0, last);
-			if (!qualifiedPackageName.equals(packageName))
-				continue nextEntry;
+	char[][] packageName = CharOperation.splitOn('/', qualifiedPackageName.toCharArray());
+	if (this.index != null) {
+		String[] entryNames = this.index.getEntryNames(qualifiedPackageName);
+		for (int i = 0, length = entryNames.length; i < length; i++) {
+			int indexOfDot = entryNames[i].lastIndexOf('.');
+			if (indexOfDot != -1)
+				answers.add(CharOperation.arrayConcat(packageName, entryNames[i].substring(0, indexOfDot).toCharArray()));
+		}
+	} else {
+		for (Enumeration e = this.zipFile.entries(); e.hasMoreElements(); ) {
+			String fileName = ((ZipEntry) e.nextElement()).getName();
+			int last = fileName.lastIndexOf('/');
+			if (!qualifiedPackageName.equals(last < 0 ? Util.EMPTY_STRING : fileName.substring(0, last)))
+				continue;
 			int indexOfDot = fileName.lastIndexOf('.');
-			if (indexOfDot != -1) {
-				String typeName = fileName.substring(last + 1, indexOfDot);
-				char[] packageArray = packageName.toCharArray();
-				answers.add(
-					CharOperation.arrayConcat(
-						CharOperation.splitOn('/', packageArray),
-						typeName.toCharArray()));
-			}
+			if (indexOfDot > last)
+				answers.add(CharOperation.arrayConcat(packageName, fileName.substring(last + 1, indexOfDot).toCharArray()));
 		}
 	}
 	int size = answers.size();
 	if (size != 0) {
 		char[][][] result = new char[size][][];
 		answers.toArray(result);
-		return null;
+		return result;
 	}
 	return null;
 }
 public void initialize() throws IOException {
-	if (this.zipFile == null) {
-		this.zipFile = new ZipFile(this.file);
+	if (this.zipFile == null && this.archive == null) {
+		this.index = JarIndex.get(this.file);
+		if (this.index != null && getMode() == BINARY)
+			this.archive = new RandomAccessFile(this.file, "r"); //$NON-NLS-1$
+		else
+			this.zipFile = new ZipFile(this.file);
 	}
 }
+/*
+ * Answer the jar as a zip file, for the entries the index cannot read.
+ */
+protected ZipFile getZipFile() throws IOException {
+	if (this.zipFile == null)
+		this.zipFile = new ZipFile(this.file);
+	return this.zipFile;
+}
 public boolean isPackage(String qualifiedPackageName) {
+	if (this.index != null)
+		return this.index.isPackage(qualifiedPackageName);
 	if (this.packageCache != null)
 		return this.packageCache.containsKey(qualifiedPackageName);
 
@@ -168,7 +222,15 @@ public boolean isPackage(String qualifiedPackageName) {
 	return this.packageCache.containsKey(qualifiedPackageName);
 }
 public void reset() {
-	if (this.zipFile != null && this.closeZipFileAtEnd) {
+	if (this.closeZipFileAtEnd)
+		close();
+	this.packageCache = null;
+}
+/*
+ * Close the jar, it will be reopened (and its index revalidated) on the next initialize().
+ */
+protected void close() {
+	if (this.zipFile != null) {
 		try {
 			this.zipFile.close();
 		} catch(IOException e) {
@@ -176,7 +238,17 @@ public void reset() {
 		}
 		this.zipFile = null;
 	}
+	if (this.archive != null) {
+		try {
+			this.archive.close();
+		} catch(IOException e) {
+			// ignore
+		}
+		this.archive = null;
+	}
+	this.index = null;
 	this.packageCache = null;
+	this.binaryTypeCacheKey = null;
 }
 public String toString() {
 	return "Classpath for jar file " + this.file.getPath(); //$NON-NLS-1$
@@ -0,0 +1,428 @@
+package org.eclipse.jdt.internal.compiler.batch;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.eclipse.jdt.internal.compiler.util.SourceReader;
+import org.eclipse.jdt.internal.compiler.util.Util;
+
+/**
+ * A long running batch compiler. Compilation requests (an argument line and custom default options)
+ * are received over a local socket and compiled one at a time by the same VM, so that classpath jars
+ * stay open with their package caches, library types stay decoded (see {@link BinaryTypeCache}),
+ * and the JIT stays warm, from one build to the next.
+ * <p>
+ * The server is started with
+ * <code>java -cp ecj.jar org.eclipse.jdt.internal.compiler.batch.CompilerServer [-port &lt;n&gt;]</code>
+ * and stopped with <code>... CompilerServer -port &lt;n&gt; -stop</code>.
+ * <code>... CompilerServer -port &lt;n&gt; -compile &lt;compiler arguments&gt;</code> acts as a thin client,
+ * as does <code>MaxjTask</code> when its <code>server</code> attribute is set, through
+ * {@link #compile(int, String[], Map, PrintWriter, PrintWriter)}.
+ * <p>
+ * The server only listens on the loopback interface, and only serves the requests which present the random token
+ * it writes to <code>~/.jdt-compiler-server/&lt;port&gt;</code>, a file only readable by the user who started it.
+ * Since it does not share the client's working directory, paths on the argument line should be absolute.
+ */
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public class CompilerServer {
+
+	public static final int DEFAULT_PORT = 9257;
+
+	// protocol
+	static final int VERSION = 3;
+	static final int STOP = -1; // argument count of a stop request
+	static final byte OUT = 1, ERR = 2, RESULT = 3; // frames of a response
+	static final int FRAME_SIZE = 8192; // chars per output frame, must fit writeUTF once encoded
+	static final int TOKEN_SIZE = 32; // random bytes of a token
+
+	private int port;
+	private ServerSocket serverSocket;
+	private byte[] token;
+	private volatile boolean stopped;
+	// classpath jars kept open across compilations, by canonical path
+	private HashMap<String, CachedClasspathJar> jars;
+
+public CompilerServer(int port) {
+	this.port = port;
+	this.jars = new HashMap<String, CachedClasspathJar>();
+	if (System.getProperty("jdt.compiler.binaryTypeCache") == null) //$NON-NLS-1$
+		BinaryTypeCache.enable(BinaryTypeCache.DEFAULT_CAPACITY);
+	// mapped sources would stay locked on Windows until collected, between builds
+	SourceReader.disableMapping();
+}
+
+public static void main(String[] argv) {
+	int port = DEFAULT_PORT;
+	int index = 0;
+	if (argv.length >= 2 && argv[0].equals("-port")) { //$NON-NLS-1$
+		port = Integer.parseInt(argv[1]);
+		index = 2;
+	}
+	try {
+		if (index < argv.length && argv[index].equals("-stop")) { //$NON-NLS-1$
+			stop(port);
+			return;
+		}
+		if (index < argv.length && argv[index].equals("-compile")) { //$NON-NLS-1$
+			String[] compilerArgs = new String[argv.length - index - 1];
+			System.arraycopy(argv, index + 1, compilerArgs, 0, compilerArgs.length);
+			boolean success = compile(port, compilerArgs, null, new PrintWriter(System.out), new PrintWriter(System.err));
+			System.exit(success ? 0 : -1);
+		}
+		CompilerServer server = new CompilerServer(port);
+		System.out.println("Compiler server listening on port " + server.bind()); //$NON-NLS-1$
+		server.run();
+	} catch (IOException e) {
+		e.printStackTrace();
+		System.exit(-1);
+	}
+}
+
+/**
+ * Ask the server listening on the given port to compile according to the given argument line
+ * and custom default options (see {@link Main#Main(PrintWriter, PrintWriter, boolean, Map)}).
+ * The compiler output is copied to the given writers.
+ *
+ * @return whether the compilation succeeded
+ * @throws ConnectException if no server of this user listens on the given port
+ * @throws IOException if the connection to the server is lost
+ */
+public static boolean compile(int port, String[] argv, Map customDefaultOptions, PrintWriter out, PrintWriter err) throws IOException {
+	byte[] token = readToken(port);
+	Socket socket = new Socket(InetAddress.getByName(null), port);
+	try {
+		DataOutputStream output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+		output.writeInt(VERSION);
+		output.write(token);
+		output.writeInt(argv.length);
+		for (int i = 0; i < argv.length; i++)
+			writeString(output, argv[i]);
+		ArrayList options = new ArrayList();
+		if (customDefaultOptions != null) {
+			for (Iterator iterator = customDefaultOptions.entrySet().iterator(); iterator.hasNext();) {
+				Map.Entry entry = (Map.Entry) iterator.next();
+				if (entry.getKey() instanceof String && entry.getValue() instanceof String)
+					options.add(entry);
+			}
+		}
+		output.writeInt(options.size());
+		for (int i = 0, size = options.size(); i < size; i++) {
+			Map.Entry entry = (Map.Entry) options.get(i);
+			writeString(output, (String) entry.getKey());
+			writeString(output, (String) entry.getValue());
+		}
+		output.flush();
+
+		DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+		try {
+			while (true) {
+				switch (input.readByte()) {
+					case OUT :
+						out.print(input.readUTF());
+						break;
+					case ERR :
+						err.print(input.readUTF());
+						break;
+					case RESULT :
+						return input.readBoolean();
+					default :
+						throw new IOException("Unexpected compiler server response"); //$NON-NLS-1$
+				}
+			}
+		} catch (EOFException e) {
+			throw new IOException("The compiler server closed the connection on port " + port); //$NON-NLS-1$
+		} finally {
+			out.flush();
+			err.flush();
+		}
+	} finally {
+		socket.close();
+	}
+}
+
+/**
+ * Ask the server listening on the given port to stop once done with the current compilation.
+ */
+public static void stop(int port) throws IOException {
+	byte[] token = readToken(port);
+	Socket socket = new Socket(InetAddress.getByName(null), port);
+	try {
+		DataOutputStream output = new DataOutputStream(socket.getOutputStream());
+		output.writeInt(VERSION);
+		output.write(token);
+		output.writeInt(STOP);
+		output.flush();
+	} finally {
+		socket.close();
+	}
+}
+
+/**
+ * Listen on the loopback interface and write the token clients have to present.
+ *
+ * @return the port listened on, which is chosen by the system when the server was created with port 0
+ */
+public int bind() throws IOException {
+	ServerSocket socket = new ServerSocket(this.port, 50, InetAddress.getByName(null));
+	try {
+		byte[] newToken = new byte[TOKEN_SIZE];
+		new SecureRandom().nextBytes(newToken);
+		writeToken(socket.getLocalPort(), newToken);
+		this.port = socket.getLocalPort();
+		this.token = newToken;
+		this.serverSocket = socket;
+		return this.port;
+	} finally {
+		if (this.serverSocket != socket)
+			socket.close();
+	}
+}
+
+/**
+ * Serve compilation requests until a stop request is received.
+ */
+public void run() throws IOException {
+	if (this.serverSocket == null)
+		bind();
+	try {
+		while (!this.stopped) {
+			Socket socket = this.serverSocket.accept();
+			try {
+				serve(socket);
+			} catch (IOException e) {
+				// the client went away, wait for the next one
+			} finally {
+				try {
+					socket.close();
+				} catch (IOException e) {
+					// ignore
+				}
+			}
+		}
+	} finally {
+		this.serverSocket.close();
+		this.serverSocket = null;
+		getTokenFile(this.port).delete();
+		closeJars();
+	}
+}
+
+private void serve(Socket socket) throws IOException {
+	DataInputStream input = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+	if (input.readInt() != VERSION)
+		return;
+	byte[] requestToken = new byte[TOKEN_SIZE];
+	input.readFully(requestToken);
+	if (!MessageDigest.isEqual(requestToken, this.token))
+		return; // not sent by the user who started the server
+	int argc = input.readInt();
+	if (argc == STOP) {
+		this.stopped = true;
+		return;
+	}
+	String[] argv = new String[argc];
+	for (int i = 0; i < argc; i++)
+		argv[i] = readString(input);
+	int optionCount = input.readInt();
+	Map options = new HashMap(optionCount * 2);
+	for (int i = 0; i < optionCount; i++)
+		options.put(readString(input), readString(input));
+
+	DataOutputStream output = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+	PrintWriter out = new PrintWriter(new FrameWriter(output, OUT));
+	PrintWriter err = new PrintWriter(new FrameWriter(output, ERR));
+	boolean success = false;
+	try {
+		success = new ServerMain(out, err, options).compile(argv);
+	} finally {
+		out.flush();
+		err.flush();
+		synchronized (output) {
+			output.writeByte(RESULT);
+			output.writeBoolean(success);
+			output.flush();
+		}
+	}
+}
+
+/*
+ * Strings of a request are sent as their length and UTF-8 bytes, since arguments like a classpath
+ * may not fit writeUTF(String) once encoded.
+ */
+static void writeString(DataOutputStream output, String string) throws IOException {
+	byte[] bytes = string.getBytes(Util.UTF_8);
+	output.writeInt(bytes.length);
+	output.write(bytes);
+}
+
+static String readString(DataInputStream input) throws IOException {
+	int length = input.readInt();
+	if (length < 0)
+		throw new IOException("Invalid compiler server request"); //$NON-NLS-1$
+	byte[] bytes = new byte[length];
+	input.readFully(bytes);
+	return new String(bytes, Util.UTF_8);
+}
+
+/*
+ * Answer the file holding the token of the server listening on the given port.
+ */
+public static File getTokenFile(int port) {
+	return new File(new File(System.getProperty("user.home"), ".jdt-compiler-server"), String.valueOf(port)); //$NON-NLS-1$ //$NON-NLS-2$
+}
+
+private static byte[] readToken(int port) throws IOException {
+	File file = getTokenFile(port);
+	if (!file.isFile())
+		throw new ConnectException("No compiler server token for port " + port + " in " + file.getParent()); //$NON-NLS-1$ //$NON-NLS-2$
+	byte[] token = new byte[TOKEN_SIZE];
+	DataInputStream input = new DataInputStream(new FileInputStream(file));
+	try {
+		input.readFully(token);
+	} catch (EOFException e) {
+		throw new ConnectException("Invalid compiler server token in " + file); //$NON-NLS-1$
+	} finally {
+		input.close();
+	}
+	return token;
+}
+
+/*
+ * Write the token to a file which, like its folder, is only readable and writable by the owner.
+ * Permissions are restricted before the token is written, so that no other user may have it open.
+ */
+private static void writeToken(int port, byte[] token) throws IOException {
+	File file = getTokenFile(port);
+	File folder = file.getParentFile();
+	folder.mkdirs();
+	if (!Util.restrictToOwner(folder))
+		throw new IOException("Cannot restrict the permissions of " + folder); //$NON-NLS-1$
+	file.delete();
+	FileOutputStream output = new FileOutputStream(file);
+	try {
+		if (!Util.restrictToOwner(file))
+			throw new IOException("Cannot restrict the permissions of " + file); //$NON-NLS-1$
+		output.write(token);
+	} finally {
+		output.close();
+	}
+}
+
+/*
+ * Answer an open jar for the given file, reusing the one of a previous compilation
+ * if the file did not change since.
+ */
+ClasspathJar getJar(File file) {
+	String path;
+	try {
+		path = file.getCanonicalPath();
+	} catch (IOException e) {
+		path = file.getAbsolutePath();
+	}
+	CachedClasspathJar jar = this.jars.get(path);
+	if (jar != null) {
+		if (jar.lastModified == file.lastModified() && jar.length == file.length())
+			return jar;
+		jar.close();
+	}
+	jar = new CachedClasspathJar(file);
+	this.jars.put(path, jar);
+	return jar;
+}
+
+private void closeJars() {
+	for (Iterator<CachedClasspathJar> iterator = this.jars.values().iterator(); iterator.hasNext();)
+		iterator.next().close();
+	this.jars.clear();
+}
+
+/*
+ * A jar which stays open, with its index or package cache, until the server discards it.
+ */
+static class CachedClasspathJar extends ClasspathJar {
+	long lastModified, length;
+
+	CachedClasspathJar(File file) {
+		super(file, false /* do not close at end */, null, null);
+		this.lastModified = file.lastModified();
+		this.length = file.length();
+	}
+	public void reset() {
+		// keep the jar open, with its index or package cache, for the next compilation
+	}
+}
+
+/*
+ * A batch compiler which takes classpath jars from the server.
+ */
+class ServerMain extends Main {
+	ServerMain(PrintWriter out, PrintWriter err, Map customDefaultOptions) {
+		super(out, err, false /* no exit */, customDefaultOptions, null /* progress */);
+	}
+	public FileSystem getLibraryAccess() {
+		FileSystem.Classpath[] classpaths = this.checkedClasspaths;
+		for (int i = 0, length = classpaths.length; i < length; i++) {
+			FileSystem.Classpath classpath = classpaths[i];
+			// only plain jars are shared, access rules and destination paths are specific to a compilation
+			if (classpath.getClass() == ClasspathJar.class) {
+				ClasspathJar jar = (ClasspathJar) classpath;
+				if (jar.accessRuleSet == null && jar.destinationPath == null) {
+					jar.reset(); // may have been opened to read its manifest
+					classpaths[i] = getJar(jar.file);
+				}
+			}
+		}
+		return new FileSystem(classpaths, this.filenames);
+	}
+}
+
+/*
+ * Sends the characters written to it as output frames of the given kind.
+ */
+static class FrameWriter extends Writer {
+	private DataOutputStream output;
+	private byte kind;
+
+	FrameWriter(DataOutputStream output, byte kind) {
+		super(output);
+		this.output = output;
+		this.kind = kind;
+	}
+	public void write(char[] buffer, int offset, int length) throws IOException {
+		synchronized (this.output) {
+			while (length > 0) {
+				int size = Math.min(length, FRAME_SIZE);
+				this.output.writeByte(this.kind);
+				this.output.writeUTF(new String(buffer, offset, size));
+				offset += size;
+				length -= size;
+			}
+		}
+	}
+	public void flush() throws IOException {
+		this.output.flush();
+	}
+	public void close() throws IOException {
+		flush();
+	}
+}
+}
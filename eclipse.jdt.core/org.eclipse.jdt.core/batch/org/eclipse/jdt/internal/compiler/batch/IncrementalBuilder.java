@@ -0,0 +1,427 @@
+package org.eclipse.jdt.internal.compiler.batch;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.internal.compiler.ClassFile;
+import org.eclipse.jdt.internal.compiler.CompilationResult;
+import org.eclipse.jdt.internal.compiler.ICompilerRequestor;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFormatException;
+import org.eclipse.jdt.internal.compiler.util.SuffixConstants;
+import org.eclipse.jdt.internal.compiler.util.Util;
+
+/**
+ * Incremental compilation on top of the batch compiler: only the source files which changed since the
+ * previous build are recompiled, followed by the units referencing types whose structure changed.
+ * <p>
+ * Like the builder's State, the dependency graph (the qualified and simple name references of each unit and
+ * the class files it produced) is persisted between builds, in a state file of the output folder.
+ * Units which are not recompiled are seen as binary types, the output folder being added to the classpath.
+ * A full build is done when there is no usable state, or when the compiler arguments or options changed.
+ */
+@SuppressWarnings({ "rawtypes", "unchecked" })
+public class IncrementalBuilder {
+
+	public static final String STATE_FILE_NAME = ".maxjstate"; //$NON-NLS-1$
+	static final byte VERSION = 1;
+	// rounds of dependents compiled before giving up & compiling all the sources at once, as the builder does
+	static final int MAX_COMPILE_LOOP = 5;
+
+	private File outputFolder;
+	private String[] arguments; // compiler arguments, without the source files
+	private Map customDefaultOptions;
+	private PrintWriter out, err;
+
+	// units of the previous build & of this build, by source file name
+	private HashMap<String, UnitState> previousUnits;
+	private HashMap<String, UnitState> units;
+	// class file names ('p/X$Y') of the types whose structure changed, or which were added or removed
+	private HashSet<String> changedTypes;
+	// number of units compiled by this build
+	public int compiledUnits;
+
+public IncrementalBuilder(String outputFolder, String[] arguments, Map customDefaultOptions, PrintWriter out, PrintWriter err) {
+	this.outputFolder = new File(outputFolder);
+	this.arguments = arguments;
+	this.customDefaultOptions = customDefaultOptions;
+	this.out = out;
+	this.err = err;
+}
+
+/**
+ * Bring the output folder up to date with the given source files (all the sources of the build).
+ *
+ * @return whether all compilations succeeded
+ */
+public boolean build(String[] sourceFiles) {
+	File stateFile = new File(this.outputFolder, STATE_FILE_NAME);
+	String signature = signature();
+	this.previousUnits = readState(stateFile, signature);
+	this.units = new HashMap<String, UnitState>();
+	this.changedTypes = new HashSet<String>();
+	this.compiledUnits = 0;
+
+	ArrayList<String> toCompile = new ArrayList<String>();
+	HashSet<String> sources = new HashSet<String>();
+	for (int i = 0, length = sourceFiles.length; i < length; i++) {
+		String sourceFile = sourceFiles[i];
+		sources.add(sourceFile);
+		UnitState previous = this.previousUnits == null ? null : this.previousUnits.get(sourceFile);
+		File file = new File(sourceFile);
+		if (previous == null || previous.hasErrors
+				|| previous.lastModified != file.lastModified() || previous.length != file.length()) {
+			toCompile.add(sourceFile);
+		} else {
+			this.units.put(sourceFile, previous);
+		}
+	}
+	if (this.previousUnits != null) {
+		// the class files of deleted source files are removed & their dependents recompiled
+		for (Iterator<UnitState> iterator = this.previousUnits.values().iterator(); iterator.hasNext();) {
+			UnitState previous = iterator.next();
+			if (sources.contains(previous.sourceFile))
+				continue;
+			for (int i = 0, length = previous.types.length; i < length; i++) {
+				classFile(previous.types[i]).delete();
+				typeChanged(previous.types[i]);
+			}
+		}
+	}
+
+	boolean success = true;
+	HashSet<String> lastRound = new HashSet<String>();
+	int compileLoop = 0;
+	while (true) {
+		addDependents(toCompile, lastRound);
+		if (toCompile.isEmpty())
+			break;
+		if (++compileLoop > MAX_COMPILE_LOOP) {
+			success = compile(sourceFiles);
+			break;
+		}
+		String[] files = new String[toCompile.size()];
+		toCompile.toArray(files);
+		success &= compile(files);
+		lastRound = new HashSet<String>(toCompile);
+		toCompile.clear();
+	}
+
+	// an unreadable state only costs a full build next time
+	writeState(stateFile, signature);
+	return success;
+}
+
+/*
+ * Compile the given units, keeping their previous class files in memory to detect structural changes.
+ */
+private boolean compile(String[] sourceFiles) {
+	final HashMap<String, byte[]> previousClassFiles = new HashMap<String, byte[]>();
+	for (int i = 0, length = sourceFiles.length; i < length; i++) {
+		UnitState previous = this.units.remove(sourceFiles[i]);
+		if (previous == null && this.previousUnits != null)
+			previous = this.previousUnits.get(sourceFiles[i]);
+		if (previous == null)
+			continue;
+		for (int j = 0, typeCount = previous.types.length; j < typeCount; j++) {
+			File classFile = classFile(previous.types[j]);
+			try {
+				previousClassFiles.put(previous.types[j], Util.getFileByteContent(classFile));
+			} catch (IOException e) {
+				typeChanged(previous.types[j]); // missing or unreadable
+			}
+			classFile.delete();
+		}
+	}
+	this.compiledUnits += sourceFiles.length;
+
+	String[] argv = new String[this.arguments.length + 3 + sourceFiles.length];
+	System.arraycopy(this.arguments, 0, argv, 0, this.arguments.length);
+	int index = this.arguments.length;
+	argv[index++] = "-referenceInfo"; //$NON-NLS-1$
+	argv[index++] = "-classpath"; //$NON-NLS-1$
+	argv[index++] = this.outputFolder.getAbsolutePath();
+	System.arraycopy(sourceFiles, 0, argv, index, sourceFiles.length);
+
+	Main main = new Main(this.out, this.err, false /* no exit */, this.customDefaultOptions, null /* progress */) {
+		public ICompilerRequestor getBatchRequestor() {
+			final ICompilerRequestor requestor = super.getBatchRequestor();
+			return new ICompilerRequestor() {
+				public void acceptResult(CompilationResult result) {
+					boolean written = !result.hasErrors() || proceedOnError;
+					record(result, written, previousClassFiles);
+					requestor.acceptResult(result);
+				}
+			};
+		}
+	};
+	boolean success = main.compile(argv);
+
+	// types which were not generated again disappeared
+	for (Iterator<String> iterator = previousClassFiles.keySet().iterator(); iterator.hasNext();)
+		typeChanged(iterator.next());
+	return success;
+}
+
+void record(CompilationResult result, boolean written, HashMap<String, byte[]> previousClassFiles) {
+	String sourceFile = new String(result.getFileName());
+	File file = new File(sourceFile);
+	ClassFile[] classFiles = result.getClassFiles();
+	String[] types = new String[classFiles.length];
+	for (int i = 0, length = classFiles.length; i < length; i++) {
+		String type = new String(classFiles[i].fileName());
+		types[i] = type;
+		if (!written)
+			continue;
+		byte[] previousBytes = previousClassFiles.remove(type);
+		byte[] newBytes = classFiles[i].getBytes();
+		if (previousBytes == null) {
+			typeChanged(type); // new type
+		} else if (!Arrays.equals(previousBytes, newBytes)) {
+			try {
+				ClassFileReader reader = new ClassFileReader(previousBytes, type.toCharArray());
+				// ignore local types since they're only visible inside a single method
+				if (!(reader.isLocal() || reader.isAnonymous()) && reader.hasStructuralChanges(newBytes))
+					typeChanged(type);
+			} catch (ClassFormatException e) {
+				typeChanged(type);
+			}
+		}
+	}
+	UnitState unit = new UnitState(sourceFile, file.lastModified(), file.length(), result.hasErrors(), types);
+	unit.recordReferences(result.qualifiedReferences, result.simpleNameReferences);
+	this.units.put(sourceFile, unit);
+}
+
+private void typeChanged(String type) {
+	this.changedTypes.add(type);
+}
+
+/*
+ * Add the units which reference a changed type, except the ones compiled by the last round, which saw the change.
+ * Units compiled by earlier rounds are added again: they may inline constants of a type changed since.
+ * The qualified names are of the form 'p1/p2' & the simple names are just 'X', as in the builder.
+ */
+private void addDependents(ArrayList<String> toCompile, HashSet<String> lastRound) {
+	if (this.changedTypes.isEmpty())
+		return;
+	HashSet<String> qualifiedNames = new HashSet<String>();
+	HashSet<String> simpleNames = new HashSet<String>();
+	boolean defaultPackage = false;
+	for (Iterator<String> iterator = this.changedTypes.iterator(); iterator.hasNext();) {
+		String type = iterator.next();
+		int packageEnd = type.lastIndexOf('/');
+		if (packageEnd == -1)
+			defaultPackage = true;
+		else
+			qualifiedNames.add(type.substring(0, packageEnd));
+		String typeName = type.substring(packageEnd + 1);
+		int memberIndex = typeName.indexOf('$');
+		if (memberIndex > 0)
+			typeName = typeName.substring(0, memberIndex);
+		simpleNames.add(typeName);
+	}
+	this.changedTypes.clear();
+
+	for (Iterator<UnitState> iterator = this.units.values().iterator(); iterator.hasNext();) {
+		UnitState unit = iterator.next();
+		if (lastRound.contains(unit.sourceFile) || toCompile.contains(unit.sourceFile))
+			continue;
+		if (unit.includes(qualifiedNames, simpleNames, defaultPackage))
+			toCompile.add(unit.sourceFile);
+	}
+}
+
+private File classFile(String type) {
+	return new File(this.outputFolder, type.replace('/', File.separatorChar) + SuffixConstants.SUFFIX_STRING_class);
+}
+
+/*
+ * Compiler arguments & options, a full build is needed whenever they change.
+ */
+private String signature() {
+	StringBuffer buffer = new StringBuffer();
+	for (int i = 0, length = this.arguments.length; i < length; i++)
+		buffer.append(this.arguments[i]).append('\n');
+	if (this.customDefaultOptions != null) {
+		TreeMap sorted = new TreeMap();
+		for (Iterator iterator = this.customDefaultOptions.entrySet().iterator(); iterator.hasNext();) {
+			Map.Entry entry = (Map.Entry) iterator.next();
+			sorted.put(String.valueOf(entry.getKey()), String.valueOf(entry.getValue()));
+		}
+		for (Iterator iterator = sorted.entrySet().iterator(); iterator.hasNext();) {
+			Map.Entry entry = (Map.Entry) iterator.next();
+			buffer.append(entry.getKey()).append('=').append(entry.getValue()).append('\n');
+		}
+	}
+	return buffer.toString();
+}
+
+/*
+ * Answer the units of the previous build, or null if a full build is required.
+ */
+private HashMap<String, UnitState> readState(File stateFile, String signature) {
+	if (!stateFile.isFile())
+		return null;
+	DataInputStream in = null;
+	try {
+		in = new DataInputStream(new BufferedInputStream(new FileInputStream(stateFile)));
+		if (in.readByte() != VERSION)
+			return null;
+		if (!signature.equals(readString(in)))
+			return null;
+		int unitCount = in.readInt();
+		HashMap<String, UnitState> result = new HashMap<String, UnitState>(unitCount * 2);
+		for (int i = 0; i < unitCount; i++) {
+			UnitState unit = UnitState.read(in);
+			result.put(unit.sourceFile, unit);
+		}
+		return result;
+	} catch (IOException e) {
+		return null;
+	} finally {
+		if (in != null) {
+			try {
+				in.close();
+			} catch (IOException e) {
+				// ignore
+			}
+		}
+	}
+}
+
+private void writeState(File stateFile, String signature) {
+	DataOutputStream out = null;
+	try {
+		out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(stateFile)));
+		out.writeByte(VERSION);
+		writeString(out, signature);
+		out.writeInt(this.units.size());
+		for (Iterator<UnitState> iterator = this.units.values().iterator(); iterator.hasNext();)
+			iterator.next().write(out);
+	} catch (IOException e) {
+		stateFile.delete(); // next build is a full build
+	} finally {
+		if (out != null) {
+			try {
+				out.close();
+			} catch (IOException e) {
+				// ignore
+			}
+		}
+	}
+}
+
+// the signature can exceed the 64K limit of writeUTF
+static String readString(DataInputStream in) throws IOException {
+	char[] chars = new char[in.readInt()];
+	for (int i = 0, length = chars.length; i < length; i++)
+		chars[i] = in.readChar();
+	return new String(chars);
+}
+
+static void writeString(DataOutputStream out, String string) throws IOException {
+	out.writeInt(string.length());
+	out.writeChars(string);
+}
+
+/*
+ * What the previous build knows about a compilation unit.
+ */
+static class UnitState {
+	String sourceFile;
+	long lastModified, length;
+	boolean hasErrors;
+	String[] types; // class file names of the generated types
+	String[] qualifiedReferences; // 'p1/p2'
+	String[] simpleNameReferences;
+
+	UnitState(String sourceFile, long lastModified, long length, boolean hasErrors, String[] types) {
+		this.sourceFile = sourceFile;
+		this.lastModified = lastModified;
+		this.length = length;
+		this.hasErrors = hasErrors;
+		this.types = types;
+	}
+
+	void recordReferences(char[][][] qualifiedNames, char[][] simpleNames) {
+		int length = qualifiedNames == null ? 0 : qualifiedNames.length;
+		this.qualifiedReferences = new String[length];
+		for (int i = 0; i < length; i++)
+			this.qualifiedReferences[i] = new String(CharOperation.concatWith(qualifiedNames[i], '/'));
+		length = simpleNames == null ? 0 : simpleNames.length;
+		this.simpleNameReferences = new String[length];
+		for (int i = 0; i < length; i++)
+			this.simpleNameReferences[i] = new String(simpleNames[i]);
+	}
+
+	boolean includes(HashSet<String> qualifiedNames, HashSet<String> simpleNames, boolean defaultPackage) {
+		boolean simpleMatch = false;
+		for (int i = 0, length = this.simpleNameReferences.length; i < length; i++) {
+			if (simpleNames.contains(this.simpleNameReferences[i])) {
+				simpleMatch = true;
+				break;
+			}
+		}
+		if (!simpleMatch)
+			return false;
+		if (defaultPackage)
+			return true;
+		// single segment package names are recorded as simple names
+		for (int i = 0, length = this.simpleNameReferences.length; i < length; i++) {
+			if (qualifiedNames.contains(this.simpleNameReferences[i]))
+				return true;
+		}
+		for (int i = 0, length = this.qualifiedReferences.length; i < length; i++) {
+			if (qualifiedNames.contains(this.qualifiedReferences[i]))
+				return true;
+		}
+		return false;
+	}
+
+	static UnitState read(DataInputStream in) throws IOException {
+		UnitState unit = new UnitState(in.readUTF(), in.readLong(), in.readLong(), in.readBoolean(), readNames(in));
+		unit.qualifiedReferences = readNames(in);
+		unit.simpleNameReferences = readNames(in);
+		return unit;
+	}
+
+	void write(DataOutputStream out) throws IOException {
+		out.writeUTF(this.sourceFile);
+		out.writeLong(this.lastModified);
+		out.writeLong(this.length);
+		out.writeBoolean(this.hasErrors);
+		writeNames(out, this.types);
+		writeNames(out, this.qualifiedReferences);
+		writeNames(out, this.simpleNameReferences);
+	}
+
+	private static String[] readNames(DataInputStream in) throws IOException {
+		String[] names = new String[in.readInt()];
+		for (int i = 0, length = names.length; i < length; i++)
+			names[i] = in.readUTF();
+		return names;
+	}
+
+	private static void writeNames(DataOutputStream out, String[] names) throws IOException {
+		out.writeInt(names.length);
+		for (int i = 0, length = names.length; i < length; i++)
+			out.writeUTF(names[i]);
+	}
+}
+}
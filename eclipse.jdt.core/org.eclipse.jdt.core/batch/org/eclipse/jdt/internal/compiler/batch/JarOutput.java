@@ -0,0 +1,190 @@
+package org.eclipse.jdt.internal.compiler.batch;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * The class files of a batch compilation written to a single jar (<code>-d out.jar</code>) rather than to a folder.
+ * <p>
+ * Entries are compared (CRC and size) with the ones of the previous jar as they are produced, and only new or
+ * changed entries are streamed to a temporary jar, through one buffered channel. When the compilation is over,
+ * the other entries of the previous jar are copied over, as the class files of a folder outlive the compilation
+ * of their siblings, and the temporary jar replaces the previous one. When no entry changed, the previous jar is
+ * left untouched, so that its time stamp does not trigger the steps which depend on it.
+ */
+public class JarOutput {
+
+	static final String MANIFEST_NAME = "META-INF/MANIFEST.MF"; //$NON-NLS-1$
+	static final byte[] DEFAULT_MANIFEST = "Manifest-Version: 1.0\r\nCreated-By: MaxCompiler\r\n\r\n".getBytes(); //$NON-NLS-1$
+	static final int BUFFER_SIZE = 64 * 1024;
+
+	private final File jar;
+	private File temporaryJar;
+	private ZipOutputStream output;
+	// CRC & size of the entries of the previous jar, null until read
+	private HashMap<String, long[]> previousEntries;
+	private final HashSet<String> writtenEntries = new HashSet<String>();
+	private final CRC32 crc = new CRC32();
+	public int unchangedEntries;
+
+public JarOutput(File jar) {
+	this.jar = jar;
+}
+
+public File getFile() {
+	return this.jar;
+}
+
+/**
+ * Answer whether the given destination path names a jar rather than a folder.
+ */
+public static boolean isJar(String destinationPath) {
+	return destinationPath.toLowerCase().endsWith(".jar") //$NON-NLS-1$
+		&& !new File(destinationPath).isDirectory();
+}
+
+/**
+ * Add the given entry (e.g. <code>p/X.class</code>) to the jar, unless the previous jar had the same bytes for it.
+ */
+public void write(String entryName, byte[] bytes) throws IOException {
+	if (this.previousEntries == null)
+		this.previousEntries = readPreviousEntries();
+	this.crc.reset();
+	this.crc.update(bytes, 0, bytes.length);
+	long[] previous = this.previousEntries.get(entryName);
+	if (previous != null && previous[0] == this.crc.getValue() && previous[1] == bytes.length) {
+		this.unchangedEntries++;
+		return;
+	}
+	if (!this.writtenEntries.add(entryName))
+		return; // already written by this compilation, a duplicate type has been reported
+	open();
+	this.output.putNextEntry(new ZipEntry(entryName));
+	this.output.write(bytes);
+	this.output.closeEntry();
+}
+
+/**
+ * Complete the jar, answer whether it changed.
+ */
+public boolean close() throws IOException {
+	if (this.previousEntries == null)
+		this.previousEntries = readPreviousEntries();
+	if (this.output == null && this.jar.exists())
+		return false; // no entry changed
+	open();
+	try {
+		copyPreviousEntries();
+		this.output.close();
+		this.output = null;
+		if (this.jar.exists() && !this.jar.delete())
+			throw new IOException("Cannot replace " + this.jar); //$NON-NLS-1$
+		if (!this.temporaryJar.renameTo(this.jar))
+			throw new IOException("Cannot rename " + this.temporaryJar + " to " + this.jar); //$NON-NLS-1$ //$NON-NLS-2$
+	} finally {
+		if (this.output != null) {
+			try {
+				this.output.close();
+			} catch (IOException e) {
+				// ignore
+			}
+			this.output = null;
+		}
+		this.temporaryJar.delete();
+	}
+	return true;
+}
+
+private void open() throws IOException {
+	if (this.output != null)
+		return;
+	File folder = this.jar.getAbsoluteFile().getParentFile();
+	if (folder != null && !folder.exists())
+		folder.mkdirs();
+	this.temporaryJar = File.createTempFile(this.jar.getName(), ".tmp", folder); //$NON-NLS-1$
+	OutputStream stream = Channels.newOutputStream(new FileOutputStream(this.temporaryJar).getChannel());
+	this.output = new ZipOutputStream(new BufferedOutputStream(stream, BUFFER_SIZE));
+	// the manifest comes first, the one of the previous jar if any
+	if (this.previousEntries.containsKey(MANIFEST_NAME)) {
+		ZipFile zipFile = new ZipFile(this.jar);
+		try {
+			copyEntry(zipFile, zipFile.getEntry(MANIFEST_NAME), new byte[BUFFER_SIZE]);
+		} finally {
+			zipFile.close();
+		}
+	} else {
+		this.writtenEntries.add(MANIFEST_NAME);
+		this.output.putNextEntry(new ZipEntry(MANIFEST_NAME));
+		this.output.write(DEFAULT_MANIFEST);
+		this.output.closeEntry();
+	}
+}
+
+private HashMap<String, long[]> readPreviousEntries() {
+	HashMap<String, long[]> entries = new HashMap<String, long[]>();
+	if (!this.jar.isFile())
+		return entries;
+	ZipFile zipFile = null;
+	try {
+		zipFile = new ZipFile(this.jar);
+		for (Enumeration<? extends ZipEntry> e = zipFile.entries(); e.hasMoreElements();) {
+			ZipEntry entry = e.nextElement();
+			entries.put(entry.getName(), new long[] { entry.getCrc(), entry.getSize() });
+		}
+	} catch (IOException e) {
+		// a corrupted jar is replaced as a whole
+		entries.clear();
+	} finally {
+		if (zipFile != null) {
+			try {
+				zipFile.close();
+			} catch (IOException e) {
+				// ignore
+			}
+		}
+	}
+	return entries;
+}
+
+private void copyPreviousEntries() throws IOException {
+	if (this.previousEntries.isEmpty())
+		return;
+	ZipFile zipFile = new ZipFile(this.jar);
+	try {
+		byte[] buffer = new byte[BUFFER_SIZE];
+		for (Enumeration<? extends ZipEntry> e = zipFile.entries(); e.hasMoreElements();)
+			copyEntry(zipFile, e.nextElement(), buffer);
+	} finally {
+		zipFile.close();
+	}
+}
+
+private void copyEntry(ZipFile zipFile, ZipEntry entry, byte[] buffer) throws IOException {
+	if (!this.writtenEntries.add(entry.getName()))
+		return;
+	ZipEntry copy = new ZipEntry(entry.getName());
+	copy.setTime(entry.getTime());
+	this.output.putNextEntry(copy);
+	InputStream input = zipFile.getInputStream(entry);
+	try {
+		int read;
+		while ((read = input.read(buffer)) != -1)
+			this.output.write(buffer, 0, read);
+	} finally {
+		input.close();
+	}
+	this.output.closeEntry();
+}
+}
@@ -26,6 +26,7 @@
 package org.eclipse.jdt.internal.compiler.batch;
 
 import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
 import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
@@ -40,6 +41,7 @@ import java.io.PrintWriter;
 import java.io.StringReader;
 import java.io.StringWriter;
 import java.io.UnsupportedEncodingException;
+import java.io.Writer;
 import java.lang.reflect.Field;
 import java.text.DateFormat;
 import java.text.MessageFormat;
@@ -676,6 +678,14 @@ public class Main implements ProblemSeverities, SuffixConstants {
 			this.printlnErr(this.main.bind("configure.incorrectVMVersionforAPT")); //$NON-NLS-1$
 		}
 
+		public void logNoStatsWritten(String fileName, IOException e) {
+			this.printlnErr(this.main.bind("output.noStatsWritten", fileName, e.getMessage())); //$NON-NLS-1$
+		}
+
+		public void logNoJarWritten(String fileName, IOException e) {
+			this.printlnErr(this.main.bind("output.noJarWritten", fileName, e.getMessage())); //$NON-NLS-1$
+		}
+
 		/**
 		 *
 		 */
@@ -1338,6 +1348,10 @@ public class Main implements ProblemSeverities, SuffixConstants {
 	public boolean proceedOnError = false;
 	public boolean produceRefInfo = false;
 	public int currentRepetition, maxRepetition;
+	public int parseThreads; // -1 when not specified
+	public int processThreads; // -1 when not specified
+	public String statsFile; // statistics per compilation unit are exported to this file, when specified
+	protected JarOutput jarOutput; // class files are written to this jar rather than to a folder (-d out.jar)
 	public boolean showProgress = false;
 	public long startTime;
 	public ArrayList pendingErrors;
@@ -1759,6 +1773,9 @@ public void configure(String[] argv) {
 	final int INSIDE_S_start = 19;
 	final int INSIDE_CLASS_NAMES = 20;
 	final int INSIDE_WARNINGS_PROPERTIES = 21;
+	final int INSIDE_PARSE_THREADS = 22;
+	final int INSIDE_MAX_WARNINGS = 23;
+	final int INSIDE_PROCESS_THREADS = 24;
 
 	final int DEFAULT = 0;
 	ArrayList bootclasspaths = new ArrayList(DEFAULT_SIZE_CLASSPATH);
@@ -1774,6 +1791,9 @@ public void configure(String[] argv) {
 	int argCount = argv.length;
 	int mode = DEFAULT;
 	this.maxRepetition = 0;
+	this.parseThreads = -1;
+	this.processThreads = -1;
+	this.statsFile = null;
 	boolean printUsageRequired = false;
 	String usageSection = null;
 	boolean printVersionRequired = false;
@@ -1960,6 +1980,27 @@ public void configure(String[] argv) {
 					continue;
 				}
 
+				if (currentArg.equals("-fuseOperatorChains")) { //$NON-NLS-1$
+					this.options.put(CompilerOptions.OPTION_FuseOperatorChains, CompilerOptions.ENABLED);
+					continue;
+				}
+
+				if (currentArg.equals("-operatorCallSites")) { //$NON-NLS-1$
+					this.options.put(CompilerOptions.OPTION_OperatorCallSitesAttribute, CompilerOptions.GENERATE);
+					continue;
+				}
+
+				if (currentArg.startsWith("-stats:")) { //$NON-NLS-1$
+					if (this.statsFile != null)
+						throw new IllegalArgumentException(
+							this.bind("configure.duplicateStats", currentArg)); //$NON-NLS-1$
+					this.statsFile = currentArg.substring(7);
+					if (this.statsFile.length() == 0)
+						throw new IllegalArgumentException(
+							this.bind("configure.invalidStats", currentArg)); //$NON-NLS-1$
+					continue;
+				}
+
 				if (currentArg.equals("-log")) { //$NON-NLS-1$
 					if (this.log != null)
 						throw new IllegalArgumentException(
@@ -1974,6 +2015,20 @@ public void configure(String[] argv) {
 					mode = INSIDE_REPETITION;
 					continue;
 				}
+				if (currentArg.equals("-parseThreads")) { //$NON-NLS-1$
+					if (this.parseThreads >= 0)
+						throw new IllegalArgumentException(
+							this.bind("configure.duplicateThreads", currentArg)); //$NON-NLS-1$
+					mode = INSIDE_PARSE_THREADS;
+					continue;
+				}
+				if (currentArg.equals("-processThreads")) { //$NON-NLS-1$
+					if (this.processThreads >= 0)
+						throw new IllegalArgumentException(
+							this.bind("configure.duplicateThreads", currentArg)); //$NON-NLS-1$
+					mode = INSIDE_PROCESS_THREADS;
+					continue;
+				}
 				if (currentArg.equals("-maxProblems")) { //$NON-NLS-1$
 					if (this.maxProblems > 0)
 						throw new IllegalArgumentException(
@@ -1981,6 +2036,10 @@ public void configure(String[] argv) {
 					mode = INSIDE_MAX_PROBLEMS;
 					continue;
 				}
+				if (currentArg.equals("-maxWarnings")) { //$NON-NLS-1$
+					mode = INSIDE_MAX_WARNINGS;
+					continue;
+				}
 				if (currentArg.equals("-source")) { //$NON-NLS-1$
 					mode = INSIDE_SOURCE;
 					continue;
@@ -2512,6 +2571,28 @@ public void configure(String[] argv) {
 				}
 				mode = DEFAULT;
 				continue;
+			case INSIDE_PARSE_THREADS :
+				try {
+					this.parseThreads = Integer.parseInt(currentArg);
+					if (this.parseThreads < 0) {
+						throw new IllegalArgumentException(this.bind("configure.threads", currentArg)); //$NON-NLS-1$
+					}
+				} catch (NumberFormatException e) {
+					throw new IllegalArgumentException(this.bind("configure.threads", currentArg)); //$NON-NLS-1$
+				}
+				mode = DEFAULT;
+				continue;
+			case INSIDE_PROCESS_THREADS :
+				try {
+					this.processThreads = Integer.parseInt(currentArg);
+					if (this.processThreads < 0) {
+						throw new IllegalArgumentException(this.bind("configure.threads", currentArg)); //$NON-NLS-1$
+					}
+				} catch (NumberFormatException e) {
+					throw new IllegalArgumentException(this.bind("configure.threads", currentArg)); //$NON-NLS-1$
+				}
+				mode = DEFAULT;
+				continue;
 			case INSIDE_MAX_PROBLEMS :
 				try {
 					this.maxProblems = Integer.parseInt(currentArg);
@@ -2524,6 +2605,17 @@ public void configure(String[] argv) {
 				}
 				mode = DEFAULT;
 				continue;
+			case INSIDE_MAX_WARNINGS :
+				try {
+					if (Integer.parseInt(currentArg) <= 0) {
+						throw new IllegalArgumentException(this.bind("configure.maxWarnings", currentArg)); //$NON-NLS-1$
+					}
+					this.options.put(CompilerOptions.OPTION_MaxWarningsPerUnit, currentArg);
+				} catch (NumberFormatException e) {
+					throw new IllegalArgumentException(this.bind("configure.maxWarnings", currentArg)); //$NON-NLS-1$
+				}
+				mode = DEFAULT;
+				continue;
 			case INSIDE_SOURCE :
 				if (this.didSpecifySource) {
 					throw new IllegalArgumentException(
@@ -4072,6 +4164,7 @@ public void outputClassFiles(CompilationResult unitResult) {
 			generateClasspathStructure = true;
 		} // else leave currentDestinationPath null
 		if (currentDestinationPath != null) {
+			boolean toJar = this.jarOutput != null && currentDestinationPath == this.destinationPath;
 			for (int i = 0, fileCount = classFiles.length; i < fileCount; i++) {
 				// retrieve the key and the corresponding classfile
 				ClassFile classFile = classFiles[i];
@@ -4091,11 +4184,15 @@ public void outputClassFiles(CompilationResult unitResult) {
 									String.valueOf(this.exportedClassFilesCounter+1),
 									relativeStringName
 								}));
-					Util.writeToDisk(
-						generateClasspathStructure,
-						currentDestinationPath,
-						relativeStringName,
-						classFile);
+					if (toJar) {
+						this.jarOutput.write(relativeStringName.replace(File.separatorChar, '/'), classFile.getBytes());
+					} else {
+						Util.writeToDisk(
+							generateClasspathStructure,
+							currentDestinationPath,
+							relativeStringName,
+							classFile);
+					}
 					this.logger.logClassFile(
 						generateClasspathStructure,
 						currentDestinationPath,
@@ -4133,6 +4230,12 @@ public void performCompilation() {
 	// temporary code to allow the compiler to revert to a single thread
 	String setting = System.getProperty("jdt.compiler.useSingleThread"); //$NON-NLS-1$
 	this.batchCompiler.useSingleThread = setting != null && setting.equals("true"); //$NON-NLS-1$
+	if (this.parseThreads > 0)
+		this.batchCompiler.parseThreads = this.parseThreads;
+	if (this.processThreads > 0)
+		this.batchCompiler.processThreads = this.processThreads;
+	if (this.statsFile != null)
+		this.batchCompiler.stats.recordUnits();
 
 	if (this.compilerOptions.complianceLevel >= ClassFileConstants.JDK1_6
 			&& this.compilerOptions.processAnnotations) {
@@ -4150,6 +4253,8 @@ public void performCompilation() {
 	// set the non-externally configurable options.
 	this.compilerOptions.verbose = this.verbose;
 	this.compilerOptions.produceReferenceInfo = this.produceRefInfo;
+	if (this.destinationPath != null && this.destinationPath != NONE && JarOutput.isJar(this.destinationPath))
+		this.jarOutput = new JarOutput(new File(this.destinationPath));
 	try {
 		this.logger.startLoggingSources();
 		this.batchCompiler.compile(getCompilationUnits());
@@ -4165,9 +4270,50 @@ public void performCompilation() {
 		this.compilerStats[this.currentRepetition] = this.batchCompiler.stats;
 	}
 	this.logger.printStats();
+	if (this.statsFile != null) {
+		writeStats();
+	}
 
 	// cleanup
 	environment.cleanup();
+	if (this.jarOutput != null)
+		closeJarOutput(); // once the classpath, which may contain the jar, is closed
+}
+/**
+ * Complete the jar given with -d &lt;file&gt;.jar, which is only replaced if some of its entries changed.
+ */
+protected void closeJarOutput() {
+	try {
+		this.jarOutput.close();
+	} catch (IOException e) {
+		this.logger.logNoJarWritten(this.destinationPath, e);
+	}
+	this.jarOutput = null;
+}
+/**
+ * Export the statistics of the compilation to the file given with -stats:&lt;file&gt;,
+ * as CSV if its name ends with .csv, as JSON otherwise.
+ */
+protected void writeStats() {
+	Writer writer = null;
+	try {
+		writer = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(this.statsFile, false), Util.UTF_8));
+		if (this.statsFile.toLowerCase().endsWith(".csv")) { //$NON-NLS-1$
+			this.batchCompiler.stats.writeCSV(writer);
+		} else {
+			this.batchCompiler.stats.writeJSON(writer);
+		}
+	} catch (IOException e) {
+		this.logger.logNoStatsWritten(this.statsFile, e);
+	} finally {
+		if (writer != null) {
+			try {
+				writer.close();
+			} catch (IOException e) {
+				this.logger.logNoStatsWritten(this.statsFile, e);
+			}
+		}
+	}
 }
 protected void loggingExtraProblems() {
 	this.logger.loggingExtraProblems(this);
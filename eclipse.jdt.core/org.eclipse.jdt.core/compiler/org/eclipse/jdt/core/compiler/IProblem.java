@@ -1942,4 +1942,11 @@ void setSourceStart(int sourceStart);
 	int MaxelerInvalidOverloadedPut = MethodRelated + 80008;
 
 	////////////////////////////////////////////////////////////////////////////////////////
+
+	/**
+	 *  Warnings of a compilation unit past the limit of warnings per unit
+	 */
+	int MaxelerMoreWarnings = Internal + 80009;
+
+	////////////////////////////////////////////////////////////////////////////////////////
 }
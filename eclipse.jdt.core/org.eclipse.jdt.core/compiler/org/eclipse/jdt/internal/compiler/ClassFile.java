@@ -72,6 +72,7 @@ import org.eclipse.jdt.internal.compiler.codegen.AttributeNamesConstants;
 import org.eclipse.jdt.internal.compiler.codegen.CodeStream;
 import org.eclipse.jdt.internal.compiler.codegen.ConstantPool;
 import org.eclipse.jdt.internal.compiler.codegen.ExceptionLabel;
+import org.eclipse.jdt.internal.compiler.codegen.LiveLocals;
 import org.eclipse.jdt.internal.compiler.codegen.Opcodes;
 import org.eclipse.jdt.internal.compiler.codegen.StackMapFrame;
 import org.eclipse.jdt.internal.compiler.codegen.StackMapFrameCodeStream;
@@ -145,8 +146,12 @@ public class ClassFile implements TypeConstants, TypeIds {
 	public List bootstrapMethods = null;
 	public int methodCount;
 	public int methodCountOffset;
+	// operator overloading: method index, pc, kind and operator, source start and source end of each call site
+	int[] operatorCallSites;
+	int operatorCallSitesCount;
 	// pool managment
 	boolean isShared = false;
+	ClassFilePool pool;
 	// used to generate private access methods
 	// debug and stack map attributes
 	public int produceAttributes;
@@ -274,6 +279,10 @@ public class ClassFile implements TypeConstants, TypeIds {
 		this.produceAttributes = options.produceDebugAttributes;
 		this.referenceBinding = typeBinding;
 		this.isNestedType = typeBinding.isNestedType();
+		this.pool = typeBinding.scope.environment().classFilePool;
+		if (options.produceOperatorCallSites) {
+			this.produceAttributes |= ClassFileConstants.ATTR_OPERATOR_CALL_SITES;
+		}
 		if (this.targetJDK >= ClassFileConstants.JDK1_6) {
 			this.produceAttributes |= ClassFileConstants.ATTR_STACK_MAP_TABLE;
 			if (this.targetJDK >= ClassFileConstants.JDK1_8) {
@@ -410,6 +419,11 @@ public class ClassFile implements TypeConstants, TypeIds {
 		}
 		
 		attributesNumber += generateTypeAnnotationAttributeForTypeDeclaration();
+
+		discardOperatorCallSites(this.methodCount);
+		if (this.operatorCallSitesCount != 0) {
+			attributesNumber += generateOperatorCallSitesAttribute();
+		}
 		
 		// update the number of attributes
 		if (attributeOffset + 2 >= this.contents.length) {
@@ -1265,6 +1279,7 @@ public class ClassFile implements TypeConstants, TypeIds {
 	 * @param codeAttributeOffset <CODE>int</CODE>
 	 */
 	public void completeCodeAttribute(int codeAttributeOffset) {
+		recordOperatorCallSites();
 		// reinitialize the localContents with the byte modified by the code stream
 		this.contents = this.codeStream.bCodeStream;
 		int localContentsOffset = this.codeStream.classFileOffset;
@@ -1473,6 +1488,7 @@ public class ClassFile implements TypeConstants, TypeIds {
 	 * @param codeAttributeOffset <CODE>int</CODE>
 	 */
 	public void completeCodeAttributeForClinit(int codeAttributeOffset) {
+		recordOperatorCallSites();
 		// reinitialize the contents with the byte modified by the code stream
 		this.contents = this.codeStream.bCodeStream;
 		int localContentsOffset = this.codeStream.classFileOffset;
@@ -3410,6 +3426,7 @@ public class ClassFile implements TypeConstants, TypeIds {
 		// check that there is enough space to write all the bytes for the method info corresponding
 		// to the @methodBinding
 		this.methodCount++; // add one more method
+		discardOperatorCallSites(this.methodCount - 1);
 		if (this.contentsOffset + 10 >= this.contents.length) {
 			resizeContents(10);
 		}
@@ -3470,6 +3487,7 @@ public class ClassFile implements TypeConstants, TypeIds {
 		// check that there is enough space to write all the bytes for the method info corresponding
 		// to the @methodBinding
 		this.methodCount++; // add one more method
+		discardOperatorCallSites(this.methodCount - 1);
 		if (this.contentsOffset + 10 >= this.contents.length) {
 			resizeContents(10);
 		}
@@ -3568,6 +3586,119 @@ public class ClassFile implements TypeConstants, TypeIds {
 		}
 	}
 
+	/**
+	 * Operator overloading: generate the OperatorCallSites attribute, which lists the invocations
+	 * overloaded operators and DSL statements were compiled to:
+	 * <pre>
+	 * OperatorCallSites_attribute {
+	 *   u2 attribute_name_index;
+	 *   u4 attribute_length;
+	 *   u4 call_sites_count;
+	 *   {  u2 method_index;	// index in the methods of the class file
+	 *      u2 pc;				// pc of the invocation in the code of the method
+	 *      u1 kind;			// see ClassFileConstants.OPERATOR_SITE_BINARY and following
+	 *      u1 operator;		// see OperatorIds, for binary, unary and compound assignment sites
+	 *      u2 line_number;		// 65535 for the lines after it, which only source_start locates
+	 *      u4 source_start;
+	 *      u4 source_end;
+	 *   } call_sites[call_sites_count];
+	 * }
+	 * </pre>
+	 * @return the number of attributes created (1)
+	 */
+	private int generateOperatorCallSitesAttribute() {
+		int[] sites = this.operatorCallSites;
+		int sitesLength = this.operatorCallSitesCount;
+		int numberOfSites = sitesLength / 5;
+		int attributeLength = 4 + numberOfSites * 16;
+		if (this.contentsOffset + attributeLength + 6 >= this.contents.length) {
+			resizeContents(attributeLength + 6);
+		}
+		int operatorCallSitesNameIndex = this.constantPool.literalIndex(AttributeNamesConstants.OperatorCallSitesName);
+		int[] lineSeparatorPositions = this.referenceBinding.scope.referenceCompilationUnit().compilationResult.getLineSeparatorPositions();
+		int localContentsOffset = this.contentsOffset;
+		byte[] localContents = this.contents;
+		localContents[localContentsOffset++] = (byte) (operatorCallSitesNameIndex >> 8);
+		localContents[localContentsOffset++] = (byte) operatorCallSitesNameIndex;
+		localContents[localContentsOffset++] = (byte) (attributeLength >> 24);
+		localContents[localContentsOffset++] = (byte) (attributeLength >> 16);
+		localContents[localContentsOffset++] = (byte) (attributeLength >> 8);
+		localContents[localContentsOffset++] = (byte) attributeLength;
+		localContents[localContentsOffset++] = (byte) (numberOfSites >> 24);
+		localContents[localContentsOffset++] = (byte) (numberOfSites >> 16);
+		localContents[localContentsOffset++] = (byte) (numberOfSites >> 8);
+		localContents[localContentsOffset++] = (byte) numberOfSites;
+		for (int i = 0; i < sitesLength; i += 5) {
+			int methodIndex = sites[i];
+			int pc = sites[i + 1];
+			int kindAndOperator = sites[i + 2];
+			int sourceStart = sites[i + 3];
+			int sourceEnd = sites[i + 4];
+			int lineNumber = lineSeparatorPositions == null
+				? 1
+				: Util.getLineNumber(sourceStart, lineSeparatorPositions, 0, lineSeparatorPositions.length - 1);
+			if (lineNumber > 0xFFFF)
+				lineNumber = 0xFFFF;
+			localContents[localContentsOffset++] = (byte) (methodIndex >> 8);
+			localContents[localContentsOffset++] = (byte) methodIndex;
+			localContents[localContentsOffset++] = (byte) (pc >> 8);
+			localContents[localContentsOffset++] = (byte) pc;
+			localContents[localContentsOffset++] = (byte) (kindAndOperator >> 8);
+			localContents[localContentsOffset++] = (byte) kindAndOperator;
+			localContents[localContentsOffset++] = (byte) (lineNumber >> 8);
+			localContents[localContentsOffset++] = (byte) lineNumber;
+			localContents[localContentsOffset++] = (byte) (sourceStart >> 24);
+			localContents[localContentsOffset++] = (byte) (sourceStart >> 16);
+			localContents[localContentsOffset++] = (byte) (sourceStart >> 8);
+			localContents[localContentsOffset++] = (byte) sourceStart;
+			localContents[localContentsOffset++] = (byte) (sourceEnd >> 24);
+			localContents[localContentsOffset++] = (byte) (sourceEnd >> 16);
+			localContents[localContentsOffset++] = (byte) (sourceEnd >> 8);
+			localContents[localContentsOffset++] = (byte) sourceEnd;
+		}
+		this.contentsOffset = localContentsOffset;
+		return 1;
+	}
+
+	/**
+	 * Operator overloading: keep the call sites the code stream recorded for the method being completed,
+	 * the last method info generated.
+	 */
+	private void recordOperatorCallSites() {
+		int count = this.codeStream.operatorCallSitesCount;
+		if (count == 0) return;
+		int[] streamSites = this.codeStream.operatorCallSites;
+		int length = this.operatorCallSitesCount;
+		int required = length + count / 4 * 5;
+		if (this.operatorCallSites == null) {
+			this.operatorCallSites = new int[Math.max(required, 40)];
+		} else if (required > this.operatorCallSites.length) {
+			System.arraycopy(this.operatorCallSites, 0, this.operatorCallSites = new int[Math.max(required, length * 2)], 0, length);
+		}
+		int[] sites = this.operatorCallSites;
+		int methodIndex = this.methodCount - 1;
+		for (int i = 0; i < count; i += 4) {
+			sites[length++] = methodIndex;
+			sites[length++] = streamSites[i];
+			sites[length++] = streamSites[i + 1];
+			sites[length++] = streamSites[i + 2];
+			sites[length++] = streamSites[i + 3];
+		}
+		this.operatorCallSitesCount = length;
+	}
+
+	/**
+	 * Operator overloading: forget the call sites of the method infos from the given index on, which are
+	 * generated again, or dropped, after their code generation was aborted or restarted.
+	 */
+	private void discardOperatorCallSites(int methodIndex) {
+		int length = this.operatorCallSitesCount;
+		while (length != 0 && this.operatorCallSites[length - 5] >= methodIndex) {
+			length -= 5;
+		}
+		this.operatorCallSitesCount = length;
+	}
+
 	/**
 	 * @param annotations
 	 * @param targetMask allowed targets
@@ -4863,8 +4994,16 @@ public class ClassFile implements TypeConstants, TypeIds {
 
 	protected void initByteArrays() {
 		int members = this.referenceBinding.methods().length + this.referenceBinding.fields().length;
-		this.header = new byte[INITIAL_HEADER_SIZE];
-		this.contents = new byte[members < 15 ? INITIAL_CONTENTS_SIZE : INITIAL_HEADER_SIZE];
+		this.header = newBytes(INITIAL_HEADER_SIZE);
+		this.contents = newBytes(members < 15 ? INITIAL_CONTENTS_SIZE : INITIAL_HEADER_SIZE);
+	}
+
+	/**
+	 * INTERNAL USE-ONLY
+	 * Answer a byte array of at least the given size, recycled by the class file pool if any.
+	 */
+	public byte[] newBytes(int minimalSize) {
+		return this.pool == null ? new byte[minimalSize] : this.pool.newBuffer(minimalSize);
 	}
 
 	public void initialize(SourceTypeBinding aType, ClassFile parentClassFile, boolean createProblemType) {
@@ -5109,7 +5248,7 @@ public class ClassFile implements TypeConstants, TypeIds {
 		}
 	}
 
-	private void initializeLocals(boolean isStatic, int currentPC, StackMapFrame currentFrame) {
+	private void initializeLocals(boolean isStatic, int currentPC, StackMapFrame currentFrame, LiveLocals liveLocals) {
 		VerificationTypeInfo[] locals = currentFrame.locals;
 		int localsLength = locals.length;
 		int i = 0;
@@ -5120,25 +5259,13 @@ public class ClassFile implements TypeConstants, TypeIds {
 		for (; i < localsLength; i++) {
 			locals[i] = null;
 		}
-		i = 0;
-		locals: for (int max = this.codeStream.allLocalsCounter; i < max; i++) {
-			LocalVariableBinding localVariable = this.codeStream.locals[i];
-			if (localVariable == null) continue;
-			int resolvedPosition = localVariable.resolvedPosition;
-			final TypeBinding localVariableTypeBinding = localVariable.type;
-			inits: for (int j = 0; j < localVariable.initializationCount; j++) {
-				int startPC = localVariable.initializationPCs[j << 1];
-				int endPC = localVariable.initializationPCs[(j << 1) + 1];
-				if (currentPC < startPC) {
-					continue inits;
-				} else if (currentPC < endPC) {
+		liveLocals.moveTo(currentPC);
+		for (i = 0; i < localsLength; i++) {
+			if (locals[i] == null) {
+				LocalVariableBinding localVariable = liveLocals.liveLocal(i);
+				if (localVariable != null) {
 					// the current local is an active local
-					if (currentFrame.locals[resolvedPosition] == null) {
-						currentFrame.locals[resolvedPosition] =
-								new VerificationTypeInfo(
-										localVariableTypeBinding);
-					}
-					continue locals;
+					locals[i] = new VerificationTypeInfo(localVariable.type);
 				}
 			}
 		}
@@ -5187,6 +5314,9 @@ public class ClassFile implements TypeConstants, TypeIds {
 		this.isNestedType = typeBinding.isNestedType();
 		this.targetJDK = options.targetJDK;
 		this.produceAttributes = options.produceDebugAttributes;
+		if (options.produceOperatorCallSites) {
+			this.produceAttributes |= ClassFileConstants.ATTR_OPERATOR_CALL_SITES;
+		}
 		if (this.targetJDK >= ClassFileConstants.JDK1_6) {
 			this.produceAttributes |= ClassFileConstants.ATTR_STACK_MAP_TABLE;
 			if (this.targetJDK >= ClassFileConstants.JDK1_8) {
@@ -5209,6 +5339,7 @@ public class ClassFile implements TypeConstants, TypeIds {
 		this.headerOffset = 0;
 		this.methodCount = 0;
 		this.methodCountOffset = 0;
+		this.operatorCallSitesCount = 0;
 		if (this.innerClassesBindings != null) {
 			this.innerClassesBindings.clear();
 		}
@@ -5227,27 +5358,17 @@ public class ClassFile implements TypeConstants, TypeIds {
 		int toAdd = length;
 		if (toAdd < minimalSize)
 			toAdd = minimalSize;
-		System.arraycopy(this.contents, 0, this.contents = new byte[length + toAdd], 0, length);
+		System.arraycopy(this.contents, 0, this.contents = newBytes(length + toAdd), 0, length);
 	}
 
-	private VerificationTypeInfo retrieveLocal(int currentPC, int resolvedPosition) {
-		for (int i = 0, max = this.codeStream.allLocalsCounter; i < max; i++) {
-			LocalVariableBinding localVariable = this.codeStream.locals[i];
-			if (localVariable == null) continue;
-			if (resolvedPosition == localVariable.resolvedPosition) {
-				inits: for (int j = 0; j < localVariable.initializationCount; j++) {
-					int startPC = localVariable.initializationPCs[j << 1];
-					int endPC = localVariable.initializationPCs[(j << 1) + 1];
-					if (currentPC < startPC) {
-						continue inits;
-					} else if (currentPC < endPC) {
-						// the current local is an active local
-						return new VerificationTypeInfo(localVariable.type);
-					}
-				}
-			}
+	private VerificationTypeInfo retrieveLocal(LiveLocals liveLocals, int currentPC, int resolvedPosition) {
+		liveLocals.moveTo(currentPC);
+		LocalVariableBinding localVariable = liveLocals.liveLocal(resolvedPosition);
+		if (localVariable == null) {
+			return null;
 		}
-		return null;
+		// the current local is an active local
+		return new VerificationTypeInfo(localVariable.type);
 	}
 
 	private int scanType(char[] methodSignature, int index) {
@@ -5354,6 +5475,7 @@ public class ClassFile implements TypeConstants, TypeIds {
 		}
 		frame.pc = -1;
 		add(frames, frame.duplicate());
+		LiveLocals liveLocals = new LiveLocals(this.codeStream.locals, this.codeStream.allLocalsCounter, codeLength);
 		addRealJumpTarget(realJumpTarget, -1);
 		for (int i = 0, max = this.codeStream.exceptionLabelsCounter; i < max; i++) {
 			ExceptionLabel exceptionLabel = this.codeStream.exceptionLabels[i];
@@ -5422,7 +5544,7 @@ public class ClassFile implements TypeConstants, TypeIds {
 				StackMapFrame currentFrame = frame.duplicate();
 				currentFrame.pc = currentPC;
 				// initialize locals
-				initializeLocals(isClinit ? true : methodBinding.isStatic(), currentPC, currentFrame);
+				initializeLocals(isClinit ? true : methodBinding.isStatic(), currentPC, currentFrame, liveLocals);
 				// insert a new frame
 				add(frames, currentFrame);
 				indexInFramePositions++;
@@ -5549,7 +5671,7 @@ public class ClassFile implements TypeConstants, TypeIds {
 					break;
 				case Opcodes.OPC_aload:
 					index = u1At(bytecodes, 1, pc);
-					VerificationTypeInfo localsN = retrieveLocal(currentPC, index);
+					VerificationTypeInfo localsN = retrieveLocal(liveLocals, currentPC, index);
 					frame.addStackItem(localsN);
 					pc += 2;
 					break;
@@ -5585,23 +5707,23 @@ public class ClassFile implements TypeConstants, TypeIds {
 					VerificationTypeInfo locals0 = frame.locals[0];
 					if (locals0 == null || locals0.tag != VerificationTypeInfo.ITEM_UNINITIALIZED_THIS) {
 						// special case to handle uninitialized object
-						locals0 = retrieveLocal(currentPC, 0);
+						locals0 = retrieveLocal(liveLocals, currentPC, 0);
 					}
 					frame.addStackItem(locals0);
 					pc++;
 					break;
 				case Opcodes.OPC_aload_1:
-					VerificationTypeInfo locals1 = retrieveLocal(currentPC, 1);
+					VerificationTypeInfo locals1 = retrieveLocal(liveLocals, currentPC, 1);
 					frame.addStackItem(locals1);
 					pc++;
 					break;
 				case Opcodes.OPC_aload_2:
-					VerificationTypeInfo locals2 = retrieveLocal(currentPC, 2);
+					VerificationTypeInfo locals2 = retrieveLocal(liveLocals, currentPC, 2);
 					frame.addStackItem(locals2);
 					pc++;
 					break;
 				case Opcodes.OPC_aload_3:
-					VerificationTypeInfo locals3 = retrieveLocal(currentPC, 3);
+					VerificationTypeInfo locals3 = retrieveLocal(liveLocals, currentPC, 3);
 					frame.addStackItem(locals3);
 					pc++;
 					break;
@@ -6538,7 +6660,7 @@ public class ClassFile implements TypeConstants, TypeIds {
 							case Opcodes.OPC_aload :
 								localsN = frame.locals[index];
 								if (localsN == null) {
-									localsN = retrieveLocal(currentPC, index);
+									localsN = retrieveLocal(liveLocals, currentPC, index);
 								}
 								frame.addStackItem(localsN);
 								break;
@@ -14,13 +14,39 @@ import java.util.Arrays;
 
 import org.eclipse.jdt.internal.compiler.lookup.SourceTypeBinding;
 
+/**
+ * Recycles the class files of a compilation and the byte arrays they are
+ * written into.
+ * <p>
+ * Released class files go onto a free list which grows with the number of
+ * class files in use at once (the high-water mark), up to {@link #MAX_POOL_SIZE}
+ * and as long as their header and contents arrays fit in the memory budget.
+ * The arrays of class files that do not fit are kept in size classes of powers
+ * of two and handed out again when a class file is created or grows.
+ */
 public class ClassFilePool {
 	public static final int POOL_SIZE = 25; // need to have enough for 2 units
-	ClassFile[] classFiles;
+	public static final int MAX_POOL_SIZE = 1000; // beyond, released class files are dropped
+	static final int MIN_BUFFER_SHIFT = 9; // 512 bytes
+	static final int MAX_BUFFER_SHIFT = 22; // 4 MB
+	static final int BUFFERS_PER_SIZE = 8;
+	static final long MAX_MEMORY_BUDGET = 32 * 1024 * 1024;
+
+	ClassFile[] freeClassFiles;
+	int freeCount;
+	int inUse;
+	int highWaterMark;
+	byte[][][] buffers;
+	int[] bufferCounts;
+	long retainedBytes;
+	final long memoryBudget;
 
 private ClassFilePool() {
 	// prevent instantiation
-	this.classFiles = new ClassFile[POOL_SIZE];
+	this.freeClassFiles = new ClassFile[POOL_SIZE];
+	this.buffers = new byte[MAX_BUFFER_SHIFT - MIN_BUFFER_SHIFT + 1][][];
+	this.bufferCounts = new int[MAX_BUFFER_SHIFT - MIN_BUFFER_SHIFT + 1];
+	this.memoryBudget = Math.min(Runtime.getRuntime().maxMemory() / 64, MAX_MEMORY_BUDGET);
 }
 
 public static ClassFilePool newInstance() {
@@ -28,26 +54,91 @@ public static ClassFilePool newInstance() {
 }
 
 public synchronized ClassFile acquire(SourceTypeBinding typeBinding) {
-	for (int i = 0; i < POOL_SIZE; i++) {
-		ClassFile classFile = this.classFiles[i];
-		if (classFile == null) {
-			ClassFile newClassFile = new ClassFile(typeBinding);
-			this.classFiles[i] = newClassFile;
-			newClassFile.isShared = true;
-			return newClassFile;
-		}
-		if (!classFile.isShared) {
-			classFile.reset(typeBinding);
-			classFile.isShared = true;
-			return classFile;
+	if (++this.inUse > this.highWaterMark) {
+		this.highWaterMark = this.inUse;
+	}
+	ClassFile classFile;
+	if (this.freeCount > 0) {
+		classFile = this.freeClassFiles[--this.freeCount];
+		this.freeClassFiles[this.freeCount] = null;
+		this.retainedBytes -= classFile.header.length + classFile.contents.length;
+		classFile.reset(typeBinding);
+	} else {
+		classFile = new ClassFile(typeBinding);
+	}
+	classFile.isShared = true;
+	return classFile;
+}
+/**
+ * Answer a byte array of at least the given size, recycled from a released
+ * class file when one is available.
+ */
+public synchronized byte[] newBuffer(int minimalSize) {
+	int shift = MIN_BUFFER_SHIFT;
+	while (shift < MAX_BUFFER_SHIFT && (1 << shift) < minimalSize) {
+		shift++;
+	}
+	if ((1 << shift) < minimalSize) {
+		return new byte[minimalSize];
+	}
+	for (int i = shift - MIN_BUFFER_SHIFT, max = this.bufferCounts.length; i < max; i++) {
+		if (this.bufferCounts[i] > 0) {
+			byte[][] sizeClass = this.buffers[i];
+			byte[] buffer = sizeClass[--this.bufferCounts[i]];
+			sizeClass[this.bufferCounts[i]] = null;
+			this.retainedBytes -= buffer.length;
+			return buffer;
 		}
 	}
-	return new ClassFile(typeBinding);
+	return new byte[1 << shift];
 }
 public synchronized void release(ClassFile classFile) {
+	if (!classFile.isShared) return;
 	classFile.isShared = false;
+	if (this.inUse > 0) {
+		this.inUse--;
+	}
+	int size = classFile.header.length + classFile.contents.length;
+	if (this.freeCount < MAX_POOL_SIZE && this.retainedBytes + size <= this.memoryBudget) {
+		if (this.freeCount == this.freeClassFiles.length) {
+			// grow towards the high-water mark rather than doubling blindly
+			int newLength = Math.min(Math.max(this.freeCount * 2, this.highWaterMark), MAX_POOL_SIZE);
+			System.arraycopy(this.freeClassFiles, 0, this.freeClassFiles = new ClassFile[newLength], 0, this.freeCount);
+		}
+		this.freeClassFiles[this.freeCount++] = classFile;
+		this.retainedBytes += size;
+		return;
+	}
+	// the class file is dropped, its bytes have already been copied out by getBytes()
+	recycle(classFile.header);
+	if (classFile.contents != classFile.header) {
+		recycle(classFile.contents);
+	}
 }
-public void reset() {
-	Arrays.fill(this.classFiles, null);
+private void recycle(byte[] buffer) {
+	int length = buffer.length;
+	if (length < (1 << MIN_BUFFER_SHIFT) || length > (1 << (MAX_BUFFER_SHIFT + 1)) - 1) return;
+	if (this.retainedBytes + length > this.memoryBudget) return;
+	int shift = 31 - Integer.numberOfLeadingZeros(length); // largest size class the buffer can serve
+	int index = Math.min(shift, MAX_BUFFER_SHIFT) - MIN_BUFFER_SHIFT;
+	int count = this.bufferCounts[index];
+	if (count == BUFFERS_PER_SIZE) return;
+	byte[][] sizeClass = this.buffers[index];
+	if (sizeClass == null) {
+		this.buffers[index] = sizeClass = new byte[BUFFERS_PER_SIZE][];
+	}
+	sizeClass[count] = buffer;
+	this.bufferCounts[index] = count + 1;
+	this.retainedBytes += length;
+}
+public synchronized void reset() {
+	this.freeClassFiles = new ClassFile[POOL_SIZE];
+	this.freeCount = 0;
+	this.inUse = 0;
+	for (int i = 0, max = this.buffers.length; i < max; i++) {
+		this.buffers[i] = null;
+	}
+	Arrays.fill(this.bufferCounts, 0);
+	this.retainedBytes = 0;
 }
 }
@@ -52,6 +52,8 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 	public int annotationProcessorStartIndex = 0;
 	public ReferenceBinding[] referenceBindings;
 	public boolean useSingleThread = true; // by default the compiler will not use worker threads to read/process/write
+	public int parseThreads = 0; // number of worker threads parsing method bodies ahead of processing (ignored when useSingleThread)
+	public int processThreads = 0; // number of worker compilers processing units in parallel (ignored when useSingleThread)
 
 	// number of initial units parsed at once (-1: none)
 
@@ -418,6 +420,10 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 	 */
 	public void compile(ICompilationUnit[] sourceUnits) {
 		this.stats.startTime = System.currentTimeMillis();
+		if (this.processThreads > 1 && sourceUnits.length > 1 && ParallelProcessTaskManager.canProcessInParallel(this)) {
+			compileInParallel(sourceUnits);
+			return;
+		}
 		CompilationUnitDeclaration unit = null;
 		ProcessTaskManager processingTask = null;
 		try {
@@ -531,6 +537,8 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 				processingTask.shutdown();
 				processingTask = null;
 			}
+			Arrays.fill(this.stats.counters, 0);
+			countLookups(this.stats.counters, 1); // the environment counts since it was created, as the stats do
 			reset();
 			this.annotationProcessorStartIndex  = 0;
 			this.stats.endTime = System.currentTimeMillis();
@@ -546,6 +554,58 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 		}
 	}
 
+	/*
+	 * Compile the given units with a pool of worker compilers, which each build the bindings of all the units
+	 * and process some of them, see ParallelProcessTaskManager
+	 */
+	private void compileInParallel(ICompilationUnit[] sourceUnits) {
+		ParallelProcessTaskManager processingTask = null;
+		int acceptedCount = 0;
+		this.totalUnits = sourceUnits.length;
+		try {
+			reportProgress(Messages.compilation_beginningToCompile);
+			processingTask = new ParallelProcessTaskManager(this, sourceUnits, this.processThreads);
+			CompilationResult result;
+			while ((result = processingTask.removeNextResult()) != null) { // waits if the next result is not available
+				if (acceptedCount == this.totalUnits)
+					this.totalUnits++; // a unit added while processing
+				reportWorked(1, acceptedCount++);
+				this.stats.lineCount += result.getLineSeparatorPositions().length;
+				if (this.stats.units != null && result.stats != null)
+					this.stats.units.add(result.stats);
+				this.requestor.acceptResult(result);
+				if (this.options.verbose)
+					this.out.println(
+						Messages.bind(Messages.compilation_done,
+						new String[] {
+							String.valueOf(acceptedCount),
+							String.valueOf(this.totalUnits),
+							new String(result.getFileName())
+						}));
+			}
+		} catch (AbortCompilation e) {
+			this.handleInternalException(e, null);
+		} finally {
+			if (processingTask != null)
+				processingTask.shutdown();
+			Arrays.fill(this.stats.counters, 0);
+			countLookups(this.stats.counters, 1);
+			if (processingTask != null)
+				processingTask.addCounters(this.stats.counters);
+			reset();
+			this.stats.endTime = System.currentTimeMillis();
+		}
+		if (this.options.verbose) {
+			if (acceptedCount > 1) {
+				this.out.println(
+					Messages.bind(Messages.compilation_units, String.valueOf(acceptedCount)));
+			} else {
+				this.out.println(
+					Messages.bind(Messages.compilation_unit, String.valueOf(acceptedCount)));
+			}
+		}
+	}
+
 	public synchronized CompilationUnitDeclaration getUnitToProcess(int next) {
 		if (next < this.totalUnits) {
 			CompilationUnitDeclaration unit = this.unitsToProcess[next];
@@ -711,6 +771,11 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 				// diet parsing for large collection of units
 				CompilationUnitDeclaration parsedUnit;
 				unitResult = new CompilationResult(sourceUnits[i], i, maxUnits, this.options.maxProblemsPerUnit);
+				CompilerStats.UnitStats unitStats = unitResult.stats = this.stats.newUnit(unitResult.getFileName());
+				if (unitStats != null) {
+					countLookups(unitStats.counters, -1);
+					unitStats.startPhase();
+				}
 				long parseStart = System.currentTimeMillis();
 				if (this.totalUnits < this.parseThreshold) {
 					parsedUnit = this.parser.parse(sourceUnits[i], unitResult);
@@ -719,9 +784,15 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 				}
 				long resolveStart = System.currentTimeMillis();
 				this.stats.parseTime += resolveStart - parseStart;
+				if (unitStats != null)
+					unitStats.endPhase(CompilerStats.PARSE);
 				// initial type binding creation
 				this.lookupEnvironment.buildTypeBindings(parsedUnit, null /*no access restriction*/);
 				this.stats.resolveTime += System.currentTimeMillis() - resolveStart;
+				if (unitStats != null) {
+					unitStats.endPhase(CompilerStats.RESOLVE);
+					countLookups(unitStats.counters, 1);
+				}
 				addCompilationUnit(sourceUnits[i], parsedUnit);
 				ImportReference currentPackage = parsedUnit.currentPackage;
 				if (currentPackage != null) {
@@ -751,12 +822,21 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 	 */
 	public void process(CompilationUnitDeclaration unit, int i) {
 		this.lookupEnvironment.unitBeingCompleted = unit;
+		CompilerStats.UnitStats unitStats = unit.compilationResult.stats;
+		if (unitStats == null && this.stats.units != null) // a unit added while compiling
+			unitStats = unit.compilationResult.stats = this.stats.newUnit(unit.getFileName());
+		if (unitStats != null) {
+			countLookups(unitStats.counters, -1);
+			unitStats.startPhase();
+		}
 		long parseStart = System.currentTimeMillis();
 
 		this.parser.getMethodBodies(unit);
 
 		long resolveStart = System.currentTimeMillis();
 		this.stats.parseTime += resolveStart - parseStart;
+		if (unitStats != null)
+			unitStats.endPhase(CompilerStats.PARSE);
 
 		// fault in fields & methods
 		if (unit.scope != null)
@@ -771,12 +851,16 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 
 		long analyzeStart = System.currentTimeMillis();
 		this.stats.resolveTime += analyzeStart - resolveStart;
+		if (unitStats != null)
+			unitStats.endPhase(CompilerStats.RESOLVE);
 		
 		//No need of analysis or generation of code if statements are not required		
 		if (!this.options.ignoreMethodBodies) unit.analyseCode(); // flow analysis
 
 		long generateStart = System.currentTimeMillis();
 		this.stats.analyzeTime += generateStart - analyzeStart;
+		if (unitStats != null)
+			unitStats.endPhase(CompilerStats.ANALYZE);
 	
 		if (!this.options.ignoreMethodBodies) unit.generateCode(); // code generation
 		
@@ -788,6 +872,11 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 		unit.finalizeProblems();
 
 		this.stats.generateTime += System.currentTimeMillis() - generateStart;
+		if (unitStats != null) {
+			unitStats.endPhase(CompilerStats.GENERATE);
+			countLookups(unitStats.counters, 1);
+			unitStats.lineCount = unit.compilationResult.lineSeparatorPositions.length;
+		}
 
 		// refresh the total number of units known at this stage
 		unit.compilationResult.totalUnitsKnown = this.totalUnits;
@@ -795,6 +884,21 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 		this.lookupEnvironment.unitBeingCompleted = null;
 	}
 
+	/*
+	 * Add the lookup counters of the environment, times the given factor, to the given counters:
+	 * subtracting them before some work and adding them after it counts the lookups of that work.
+	 */
+	void countLookups(long[] counters, int factor) {
+		OperatorOverloadCache cache = this.lookupEnvironment.operatorOverloadCache;
+		counters[CompilerStats.OPERATOR_OVERLOAD_HITS] += factor * cache.hits;
+		counters[CompilerStats.OPERATOR_OVERLOAD_MISSES] += factor * cache.misses;
+		counters[CompilerStats.OPERATOR_OVERLOAD_AMBIGUITIES] += factor * cache.ambiguities;
+		counters[CompilerStats.OPERATOR_INFERENCE_HITS] += factor * cache.inferenceHits;
+		counters[CompilerStats.OPERATOR_INFERENCE_MISSES] += factor * cache.inferenceMisses;
+		counters[CompilerStats.BINARY_TYPES] += factor * this.lookupEnvironment.binaryTypes;
+		counters[CompilerStats.CLASSPATH_LOOKUPS] += factor * this.lookupEnvironment.classpathLookups;
+	}
+
 	protected void processAnnotations() {
 		int newUnitSize = 0;
 		int newClassFilesSize = 0;
@@ -0,0 +1,370 @@
+package org.eclipse.jdt.internal.compiler;
+
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
+import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
+import org.eclipse.jdt.internal.compiler.env.INameEnvironment;
+import org.eclipse.jdt.internal.compiler.env.NameEnvironmentAnswer;
+import org.eclipse.jdt.internal.compiler.impl.CompilerStats;
+import org.eclipse.jdt.internal.compiler.problem.AbortCompilation;
+import org.eclipse.jdt.internal.compiler.util.Messages;
+
+/**
+ * Resolves, analyses and generates the code of the units to compile with a pool of worker compilers.
+ * <p>
+ * Bindings are created and completed lazily by whichever unit first needs them, so a lookup environment
+ * cannot be used by several threads at once. Each worker therefore owns a compiler, with its own parser,
+ * problem reporter and lookup environment, in which it builds and completes the type bindings of all the
+ * units to compile. The workers then claim the units one at a time, so that each unit is processed
+ * (method bodies parsed, resolved, analysed and generated) by exactly one worker, while the other workers
+ * only know its declarations, as a serial compilation knows the units it has not processed yet.
+ * A unit requested from the name environment while processing is processed by the first worker which
+ * claims it.
+ * <p>
+ * Results are handed back to the compiler in the order of the units to compile, then those of the added
+ * units by file name, so problems are reported in the same order whatever worker processed the units.
+ * Workers never claim a unit more than a fixed window ahead of the next result to hand back. The workers share the name environment, behind a lock, and the class file pool.
+ */
+public class ParallelProcessTaskManager implements Runnable {
+
+	Compiler compiler;
+	private Thread[] processingThreads;
+	private INameEnvironment nameEnvironment;
+	private ICompilationUnit[] sourceUnits;
+	private IdentityHashMap<ICompilationUnit, Integer> unitIndexes;
+
+	// results of the units to compile, until handed back
+	private CompilationResult[] results;
+	private boolean[] unprocessed; // units a worker claimed but could not process
+	// results of the units added while processing, handed back after the other ones, by file name
+	private ArrayList<CompilationResult> addedResults;
+	private boolean addedResultsSorted;
+	private HashSet<String> addedResultNames;
+	// file names of the added units claimed by a worker
+	private HashSet<String> addedUnits;
+	private int nextUnitToClaim, nextResult, window;
+	private int startedCount, runningCount;
+	private boolean stopped;
+	private int failedUnit; // results after the unit which failed are not handed back, as serially
+	private Throwable caughtException;
+	private long[] counters;
+
+	// output of the workers but the first one, which would repeat its verbose messages
+	private static final PrintWriter NO_OUTPUT = new PrintWriter(new Writer() {
+		public void write(char[] buffer, int offset, int length) {
+			// discard
+		}
+		public void flush() {
+			// nothing to flush
+		}
+		public void close() {
+			// nothing to close
+		}
+	});
+
+public ParallelProcessTaskManager(Compiler compiler, ICompilationUnit[] sourceUnits, int threadCount) {
+	this.compiler = compiler;
+	this.nameEnvironment = new SynchronizedNameEnvironment(compiler.lookupEnvironment.nameEnvironment);
+	int length = sourceUnits.length;
+	this.sourceUnits = new ICompilationUnit[length];
+	System.arraycopy(sourceUnits, 0, this.sourceUnits, 0, length);
+	this.unitIndexes = new IdentityHashMap<ICompilationUnit, Integer>(length);
+	for (int i = 0; i < length; i++)
+		this.unitIndexes.put(sourceUnits[i], Integer.valueOf(i));
+	this.results = new CompilationResult[length];
+	this.unprocessed = new boolean[length];
+	this.addedResults = new ArrayList<CompilationResult>();
+	this.addedResultNames = new HashSet<String>();
+	this.addedUnits = new HashSet<String>();
+	this.nextUnitToClaim = 0;
+	this.nextResult = 0;
+	this.failedUnit = Integer.MAX_VALUE;
+	this.window = Math.max(ProcessTaskManager.PROCESSED_QUEUE_SIZE, 2 * threadCount);
+	this.counters = new long[compiler.stats.counters.length];
+
+	synchronized (this) {
+		this.processingThreads = new Thread[threadCount];
+		this.runningCount = threadCount;
+		for (int i = threadCount; --i >= 0;) {
+			this.processingThreads[i] = new Thread(this, "Compiler Processing Task"); //$NON-NLS-1$
+			this.processingThreads[i].setDaemon(true);
+			this.processingThreads[i].start();
+		}
+	}
+}
+
+/**
+ * Answer whether the units of the given compiler can be processed by worker compilers: compilers
+ * processing annotations, or installing their own parser, keep processing units on a single thread.
+ */
+public static boolean canProcessInParallel(Compiler compiler) {
+	return !compiler.useSingleThread
+		&& compiler.annotationProcessorManager == null
+		&& compiler.getClass() == Compiler.class
+		&& ParseTaskManager.canParseAhead(compiler);
+}
+
+public void run() {
+	int workerIndex;
+	synchronized (this) {
+		workerIndex = this.startedCount++;
+	}
+	Compiler worker = null;
+	int index = this.results.length; // not processing one of the units to compile
+	try {
+		worker = newWorker(workerIndex);
+		ICompilationUnit[] units = new ICompilationUnit[this.sourceUnits.length];
+		System.arraycopy(this.sourceUnits, 0, units, 0, units.length);
+		worker.beginToCompile(units);
+
+		// positions of the units to compile among the units of the worker
+		int[] positions = new int[this.results.length];
+		Arrays.fill(positions, -1);
+		for (int i = 0; i < worker.totalUnits; i++) {
+			Integer unitIndex = this.unitIndexes.get(worker.unitsToProcess[i].compilationResult.compilationUnit);
+			if (unitIndex != null)
+				positions[unitIndex.intValue()] = i;
+		}
+		while ((index = claimUnit()) >= 0) {
+			if (positions[index] >= 0)
+				process(worker, positions[index]);
+			else
+				skipUnit(index);
+		}
+		// units added while processing (some more could be added by the units processed here)
+		index = this.results.length;
+		for (int i = 0; i < worker.totalUnits; i++) {
+			CompilationUnitDeclaration unit = worker.unitsToProcess[i];
+			if (unit == null || this.unitIndexes.containsKey(unit.compilationResult.compilationUnit))
+				continue;
+			if (claimAddedUnit(new String(unit.getFileName())))
+				process(worker, i);
+		}
+	} catch (AbortCompilation e) {
+		if (worker != null)
+			worker.handleInternalException(e, null);
+		stop(null, index);
+	} catch (Error e) {
+		if (worker != null)
+			worker.handleInternalException(e, null, null);
+		stop(e, index);
+	} catch (RuntimeException e) {
+		if (worker != null)
+			worker.handleInternalException(e, null, null);
+		stop(e, index);
+	} finally {
+		synchronized (this) {
+			if (worker != null)
+				addStats(worker);
+			this.runningCount--;
+			notifyAll(); // wake up the compiler if it is waiting for this worker to finish
+		}
+	}
+}
+
+private Compiler newWorker(int workerIndex) {
+	Compiler worker = new Compiler(
+		this.nameEnvironment,
+		this.compiler.problemReporter.policy,
+		this.compiler.options,
+		new ICompilerRequestor() {
+			public void acceptResult(CompilationResult result) {
+				addResult(result);
+			}
+		},
+		this.compiler.problemReporter.problemFactory,
+		workerIndex == 0 ? this.compiler.out : NO_OUTPUT,
+		null /* progress is reported by the compiler */);
+	worker.parseThreshold = this.compiler.parseThreshold;
+	worker.lookupEnvironment.classFilePool = this.compiler.lookupEnvironment.classFilePool;
+	if (this.compiler.stats.units != null)
+		worker.stats.recordUnits();
+	return worker;
+}
+
+private void process(Compiler worker, int position) {
+	CompilationUnitDeclaration unit = worker.unitsToProcess[position];
+	try {
+		if (this.compiler.options.verbose)
+			this.compiler.out.println(
+				Messages.bind(Messages.compilation_process,
+				new String[] {
+					String.valueOf(position + 1),
+					String.valueOf(worker.totalUnits),
+					new String(unit.getFileName())
+				}));
+		worker.process(unit, position);
+	} finally {
+		unit.cleanUp();
+	}
+	worker.unitsToProcess[position] = null; // release reference to processed unit declaration
+	worker.requestor.acceptResult(unit.compilationResult.tagAsAccepted());
+}
+
+private synchronized int claimUnit() {
+	while (!this.stopped
+			&& this.nextUnitToClaim < this.results.length
+			&& this.nextUnitToClaim >= this.nextResult + this.window) {
+		try {
+			wait();
+		} catch (InterruptedException ignore) {
+			// ignore
+		}
+	}
+	if (this.stopped || this.nextUnitToClaim >= this.results.length)
+		return -1;
+	return this.nextUnitToClaim++;
+}
+
+private synchronized void skipUnit(int index) {
+	this.unprocessed[index] = true;
+	notifyAll();
+}
+
+private synchronized boolean claimAddedUnit(String fileName) {
+	return !this.stopped && this.addedUnits.add(fileName);
+}
+
+/*
+ * Record the result of a worker, only the first result of a unit is handed back.
+ */
+synchronized void addResult(CompilationResult result) {
+	Integer index = this.unitIndexes.get(result.compilationUnit);
+	if (index == null) {
+		if (this.addedResultNames.add(new String(result.getFileName())))
+			this.addedResults.add(result);
+	} else if (index.intValue() >= this.nextResult && this.results[index.intValue()] == null) {
+		this.results[index.intValue()] = result;
+	}
+	notifyAll(); // wake up the compiler if it is waiting for this result
+}
+
+/*
+ * Stop claiming units, after a worker failed or aborted the compilation while processing the unit at the given
+ * index, or the number of units to compile if it was not processing one of them.
+ */
+private synchronized void stop(Throwable exception, int index) {
+	this.stopped = true;
+	if (index < this.failedUnit) {
+		this.failedUnit = index;
+		if (exception != null)
+			this.caughtException = exception;
+	}
+	notifyAll();
+}
+
+private void addStats(Compiler worker) {
+	CompilerStats stats = this.compiler.stats;
+	stats.parseTime += worker.stats.parseTime;
+	stats.resolveTime += worker.stats.resolveTime;
+	stats.analyzeTime += worker.stats.analyzeTime;
+	stats.generateTime += worker.stats.generateTime;
+	worker.countLookups(this.counters, 1);
+}
+
+/**
+ * Answer the next result to hand back, waiting for it if needed, or <code>null</code> once all the
+ * results have been handed back. An exception raised by a worker is rethrown in the calling thread,
+ * after the results of the other workers.
+ */
+public synchronized CompilationResult removeNextResult() throws Error {
+	while (true) {
+		if (this.nextResult > this.failedUnit) {
+			if (this.runningCount == 0)
+				break;
+		} else if (this.nextResult < this.results.length) {
+			CompilationResult result = this.results[this.nextResult];
+			if (result != null || this.unprocessed[this.nextResult] || this.runningCount == 0) {
+				this.results[this.nextResult++] = null;
+				notifyAll(); // let the workers move their window
+				if (result != null)
+					return result;
+				continue; // the unit was not processed
+			}
+		} else if (this.runningCount == 0) {
+			if (this.addedResults.isEmpty())
+				break;
+			if (!this.addedResultsSorted) {
+				// the units are added in the order the workers need them, hand them back in a stable order
+				Collections.sort(this.addedResults, new Comparator<CompilationResult>() {
+					public int compare(CompilationResult one, CompilationResult two) {
+						return CharOperation.compareTo(one.getFileName(), two.getFileName());
+					}
+				});
+				this.addedResultsSorted = true;
+			}
+			return this.addedResults.remove(0);
+		}
+		try {
+			wait();
+		} catch (InterruptedException ignore) {
+			// ignore
+		}
+	}
+	if (this.caughtException != null) {
+		// rethrow the caught exception from the processing threads in the main compiler thread
+		if (this.caughtException instanceof Error)
+			throw (Error) this.caughtException;
+		throw (RuntimeException) this.caughtException;
+	}
+	return null;
+}
+
+/**
+ * Add the lookup counters of all the workers to the given counters.
+ */
+public synchronized void addCounters(long[] totalCounters) {
+	for (int i = 0, length = this.counters.length; i < length; i++)
+		totalCounters[i] += this.counters[i];
+}
+
+public void shutdown() {
+	Thread[] threads = null;
+	synchronized (this) {
+		this.stopped = true;
+		threads = this.processingThreads;
+		this.processingThreads = null;
+		notifyAll();
+	}
+	if (threads != null) {
+		try {
+			for (int i = 0, length = threads.length; i < length; i++)
+				threads[i].join(250); // do not wait forever
+		} catch (InterruptedException ignored) {
+			// ignore
+		}
+	}
+}
+
+/*
+ * The name environment of the compiler, shared by the workers.
+ */
+private static class SynchronizedNameEnvironment implements INameEnvironment {
+	private final INameEnvironment environment;
+
+	SynchronizedNameEnvironment(INameEnvironment environment) {
+		this.environment = environment;
+	}
+	public synchronized NameEnvironmentAnswer findType(char[][] compoundTypeName) {
+		return this.environment.findType(compoundTypeName);
+	}
+	public synchronized NameEnvironmentAnswer findType(char[] typeName, char[][] packageName) {
+		return this.environment.findType(typeName, packageName);
+	}
+	public synchronized boolean isPackage(char[][] parentPackageName, char[] packageName) {
+		return this.environment.isPackage(parentPackageName, packageName);
+	}
+	public void cleanup() {
+		// cleaned up by the client of the compiler
+	}
+}
+}
@@ -0,0 +1,174 @@
+package org.eclipse.jdt.internal.compiler;
+
+import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
+import org.eclipse.jdt.internal.compiler.impl.CompilerStats;
+import org.eclipse.jdt.internal.compiler.parser.Parser;
+import org.eclipse.jdt.internal.compiler.problem.ProblemReporter;
+
+/**
+ * Parses the method bodies of the units to process ahead of the processing thread,
+ * using a pool of worker threads which each own a parser and a problem reporter.
+ * <p>
+ * Only method bodies are parsed in parallel: once type bindings are complete, parsing a unit
+ * does not touch the lookup environment, whereas resolution, flow analysis and code generation
+ * all do and therefore remain on the processing thread (see {@link ProcessTaskManager}).
+ * Workers never run more than a fixed window of units ahead of the processing thread, so
+ * that only a bounded number of fully parsed units is kept in memory.
+ */
+public class ParseTaskManager implements Runnable {
+
+	Compiler compiler;
+	private Thread[] parsingThreads;
+	private boolean shutdown;
+
+	// units known when processing started, a parsed unit is released once handed to the processing thread
+	private CompilationUnitDeclaration[] units;
+	private boolean[] parsed;
+	private Throwable[] caughtExceptions;
+	private int nextUnitToParse, nextUnitToProcess, window;
+	private long parseTime;
+
+public ParseTaskManager(Compiler compiler, int threadCount) {
+	this.compiler = compiler;
+	int length = compiler.totalUnits;
+	this.units = new CompilationUnitDeclaration[length];
+	System.arraycopy(compiler.unitsToProcess, 0, this.units, 0, length);
+	this.parsed = new boolean[length];
+	this.caughtExceptions = new Throwable[length];
+	this.nextUnitToParse = 0;
+	this.nextUnitToProcess = 0;
+	this.window = Math.max(ProcessTaskManager.PROCESSED_QUEUE_SIZE, 2 * threadCount);
+	this.parseTime = 0;
+
+	synchronized (this) {
+		this.parsingThreads = new Thread[threadCount];
+		for (int i = threadCount; --i >= 0;) {
+			this.parsingThreads[i] = new Thread(this, "Compiler Parsing Task"); //$NON-NLS-1$
+			this.parsingThreads[i].setDaemon(true);
+			this.parsingThreads[i].start();
+		}
+	}
+}
+
+/**
+ * Answer whether the method bodies of the given units can be parsed by worker threads:
+ * compilers installing their own parser (e.g. with comment recording) keep parsing on the processing thread.
+ */
+public static boolean canParseAhead(Compiler compiler) {
+	return compiler.parser != null && compiler.parser.getClass() == Parser.class;
+}
+
+public void run() {
+	ProblemReporter problemReporter = new ProblemReporter(
+		this.compiler.problemReporter.policy,
+		this.compiler.options,
+		this.compiler.problemReporter.problemFactory);
+	Parser parser = new Parser(problemReporter, this.compiler.options.parseLiteralExpressionsAsConstants);
+	long time = 0;
+	try {
+		while (true) {
+			CompilationUnitDeclaration unit;
+			int index;
+			synchronized (this) {
+				while (!this.shutdown
+						&& this.nextUnitToParse < this.units.length
+						&& this.nextUnitToParse >= this.nextUnitToProcess + this.window) {
+					try {
+						wait();
+					} catch (InterruptedException ignore) {
+						// ignore
+					}
+				}
+				if (this.shutdown || this.nextUnitToParse >= this.units.length)
+					return;
+				index = this.nextUnitToParse++;
+				unit = this.units[index];
+			}
+
+			Throwable caught = null;
+			CompilerStats.UnitStats unitStats = unit.compilationResult.stats;
+			if (unitStats != null)
+				unitStats.startPhase();
+			long parseStart = System.currentTimeMillis();
+			try {
+				parser.getMethodBodies(unit);
+			} catch (Error e) {
+				caught = e;
+			} catch (RuntimeException e) {
+				caught = e;
+			}
+			time += System.currentTimeMillis() - parseStart;
+			if (unitStats != null)
+				unitStats.endPhase(CompilerStats.PARSE);
+
+			synchronized (this) {
+				this.parsed[index] = true;
+				this.caughtExceptions[index] = caught;
+				notifyAll(); // wake up the processing thread if it is waiting for this unit
+			}
+		}
+	} finally {
+		synchronized (this) {
+			this.parseTime += time;
+		}
+	}
+}
+
+/**
+ * Wait until the method bodies of the unit at the given index have been parsed.
+ * An exception raised while parsing the unit is rethrown in the calling (processing) thread.
+ * Units added after processing started are left to the processing thread.
+ */
+public void waitForMethodBodies(int index) throws Error {
+	Throwable caught = null;
+	synchronized (this) {
+		if (index > this.nextUnitToProcess) {
+			this.nextUnitToProcess = index;
+			notifyAll(); // let the workers move their window
+		}
+		if (index >= this.units.length)
+			return;
+		while (!this.parsed[index]) {
+			try {
+				wait();
+			} catch (InterruptedException ignore) {
+				// ignore
+			}
+		}
+		this.units[index] = null; // release reference to parsed unit declaration
+		caught = this.caughtExceptions[index];
+		this.caughtExceptions[index] = null;
+	}
+	if (caught != null) {
+		// rethrow the caught exception from the parsing thread in the processing thread
+		if (caught instanceof Error)
+			throw (Error) caught;
+		throw (RuntimeException) caught;
+	}
+}
+
+/**
+ * Stop the worker threads and answer the time they spent parsing.
+ */
+public long shutdown() {
+	Thread[] threads = null;
+	synchronized (this) {
+		if (!this.shutdown) {
+			this.shutdown = true;
+			threads = this.parsingThreads;
+			notifyAll();
+		}
+	}
+	if (threads != null) {
+		try {
+			for (int i = 0, length = threads.length; i < length; i++)
+				threads[i].join(250); // do not wait forever
+		} catch (InterruptedException ignored) {
+			// ignore
+		}
+	}
+	synchronized (this) {
+		return this.parseTime;
+	}
+}
+}
@@ -11,6 +11,8 @@
 
 package org.eclipse.jdt.internal.compiler;
 
+import java.util.concurrent.ArrayBlockingQueue;
+
 import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
 import org.eclipse.jdt.internal.compiler.util.Messages;
 
@@ -19,26 +21,25 @@ public class ProcessTaskManager implements Runnable {
 	Compiler compiler;
 	private int unitIndex;
 	private Thread processingThread;
+	private ParseTaskManager parsingTask;
 	CompilationUnitDeclaration unitToProcess;
 	private Throwable caughtException;
 
-	// queue
-	volatile int currentIndex, availableIndex, size, sleepCount;
-	CompilationUnitDeclaration[] units;
+	// queue of processed units, the processing thread blocks when it is full & the main thread when it is empty
+	ArrayBlockingQueue<CompilationUnitDeclaration> units;
+	// marks the end of the queue, once all units are processed or the processing thread failed
+	private static final CompilationUnitDeclaration NO_MORE_UNITS = new CompilationUnitDeclaration(null, null, 0);
 
 	public static final int PROCESSED_QUEUE_SIZE = 12;
 
 public ProcessTaskManager(Compiler compiler) {
 	this.compiler = compiler;
 	this.unitIndex = 0;
-
-	this.currentIndex = 0;
-	this.availableIndex = 0;
-	this.size = PROCESSED_QUEUE_SIZE;
-	this.sleepCount = 0; // 0 is no one, +1 is the processing thread & -1 is the writing/main thread
-	this.units = new CompilationUnitDeclaration[this.size];
+	this.units = new ArrayBlockingQueue<CompilationUnitDeclaration>(PROCESSED_QUEUE_SIZE);
 
 	synchronized (this) {
+		if (compiler.parseThreads > 0 && ParseTaskManager.canParseAhead(compiler))
+			this.parsingTask = new ParseTaskManager(compiler, compiler.parseThreads);
 		this.processingThread = new Thread(this, "Compiler Processing Task"); //$NON-NLS-1$
 		this.processingThread.setDaemon(true);
 		this.processingThread.start();
@@ -46,73 +47,46 @@ public ProcessTaskManager(Compiler compiler) {
 }
 
 // add unit to the queue - wait if no space is available
-private synchronized void addNextUnit(CompilationUnitDeclaration newElement) {
-	while (this.units[this.availableIndex] != null) {
-		//System.out.print('a');
-		//if (this.sleepCount < 0) throw new IllegalStateException(new Integer(this.sleepCount).toString());
-		this.sleepCount = 1;
+private void addNextUnit(CompilationUnitDeclaration newElement) {
+	while (true) {
 		try {
-			wait(250);
+			this.units.put(newElement);
+			return;
 		} catch (InterruptedException ignore) {
 			// ignore
 		}
-		this.sleepCount = 0;
 	}
-
-	this.units[this.availableIndex++] = newElement;
-	if (this.availableIndex >= this.size)
-		this.availableIndex = 0;
-	if (this.sleepCount <= -1)
-		notify(); // wake up writing thread to accept next unit - could be the last one - must avoid deadlock
 }
 
 public CompilationUnitDeclaration removeNextUnit() throws Error {
 	CompilationUnitDeclaration next = null;
-	boolean yield = false;
-	synchronized (this) {
-		next = this.units[this.currentIndex];
-		if (next == null || this.caughtException != null) {
-			do {
-				if (this.processingThread == null) {
-					if (this.caughtException != null) {
-						// rethrow the caught exception from the processingThread in the main compiler thread
-						if (this.caughtException instanceof Error)
-							throw (Error) this.caughtException;
-						throw (RuntimeException) this.caughtException;
-					}
-					return null;
-				}
-				//System.out.print('r');
-				//if (this.sleepCount > 0) throw new IllegalStateException(new Integer(this.sleepCount).toString());
-				this.sleepCount = -1;
-				try {
-					wait(100);
-				} catch (InterruptedException ignore) {
-					// ignore
-				}
-				this.sleepCount = 0;
-				next = this.units[this.currentIndex];
-			} while (next == null);
+	while (next == null) {
+		try {
+			next = this.units.take(); // waits if no units are in the processed queue
+		} catch (InterruptedException ignore) {
+			// ignore
 		}
+	}
+	if (next != NO_MORE_UNITS)
+		return next;
 
-		this.units[this.currentIndex++] = null;
-		if (this.currentIndex >= this.size)
-			this.currentIndex = 0;
-		if (this.sleepCount >= 1 && ++this.sleepCount > 4) {
-			notify(); // wake up processing thread to add next unit but only after removing some elements first
-			yield = this.sleepCount > 8;
+	this.units.offer(NO_MORE_UNITS); // keep answering null to further requests
+	synchronized (this) {
+		if (this.caughtException != null) {
+			// rethrow the caught exception from the processingThread in the main compiler thread
+			if (this.caughtException instanceof Error)
+				throw (Error) this.caughtException;
+			throw (RuntimeException) this.caughtException;
 		}
 	}
-	if (yield)
-		Thread.yield();
-	return next;
+	return null;
 }
 
 public void run() {
-	while (this.processingThread != null) {
-		this.unitToProcess = null;
-		int index = -1;
-		try {
+	try {
+		while (true) {
+			this.unitToProcess = null;
+			int index = -1;
 			synchronized (this) {
 				if (this.processingThread == null) return;
 
@@ -134,6 +108,8 @@ public void run() {
 							String.valueOf(this.compiler.totalUnits),
 							new String(this.unitToProcess.getFileName())
 						}));
+				if (this.parsingTask != null)
+					this.parsingTask.waitForMethodBodies(index);
 				this.compiler.process(this.unitToProcess, index);
 			} finally {
 				if (this.unitToProcess != null)
@@ -141,19 +117,21 @@ public void run() {
 			}
 
 			addNextUnit(this.unitToProcess);
-		} catch (Error e) {
-			synchronized (this) {
-				this.processingThread = null;
-				this.caughtException = e;
-			}
-			return;
-		} catch (RuntimeException e) {
-			synchronized (this) {
-				this.processingThread = null;
-				this.caughtException = e;
-			}
-			return;
 		}
+	} catch (Error e) {
+		synchronized (this) {
+			this.processingThread = null;
+			this.caughtException = e;
+		}
+	} catch (RuntimeException e) {
+		synchronized (this) {
+			this.processingThread = null;
+			this.caughtException = e;
+		}
+	} finally {
+		if (this.parsingTask != null)
+			this.compiler.stats.parseTime += this.parsingTask.shutdown();
+		addNextUnit(NO_MORE_UNITS);
 	}
 }
 
@@ -164,11 +142,12 @@ public void shutdown() {
 			if (this.processingThread != null) {
 				t = this.processingThread;
 				this.processingThread = null;
-				notifyAll();
 			}
 		}
-		if (t != null)
+		if (t != null) {
+			this.units.clear(); // release the processing thread if it waits for space in the queue
 			t.join(250); // do not wait forever
+		}
 	} catch (InterruptedException ignored) {
 		// ignore
 	}
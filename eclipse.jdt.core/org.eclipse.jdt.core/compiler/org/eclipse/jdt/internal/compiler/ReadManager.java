@@ -11,11 +11,8 @@
 
 package org.eclipse.jdt.internal.compiler;
 
-import java.lang.reflect.InvocationTargetException;
-
 import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
 
-@SuppressWarnings({"rawtypes", "unchecked"})
 public class ReadManager implements Runnable {
 	ICompilationUnit[] units;
 	int nextFileToRead;
@@ -30,37 +27,27 @@ public class ReadManager implements Runnable {
 
 	static final int START_CUSHION = 5;
 	public static final int THRESHOLD = 10;
-	static final int CACHE_SIZE = 15; // do not waste memory by keeping too many files in memory
+	static final int CACHE_SIZE = 15; // minimum number of files read ahead
+	static final int MAX_CACHE_SIZE = 256; // do not waste memory by keeping too many files in memory
+	static final int MAX_THREADS = 16;
+	static final int HEAP_SHARE = 32; // files read ahead take at most 1/32 of the heap...
+	static final long AVERAGE_CONTENTS_SIZE = 64 * 1024; // ...assuming sources of 32K chars
+	int cacheSize;
 
 public ReadManager(ICompilationUnit[] files, int length) {
 	// start the background threads to read the file's contents
-	int threadCount = 0;
-	try {
-		Class runtime = Class.forName("java.lang.Runtime"); //$NON-NLS-1$
-		java.lang.reflect.Method m = runtime.getDeclaredMethod("availableProcessors", new Class[0]); //$NON-NLS-1$
-		if (m != null) {
-			Integer result = (Integer) m.invoke(Runtime.getRuntime(), (Object[]) null);
-			threadCount = result.intValue() + 1;
-			if (threadCount < 2)
-				threadCount = 0;
-			else if (threadCount > CACHE_SIZE)
-				threadCount = CACHE_SIZE;
-		}
-	} catch (IllegalAccessException ignored) { // ignored
-	} catch (ClassNotFoundException e) { // ignored
-	} catch (SecurityException e) { // ignored
-	} catch (NoSuchMethodException e) { // ignored
-	} catch (IllegalArgumentException e) { // ignored
-	} catch (InvocationTargetException e) { // ignored
-	}
+	// reading threads mostly wait for I/O (especially on network file systems), so use more of them than processors
+	int processors = Runtime.getRuntime().availableProcessors();
+	int threadCount = Math.min(2 * processors, MAX_THREADS);
+	this.cacheSize = cacheSize(Runtime.getRuntime().maxMemory(), threadCount);
 
 	if (threadCount > 0) {
 		synchronized (this) {
 			this.units = new ICompilationUnit[length];
 			System.arraycopy(files, 0, this.units, 0, length);
 			this.nextFileToRead = START_CUSHION; // skip some files to reduce the number of times we have to wait
-			this.filesRead = new ICompilationUnit[CACHE_SIZE];
-			this.contentsRead = new char[CACHE_SIZE][];
+			this.filesRead = new ICompilationUnit[this.cacheSize];
+			this.contentsRead = new char[this.cacheSize][];
 			this.readyToReadPosition = 0;
 			this.nextAvailablePosition = 0;
 			this.sleepingThreadCount = 0;
@@ -74,6 +61,15 @@ public ReadManager(ICompilationUnit[] files, int length) {
 	}
 }
 
+/**
+ * Answer how many files to read ahead: enough to keep the given number of threads busy,
+ * more when the heap can afford it.
+ */
+static int cacheSize(long maxMemory, int threadCount) {
+	long affordable = Math.min(maxMemory / HEAP_SHARE / AVERAGE_CONTENTS_SIZE, MAX_CACHE_SIZE);
+	return (int) Math.max(affordable, Math.max(CACHE_SIZE, 2 * threadCount));
+}
+
 public char[] getContents(ICompilationUnit unit) throws Error {
 	if (this.readingThreads == null || this.units.length == 0) {
 		if (this.caughtException != null) {
@@ -131,8 +127,8 @@ public char[] getContents(ICompilationUnit unit) throws Error {
 				this.nextFileToRead = unitIndex + START_CUSHION;
 				this.readyToReadPosition = 0;
 				this.nextAvailablePosition = 0;
-				this.filesRead = new ICompilationUnit[CACHE_SIZE];
-				this.contentsRead = new char[CACHE_SIZE][];
+				this.filesRead = new ICompilationUnit[this.cacheSize];
+				this.contentsRead = new char[this.cacheSize][];
 				notifyAll();
 			}
 		}
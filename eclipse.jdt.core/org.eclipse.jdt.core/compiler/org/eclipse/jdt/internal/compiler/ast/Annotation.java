@@ -1080,6 +1080,7 @@ public abstract class Annotation extends Expression {
 	 */
 	public static void checkForInstancesOfRepeatableWithRepeatingContainerAnnotation(BlockScope scope, ReferenceBinding repeatedAnnotationType, Annotation[] sourceAnnotations) {
 		// Fail fast if the repeating annotation type can't be a container, anyway
+		scope.compilationUnitScope().recordMemberReference(TypeConstants.VALUE, 0);
 		MethodBinding[] valueMethods = repeatedAnnotationType.getMethods(TypeConstants.VALUE);
 		if (valueMethods.length != 1) return; // No violations possible
 		
@@ -24,11 +24,7 @@ import org.eclipse.jdt.internal.compiler.flow.FlowInfo;
 import org.eclipse.jdt.internal.compiler.impl.Constant;
 import org.eclipse.jdt.internal.compiler.lookup.ArrayBinding;
 import org.eclipse.jdt.internal.compiler.lookup.BlockScope;
-import org.eclipse.jdt.internal.compiler.lookup.InferenceContext18;
 import org.eclipse.jdt.internal.compiler.lookup.MethodBinding;
-import org.eclipse.jdt.internal.compiler.lookup.OperatorOverloadInvocationSite;
-import org.eclipse.jdt.internal.compiler.lookup.ReferenceBinding;
-import org.eclipse.jdt.internal.compiler.lookup.Scope;
 import org.eclipse.jdt.internal.compiler.lookup.SourceTypeBinding;
 import org.eclipse.jdt.internal.compiler.lookup.TagBits;
 import org.eclipse.jdt.internal.compiler.lookup.TypeBinding;
@@ -247,7 +243,7 @@ public class ArrayReference extends Reference {
 	}
 
 	public void generatePostIncrement(BlockScope currentScope, CodeStream codeStream, CompoundAssignment postIncrement, boolean valueRequired) {
-		MethodBinding mb2 = this.getMethodBindingForOverload(currentScope, new Expression [] {this.position}, false);
+		MethodBinding mb2 = this.getMethodBindingForOverload(currentScope);
 		if (mb2.isValidBinding()) {
 			currentScope.problemReporter().abortDueToInternalError("Overloaded array reference post increment emulation is not implemented.", this); //$NON-NLS-1$
 			return;
@@ -295,7 +291,7 @@ public class ArrayReference extends Reference {
 		}catch(ClassCastException cce){
 			return resolveType(scope);
 		}
-		MethodBinding mb2 = this.getMethodBindingForOverload(scope, new Expression [] {this.position, assignment.expression}, true);
+		MethodBinding mb2 = this.getMethodBindingForOverload(scope, assignment.expression);
 		if ((mb2 !=null) && (mb2.isValidBinding())) {
 			this.resolvedType = TypeBinding.VOID;
 			this.setExpectedType(this.resolvedType);
@@ -337,7 +333,7 @@ public class ArrayReference extends Reference {
 		}
 
 		// test 
-		MethodBinding overloadMethod = this.getMethodBindingForOverload(scope, new Expression [] {this.position}, false);
+		MethodBinding overloadMethod = this.getMethodBindingForOverload(scope);
 		if ((overloadMethod !=null) && (overloadMethod.isValidBinding())) {
 			this.appropriateMethodForOverload = overloadMethod;
 			if (isMethodUseDeprecated(this.appropriateMethodForOverload, scope, true))
@@ -395,83 +391,47 @@ public class ArrayReference extends Reference {
 
 
 	public String getMethodName(boolean put) {
-		if (put) return "put"; //$NON-NLS-1$
-		else return "get"; //$NON-NLS-1$
+		return new String(getSelector(put));
 	}
 
-	public MethodBinding getMethodBindingForOverload(BlockScope scope, Expression [] arguments, boolean put) {
-		return getMethodBindingForOverload(scope, arguments, new TypeBinding[0], put);
+	public char[] getSelector(boolean put) {
+		return put ? OperatorOverloadSelectors.PUT : OperatorOverloadSelectors.GET;
 	}
 
-	public MethodBinding getMethodBindingForOverload(BlockScope scope, Expression [] arguments, TypeBinding[] types, boolean put) {
-		//	if (set) return null;
-
-		TypeBinding [] tb_right = new TypeBinding[types.length + arguments.length]; 
-		TypeBinding tb_left = null;
-
-		if(this.receiver.resolvedType == null)
-			tb_left = this.receiver.resolveType(scope);
-		else
-			tb_left = this.receiver.resolvedType;
-
-		boolean tbRightValid = true;
-		for(int i=0; i<arguments.length; i++){
-			if(arguments[i].resolvedType == null)
-				tb_right[i] = arguments[i].resolveType(scope);
-			else
-				tb_right[i] = arguments[i].resolvedType;
-			tbRightValid = tbRightValid && (tb_right[i] != null);
-		}
-		for(int i=0; i<types.length; i++){
-			tb_right[arguments.length + i] = types[i];
-			tbRightValid = tbRightValid && (tb_right[arguments.length + i] != null);
-		}
-		final TypeBinding expectedTypeLocal = this.expectedType;
-		OperatorOverloadInvocationSite fakeInvocationSite = new OperatorOverloadInvocationSite(){
-			public TypeBinding[] genericTypeArguments() { return null; }
-			public boolean isSuperAccess(){ return false; }
-			public boolean isTypeAccess() { return true; }
-			public void setActualReceiverType(ReferenceBinding actualReceiverType) { /* ignore */}
-			public void setDepth(int depth) { /* ignore */}
-			public void setFieldIndex(int depth){ /* ignore */}
-			public int sourceStart() { return 0; }
-			public int sourceEnd() { return 0; }
-			public TypeBinding getExpectedType() {
-				return expectedTypeLocal;
-			}
-			public TypeBinding expectedType() {
-				return getExpectedType();
-			}
-			@Override
-			public TypeBinding invocationTargetType() {
-				// TODO Auto-generated method stub
-//				throw new RuntimeException("Implement this");
-				return null;
-			}
-			@Override
-			public boolean receiverIsImplicitThis() {
-				// TODO Auto-generated method stub
-				throw new RuntimeException("Implement this");
-//				return false;
-			}
-			@Override
-			public InferenceContext18 freshInferenceContext(Scope scope) {
-				// TODO Auto-generated method stub
-				throw new RuntimeException("Implement this");
-//				return null;
-			}
-			@Override
-			public ExpressionContext getExpressionContext() {
-				// TODO Auto-generated method stub
-				throw new RuntimeException("Implement this");
-//				return null;
-			}
-		};
+	/**
+	 * Operator overloading: answer the <code>get</code> method this array access binds to, or null if the
+	 * receiver or the position do not resolve.
+	 */
+	public MethodBinding getMethodBindingForOverload(BlockScope scope) {
+		TypeBinding receiverType = resolveTypeForOverload(scope, this.receiver);
+		TypeBinding positionType = resolveTypeForOverload(scope, this.position);
+		if (receiverType == null || positionType == null) return null;
+		return scope.getOperatorOverloadMethod(receiverType, getSelector(false), positionType, this.expectedType);
+	}
+
+	/**
+	 * Operator overloading: answer the <code>put</code> method the assignment of the given value to this array access binds to.
+	 */
+	public MethodBinding getMethodBindingForOverload(BlockScope scope, Expression value) {
+		TypeBinding receiverType = resolveTypeForOverload(scope, this.receiver);
+		TypeBinding positionType = resolveTypeForOverload(scope, this.position);
+		TypeBinding valueType = resolveTypeForOverload(scope, value);
+		if (receiverType == null || positionType == null || valueType == null) return null;
+		return scope.getOperatorOverloadMethod(receiverType, getSelector(true), positionType, valueType, this.expectedType);
+	}
+
+	/**
+	 * Operator overloading: answer the <code>put</code> method the assignment of a value of the given type to this array access binds to.
+	 */
+	public MethodBinding getMethodBindingForOverload(BlockScope scope, TypeBinding valueType) {
+		TypeBinding receiverType = resolveTypeForOverload(scope, this.receiver);
+		TypeBinding positionType = resolveTypeForOverload(scope, this.position);
+		if (receiverType == null || positionType == null || valueType == null) return null;
+		return scope.getOperatorOverloadMethod(receiverType, getSelector(true), positionType, valueType, this.expectedType);
+	}
 
-		String ms = getMethodName(put);
-		if ((tb_left == null) || (!tbRightValid)) return null;
-		MethodBinding mb2 = scope.getMethod(tb_left, ms.toCharArray(), tb_right,  fakeInvocationSite);
-		return mb2;
+	static TypeBinding resolveTypeForOverload(BlockScope scope, Expression expression) {
+		return expression.resolvedType == null ? expression.resolveType(scope) : expression.resolvedType;
 	}
 
 	public void generateOperatorOverloadCode(BlockScope currentScope, CodeStream codeStream, boolean valueRequired) {
@@ -490,6 +450,7 @@ public class ArrayReference extends Reference {
 				MethodBinding final_mb = mb3;
 				// TODO remove for real?
 				//final_mb.returnType = final_mb.returnType.erasure();
+				codeStream.recordOperatorCallSite(assignment == null ? ClassFileConstants.OPERATOR_SITE_ARRAY_GET : ClassFileConstants.OPERATOR_SITE_ARRAY_PUT, 0, this);
 				codeStream.invoke((final_mb.declaringClass.isInterface()) ? Opcodes.OPC_invokeinterface : Opcodes.OPC_invokevirtual, final_mb, final_mb.declaringClass.erasure());
 
 				if (tbo.erasure().isProvablyDistinct(final_mb.returnType.erasure())) {
@@ -498,9 +459,11 @@ public class ArrayReference extends Reference {
 			} else {
 				MethodBinding original = this.appropriateMethodForOverload.original();
 				if(original.isPrivate()){
+					codeStream.recordOperatorCallSite(assignment == null ? ClassFileConstants.OPERATOR_SITE_ARRAY_GET : ClassFileConstants.OPERATOR_SITE_ARRAY_PUT, 0, this);
 					codeStream.invoke(Opcodes.OPC_invokestatic, this.syntheticAccessor, null /* default declaringClass */);
 				}
 				else{
+					codeStream.recordOperatorCallSite(assignment == null ? ClassFileConstants.OPERATOR_SITE_ARRAY_GET : ClassFileConstants.OPERATOR_SITE_ARRAY_PUT, 0, this);
 					codeStream.invoke((original.declaringClass.isInterface()) ? Opcodes.OPC_invokeinterface : Opcodes.OPC_invokevirtual, original, original.declaringClass);
 				}
 				if (!this.appropriateMethodForOverload.returnType.isBaseType()) codeStream.checkcast(this.appropriateMethodForOverload.returnType);
@@ -512,7 +475,7 @@ public class ArrayReference extends Reference {
 	}
 
 	public TypeBinding resolveTypeCompundOverloadOperator(BlockScope scope, TypeBinding type) {
-		MethodBinding mb1 = getMethodBindingForOverload(scope, new Expression[]{this.position}, new TypeBinding[]{type}, true);
+		MethodBinding mb1 = getMethodBindingForOverload(scope, type);
 		if(mb1 == null || !mb1.isValidBinding()){
 			scope.problemReporter().referenceMustBeArrayTypeAt(this.receiver.resolvedType, this);
 			return null;
@@ -543,6 +506,7 @@ public class ArrayReference extends Reference {
 				MethodBinding final_mb = mb3;
 				// TODO remove for real?
 				//final_mb.returnType = final_mb.returnType.erasure();
+				codeStream.recordOperatorCallSite(ClassFileConstants.OPERATOR_SITE_ARRAY_PUT, 0, this);
 				codeStream.invoke((final_mb.declaringClass.isInterface()) ? Opcodes.OPC_invokeinterface : Opcodes.OPC_invokevirtual, final_mb, final_mb.declaringClass.erasure());
 
 				if (tbo.erasure().isProvablyDistinct(final_mb.returnType.erasure())) {
@@ -551,9 +515,11 @@ public class ArrayReference extends Reference {
 			} else {
 				MethodBinding original = this.compundAppropriateMethodForOverloda.original();
 				if(original.isPrivate()){
+					codeStream.recordOperatorCallSite(ClassFileConstants.OPERATOR_SITE_ARRAY_PUT, 0, this);
 					codeStream.invoke(Opcodes.OPC_invokestatic, this.syntheticCompundAccessor, null /* default declaringClass */);
 				}
 				else{
+					codeStream.recordOperatorCallSite(ClassFileConstants.OPERATOR_SITE_ARRAY_PUT, 0, this);
 					codeStream.invoke((original.declaringClass.isInterface()) ? Opcodes.OPC_invokeinterface : Opcodes.OPC_invokevirtual, original, original.declaringClass);
 				}
 				if (!this.compundAppropriateMethodForOverloda.returnType.isBaseType()) codeStream.checkcast(this.compundAppropriateMethodForOverloda.returnType);
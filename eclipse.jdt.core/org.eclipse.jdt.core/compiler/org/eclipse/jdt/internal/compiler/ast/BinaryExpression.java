@@ -43,6 +43,10 @@ public class BinaryExpression extends OperatorExpression {
 	protected static final int overloadedLeftSide = 0;
 	protected static final int overloadedRightSide = 1;
 	public TypeBinding expectedType = null;//Operator overload, for generic function call
+	// Operator overloading: a chain fused into a single call, see fuseOperatorChain(BlockScope)
+	public MethodBinding fusedMethodForOverload = null;
+	public Expression fusedReceiver;
+	public Expression[] fusedArguments;
 
 	public void setExpectedType(TypeBinding expectedType) {
 		this.expectedType = expectedType;
@@ -2045,49 +2049,21 @@ public StringBuffer printExpressionNoParenthesis(int indent, StringBuffer output
 }
 
 public String getMethodName() {
-	switch ((this.bits & ASTNode.OperatorMASK) >> ASTNode.OperatorSHIFT) {
-		case PLUS:
-			return "add"; //$NON-NLS-1$
-		case MINUS :
-			return "sub"; //$NON-NLS-1$
-		case MULTIPLY :
-			return "mul"; //$NON-NLS-1$
-		case DIVIDE :
-			return "div"; //$NON-NLS-1$
-		case CAT :
-			return "cat"; //$NON-NLS-1$
-		case REMAINDER :
-			return "mod"; //$NON-NLS-1$
-		case AND :
-			return "and"; //$NON-NLS-1$
-		case OR :
-			return "or"; //$NON-NLS-1$
-		case XOR :
-			return "xor"; //$NON-NLS-1$
-		case EQUAL_EQUAL_EQUAL :
-			return "eq"; //$NON-NLS-1$
-		case NOT_EQUAL_EQUAL :
-			return "neq"; //$NON-NLS-1$
-		case LEFT_SHIFT:
-			return "shiftLeft"; //$NON-NLS-1$
-		case RIGHT_SHIFT:
-			return "shiftRight"; //$NON-NLS-1$
-		case UNSIGNED_RIGHT_SHIFT:
-			return "unsignedShiftRight"; //$NON-NLS-1$
-		case GREATER:
-			return "gt"; //$NON-NLS-1$
-		case GREATER_EQUAL:
-			return "gte"; //$NON-NLS-1$
-		case LESS:
-			return "lt"; //$NON-NLS-1$
-		case LESS_EQUAL:
-			return "lte"; //$NON-NLS-1$
-		case EQUAL_EQUAL:
-			return "CECINESTPASUNOPERATEUR_eq"; //$NON-NLS-1$
-		case NOT_EQUAL:
-			return "CECINESTPASUNOPERATEUR_neq";  //$NON-NLS-1$
-	}
-	return ""; //$NON-NLS-1$
+	return new String(getSelector());
+}
+
+/**
+ * Operator overloading: answer the selector of the method this operator binds to on its left operand.
+ */
+public char[] getSelector() {
+	return OperatorOverloadSelectors.binary((this.bits & ASTNode.OperatorMASK) >> ASTNode.OperatorSHIFT);
+}
+
+/**
+ * Operator overloading: answer the selector of the method this operator binds to on its right operand.
+ */
+public char[] getSelectorAsRHS() {
+	return OperatorOverloadSelectors.binaryAsRHS((this.bits & ASTNode.OperatorMASK) >> ASTNode.OperatorSHIFT);
 }
 
 public MethodBinding getMethodBindingForOverload(BlockScope scope) {
@@ -2104,61 +2080,20 @@ public MethodBinding getMethodBindingForOverload(BlockScope scope) {
 	else
 		tb_right = this.right.resolvedType;
 
-	final TypeBinding expectedTypeLocal = this.expectedType;
-	OperatorOverloadInvocationSite fakeInvocationSite = new OperatorOverloadInvocationSite(){
-		public TypeBinding[] genericTypeArguments() { return null; }
-		public boolean isSuperAccess(){ return false; }
-		public boolean isTypeAccess() { return true; }
-		public void setActualReceiverType(ReferenceBinding actualReceiverType) { /* ignore */}
-		public void setDepth(int depth) { /* ignore */}
-		public void setFieldIndex(int depth){ /* ignore */}
-		public int sourceStart() { return 0; }
-		public int sourceEnd() { return 0; }
-		public TypeBinding getExpectedType() {
-			return expectedTypeLocal;
-		}
-		public TypeBinding expectedType() {
-			return getExpectedType();
-		}
-		@Override
-		public TypeBinding invocationTargetType() {
-			// TODO Auto-generated method stub
-			throw new RuntimeException("Implement this");
-//			return null;
-		}
-		@Override
-		public boolean receiverIsImplicitThis() {
-			// TODO Auto-generated method stub
-			throw new RuntimeException("Implement this");
-//			return false;
-		}
-		@Override
-		public InferenceContext18 freshInferenceContext(Scope scope) {
-			// TODO Auto-generated method stub
-			throw new RuntimeException("Implement this");
-//			return null;
-		}
-		@Override
-		public ExpressionContext getExpressionContext() {
-			// TODO Auto-generated method stub
-			throw new RuntimeException("Implement this");
-//			return null;
-		}
-
-	};
-
-	String ms = getMethodName();
+	char[] selector = getSelector();
+	char[] selectorAsRHS = getSelectorAsRHS();
 
 	//Object <op> Object
 	if (!tb_left.isBoxingType() && !tb_left.isBaseType() && !tb_right.isBoxingType() && !tb_right.isBaseType()){
-		MethodBinding mbLeft = scope.getMethod(tb_left, ms.toCharArray(), new TypeBinding[]{tb_right},  fakeInvocationSite);
-		MethodBinding mbRight = scope.getMethod(tb_right, (ms + "AsRHS").toCharArray(), new TypeBinding[]{tb_left},  fakeInvocationSite); //$NON-NLS-1$
+		MethodBinding mbLeft = scope.getOperatorOverloadMethod(tb_left, selector, tb_right, this.expectedType);
+		MethodBinding mbRight = scope.getOperatorOverloadMethod(tb_right, selectorAsRHS, tb_left, this.expectedType);
 		if(mbLeft.isValidBinding() && mbRight.isValidBinding()){
 			if(((mbLeft.modifiers & ClassFileConstants.AccStatic) != 0) && ((mbRight.modifiers & ClassFileConstants.AccStatic) != 0)) {
 				scope.problemReporter().overloadedOperatorMethodNotStatic(this, getMethodName());
 				return null;
 			}
-			return new ProblemMethodBinding(ms.toCharArray(), new TypeBinding[]{tb_right}, ProblemReasons.Ambiguous);
+			scope.environment().operatorOverloadCache.ambiguities++;
+			return new ProblemMethodBinding(selector, new TypeBinding[]{tb_right}, ProblemReasons.Ambiguous);
 		}
 		if(mbLeft.isValidBinding()){
 			if((mbLeft.modifiers & ClassFileConstants.AccStatic) != 0) {
@@ -2185,7 +2120,7 @@ public MethodBinding getMethodBindingForOverload(BlockScope scope) {
 
 	//Object <op> type or type <op> Object
 	if(!tb_left.isBoxingType() && !tb_left.isBaseType() && (tb_right.isBoxingType() || tb_right.isBaseType())){
-		MethodBinding mbLeft = scope.getMethod(tb_left, ms.toCharArray(), new TypeBinding[]{tb_right}, fakeInvocationSite);
+		MethodBinding mbLeft = scope.getOperatorOverloadMethod(tb_left, selector, tb_right, this.expectedType);
 		if(mbLeft.isValidBinding() && isAnnotationSet(mbLeft)){
 			if((mbLeft.modifiers & ClassFileConstants.AccStatic) != 0) {
 				scope.problemReporter().overloadedOperatorMethodNotStatic(this, getMethodName());
@@ -2197,7 +2132,7 @@ public MethodBinding getMethodBindingForOverload(BlockScope scope) {
 		return null;
 	}
 	if(!tb_right.isBoxingType() && !tb_right.isBaseType() && (tb_left.isBoxingType() || tb_left.isBaseType())){
-		MethodBinding mbRight = scope.getMethod(tb_right, (ms + "AsRHS").toCharArray(), new TypeBinding[]{tb_left}, fakeInvocationSite); //$NON-NLS-1$
+		MethodBinding mbRight = scope.getOperatorOverloadMethod(tb_right, selectorAsRHS, tb_left, this.expectedType);
 		if(mbRight.isValidBinding()){
 			if((mbRight.modifiers & ClassFileConstants.AccStatic) != 0) {
 				scope.problemReporter().overloadedOperatorMethodNotStatic(this, getMethodName());
@@ -2235,6 +2170,10 @@ public void boxConvert(Expression e, BlockScope currentScope, CodeStream codeStr
 }
 
 public void generateOperatorOverloadCode(BlockScope currentScope, CodeStream codeStream, boolean valueRequired) {
+	if (this.fusedMethodForOverload != null) {
+		generateFusedOperatorOverloadCode(currentScope, codeStream, valueRequired);
+		return;
+	}
 	if(this.overloadedExpresionSide == overloadedLeftSide){
 		this.left.generateCode(currentScope, codeStream,true);
 		this.right.generateCode(currentScope, codeStream, true);
@@ -2248,6 +2187,7 @@ public void generateOperatorOverloadCode(BlockScope currentScope, CodeStream cod
 		MethodBinding final_mb = mb3;
 		// TODO remove for real?
 		//final_mb.returnType = final_mb.returnType.erasure();
+		codeStream.recordOperatorCallSite(ClassFileConstants.OPERATOR_SITE_BINARY, (this.bits & ASTNode.OperatorMASK) >> ASTNode.OperatorSHIFT, this);
 		codeStream.invoke((final_mb.declaringClass.isInterface()) ? Opcodes.OPC_invokeinterface : Opcodes.OPC_invokevirtual, final_mb, final_mb.declaringClass.erasure());
 
 		if (tbo.erasure().isProvablyDistinct(final_mb.returnType.erasure())) {
@@ -2256,9 +2196,11 @@ public void generateOperatorOverloadCode(BlockScope currentScope, CodeStream cod
 	} else {
 		MethodBinding original = this.appropriateMethodForOverload.original();
 		if(original.isPrivate()){
+			codeStream.recordOperatorCallSite(ClassFileConstants.OPERATOR_SITE_BINARY, (this.bits & ASTNode.OperatorMASK) >> ASTNode.OperatorSHIFT, this);
 			codeStream.invoke(Opcodes.OPC_invokestatic, this.syntheticAccessor, null /* default declaringClass */);
 		}
 		else{
+			codeStream.recordOperatorCallSite(ClassFileConstants.OPERATOR_SITE_BINARY, (this.bits & ASTNode.OperatorMASK) >> ASTNode.OperatorSHIFT, this);
 			codeStream.invoke((original.declaringClass.isInterface()) ? Opcodes.OPC_invokeinterface : Opcodes.OPC_invokevirtual, original, original.declaringClass);
 		}
 		if (!this.appropriateMethodForOverload.returnType.isBaseType()) codeStream.checkcast(this.appropriateMethodForOverload.returnType);
@@ -2268,6 +2210,85 @@ public void generateOperatorOverloadCode(BlockScope currentScope, CodeStream cod
 	}
 }
 
+/**
+ * Operator overloading: generate the single call a chain was fused into, <code>a.add(b, c)</code>
+ * for <code>a + b + c</code>. The operands are evaluated left to right, as the chain would.
+ */
+private void generateFusedOperatorOverloadCode(BlockScope currentScope, CodeStream codeStream, boolean valueRequired) {
+	this.fusedReceiver.generateCode(currentScope, codeStream, true);
+	generateArguments(this.fusedMethodForOverload, this.fusedArguments, currentScope, codeStream);
+	MethodBinding original = this.fusedMethodForOverload.original();
+	codeStream.recordOperatorCallSite(ClassFileConstants.OPERATOR_SITE_BINARY, (this.bits & ASTNode.OperatorMASK) >> ASTNode.OperatorSHIFT, this);
+	codeStream.invoke((original.declaringClass.isInterface()) ? Opcodes.OPC_invokeinterface : Opcodes.OPC_invokevirtual, original, original.declaringClass.erasure());
+	if (!this.resolvedType.isBaseType() && !original.returnType.erasure().isCompatibleWith(this.resolvedType.erasure())) {
+		codeStream.checkcast(this.resolvedType);
+	}
+	if (valueRequired) {
+		codeStream.generateImplicitConversion(this.implicitConversion);
+	}
+}
+
+/**
+ * Operator overloading: when enabled by {@link CompilerOptions#fuseOperatorChains}, compile a left associative
+ * chain of this operator, <code>a + b + c + d</code>, to a single call <code>a.add(b, c, d)</code> of an n-ary or
+ * varargs method of the leftmost operand, instead of a call, and an intermediate result, per operator.
+ * The chain is left as is unless that method exists, is an instance method, and answers a type the chain
+ * could be assigned to.
+ */
+private void fuseOperatorChain(BlockScope scope) {
+	this.fusedMethodForOverload = null;
+	int operator = (this.bits & ASTNode.OperatorMASK) >> ASTNode.OperatorSHIFT;
+	int argumentCount = 1;
+	Expression receiver = this.left;
+	while (receiver instanceof BinaryExpression) {
+		BinaryExpression operand = (BinaryExpression) receiver;
+		if (((operand.bits & ASTNode.OperatorMASK) >> ASTNode.OperatorSHIFT) != operator
+				|| operand.appropriateMethodForOverload == null
+				|| operand.overloadedExpresionSide != overloadedLeftSide)
+			break;
+		receiver = operand.left;
+		argumentCount++;
+	}
+	if (argumentCount < 2)
+		return; // a single operator, nothing to fuse
+	TypeBinding receiverType = receiver.resolvedType;
+	if (receiverType == null || receiverType.isBaseType() || receiverType.isBoxingType() || receiverType.isStringType())
+		return;
+
+	for (Expression cursor = this; cursor != receiver; cursor = ((BinaryExpression) cursor).left) {
+		if (((BinaryExpression) cursor).right.resolvedType == null)
+			return;
+	}
+	// the operands are only collected when the chain is fused, so looking up a chain seen before does not allocate
+	TypeBinding[] argumentTypes = scope.getOperatorOverloadArgumentTypes(argumentCount);
+	Expression cursor = this;
+	for (int i = argumentCount - 1; i >= 0; i--) {
+		argumentTypes[i] = ((BinaryExpression) cursor).right.resolvedType;
+		cursor = ((BinaryExpression) cursor).left;
+	}
+	MethodBinding method = scope.getOperatorOverloadMethod(receiverType, getSelector(), argumentTypes, this.expectedType);
+	if (!method.isValidBinding() || method.isStatic() || method.isPrivate()
+			|| method.returnType == null || !method.returnType.isCompatibleWith(this.resolvedType))
+		return;
+	Expression[] arguments = new Expression[argumentCount];
+	cursor = this;
+	for (int i = argumentCount - 1; i >= 0; i--) {
+		arguments[i] = ((BinaryExpression) cursor).right;
+		cursor = ((BinaryExpression) cursor).left;
+	}
+	TypeBinding[] parameters = method.parameters;
+	int varargsIndex = method.isVarargs() ? parameters.length - 1 : parameters.length;
+	if (varargsIndex < parameters.length && !((ArrayBinding) parameters[varargsIndex]).elementsType().isReifiable())
+		return; // would warn about the generic array created for the call
+	for (int i = 0; i < argumentCount; i++) {
+		TypeBinding parameterType = i < varargsIndex ? parameters[i] : ((ArrayBinding) parameters[varargsIndex]).elementsType();
+		arguments[i].computeConversion(scope, parameterType, arguments[i].resolvedType);
+	}
+	this.fusedMethodForOverload = method;
+	this.fusedReceiver = receiver;
+	this.fusedArguments = arguments;
+}
+
 public TypeBinding resolveType(BlockScope scope) {
 	//if (this.resolvedType!=null) return this.resolvedType;	TODO Test1 ??
 
@@ -2301,7 +2322,10 @@ public TypeBinding resolveType(BlockScope scope) {
 				this.isCompactable = false;
 				this.left.computeConversion(scope, leftType, leftType);
 				this.right.computeConversion(scope, rightType, rightType);
-				return this.resolvedType = overloadMethod.returnType;
+				this.resolvedType = overloadMethod.returnType;
+				if (this.overloadedExpresionSide == overloadedLeftSide && scope.compilerOptions().fuseOperatorChains)
+					fuseOperatorChain(scope);
+				return this.resolvedType;
 			}
 			if(this.overloadedExpresionSide == overloadedLeftSide){
 				leftType = overloadMethod.parameters[0];
@@ -2446,6 +2470,8 @@ public TypeBinding resolveType(BlockScope scope) {
 			this.right.computeConversion(scope, this.appropriateMethodForOverload.parameters[0], this.right.resolvedType);
 			this.isCompactable = false;
 			this.resolvedType = this.appropriateMethodForOverload.returnType;
+			if (scope.compilerOptions().fuseOperatorChains)
+				fuseOperatorChain(scope);
 		}else if(this.overloadedExpresionSide == overloadedRightSide){
 			this.right.implicitConversion = 0;
 			this.right.computeConversion(scope, this.right.resolvedType, this.right.resolvedType);
@@ -9,11 +9,7 @@ import org.eclipse.jdt.internal.compiler.flow.FlowContext;
 import org.eclipse.jdt.internal.compiler.flow.FlowInfo;
 import org.eclipse.jdt.internal.compiler.impl.Constant;
 import org.eclipse.jdt.internal.compiler.lookup.BlockScope;
-import org.eclipse.jdt.internal.compiler.lookup.InferenceContext18;
-import org.eclipse.jdt.internal.compiler.lookup.InvocationSite;
 import org.eclipse.jdt.internal.compiler.lookup.MethodBinding;
-import org.eclipse.jdt.internal.compiler.lookup.ReferenceBinding;
-import org.eclipse.jdt.internal.compiler.lookup.Scope;
 import org.eclipse.jdt.internal.compiler.lookup.SourceTypeBinding;
 import org.eclipse.jdt.internal.compiler.lookup.TypeBinding;
 
@@ -174,58 +170,10 @@ public void traverse(ASTVisitor visitor, 	BlockScope blockScope) {
  */
 
 public MethodBinding getMethodBindingForOverloadForCASE(BlockScope scope) {
-	TypeBinding tb = null; 
-	TypeBinding [] tb_right;
-	String ms;
-	if(this.defaultStatement)
-		tb_right= new TypeBinding[] {};	
-	else
-		tb_right= new TypeBinding[] {this.constantExpression.resolvedType};
-	
-	ms = getMethodName();
-	
-	tb = scope.parent.classScope().referenceContext.binding;
-	InvocationSite fakeInvocationSite = new InvocationSite(){
-		public TypeBinding[] genericTypeArguments() { return null; }
-		public boolean isSuperAccess(){ return false; }
-		public boolean isTypeAccess() { return true; }
-		public void setActualReceiverType(ReferenceBinding actualReceiverType) { /* ignore */}
-		public void setDepth(int depth) { /* ignore */}
-		public void setFieldIndex(int depth){ /* ignore */}
-		public int sourceStart() { return 0; }
-		public int sourceEnd() { return 0; }
-		public TypeBinding expectedType() {
-			return null;
-		}
-		@Override
-		public TypeBinding invocationTargetType() {
-			// TODO Auto-generated method stub
-			throw new RuntimeException("Implement this");
-//			return null;
-		}
-		@Override
-		public boolean receiverIsImplicitThis() {
-			// TODO Auto-generated method stub
-			throw new RuntimeException("Implement this");
-//			return false;
-		}
-		@Override
-		public InferenceContext18 freshInferenceContext(Scope scope) {
-			// TODO Auto-generated method stub
-			throw new RuntimeException("Implement this");
-//			return null;
-		}
-		@Override
-		public ExpressionContext getExpressionContext() {
-			// TODO Auto-generated method stub
-			throw new RuntimeException("Implement this");
-//			return null;
-		}
-
-	};
-
-	MethodBinding mb2 = scope.parent.getMethod(tb, ms.toCharArray(), tb_right,  fakeInvocationSite);
-	return mb2;
+	TypeBinding tb = scope.parent.classScope().referenceContext.binding;
+	if (this.defaultStatement)
+		return scope.parent.getOperatorOverloadMethod(tb, OperatorOverloadSelectors._OTHERWISE, null);
+	return scope.parent.getOperatorOverloadMethod(tb, OperatorOverloadSelectors._CASE, this.constantExpression.resolvedType, null);
 }
 
 public void generateOperatorOverloadCodeForCASE(MethodBinding mb2, BlockScope currentScope, CodeStream codeStream, boolean valueRequired) {
@@ -237,6 +185,7 @@ public void generateOperatorOverloadCodeForCASE(MethodBinding mb2, BlockScope cu
 		MethodBinding mb3 = mb2.original(); 
 		MethodBinding final_mb = mb3;
 		codeStream.checkcast(final_mb.declaringClass);
+		codeStream.recordOperatorCallSite(this.defaultStatement ? ClassFileConstants.OPERATOR_SITE_OTHERWISE : ClassFileConstants.OPERATOR_SITE_CASE, 0, this);
 		codeStream.invoke((final_mb.declaringClass.isInterface()) ? Opcodes.OPC_invokeinterface : Opcodes.OPC_invokevirtual, final_mb, final_mb.declaringClass.erasure());
 		if (tbo.erasure().isProvablyDistinct(final_mb.returnType.erasure())) {
 			codeStream.checkcast(tbo);
@@ -244,9 +193,11 @@ public void generateOperatorOverloadCodeForCASE(MethodBinding mb2, BlockScope cu
 	} else {
 		MethodBinding original = mb2.original();
 		if(original.isPrivate()){
+			codeStream.recordOperatorCallSite(this.defaultStatement ? ClassFileConstants.OPERATOR_SITE_OTHERWISE : ClassFileConstants.OPERATOR_SITE_CASE, 0, this);
 			codeStream.invoke(Opcodes.OPC_invokestatic, this.syntheticAccessor, null /* default declaringClass */);
 		}
 		else{
+			codeStream.recordOperatorCallSite(this.defaultStatement ? ClassFileConstants.OPERATOR_SITE_OTHERWISE : ClassFileConstants.OPERATOR_SITE_CASE, 0, this);
 			codeStream.invoke((original.declaringClass.isInterface()) ? Opcodes.OPC_invokeinterface : Opcodes.OPC_invokevirtual, original, original.declaringClass);
 		}
 		if (!mb2.returnType.isBaseType()) codeStream.checkcast(mb2.returnType);
@@ -39,6 +39,7 @@ import org.eclipse.jdt.internal.compiler.problem.AbortType;
 import org.eclipse.jdt.internal.compiler.problem.ProblemReporter;
 import org.eclipse.jdt.internal.compiler.problem.ProblemSeverities;
 import org.eclipse.jdt.internal.compiler.util.HashSetOfInt;
+import org.eclipse.jdt.internal.compiler.util.Util;
 
 @SuppressWarnings({ "rawtypes", "unchecked" })
 public class CompilationUnitDeclaration extends ASTNode implements ProblemSeverities, ReferenceContext {
@@ -62,6 +63,7 @@ public class CompilationUnitDeclaration extends ASTNode implements ProblemSeveri
 	public CompilationUnitScope scope;
 	public ProblemReporter problemReporter;
 	public CompilationResult compilationResult;
+	public boolean isMaxJ; // written in the MaxJ dialect (.maxj), computed once for all the parses of the unit
 
 	public LocalTypeBinding[] localTypes;
 	public int localTypeCount = 0;
@@ -87,6 +89,7 @@ public class CompilationUnitDeclaration extends ASTNode implements ProblemSeveri
 public CompilationUnitDeclaration(ProblemReporter problemReporter, CompilationResult compilationResult, int sourceLength) {
 	this.problemReporter = problemReporter;
 	this.compilationResult = compilationResult;
+	this.isMaxJ = compilationResult != null && Util.isMaxJFileName(compilationResult.getFileName());
 	//by definition of a compilation unit....
 	this.sourceStart = 0;
 	this.sourceEnd = sourceLength - 1;
@@ -215,7 +218,41 @@ public TypeDeclaration declarationOfType(char[][] typeName) {
 }
 
 public void finalizeProblems() {
-	if (this.suppressWarningsCount == 0) return;
+	if (this.suppressWarningsCount > 0)
+		discardSuppressedWarnings();
+	int maxWarnings = this.problemReporter.options.maxWarningsPerUnit;
+	if (maxWarnings > 0 && this.compilationResult.problemCount > maxWarnings)
+		discardExtraWarnings(maxWarnings);
+}
+
+/*
+ * Keep the first warnings recorded, up to the given limit, and count the others in a single warning
+ * at the position of the first one discarded. Errors are all kept.
+ */
+private void discardExtraWarnings(int maxWarnings) {
+	CategorizedProblem[] problems = this.compilationResult.problems;
+	int problemCount = this.compilationResult.problemCount;
+	int warnings = 0, index = 0;
+	CategorizedProblem firstDiscarded = null;
+	for (int i = 0; i < problemCount; i++) {
+		CategorizedProblem problem = problems[i];
+		if (!problem.isError() && ++warnings > maxWarnings) {
+			if (firstDiscarded == null)
+				firstDiscarded = problem;
+			this.compilationResult.removeProblem(problem);
+		} else {
+			problems[index++] = problem;
+		}
+	}
+	if (firstDiscarded != null) {
+		for (int i = index; i < problemCount; i++)
+			problems[i] = null;
+		this.problemReporter.referenceContext = this;
+		this.problemReporter.maxelerMoreWarnings(warnings - maxWarnings, firstDiscarded);
+	}
+}
+
+private void discardSuppressedWarnings() {
 	int removed = 0;
 	CategorizedProblem[] problems = this.compilationResult.problems;
 	int problemCount = this.compilationResult.problemCount;
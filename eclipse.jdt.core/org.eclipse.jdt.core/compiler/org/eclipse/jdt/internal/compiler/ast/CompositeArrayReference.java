@@ -9,11 +9,7 @@ import org.eclipse.jdt.internal.compiler.flow.FlowInfo;
 import org.eclipse.jdt.internal.compiler.impl.Constant;
 import org.eclipse.jdt.internal.compiler.lookup.ArrayBinding;
 import org.eclipse.jdt.internal.compiler.lookup.BlockScope;
-import org.eclipse.jdt.internal.compiler.lookup.InferenceContext18;
 import org.eclipse.jdt.internal.compiler.lookup.MethodBinding;
-import org.eclipse.jdt.internal.compiler.lookup.OperatorOverloadInvocationSite;
-import org.eclipse.jdt.internal.compiler.lookup.ReferenceBinding;
-import org.eclipse.jdt.internal.compiler.lookup.Scope;
 import org.eclipse.jdt.internal.compiler.lookup.SourceTypeBinding;
 import org.eclipse.jdt.internal.compiler.lookup.TypeBinding;
 import org.eclipse.jdt.internal.compiler.lookup.TypeIds;
@@ -97,7 +93,7 @@ public class CompositeArrayReference extends Reference{
 	}
 
 	public void generateAssignment(BlockScope currentScope, CodeStream codeStream, Assignment assignment, boolean valueRequired) {
-		MethodBinding mb2 = this.getMethodBindingForOverload(currentScope, new Expression[]{this.positionOne, this.positionTwo, assignment.expression}, true);
+		MethodBinding mb2 = this.getMethodBindingForOverload(currentScope, assignment.expression);
 		if (mb2 != null && mb2.isValidBinding()) {
 			if((mb2.modifiers & ClassFileConstants.AccStatic) != 0) {
 				currentScope.problemReporter().overloadedOperatorMethodNotStatic(this, "[:] ="); //$NON-NLS-1$
@@ -213,7 +209,7 @@ public class CompositeArrayReference extends Reference{
 	}
 
 	public void generatePostIncrement(BlockScope currentScope, CodeStream codeStream, CompoundAssignment postIncrement, boolean valueRequired) {
-		MethodBinding mb2 = this.getMethodBindingForOverload(currentScope, new Expression[]{this.positionOne, this.positionTwo}, false);
+		MethodBinding mb2 = this.getMethodBindingForOverload(currentScope);
 		if (mb2.isValidBinding()) {
 			currentScope.problemReporter().abortDueToInternalError("Overloaded array reference post increment emulation is not implemented.", this); //$NON-NLS-1$
 			return;
@@ -266,7 +262,7 @@ public TypeBinding resolveType(BlockScope scope, Expression expression) {
 	}catch(ClassCastException cce){
 		return resolveType(scope);
 	}
-	MethodBinding mb2 = this.getMethodBindingForOverload(scope, new Expression [] {this.positionOne, this.positionTwo, assignment.expression}, true);
+	MethodBinding mb2 = this.getMethodBindingForOverload(scope, assignment.expression);
 	if ((mb2 !=null) && (mb2.isValidBinding())) {
 		this.resolvedType = TypeBinding.VOID;
 		this.setExpectedType(this.resolvedType);
@@ -305,7 +301,7 @@ public TypeBinding resolveType(BlockScope scope, Expression expression) {
 		}
 		
 		// test 
-		MethodBinding overloadMethod = this.getMethodBindingForOverload(scope, new Expression[]{this.positionOne, this.positionTwo}, false);
+		MethodBinding overloadMethod = this.getMethodBindingForOverload(scope);
 		if ((overloadMethod !=null) && (overloadMethod.isValidBinding())) {
 			this.appropriateMethodForOverload = overloadMethod;
 			if (isMethodUseDeprecated(this.appropriateMethodForOverload, scope, true))
@@ -386,91 +382,37 @@ public TypeBinding resolveType(BlockScope scope, Expression expression) {
 
 
 	public String getMethodName(boolean put) {
-		if (put) return "put"; //$NON-NLS-1$
-		else return "get"; //$NON-NLS-1$
+		return new String(getSelector(put));
 	}
 
-	
-	public MethodBinding getMethodBindingForOverload(BlockScope scope, Expression [] arguments, boolean put) {
-		return getMethodBindingForOverload(scope, arguments, new TypeBinding[0], put);
+	public char[] getSelector(boolean put) {
+		return put ? OperatorOverloadSelectors.PUT : OperatorOverloadSelectors.GET;
 	}
-	
-	public MethodBinding getMethodBindingForOverload(BlockScope scope, Expression [] arguments, TypeBinding[] types, boolean put) {
-		TypeBinding [] tb_right = new TypeBinding[arguments.length + types.length]; 
-		TypeBinding tb_left = null;
-		
-		if(this.receiver.resolvedType == null)
-			tb_left = this.receiver.resolveType(scope);
-		else
-			tb_left = this.receiver.resolvedType;
-		
-		boolean tbRightValid = true;
-		for(int i=0; i<arguments.length; i++){
-			if(arguments[i].resolvedType == null)
-				tb_right[i] = arguments[i].resolveType(scope);
-			else
-				tb_right[i] = arguments[i].resolvedType;
-			tbRightValid = tbRightValid && (tb_right[i] != null);
-		}
-		
-		for(int i=0; i<types.length; i++){
-			tb_right[arguments.length + i] = types[i];
-			tbRightValid = tbRightValid && (tb_right[arguments.length + i] != null);
-		}
-		
-		final TypeBinding expectedTypeLocal = this.expectedType;
-		OperatorOverloadInvocationSite fakeInvocationSite = new OperatorOverloadInvocationSite(){
-			public TypeBinding[] genericTypeArguments() { return null; }
-			public boolean isSuperAccess(){ return false; }
-			public boolean isTypeAccess() { return true; }
-			public void setActualReceiverType(ReferenceBinding actualReceiverType) { /* ignore */}
-			public void setDepth(int depth) { /* ignore */}
-			public void setFieldIndex(int depth){ /* ignore */}
-			public int sourceStart() { return 0; }
-			public int sourceEnd() { return 0; }
-			public TypeBinding getExpectedType() {
-				return expectedTypeLocal;
-			}
-			public TypeBinding expectedType() {
-				return getExpectedType();
-			}
-			@Override
-			public TypeBinding invocationTargetType() {
-				// TODO Auto-generated method stub
-				throw new RuntimeException("Implement this");
-//				return null;
-			}
-			@Override
-			public boolean receiverIsImplicitThis() {
-				// TODO Auto-generated method stub
-				throw new RuntimeException("Implement this");
-//				return false;
-			}
-			@Override
-			public InferenceContext18 freshInferenceContext(Scope scope) {
-				// TODO Auto-generated method stub
-				throw new RuntimeException("Implement this");
-//				return null;
-			}
-			@Override
-			public ExpressionContext getExpressionContext() {
-				// TODO Auto-generated method stub
-				throw new RuntimeException("Implement this");
-//				return null;
-			}
 
-		};
+	
+	public MethodBinding getMethodBindingForOverload(BlockScope scope) {
+		TypeBinding receiverType = ArrayReference.resolveTypeForOverload(scope, this.receiver);
+		TypeBinding positionOneType = ArrayReference.resolveTypeForOverload(scope, this.positionOne);
+		TypeBinding positionTwoType = ArrayReference.resolveTypeForOverload(scope, this.positionTwo);
+		if (receiverType == null || positionOneType == null || positionTwoType == null) return null;
+		return scope.getOperatorOverloadMethod(receiverType, getSelector(false), positionOneType, positionTwoType, this.expectedType);
+	}
 
-		String ms = getMethodName(put);
-		
-		if ((tb_left == null) || (!tbRightValid)) return null;
-		
-		MethodBinding mb2 = scope.getMethod(tb_left, ms.toCharArray(), tb_right,  fakeInvocationSite);
-//		if (!mb2.isValidBinding()) {
-//			mb2 = scope.getMethod(tb_right, (ms+"AsRHS").toCharArray(), new TypeBinding[]{tb_left},  fakeInvocationSite);	//$NON-NLS-1$	
-//		}
+	public MethodBinding getMethodBindingForOverload(BlockScope scope, Expression value) {
+		TypeBinding receiverType = ArrayReference.resolveTypeForOverload(scope, this.receiver);
+		TypeBinding positionOneType = ArrayReference.resolveTypeForOverload(scope, this.positionOne);
+		TypeBinding positionTwoType = ArrayReference.resolveTypeForOverload(scope, this.positionTwo);
+		TypeBinding valueType = ArrayReference.resolveTypeForOverload(scope, value);
+		if (receiverType == null || positionOneType == null || positionTwoType == null || valueType == null) return null;
+		return scope.getOperatorOverloadMethod(receiverType, getSelector(true), positionOneType, positionTwoType, valueType, this.expectedType);
+	}
 
-		return mb2;
+	public MethodBinding getMethodBindingForOverload(BlockScope scope, TypeBinding valueType) {
+		TypeBinding receiverType = ArrayReference.resolveTypeForOverload(scope, this.receiver);
+		TypeBinding positionOneType = ArrayReference.resolveTypeForOverload(scope, this.positionOne);
+		TypeBinding positionTwoType = ArrayReference.resolveTypeForOverload(scope, this.positionTwo);
+		if (receiverType == null || positionOneType == null || positionTwoType == null || valueType == null) return null;
+		return scope.getOperatorOverloadMethod(receiverType, getSelector(true), positionOneType, positionTwoType, valueType, this.expectedType);
 	}
 
 	public void generatePutCode(BlockScope currentScope, CodeStream codeStream, boolean valueRequired, Assignment assignment){
@@ -486,6 +428,7 @@ public TypeBinding resolveType(BlockScope scope, Expression expression) {
 				MethodBinding final_mb = mb3;
 				// TODO remove for real?
 				//final_mb.returnType = final_mb.returnType.erasure();
+				codeStream.recordOperatorCallSite(assignment == null ? ClassFileConstants.OPERATOR_SITE_ARRAY_GET : ClassFileConstants.OPERATOR_SITE_ARRAY_PUT, 0, this);
 				codeStream.invoke((final_mb.declaringClass.isInterface()) ? Opcodes.OPC_invokeinterface : Opcodes.OPC_invokevirtual, final_mb, final_mb.declaringClass.erasure());
 
 				if (tbo.erasure().isProvablyDistinct(final_mb.returnType.erasure())) {
@@ -494,9 +437,11 @@ public TypeBinding resolveType(BlockScope scope, Expression expression) {
 			} else {
 				MethodBinding original = this.appropriateMethodForOverload.original();
 				if(original.isPrivate()){
+					codeStream.recordOperatorCallSite(assignment == null ? ClassFileConstants.OPERATOR_SITE_ARRAY_GET : ClassFileConstants.OPERATOR_SITE_ARRAY_PUT, 0, this);
 					codeStream.invoke(Opcodes.OPC_invokestatic, this.syntheticAccessor, null /* default declaringClass */);
 				}
 				else{
+					codeStream.recordOperatorCallSite(assignment == null ? ClassFileConstants.OPERATOR_SITE_ARRAY_GET : ClassFileConstants.OPERATOR_SITE_ARRAY_PUT, 0, this);
 					codeStream.invoke((original.declaringClass.isInterface()) ? Opcodes.OPC_invokeinterface : Opcodes.OPC_invokevirtual, original, original.declaringClass);
 				}
 				if (!this.appropriateMethodForOverload.returnType.isBaseType()) codeStream.checkcast(this.appropriateMethodForOverload.returnType);
@@ -526,6 +471,7 @@ public TypeBinding resolveType(BlockScope scope, Expression expression) {
 				MethodBinding final_mb = mb3;
 				// TODO remove for real?
 				//final_mb.returnType = final_mb.returnType.erasure();
+				codeStream.recordOperatorCallSite(ClassFileConstants.OPERATOR_SITE_ARRAY_PUT, 0, this);
 				codeStream.invoke((final_mb.declaringClass.isInterface()) ? Opcodes.OPC_invokeinterface : Opcodes.OPC_invokevirtual, final_mb, final_mb.declaringClass.erasure());
 	
 				if (tbo.erasure().isProvablyDistinct(final_mb.returnType.erasure())) {
@@ -534,9 +480,11 @@ public TypeBinding resolveType(BlockScope scope, Expression expression) {
 			} else {
 				MethodBinding original = this.compundAppropriateMethodForOverloda.original();
 				if(original.isPrivate()){
+					codeStream.recordOperatorCallSite(ClassFileConstants.OPERATOR_SITE_ARRAY_PUT, 0, this);
 					codeStream.invoke(Opcodes.OPC_invokestatic, this.syntheticCompundAccessor, null /* default declaringClass */);
 				}
 				else{
+					codeStream.recordOperatorCallSite(ClassFileConstants.OPERATOR_SITE_ARRAY_PUT, 0, this);
 					codeStream.invoke((original.declaringClass.isInterface()) ? Opcodes.OPC_invokeinterface : Opcodes.OPC_invokevirtual, original, original.declaringClass);
 				}
 				if (!this.compundAppropriateMethodForOverloda.returnType.isBaseType()) codeStream.checkcast(this.compundAppropriateMethodForOverloda.returnType);
@@ -565,7 +513,7 @@ public TypeBinding resolveType(BlockScope scope, Expression expression) {
 	}
 
 	public TypeBinding resolveTypeCompundOverloadOperator(BlockScope scope, TypeBinding type) {
-		MethodBinding mb1 = getMethodBindingForOverload(scope, new Expression[]{this.positionOne, this.positionTwo}, new TypeBinding[]{type}, true);
+		MethodBinding mb1 = getMethodBindingForOverload(scope, type);
 		if(mb1 == null || !mb1.isValidBinding()){
 			scope.problemReporter().referenceMustBeArrayTypeAt(this.receiver.resolvedType, this);
 			return null;
@@ -107,6 +107,7 @@ public FlowInfo analyseCode(BlockScope currentScope, FlowContext flowContext,
 				MethodBinding final_mb = mb3;
 				// TODO remove for real?
 				//final_mb.returnType = final_mb.returnType.erasure();
+				codeStream.recordOperatorCallSite(ClassFileConstants.OPERATOR_SITE_COMPOUND_ASSIGNMENT, this.operator, this);
 				codeStream.invoke((final_mb.declaringClass.isInterface()) ? Opcodes.OPC_invokeinterface : Opcodes.OPC_invokevirtual, final_mb, final_mb.declaringClass.erasure());
 
 				if (tbo.erasure().isProvablyDistinct(final_mb.returnType.erasure())) {
@@ -115,9 +116,11 @@ public FlowInfo analyseCode(BlockScope currentScope, FlowContext flowContext,
 			} else {
 				MethodBinding original = this.appropriateMethodForOverload.original();
 				if(original.isPrivate()){
+					codeStream.recordOperatorCallSite(ClassFileConstants.OPERATOR_SITE_COMPOUND_ASSIGNMENT, this.operator, this);
 					codeStream.invoke(Opcodes.OPC_invokestatic, this.syntheticAccessor, null /* default declaringClass */);
 				}
 				else{
+					codeStream.recordOperatorCallSite(ClassFileConstants.OPERATOR_SITE_COMPOUND_ASSIGNMENT, this.operator, this);
 					codeStream.invoke((original.declaringClass.isInterface()) ? Opcodes.OPC_invokeinterface : Opcodes.OPC_invokevirtual, original, original.declaringClass);
 				}
 				if (!this.appropriateMethodForOverload.returnType.isBaseType()) codeStream.checkcast(this.appropriateMethodForOverload.returnType);
@@ -146,31 +149,14 @@ public int nullStatus(FlowInfo flowInfo, FlowContext flowContext) {
 }
 
 public String getBindingMethodName() {
-	switch (this.operator) {
-		case PLUS :
-			return "add"; //$NON-NLS-1$
-		case MINUS :
-			return "sub"; //$NON-NLS-1$
-		case MULTIPLY :
-			return "mul"; //$NON-NLS-1$
-		case DIVIDE :
-			return "div"; //$NON-NLS-1$
-		case REMAINDER :
-			return "mod"; //$NON-NLS-1$
-		case AND :
-			return "and"; //$NON-NLS-1$
-		case OR :
-			return "or"; //$NON-NLS-1$
-		case XOR :
-			return "xor"; //$NON-NLS-1$
-		case LEFT_SHIFT:
-			return "shiftLeft"; //$NON-NLS-1$
-		case RIGHT_SHIFT:
-			return "shiftRight"; //$NON-NLS-1$
-		case UNSIGNED_RIGHT_SHIFT :
-			return "unsignedShiftRight"; //$NON-NLS-1$
-	}
-	return ""; //$NON-NLS-1$
+	return new String(getBindingSelector());
+}
+
+/**
+ * Operator overloading: answer the selector of the method this compound assignment binds to.
+ */
+public char[] getBindingSelector() {
+	return OperatorOverloadSelectors.binary(this.operator);
 }
 
 	public String operatorToString() {
@@ -363,54 +349,11 @@ public String getBindingMethodName() {
 
 	public MethodBinding getMethodBindingForOverload(BlockScope scope, TypeBinding left, TypeBinding right) {
 
-		final TypeBinding expectedTypeLocal = this.expectedType;
-		OperatorOverloadInvocationSite fakeInvocationSite = new OperatorOverloadInvocationSite(){
-			public TypeBinding[] genericTypeArguments() { return null; }
-			public boolean isSuperAccess(){ return false; }
-			public boolean isTypeAccess() { return true; }
-			public void setActualReceiverType(ReferenceBinding actualReceiverType) { /* ignore */}
-			public void setDepth(int depth) { /* ignore */}
-			public void setFieldIndex(int depth){ /* ignore */}
-			public int sourceStart() { return 0; }
-			public int sourceEnd() { return 0; }
-			public TypeBinding getExpectedType() {
-				return expectedTypeLocal;
-			}
-			public TypeBinding expectedType() {
-				return getExpectedType();
-			}
-			@Override
-			public TypeBinding invocationTargetType() {
-				// TODO Auto-generated method stub
-				throw new RuntimeException("Implement this");
-//				return null;
-			}
-			@Override
-			public boolean receiverIsImplicitThis() {
-				// TODO Auto-generated method stub
-				throw new RuntimeException("Implement this");
-//				return false;
-			}
-			@Override
-			public InferenceContext18 freshInferenceContext(Scope scope) {
-				// TODO Auto-generated method stub
-				throw new RuntimeException("Implement this");
-//				return null;
-			}
-			@Override
-			public ExpressionContext getExpressionContext() {
-				// TODO Auto-generated method stub
-				throw new RuntimeException("Implement this");
-//				return null;
-			}
-
-		};
-
-		String ms = getBindingMethodName();
+		char[] selector = getBindingSelector();
 		MethodBinding mb2;
 		//right is class
 		if (!right.isBoxingType() && !right.isBaseType()){
-			mb2 = scope.getMethod(left, ms.toCharArray(), new TypeBinding[]{right},  fakeInvocationSite);
+			mb2 = scope.getOperatorOverloadMethod(left, selector, right, this.expectedType);
 			if(mb2 != null && mb2.isValidBinding()){
 				if((mb2.modifiers & ClassFileConstants.AccStatic) != 0) {
 					scope.problemReporter().overloadedOperatorMethodNotStatic(this, getBindingMethodName());
@@ -426,7 +369,7 @@ public String getBindingMethodName() {
 			return null;
 		}
 		if (right.isBoxingType() || right.isBaseType()){
-			mb2 = scope.getMethod(left, ms.toCharArray(), new TypeBinding[]{right}, fakeInvocationSite);
+			mb2 = scope.getOperatorOverloadMethod(left, selector, right, this.expectedType);
 			if(mb2 != null && mb2.isValidBinding()){
 				if((mb2.modifiers & ClassFileConstants.AccStatic) != 0) {
 					scope.problemReporter().overloadedOperatorMethodNotStatic(this, getBindingMethodName());
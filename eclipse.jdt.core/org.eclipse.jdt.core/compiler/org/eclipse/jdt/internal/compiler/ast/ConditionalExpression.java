@@ -881,7 +881,11 @@ public FlowInfo analyseCode(BlockScope currentScope, FlowContext flowContext,
 
 
 	public String getMethodName() {
-		return "ternaryIf"; //$NON-NLS-1$
+		return new String(getSelector());
+	}
+
+	public char[] getSelector() {
+		return OperatorOverloadSelectors.TERNARY_IF;
 	}
 
 	public MethodBinding getMethodBindingForOverload(BlockScope scope) {
@@ -904,53 +908,11 @@ public FlowInfo analyseCode(BlockScope currentScope, FlowContext flowContext,
 		else
 			tb_cond = this.condition.resolvedType;
 
-		final TypeBinding expectedTypeLocal = this.expectedType;
-		OperatorOverloadInvocationSite fakeInvocationSite = new OperatorOverloadInvocationSite(){
-			public TypeBinding[] genericTypeArguments() { return null; }
-			public boolean isSuperAccess(){ return false; }
-			public boolean isTypeAccess() { return true; }
-			public void setActualReceiverType(ReferenceBinding actualReceiverType) { /* ignore */}
-			public void setDepth(int depth) { /* ignore */}
-			public void setFieldIndex(int depth){ /* ignore */}
-			public int sourceStart() { return 0; }
-			public int sourceEnd() { return 0; }
-			public TypeBinding getExpectedType() {
-				return expectedTypeLocal;
-			}
-			public TypeBinding expectedType() {
-				return getExpectedType();
-			}
-			@Override
-			public TypeBinding invocationTargetType() {
-				// TODO Auto-generated method stub
-				throw new RuntimeException("Implement this");
-//				return null;
-			}
-			@Override
-			public boolean receiverIsImplicitThis() {
-				// TODO Auto-generated method stub
-				throw new RuntimeException("Implement this");
-//				return false;
-			}
-			@Override
-			public InferenceContext18 freshInferenceContext(Scope scope) {
-				// TODO Auto-generated method stub
-				throw new RuntimeException("Implement this");
-//				return null;
-			}
-			@Override
-			public ExpressionContext getExpressionContext() {
-				// TODO Auto-generated method stub
-				throw new RuntimeException("Implement this");
-//				return null;
-			}
-		};
-
-		String ms = getMethodName();
+		char[] selector = getSelector();
 		
 		MethodBinding mb2 = null;
 		if ((tb_cond != null) && (tb_left!=null) && (tb_right!=null)) {
-			mb2 = scope.getMethod(tb_cond, ms.toCharArray(), new TypeBinding[]{tb_left, tb_right},  fakeInvocationSite);
+			mb2 = scope.getOperatorOverloadMethod(tb_cond, selector, tb_left, tb_right, this.expectedType);
 		}
 		return mb2;
 	}
@@ -970,53 +932,11 @@ public FlowInfo analyseCode(BlockScope currentScope, FlowContext flowContext,
 		else
 			tb_right = localCondition.right.resolvedType;
 		
-		final TypeBinding expectedTypeLocal = this.expectedType;
-		OperatorOverloadInvocationSite fakeInvocationSite = new OperatorOverloadInvocationSite(){
-			public TypeBinding[] genericTypeArguments() { return null; }
-			public boolean isSuperAccess(){ return false; }
-			public boolean isTypeAccess() { return true; }
-			public void setActualReceiverType(ReferenceBinding actualReceiverType) { /* ignore */}
-			public void setDepth(int depth) { /* ignore */}
-			public void setFieldIndex(int depth){ /* ignore */}
-			public int sourceStart() { return 0; }
-			public int sourceEnd() { return 0; }
-			public TypeBinding getExpectedType() {
-				return expectedTypeLocal;
-			}
-			public TypeBinding expectedType() {
-				return getExpectedType();
-			}
-			@Override
-			public TypeBinding invocationTargetType() {
-				// TODO Auto-generated method stub
-				throw new RuntimeException("Implement this");
-//				return null;
-			}
-			@Override
-			public boolean receiverIsImplicitThis() {
-				// TODO Auto-generated method stub
-				throw new RuntimeException("Implement this");
-//				return false;
-			}
-			@Override
-			public InferenceContext18 freshInferenceContext(Scope scope) {
-				// TODO Auto-generated method stub
-				throw new RuntimeException("Implement this");
-//				return null;
-			}
-			@Override
-			public ExpressionContext getExpressionContext() {
-				// TODO Auto-generated method stub
-				throw new RuntimeException("Implement this");
-//				return null;
-			}
-		};
-
-		String ms = "eq"; //$NON-NLS-1$
+		char[] selector = OperatorOverloadSelectors.EQ;
 		
 		MethodBinding mb2 = null;
 		if ((tb_left!=null) && (tb_right!=null) /*&& (tb_left.id == tb_right.id)*/) {
-			mb2 = scope.getMethod(tb_left, ms.toCharArray(), new TypeBinding[]{tb_right},  fakeInvocationSite);
+			mb2 = scope.getOperatorOverloadMethod(tb_left, selector, tb_right, this.expectedType);
 			if(mb2 == null || !mb2.isValidBinding() || tb_left.id != mb2.returnType.id){
 				return null;
 			}
@@ -1038,6 +958,7 @@ public FlowInfo analyseCode(BlockScope currentScope, FlowContext flowContext,
 				MethodBinding final_mb = mb3;
 				// TODO remove for real?
 				//final_mb.returnType = final_mb.returnType.erasure();
+				codeStream.recordOperatorCallSite(ClassFileConstants.OPERATOR_SITE_TERNARY_IF, 0, this);
 				codeStream.invoke((final_mb.declaringClass.isInterface()) ? Opcodes.OPC_invokeinterface : Opcodes.OPC_invokevirtual, final_mb, final_mb.declaringClass.erasure());
 		
 				if (tbo.erasure().isProvablyDistinct(final_mb.returnType.erasure())) {
@@ -1046,9 +967,11 @@ public FlowInfo analyseCode(BlockScope currentScope, FlowContext flowContext,
 			} else {
 				MethodBinding original = this.appropriateMethodForOverload.original();
 				if(original.isPrivate()){
+					codeStream.recordOperatorCallSite(ClassFileConstants.OPERATOR_SITE_TERNARY_IF, 0, this);
 					codeStream.invoke(Opcodes.OPC_invokestatic, this.syntheticAccessor, null /* default declaringClass */);
 				}
 				else{
+					codeStream.recordOperatorCallSite(ClassFileConstants.OPERATOR_SITE_TERNARY_IF, 0, this);
 					codeStream.invoke((original.declaringClass.isInterface()) ? Opcodes.OPC_invokeinterface : Opcodes.OPC_invokevirtual, original, original.declaringClass);
 				}
 				if (!this.appropriateMethodForOverload.returnType.isBaseType()) codeStream.checkcast(this.appropriateMethodForOverload.returnType);
@@ -8,11 +8,7 @@ import org.eclipse.jdt.internal.compiler.flow.FlowContext;
 import org.eclipse.jdt.internal.compiler.flow.FlowInfo;
 import org.eclipse.jdt.internal.compiler.impl.Constant;
 import org.eclipse.jdt.internal.compiler.lookup.BlockScope;
-import org.eclipse.jdt.internal.compiler.lookup.InferenceContext18;
 import org.eclipse.jdt.internal.compiler.lookup.MethodBinding;
-import org.eclipse.jdt.internal.compiler.lookup.OperatorOverloadInvocationSite;
-import org.eclipse.jdt.internal.compiler.lookup.ReferenceBinding;
-import org.eclipse.jdt.internal.compiler.lookup.Scope;
 import org.eclipse.jdt.internal.compiler.lookup.SourceTypeBinding;
 import org.eclipse.jdt.internal.compiler.lookup.TypeBinding;
 import org.eclipse.jdt.internal.compiler.lookup.TypeIds;
@@ -74,6 +70,7 @@ public class ConnectCompoundAssignment extends Assignment implements OperatorIds
 				MethodBinding final_mb = mb3;
 				// TODO remove for real?
 				//final_mb.returnType = final_mb.returnType.erasure();
+				codeStream.recordOperatorCallSite(ClassFileConstants.OPERATOR_SITE_CONNECT, 0, this);
 				codeStream.invoke((final_mb.declaringClass.isInterface()) ? Opcodes.OPC_invokeinterface : Opcodes.OPC_invokevirtual, final_mb, final_mb.declaringClass.erasure());
 
 				if (tbo.erasure().isProvablyDistinct(final_mb.returnType.erasure())) {
@@ -82,9 +79,11 @@ public class ConnectCompoundAssignment extends Assignment implements OperatorIds
 			} else {
 				MethodBinding original = this.appropriateMethodForOverload.original();
 				if(original.isPrivate()){
+					codeStream.recordOperatorCallSite(ClassFileConstants.OPERATOR_SITE_CONNECT, 0, this);
 					codeStream.invoke(Opcodes.OPC_invokestatic, this.syntheticAccessor, null /* default declaringClass */);
 				}
 				else{
+					codeStream.recordOperatorCallSite(ClassFileConstants.OPERATOR_SITE_CONNECT, 0, this);
 					codeStream.invoke((original.declaringClass.isInterface()) ? Opcodes.OPC_invokeinterface : Opcodes.OPC_invokevirtual, original, original.declaringClass);
 				}
 				if (!this.appropriateMethodForOverload.returnType.isBaseType()) codeStream.checkcast(this.appropriateMethodForOverload.returnType);
@@ -125,7 +124,11 @@ public int nullStatus(FlowInfo flowInfo) {
 }
 
 public String getBindingMethodName() {
-	return "connect"; //$NON-NLS-1$
+	return new String(getBindingSelector());
+}
+
+public char[] getBindingSelector() {
+	return OperatorOverloadSelectors.CONNECT;
 }
 
 	public String operatorToString() {
@@ -174,53 +177,11 @@ public String getBindingMethodName() {
 	
 	public MethodBinding getMethodBindingForOverload(BlockScope scope, TypeBinding left, TypeBinding right) {
 
-		final TypeBinding expectedTypeLocal = this.expectedType;
-		OperatorOverloadInvocationSite fakeInvocationSite = new OperatorOverloadInvocationSite(){
-			public TypeBinding[] genericTypeArguments() { return null; }
-			public boolean isSuperAccess(){ return false; }
-			public boolean isTypeAccess() { return true; }
-			public void setActualReceiverType(ReferenceBinding actualReceiverType) { /* ignore */}
-			public void setDepth(int depth) { /* ignore */}
-			public void setFieldIndex(int depth){ /* ignore */}
-			public int sourceStart() { return 0; }
-			public int sourceEnd() { return 0; }
-			public TypeBinding getExpectedType() {
-				return expectedTypeLocal;
-			}
-			public TypeBinding expectedType() {
-				return getExpectedType();
-			}
-			@Override
-			public TypeBinding invocationTargetType() {
-				// TODO Auto-generated method stub
-				throw new RuntimeException("Implement this");
-//				return null;
-			}
-			@Override
-			public boolean receiverIsImplicitThis() {
-				// TODO Auto-generated method stub
-				throw new RuntimeException("Implement this");
-//				return false;
-			}
-			@Override
-			public InferenceContext18 freshInferenceContext(Scope scope) {
-				// TODO Auto-generated method stub
-				throw new RuntimeException("Implement this");
-//				return null;
-			}
-			@Override
-			public ExpressionContext getExpressionContext() {
-				// TODO Auto-generated method stub
-				throw new RuntimeException("Implement this");
-//				return null;
-			}
-		};
-
-		String ms = getBindingMethodName();
+		char[] selector = getBindingSelector();
 		MethodBinding mb2;
 		//right is class
 		if (!right.isBoxingType() && !right.isBaseType()){
-			mb2 = scope.getMethod(left, ms.toCharArray(), new TypeBinding[]{right},  fakeInvocationSite);
+			mb2 = scope.getOperatorOverloadMethod(left, selector, right, this.expectedType);
 			if(mb2 != null && mb2.isValidBinding()){
 				if((mb2.modifiers & ClassFileConstants.AccStatic) != 0) {
 					scope.problemReporter().overloadedOperatorMethodNotStatic(this, assignmentToString());
@@ -236,7 +197,7 @@ public String getBindingMethodName() {
 			return null;
 		}
 		if (right.isBoxingType() || right.isBaseType()){
-			mb2 = scope.getMethod(left, ms.toCharArray(), new TypeBinding[]{right}, fakeInvocationSite);
+			mb2 = scope.getOperatorOverloadMethod(left, selector, right, this.expectedType);
 			if(mb2 != null && mb2.isValidBinding()){
 				if((mb2.modifiers & ClassFileConstants.AccStatic) != 0) {
 					scope.problemReporter().overloadedOperatorMethodNotStatic(this, assignmentToString());
@@ -1,14 +1,11 @@
 package org.eclipse.jdt.internal.compiler.ast;
 
+import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
 import org.eclipse.jdt.internal.compiler.lookup.BlockScope;
-import org.eclipse.jdt.internal.compiler.lookup.InferenceContext18;
 import org.eclipse.jdt.internal.compiler.lookup.MethodBinding;
-import org.eclipse.jdt.internal.compiler.lookup.OperatorOverloadInvocationSite;
 import org.eclipse.jdt.internal.compiler.lookup.ProblemMethodBinding;
 import org.eclipse.jdt.internal.compiler.lookup.ProblemReasons;
-import org.eclipse.jdt.internal.compiler.lookup.ReferenceBinding;
-import org.eclipse.jdt.internal.compiler.lookup.Scope;
 import org.eclipse.jdt.internal.compiler.lookup.TypeBinding;
 
 /**
@@ -39,88 +36,51 @@ public class EqualEqualExpression extends BinaryExpression{
 		else
 			tb_right = this.right.resolvedType;
 
-		final TypeBinding expectedTypeLocal = this.expectedType;
-		OperatorOverloadInvocationSite fakeInvocationSite = new OperatorOverloadInvocationSite(){
-			public TypeBinding[] genericTypeArguments() { return null; }
-			public boolean isSuperAccess(){ return false; }
-			public boolean isTypeAccess() { return true; }
-			public void setActualReceiverType(ReferenceBinding actualReceiverType) { /* ignore */}
-			public void setDepth(int depth) { /* ignore */}
-			public void setFieldIndex(int depth){ /* ignore */}
-			public int sourceStart() { return 0; }
-			public int sourceEnd() { return 0; }
-			public TypeBinding getExpectedType() {
-				return expectedTypeLocal;
-			}
-			public TypeBinding expectedType() {
-				return getExpectedType();
-			}
-			@Override
-			public TypeBinding invocationTargetType() {
-				// TODO Auto-generated method stub
-				throw new RuntimeException("Implement this");
-//				return null;
-			}
-			@Override
-			public boolean receiverIsImplicitThis() {
-				// TODO Auto-generated method stub
-				throw new RuntimeException("Implement this");
-//				return false;
-			}
-			@Override
-			public InferenceContext18 freshInferenceContext(Scope scope) {
-				// TODO Auto-generated method stub
-				throw new RuntimeException("Implement this");
-//				return null;
-			}
-			@Override
-			public ExpressionContext getExpressionContext() {
-				// TODO Auto-generated method stub
-				throw new RuntimeException("Implement this");
-//				return null;
-			}
-
-		};
-
-		String ms = ""; //$NON-NLS-1$
-		String rms = ""; //$NON-NLS-1$
+		char[] selector = CharOperation.NO_CHAR;
+		char[] selectorAsRHS = CharOperation.NO_CHAR;
+		char[] counterSelector = CharOperation.NO_CHAR;
+		char[] counterSelectorAsRHS = CharOperation.NO_CHAR;
 
 		if(getOperatorType() == EQUAL_EQUAL_EQUAL){
-			ms = getMethodNameForEq();
-			rms = getMethodNameForNeq();
+			selector = OperatorOverloadSelectors.EQ;
+			selectorAsRHS = OperatorOverloadSelectors.EQ_AS_RHS;
+			counterSelector = OperatorOverloadSelectors.NEQ;
+			counterSelectorAsRHS = OperatorOverloadSelectors.NEQ_AS_RHS;
 		}else if(getOperatorType() == NOT_EQUAL_EQUAL){
-			ms = getMethodNameForNeq();
-			rms = getMethodNameForEq();
+			selector = OperatorOverloadSelectors.NEQ;
+			selectorAsRHS = OperatorOverloadSelectors.NEQ_AS_RHS;
+			counterSelector = OperatorOverloadSelectors.EQ;
+			counterSelectorAsRHS = OperatorOverloadSelectors.EQ_AS_RHS;
 		}
 
 		//Object <op> Object
 		if (!tb_left.isBoxingType() && !tb_left.isBaseType() && !tb_right.isBoxingType() && !tb_right.isBaseType()){
-			MethodBinding mbLeft = scope.getMethod(tb_left, ms.toCharArray(), new TypeBinding[]{tb_right},  fakeInvocationSite);
-			MethodBinding mbRight = scope.getMethod(tb_right, (ms + "AsRHS").toCharArray(), new TypeBinding[]{tb_left},  fakeInvocationSite); //$NON-NLS-1$
+			MethodBinding mbLeft = scope.getOperatorOverloadMethod(tb_left, selector, tb_right, this.expectedType);
+			MethodBinding mbRight = scope.getOperatorOverloadMethod(tb_right, selectorAsRHS, tb_left, this.expectedType);
 			/**
 			 * Check for required counter method
 			 */
-			MethodBinding mbCounterLeft = scope.getMethod(tb_left, rms.toCharArray(), new TypeBinding[]{tb_right},  fakeInvocationSite);
-			MethodBinding mbCounterRight = scope.getMethod(tb_right, (rms + "AsRHS").toCharArray(), new TypeBinding[]{tb_left},  fakeInvocationSite); //$NON-NLS-1$
+			MethodBinding mbCounterLeft = scope.getOperatorOverloadMethod(tb_left, counterSelector, tb_right, this.expectedType);
+			MethodBinding mbCounterRight = scope.getOperatorOverloadMethod(tb_right, counterSelectorAsRHS, tb_left, this.expectedType);
 
 			if(mbLeft.isValidBinding() && mbRight.isValidBinding()){
 				if(((mbLeft.modifiers & ClassFileConstants.AccStatic) != 0) && ((mbRight.modifiers & ClassFileConstants.AccStatic) != 0)) {
-					scope.problemReporter().overloadedOperatorMethodNotStatic(this, ms);
+					scope.problemReporter().overloadedOperatorMethodNotStatic(this, new String(selector));
 					return null;
 				}
-				return new ProblemMethodBinding(ms.toCharArray(), new TypeBinding[]{tb_right}, ProblemReasons.Ambiguous);
+				return new ProblemMethodBinding(selector, new TypeBinding[]{tb_right}, ProblemReasons.Ambiguous);
 			}
 
 			if(mbLeft.isValidBinding()){
 				if(!mbCounterLeft.isValidBinding())
-					scope.problemReporter().invalidOrMissingOverloadedOperator(this, rms, this.right.resolvedType);
+					scope.problemReporter().invalidOrMissingOverloadedOperator(this, new String(counterSelector), this.right.resolvedType);
 
 				if((mbLeft.modifiers & ClassFileConstants.AccStatic) != 0) {
-					scope.problemReporter().overloadedOperatorMethodNotStatic(this, ms);
+					scope.problemReporter().overloadedOperatorMethodNotStatic(this, new String(selector));
 					return null;
 				}
 				if((mbCounterLeft.modifiers & ClassFileConstants.AccStatic) != 0) {
-					scope.problemReporter().overloadedOperatorMethodNotStatic(this, rms);
+					scope.problemReporter().overloadedOperatorMethodNotStatic(this, new String(counterSelector));
 					return null;
 				}
 				this.overloadedExpresionSide = overloadedLeftSide;
@@ -129,14 +89,14 @@ public class EqualEqualExpression extends BinaryExpression{
 
 			if(mbRight.isValidBinding()){
 				if(!mbCounterRight.isValidBinding())
-					scope.problemReporter().invalidOrMissingOverloadedOperator(this, rms, this.right.resolvedType);
+					scope.problemReporter().invalidOrMissingOverloadedOperator(this, new String(counterSelector), this.right.resolvedType);
 
 				if((mbRight.modifiers & ClassFileConstants.AccStatic) != 0) {
-					scope.problemReporter().overloadedOperatorMethodNotStatic(this, ms);
+					scope.problemReporter().overloadedOperatorMethodNotStatic(this, new String(selector));
 					return null;
 				}
 				if((mbCounterRight.modifiers & ClassFileConstants.AccStatic) != 0) {
-					scope.problemReporter().overloadedOperatorMethodNotStatic(this, rms);
+					scope.problemReporter().overloadedOperatorMethodNotStatic(this, new String(counterSelector));
 					return null;
 				}
 				this.overloadedExpresionSide = overloadedRightSide;
@@ -151,18 +111,18 @@ public class EqualEqualExpression extends BinaryExpression{
 
 		//Object <op> type or type <op> Object
 		if(!tb_left.isBoxingType() && !tb_left.isBaseType() && (tb_right.isBoxingType() || tb_right.isBaseType())){
-			MethodBinding mbLeft = scope.getMethod(tb_left, ms.toCharArray(), new TypeBinding[]{tb_right}, fakeInvocationSite);
-			MethodBinding mbCounterLeft = scope.getMethod(tb_left, rms.toCharArray(), new TypeBinding[]{tb_right}, fakeInvocationSite);
+			MethodBinding mbLeft = scope.getOperatorOverloadMethod(tb_left, selector, tb_right, this.expectedType);
+			MethodBinding mbCounterLeft = scope.getOperatorOverloadMethod(tb_left, counterSelector, tb_right, this.expectedType);
 			if(mbLeft.isValidBinding() && isAnnotationSet(mbLeft)){
 				if(!mbCounterLeft.isValidBinding())
-					scope.problemReporter().invalidOrMissingOverloadedOperator(this, rms, this.right.resolvedType);
+					scope.problemReporter().invalidOrMissingOverloadedOperator(this, new String(counterSelector), this.right.resolvedType);
 
 				if((mbLeft.modifiers & ClassFileConstants.AccStatic) != 0) {
-					scope.problemReporter().overloadedOperatorMethodNotStatic(this, ms);
+					scope.problemReporter().overloadedOperatorMethodNotStatic(this, new String(selector));
 					return null;
 				}
 				if((mbCounterLeft.modifiers & ClassFileConstants.AccStatic) != 0) {
-					scope.problemReporter().overloadedOperatorMethodNotStatic(this, rms);
+					scope.problemReporter().overloadedOperatorMethodNotStatic(this, new String(counterSelector));
 					return null;
 				}
 				this.overloadedExpresionSide = overloadedLeftSide;
@@ -171,18 +131,18 @@ public class EqualEqualExpression extends BinaryExpression{
 			return null;
 		}
 		if(!tb_right.isBoxingType() && !tb_right.isBaseType() && (tb_left.isBoxingType() || tb_left.isBaseType())){
-			MethodBinding mbRight = scope.getMethod(tb_right, (ms + "AsRHS").toCharArray(), new TypeBinding[]{tb_left}, fakeInvocationSite); //$NON-NLS-1$
-			MethodBinding mbCounterRight = scope.getMethod(tb_right, (rms + "AsRHS").toCharArray(), new TypeBinding[]{tb_left}, fakeInvocationSite); //$NON-NLS-1$
+			MethodBinding mbRight = scope.getOperatorOverloadMethod(tb_right, selectorAsRHS, tb_left, this.expectedType);
+			MethodBinding mbCounterRight = scope.getOperatorOverloadMethod(tb_right, counterSelectorAsRHS, tb_left, this.expectedType);
 			if(mbRight.isValidBinding()){
 				if(!mbCounterRight.isValidBinding())
-					scope.problemReporter().invalidOrMissingOverloadedOperator(this, rms + "AsRHS", this.right.resolvedType);//$NON-NLS-1$
+					scope.problemReporter().invalidOrMissingOverloadedOperator(this, new String(counterSelectorAsRHS), this.right.resolvedType);
 
 				if((mbRight.modifiers & ClassFileConstants.AccStatic) != 0) {
-					scope.problemReporter().overloadedOperatorMethodNotStatic(this, ms + "AsRHS");//$NON-NLS-1$
+					scope.problemReporter().overloadedOperatorMethodNotStatic(this, new String(selectorAsRHS));
 					return null;
 				}
 				if((mbCounterRight.modifiers & ClassFileConstants.AccStatic) != 0) {
-					scope.problemReporter().overloadedOperatorMethodNotStatic(this, rms + "AsRHS");//$NON-NLS-1$
+					scope.problemReporter().overloadedOperatorMethodNotStatic(this, new String(counterSelectorAsRHS));
 					return null;
 				}
 				this.overloadedExpresionSide = overloadedRightSide;
@@ -193,14 +153,6 @@ public class EqualEqualExpression extends BinaryExpression{
 		return null;
 	}
 
-	private String getMethodNameForEq(){
-		return "eq"; //$NON-NLS-1$
-	}
-
-	private String getMethodNameForNeq(){
-		return "neq"; //$NON-NLS-1$
-	}
-
 	public int getOperatorType() {
 		return (this.bits & ASTNode.OperatorMASK) >> ASTNode.OperatorSHIFT;
 	}
@@ -298,6 +298,7 @@ public abstract class FunctionalExpression extends Expression {
 				this.selector = method.selector;
 				this.environment = FunctionalExpression.this.enclosingScope.environment();
 				this.scope = FunctionalExpression.this.enclosingScope;
+				this.scope.compilationUnitScope().recordMemberReference(this.selector, method.parameters.length);
 				collectBridges(functionalType.superInterfaces());
 			}
 			
@@ -254,51 +254,8 @@ public String getMethodNameForENDIF() {
  */
 
 public MethodBinding getMethodBindingForOverloadForIF(BlockScope scope) {
-	TypeBinding tb = null; 
-	TypeBinding [] tb_right = new TypeBinding[] {this.condition.resolvedType};
-	tb = scope.parent.classScope().referenceContext.binding;
-	InvocationSite fakeInvocationSite = new InvocationSite(){
-		public TypeBinding[] genericTypeArguments() { return null; }
-		public boolean isSuperAccess(){ return false; }
-		public boolean isTypeAccess() { return true; }
-		public void setActualReceiverType(ReferenceBinding actualReceiverType) { /* ignore */}
-		public void setDepth(int depth) { /* ignore */}
-		public void setFieldIndex(int depth){ /* ignore */}
-		public int sourceStart() { return 0; }
-		public int sourceEnd() { return 0; }
-		public TypeBinding expectedType() {
-			return null;
-		}
-		@Override
-		public TypeBinding invocationTargetType() {
-			// TODO Auto-generated method stub
-			throw new RuntimeException("Implement this");
-//			return null;
-		}
-		@Override
-		public boolean receiverIsImplicitThis() {
-			// TODO Auto-generated method stub
-			throw new RuntimeException("Implement this");
-//			return false;
-		}
-		@Override
-		public InferenceContext18 freshInferenceContext(Scope scope) {
-			// TODO Auto-generated method stub
-			throw new RuntimeException("Implement this");
-//			return null;
-		}
-		@Override
-		public ExpressionContext getExpressionContext() {
-			// TODO Auto-generated method stub
-			throw new RuntimeException("Implement this");
-//			return null;
-		}
-	};
-
-	String ms = getMethodNameForIF();
-	
-	MethodBinding mb2 = scope.parent.getMethod(tb, ms.toCharArray(), tb_right,  fakeInvocationSite);
-	return mb2;
+	TypeBinding tb = scope.parent.classScope().referenceContext.binding;
+	return scope.parent.getOperatorOverloadMethod(tb, OperatorOverloadSelectors._IF, this.condition.resolvedType, null);
 }
 
 public void generateOperatorOverloadCodeForIF(MethodBinding mb2, BlockScope currentScope, CodeStream codeStream, boolean valueRequired) {
@@ -309,6 +266,7 @@ public void generateOperatorOverloadCodeForIF(MethodBinding mb2, BlockScope curr
 		MethodBinding mb3 = mb2.original(); 
 		MethodBinding final_mb = mb3;
 		codeStream.checkcast(final_mb.declaringClass);
+		codeStream.recordOperatorCallSite(ClassFileConstants.OPERATOR_SITE_IF, 0, this);
 		codeStream.invoke((final_mb.declaringClass.isInterface()) ? Opcodes.OPC_invokeinterface : Opcodes.OPC_invokevirtual, final_mb, final_mb.declaringClass.erasure());
 		if (tbo.erasure().isProvablyDistinct(final_mb.returnType.erasure())) {
 			codeStream.checkcast(tbo);
@@ -316,9 +274,11 @@ public void generateOperatorOverloadCodeForIF(MethodBinding mb2, BlockScope curr
 	} else {
 		MethodBinding original = mb2.original();
 		if(original.isPrivate()){
+			codeStream.recordOperatorCallSite(ClassFileConstants.OPERATOR_SITE_IF, 0, this);
 			codeStream.invoke(Opcodes.OPC_invokestatic, this.ifSyntheticAccessor, null /* default declaringClass */);
 		}
 		else{
+			codeStream.recordOperatorCallSite(ClassFileConstants.OPERATOR_SITE_IF, 0, this);
 			codeStream.invoke((original.declaringClass.isInterface()) ? Opcodes.OPC_invokeinterface : Opcodes.OPC_invokevirtual, original, original.declaringClass);
 		}
 		if (!mb2.returnType.isBaseType()) codeStream.checkcast(mb2.returnType);
@@ -329,53 +289,8 @@ public void generateOperatorOverloadCodeForIF(MethodBinding mb2, BlockScope curr
  * method overloading ELSE 
  */
 public MethodBinding getMethodBindingForOverloadForELSE(BlockScope scope) {
-	TypeBinding tb = null; 
-	TypeBinding [] tb_right = new TypeBinding[] {};
-
-	tb = scope.parent.classScope().referenceContext.binding;
-	InvocationSite fakeInvocationSite = new InvocationSite(){
-		public TypeBinding[] genericTypeArguments() { return null; }
-		public boolean isSuperAccess(){ return false; }
-		public boolean isTypeAccess() { return true; }
-		public void setActualReceiverType(ReferenceBinding actualReceiverType) { /* ignore */}
-		public void setDepth(int depth) { /* ignore */}
-		public void setFieldIndex(int depth){ /* ignore */}
-		public int sourceStart() { return 0; }
-		public int sourceEnd() { return 0; }
-		public TypeBinding expectedType() {
-			return null;
-		}
-		@Override
-		public TypeBinding invocationTargetType() {
-			// TODO Auto-generated method stub
-			throw new RuntimeException("Implement this");
-//			return null;
-		}
-		@Override
-		public boolean receiverIsImplicitThis() {
-			// TODO Auto-generated method stub
-			throw new RuntimeException("Implement this");
-//			return false;
-		}
-		@Override
-		public InferenceContext18 freshInferenceContext(Scope scope) {
-			// TODO Auto-generated method stub
-			throw new RuntimeException("Implement this");
-//			return null;
-		}
-		@Override
-		public ExpressionContext getExpressionContext() {
-			// TODO Auto-generated method stub
-			throw new RuntimeException("Implement this");
-//			return null;
-		}
-
-	};
-
-	String ms = getMethodNameForELSE();
-	
-	MethodBinding mb2 = scope.parent.getMethod(tb, ms.toCharArray(), tb_right,  fakeInvocationSite);
-	return mb2;
+	TypeBinding tb = scope.parent.classScope().referenceContext.binding;
+	return scope.parent.getOperatorOverloadMethod(tb, OperatorOverloadSelectors._ELSE, null);
 }
 
 public void generateOperatorOverloadCodeForELSE(MethodBinding mb2, BlockScope currentScope, CodeStream codeStream, boolean valueRequired) {
@@ -385,6 +300,7 @@ public void generateOperatorOverloadCodeForELSE(MethodBinding mb2, BlockScope cu
 		MethodBinding mb3 = mb2.original(); 
 		MethodBinding final_mb = mb3;
 		codeStream.checkcast(final_mb.declaringClass);
+		codeStream.recordOperatorCallSite(ClassFileConstants.OPERATOR_SITE_ELSE, 0, this);
 		codeStream.invoke((final_mb.declaringClass.isInterface()) ? Opcodes.OPC_invokeinterface : Opcodes.OPC_invokevirtual, final_mb, final_mb.declaringClass.erasure());
 		if (tbo.erasure().isProvablyDistinct(final_mb.returnType.erasure())) {
 			codeStream.checkcast(tbo);
@@ -392,9 +308,11 @@ public void generateOperatorOverloadCodeForELSE(MethodBinding mb2, BlockScope cu
 	} else {
 		MethodBinding original = mb2.original();
 		if(original.isPrivate()){
+			codeStream.recordOperatorCallSite(ClassFileConstants.OPERATOR_SITE_ELSE, 0, this);
 			codeStream.invoke(Opcodes.OPC_invokestatic, this.elseSyntheticAccessor, null /* default declaringClass */);
 		}
 		else{
+			codeStream.recordOperatorCallSite(ClassFileConstants.OPERATOR_SITE_ELSE, 0, this);
 			codeStream.invoke((mb2.declaringClass.isInterface()) ? Opcodes.OPC_invokeinterface : Opcodes.OPC_invokevirtual, mb2, mb2.declaringClass);
 		}
 	}
@@ -404,53 +322,8 @@ public void generateOperatorOverloadCodeForELSE(MethodBinding mb2, BlockScope cu
  * method overloading ENDIF 
  */
 public MethodBinding getMethodBindingForOverloadForENDIF(BlockScope scope) {
-	TypeBinding tb = null; 
-	TypeBinding [] tb_right = new TypeBinding[] {};
-
-	tb = scope.parent.classScope().referenceContext.binding;
-	InvocationSite fakeInvocationSite = new InvocationSite(){
-		public TypeBinding[] genericTypeArguments() { return null; }
-		public boolean isSuperAccess(){ return false; }
-		public boolean isTypeAccess() { return true; }
-		public void setActualReceiverType(ReferenceBinding actualReceiverType) { /* ignore */}
-		public void setDepth(int depth) { /* ignore */}
-		public void setFieldIndex(int depth){ /* ignore */}
-		public int sourceStart() { return 0; }
-		public int sourceEnd() { return 0; }
-		public TypeBinding expectedType() {
-			return null;
-		}
-		@Override
-		public TypeBinding invocationTargetType() {
-			// TODO Auto-generated method stub
-			throw new RuntimeException("Implement this");
-//			return null;
-		}
-		@Override
-		public boolean receiverIsImplicitThis() {
-			// TODO Auto-generated method stub
-			throw new RuntimeException("Implement this");
-//			return false;
-		}
-		@Override
-		public InferenceContext18 freshInferenceContext(Scope scope) {
-			// TODO Auto-generated method stub
-			throw new RuntimeException("Implement this");
-//			return null;
-		}
-		@Override
-		public ExpressionContext getExpressionContext() {
-			// TODO Auto-generated method stub
-			throw new RuntimeException("Implement this");
-//			return null;
-		}
-
-	};
-
-	String ms = getMethodNameForENDIF();
-	
-	MethodBinding mb2 = scope.parent.getMethod(tb, ms.toCharArray(), tb_right,  fakeInvocationSite);
-	return mb2;
+	TypeBinding tb = scope.parent.classScope().referenceContext.binding;
+	return scope.parent.getOperatorOverloadMethod(tb, OperatorOverloadSelectors._END_IF, null);
 }
 
 public void generateOperatorOverloadCodeForENDIF(MethodBinding mb2, BlockScope currentScope, CodeStream codeStream, boolean valueRequired) {
@@ -460,6 +333,7 @@ public void generateOperatorOverloadCodeForENDIF(MethodBinding mb2, BlockScope c
 		MethodBinding mb3 = mb2.original(); 
 		MethodBinding final_mb = mb3;
 		codeStream.checkcast(final_mb.declaringClass);
+		codeStream.recordOperatorCallSite(ClassFileConstants.OPERATOR_SITE_END_IF, 0, this);
 		codeStream.invoke((final_mb.declaringClass.isInterface()) ? Opcodes.OPC_invokeinterface : Opcodes.OPC_invokevirtual, final_mb, final_mb.declaringClass.erasure());
 		if (tbo.erasure().isProvablyDistinct(final_mb.returnType.erasure())) {
 			codeStream.checkcast(tbo);
@@ -467,9 +341,11 @@ public void generateOperatorOverloadCodeForENDIF(MethodBinding mb2, BlockScope c
 	} else {
 		MethodBinding original = mb2.original();
 		if(original.isPrivate()){
+			codeStream.recordOperatorCallSite(ClassFileConstants.OPERATOR_SITE_END_IF, 0, this);
 			codeStream.invoke(Opcodes.OPC_invokestatic, this.endifSyntheticAccessor, null /* default declaringClass */);
 		}
 		else{
+			codeStream.recordOperatorCallSite(ClassFileConstants.OPERATOR_SITE_END_IF, 0, this);
 			codeStream.invoke((mb2.declaringClass.isInterface()) ? Opcodes.OPC_invokeinterface : Opcodes.OPC_invokevirtual, mb2, mb2.declaringClass);
 		}
 	}
@@ -0,0 +1,107 @@
+package org.eclipse.jdt.internal.compiler.ast;
+
+import org.eclipse.jdt.core.compiler.CharOperation;
+
+/**
+ * Operator overloading: the selectors of the methods overloaded operators and DSL statements bind to.
+ * <p>
+ * Binary and unary selectors are indexed by operator id (see {@link OperatorIds}), both for the
+ * forward form (<code>add</code>) and for the right hand side form (<code>addAsRHS</code>).
+ * All selectors are created once, so resolving an operator does not build any <code>char[]</code>.
+ * Answered arrays are shared and must not be modified.
+ */
+public final class OperatorOverloadSelectors implements OperatorIds {
+
+	private static final char[] AS_RHS = "AsRHS".toCharArray(); //$NON-NLS-1$
+
+	private static final int TABLE_SIZE = MINUS_MINUS + 1;
+	private static final char[][] BINARY = new char[TABLE_SIZE][];
+	private static final char[][] BINARY_AS_RHS = new char[TABLE_SIZE][];
+	private static final char[][] UNARY = new char[TABLE_SIZE][];
+
+	// statements and expressions with a single selector
+	public static final char[] CONNECT = "connect".toCharArray(); //$NON-NLS-1$
+	public static final char[] GET = "get".toCharArray(); //$NON-NLS-1$
+	public static final char[] PUT = "put".toCharArray(); //$NON-NLS-1$
+	public static final char[] TERNARY_IF = "ternaryIf".toCharArray(); //$NON-NLS-1$
+	public static final char[] EQ = "eq".toCharArray(); //$NON-NLS-1$
+	public static final char[] NEQ = "neq".toCharArray(); //$NON-NLS-1$
+	public static final char[] EQ_AS_RHS = CharOperation.concat(EQ, AS_RHS);
+	public static final char[] NEQ_AS_RHS = CharOperation.concat(NEQ, AS_RHS);
+	public static final char[] _IF = "_IF".toCharArray(); //$NON-NLS-1$
+	public static final char[] _ELSE = "_ELSE".toCharArray(); //$NON-NLS-1$
+	public static final char[] _END_IF = "_END_IF".toCharArray(); //$NON-NLS-1$
+	public static final char[] _SWITCH = "_SWITCH".toCharArray(); //$NON-NLS-1$
+	public static final char[] _END_SWITCH = "_END_SWITCH".toCharArray(); //$NON-NLS-1$
+	public static final char[] _CASE = "_CASE".toCharArray(); //$NON-NLS-1$
+	public static final char[] _OTHERWISE = "_OTHERWISE".toCharArray(); //$NON-NLS-1$
+
+	static {
+		register(PLUS, "add"); //$NON-NLS-1$
+		register(MINUS, "sub"); //$NON-NLS-1$
+		register(MULTIPLY, "mul"); //$NON-NLS-1$
+		register(DIVIDE, "div"); //$NON-NLS-1$
+		register(CAT, "cat"); //$NON-NLS-1$
+		register(REMAINDER, "mod"); //$NON-NLS-1$
+		register(AND, "and"); //$NON-NLS-1$
+		register(OR, "or"); //$NON-NLS-1$
+		register(XOR, "xor"); //$NON-NLS-1$
+		BINARY[EQUAL_EQUAL_EQUAL] = EQ;
+		BINARY_AS_RHS[EQUAL_EQUAL_EQUAL] = EQ_AS_RHS;
+		BINARY[NOT_EQUAL_EQUAL] = NEQ;
+		BINARY_AS_RHS[NOT_EQUAL_EQUAL] = NEQ_AS_RHS;
+		register(LEFT_SHIFT, "shiftLeft"); //$NON-NLS-1$
+		register(RIGHT_SHIFT, "shiftRight"); //$NON-NLS-1$
+		register(UNSIGNED_RIGHT_SHIFT, "unsignedShiftRight"); //$NON-NLS-1$
+		register(GREATER, "gt"); //$NON-NLS-1$
+		register(GREATER_EQUAL, "gte"); //$NON-NLS-1$
+		register(LESS, "lt"); //$NON-NLS-1$
+		register(LESS_EQUAL, "lte"); //$NON-NLS-1$
+		register(EQUAL_EQUAL, "CECINESTPASUNOPERATEUR_eq"); //$NON-NLS-1$
+		register(NOT_EQUAL, "CECINESTPASUNOPERATEUR_neq"); //$NON-NLS-1$
+
+		UNARY[NOT] = "logicalNot".toCharArray(); //$NON-NLS-1$
+		UNARY[MINUS] = "neg".toCharArray(); //$NON-NLS-1$
+		UNARY[TWIDDLE] = "complement".toCharArray(); //$NON-NLS-1$
+		UNARY[PLUS] = "plus".toCharArray(); //$NON-NLS-1$
+	}
+
+	private static void register(int operator, String selector) {
+		BINARY[operator] = selector.toCharArray();
+		BINARY_AS_RHS[operator] = CharOperation.concat(BINARY[operator], AS_RHS);
+	}
+
+	private static char[] lookup(char[][] table, int operator) {
+		if (operator < 0 || operator >= TABLE_SIZE)
+			return CharOperation.NO_CHAR;
+		char[] selector = table[operator];
+		return selector == null ? CharOperation.NO_CHAR : selector;
+	}
+
+	private OperatorOverloadSelectors() {
+		// not instantiable
+	}
+
+	/**
+	 * Answer the selector a binary (or compound assignment) operator binds to on its left operand,
+	 * or an empty array if the operator cannot be overloaded.
+	 */
+	public static char[] binary(int operator) {
+		return lookup(BINARY, operator);
+	}
+
+	/**
+	 * Answer the selector a binary operator binds to on its right operand (<code>&lt;op&gt;AsRHS</code>),
+	 * or an empty array if the operator cannot be overloaded.
+	 */
+	public static char[] binaryAsRHS(int operator) {
+		return lookup(BINARY_AS_RHS, operator);
+	}
+
+	/**
+	 * Answer the selector a unary operator binds to, or an empty array if the operator cannot be overloaded.
+	 */
+	public static char[] unary(int operator) {
+		return lookup(UNARY, operator);
+	}
+}
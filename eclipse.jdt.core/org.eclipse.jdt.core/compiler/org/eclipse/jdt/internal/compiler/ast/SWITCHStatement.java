@@ -358,51 +358,8 @@ public class SWITCHStatement extends Statement {
 	}
 
 	public MethodBinding getMethodBindingForOverloadForSWITCH(BlockScope localScope) {
-		TypeBinding tb = null; 
-		TypeBinding [] tb_right = new TypeBinding[] {this.expression.resolvedType};
-		tb = localScope.parent.classScope().referenceContext.binding;
-		InvocationSite fakeInvocationSite = new InvocationSite(){
-			public TypeBinding[] genericTypeArguments() { return null; }
-			public boolean isSuperAccess(){ return false; }
-			public boolean isTypeAccess() { return true; }
-			public void setActualReceiverType(ReferenceBinding actualReceiverType) { /* ignore */}
-			public void setDepth(int depth) { /* ignore */}
-			public void setFieldIndex(int depth){ /* ignore */}
-			public int sourceStart() { return 0; }
-			public int sourceEnd() { return 0; }
-			public TypeBinding expectedType() {
-				return null;
-			}
-			@Override
-			public TypeBinding invocationTargetType() {
-				// TODO Auto-generated method stub
-				throw new RuntimeException("Implement this");
-//				return null;
-			}
-			@Override
-			public boolean receiverIsImplicitThis() {
-				// TODO Auto-generated method stub
-				throw new RuntimeException("Implement this");
-//				return false;
-			}
-			@Override
-			public InferenceContext18 freshInferenceContext(Scope scope) {
-				// TODO Auto-generated method stub
-				throw new RuntimeException("Implement this");
-//				return null;
-			}
-			@Override
-			public ExpressionContext getExpressionContext() {
-				// TODO Auto-generated method stub
-				throw new RuntimeException("Implement this");
-//				return null;
-			}
-		};
-
-		String ms = getMethodNameForSWITCH();
-		
-		MethodBinding mb2 = localScope.parent.getMethod(tb, ms.toCharArray(), tb_right,  fakeInvocationSite);
-		return mb2;
+		TypeBinding tb = localScope.parent.classScope().referenceContext.binding;
+		return localScope.parent.getOperatorOverloadMethod(tb, OperatorOverloadSelectors._SWITCH, this.expression.resolvedType, null);
 	}
 
 	public void generateOperatorOverloadCodeForSWITCH(MethodBinding mb2, BlockScope currentScope, CodeStream codeStream, boolean valueRequired) {
@@ -413,6 +370,7 @@ public class SWITCHStatement extends Statement {
 			MethodBinding mb3 = mb2.original(); 
 			MethodBinding final_mb = mb3;
 			codeStream.checkcast(final_mb.declaringClass);
+			codeStream.recordOperatorCallSite(ClassFileConstants.OPERATOR_SITE_SWITCH, 0, this);
 			codeStream.invoke((final_mb.declaringClass.isInterface()) ? Opcodes.OPC_invokeinterface : Opcodes.OPC_invokevirtual, final_mb, final_mb.declaringClass.erasure());
 			if (tbo.erasure().isProvablyDistinct(final_mb.returnType.erasure())) {
 				codeStream.checkcast(tbo);
@@ -420,9 +378,11 @@ public class SWITCHStatement extends Statement {
 		} else {
 			MethodBinding original = mb2.original();
 			if(original.isPrivate()){
+				codeStream.recordOperatorCallSite(ClassFileConstants.OPERATOR_SITE_SWITCH, 0, this);
 				codeStream.invoke(Opcodes.OPC_invokestatic, this.switchSyntheticAccessor, null /* default declaringClass */);
 			}
 			else{
+				codeStream.recordOperatorCallSite(ClassFileConstants.OPERATOR_SITE_SWITCH, 0, this);
 				codeStream.invoke((original.declaringClass.isInterface()) ? Opcodes.OPC_invokeinterface : Opcodes.OPC_invokevirtual, original, original.declaringClass);
 			}
 			if (!mb2.returnType.isBaseType()) codeStream.checkcast(mb2.returnType);
@@ -433,51 +393,8 @@ public class SWITCHStatement extends Statement {
 	 * endswitch
 	 */
 	public MethodBinding getMethodBindingForOverloadForENDSWITCH(BlockScope localScope) {
-		TypeBinding tb = null; 
-		TypeBinding [] tb_right = new TypeBinding[] {};
-		tb = localScope.parent.classScope().referenceContext.binding;
-		InvocationSite fakeInvocationSite = new InvocationSite(){
-			public TypeBinding[] genericTypeArguments() { return null; }
-			public boolean isSuperAccess(){ return false; }
-			public boolean isTypeAccess() { return true; }
-			public void setActualReceiverType(ReferenceBinding actualReceiverType) { /* ignore */}
-			public void setDepth(int depth) { /* ignore */}
-			public void setFieldIndex(int depth){ /* ignore */}
-			public int sourceStart() { return 0; }
-			public int sourceEnd() { return 0; }
-			public TypeBinding expectedType() {
-				return null;
-			}
-			@Override
-			public TypeBinding invocationTargetType() {
-				// TODO Auto-generated method stub
-				throw new RuntimeException("Implement this");
-//				return null;
-			}
-			@Override
-			public boolean receiverIsImplicitThis() {
-				// TODO Auto-generated method stub
-				throw new RuntimeException("Implement this");
-//				return false;
-			}
-			@Override
-			public InferenceContext18 freshInferenceContext(Scope scope) {
-				// TODO Auto-generated method stub
-				throw new RuntimeException("Implement this");
-//				return null;
-			}
-			@Override
-			public ExpressionContext getExpressionContext() {
-				// TODO Auto-generated method stub
-				throw new RuntimeException("Implement this");
-//				return null;
-			}
-		};
-
-		String ms = getMethodNameForENDSWITCH();
-		
-		MethodBinding mb2 = localScope.parent.getMethod(tb, ms.toCharArray(), tb_right,  fakeInvocationSite);
-		return mb2;
+		TypeBinding tb = localScope.parent.classScope().referenceContext.binding;
+		return localScope.parent.getOperatorOverloadMethod(tb, OperatorOverloadSelectors._END_SWITCH, null);
 	}
 
 	public void generateOperatorOverloadCodeForENDSWITCH(MethodBinding mb2, BlockScope currentScope, CodeStream codeStream, boolean valueRequired) {
@@ -487,6 +404,7 @@ public class SWITCHStatement extends Statement {
 			MethodBinding mb3 = mb2.original(); 
 			MethodBinding final_mb = mb3;
 			codeStream.checkcast(final_mb.declaringClass);
+			codeStream.recordOperatorCallSite(ClassFileConstants.OPERATOR_SITE_END_SWITCH, 0, this);
 			codeStream.invoke((final_mb.declaringClass.isInterface()) ? Opcodes.OPC_invokeinterface : Opcodes.OPC_invokevirtual, final_mb, final_mb.declaringClass.erasure());
 			if (tbo.erasure().isProvablyDistinct(final_mb.returnType.erasure())) {
 				codeStream.checkcast(tbo);
@@ -494,9 +412,11 @@ public class SWITCHStatement extends Statement {
 		} else {
 			MethodBinding original = mb2.original();
 			if(original.isPrivate()){
+				codeStream.recordOperatorCallSite(ClassFileConstants.OPERATOR_SITE_END_SWITCH, 0, this);
 				codeStream.invoke(Opcodes.OPC_invokestatic, this.endswitchSyntheticAccessor, null /* default declaringClass */);
 			}
 			else{
+				codeStream.recordOperatorCallSite(ClassFileConstants.OPERATOR_SITE_END_SWITCH, 0, this);
 				codeStream.invoke((mb2.declaringClass.isInterface()) ? Opcodes.OPC_invokeinterface : Opcodes.OPC_invokevirtual, mb2, mb2.declaringClass);
 			}
 		}
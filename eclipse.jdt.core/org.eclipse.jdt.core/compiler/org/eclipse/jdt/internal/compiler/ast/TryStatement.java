@@ -348,6 +348,7 @@ private MethodBinding findCloseMethod(final LocalDeclaration resource, LocalVari
 	TypeBinding type = resourceBinding.type;
 	if (type != null && type.isValidBinding()) {
 		ReferenceBinding binding = (ReferenceBinding) type;
+		this.scope.compilationUnitScope().recordMemberReference(ConstantPool.Close, 0);
 		closeMethod = binding.getExactMethod(ConstantPool.Close, new TypeBinding [0], this.scope.compilationUnitScope()); // scope needs to be tighter
 		if(closeMethod == null) {
 			// https://bugs.eclipse.org/bugs/show_bug.cgi?id=380112
@@ -38,18 +38,14 @@ public class UnaryExpression extends OperatorExpression {
 	}
 
 	public String getMethodName() {
-		switch ((this.bits & ASTNode.OperatorMASK) >> ASTNode.OperatorSHIFT) {
-			case NOT:
-				return "logicalNot"; //$NON-NLS-1$
-			case MINUS :
-				return "neg"; //$NON-NLS-1$
-			case TWIDDLE :
-				return "complement"; //$NON-NLS-1$
-			case PLUS :
-				return "plus"; //$NON-NLS-1$
+		return new String(getSelector());
+	}
 
-		}
-		return ""; //$NON-NLS-1$
+	/**
+	 * Operator overloading: answer the selector of the method this operator binds to.
+	 */
+	public char[] getSelector() {
+		return OperatorOverloadSelectors.unary((this.bits & ASTNode.OperatorMASK) >> ASTNode.OperatorSHIFT);
 	}
 
 	public MethodBinding getMethodBindingForOverload(BlockScope scope) {
@@ -60,52 +56,7 @@ public class UnaryExpression extends OperatorExpression {
 		else
 			tb = this.expression.resolvedType; 
 				
-		final TypeBinding expectedTypeLocal = this.expectedType;
-		OperatorOverloadInvocationSite fakeInvocationSite = new OperatorOverloadInvocationSite(){
-			public TypeBinding[] genericTypeArguments() { return null; }
-			public boolean isSuperAccess(){ return false; }
-			public boolean isTypeAccess() { return true; }
-			public void setActualReceiverType(ReferenceBinding actualReceiverType) { /* ignore */}
-			public void setDepth(int depth) { /* ignore */}
-			public void setFieldIndex(int depth){ /* ignore */}
-			public int sourceStart() { return 0; }
-			public int sourceEnd() { return 0; }
-			public TypeBinding getExpectedType() {
-				return expectedTypeLocal;
-			}
-			public TypeBinding expectedType() {
-				return getExpectedType();
-			}
-			@Override
-			public TypeBinding invocationTargetType() {
-				// TODO Auto-generated method stub
-				throw new RuntimeException("Implement this");
-//				return null;
-			}
-			@Override
-			public boolean receiverIsImplicitThis() {
-				// TODO Auto-generated method stub
-				throw new RuntimeException("Implement this");
-//				return false;
-			}
-			@Override
-			public InferenceContext18 freshInferenceContext(Scope scope) {
-				// TODO Auto-generated method stub
-				throw new RuntimeException("Implement this");
-//				return null;
-			}
-			@Override
-			public ExpressionContext getExpressionContext() {
-				// TODO Auto-generated method stub
-				throw new RuntimeException("Implement this");
-//				return null;
-			}
-		};
-
-		String ms = getMethodName();
-		
-		MethodBinding mb2 = scope.getMethod(tb, ms.toCharArray(), new TypeBinding[]{},  fakeInvocationSite);
-		return mb2;
+		return scope.getOperatorOverloadMethod(tb, getSelector(), this.expectedType);
 	}
 
 	public void generateOperatorOverloadCode(BlockScope currentScope, CodeStream codeStream, boolean valueRequired) {
@@ -122,6 +73,7 @@ public class UnaryExpression extends OperatorExpression {
 			MethodBinding mb3 = this.appropriateMethodForOverload.original(); 
 			MethodBinding final_mb = mb3;
 			codeStream.checkcast(final_mb.declaringClass);
+			codeStream.recordOperatorCallSite(ClassFileConstants.OPERATOR_SITE_UNARY, (this.bits & ASTNode.OperatorMASK) >> ASTNode.OperatorSHIFT, this);
 			codeStream.invoke((final_mb.declaringClass.isInterface()) ? Opcodes.OPC_invokeinterface : Opcodes.OPC_invokevirtual, final_mb, final_mb.declaringClass.erasure());
 			if (tbo.erasure().isProvablyDistinct(final_mb.returnType.erasure())) {
 				codeStream.checkcast(tbo);
@@ -129,9 +81,11 @@ public class UnaryExpression extends OperatorExpression {
 		} else {
 			MethodBinding original = this.appropriateMethodForOverload.original();
 			if(original.isPrivate()){
+				codeStream.recordOperatorCallSite(ClassFileConstants.OPERATOR_SITE_UNARY, (this.bits & ASTNode.OperatorMASK) >> ASTNode.OperatorSHIFT, this);
 				codeStream.invoke(Opcodes.OPC_invokestatic, this.syntheticAccessor, null /* default declaringClass */);
 			}
 			else{
+				codeStream.recordOperatorCallSite(ClassFileConstants.OPERATOR_SITE_UNARY, (this.bits & ASTNode.OperatorMASK) >> ASTNode.OperatorSHIFT, this);
 				codeStream.invoke((original.declaringClass.isInterface()) ? Opcodes.OPC_invokeinterface : Opcodes.OPC_invokevirtual, original, original.declaringClass);
 			}
 			if (!this.appropriateMethodForOverload.returnType.isBaseType()) codeStream.checkcast(this.appropriateMethodForOverload.returnType);
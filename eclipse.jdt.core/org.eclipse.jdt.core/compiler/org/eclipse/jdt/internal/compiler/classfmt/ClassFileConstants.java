@@ -153,6 +153,23 @@ public interface ClassFileConstants {
 	int ATTR_STACK_MAP = 0x10; // Stack map attribute: cldc
 	int ATTR_TYPE_ANNOTATION = 0x20; // type annotation attribute (jsr 308)
 	int ATTR_METHOD_PARAMETERS = 0x40; // method parameters attribute (jep 118)
+	int ATTR_OPERATOR_CALL_SITES = 0x80; // operator call sites attribute (operator overloading)
+
+	// Kinds of the call sites listed by the operator call sites attribute (the operator of the other sites is 0)
+	int OPERATOR_SITE_BINARY = 1; // a + b, with the id of the operator
+	int OPERATOR_SITE_UNARY = 2; // -a, with the id of the operator
+	int OPERATOR_SITE_COMPOUND_ASSIGNMENT = 3; // a += b, with the id of the operator
+	int OPERATOR_SITE_CONNECT = 4; // a <== b
+	int OPERATOR_SITE_TERNARY_IF = 5; // c ? a : b
+	int OPERATOR_SITE_ARRAY_GET = 6; // a[i]
+	int OPERATOR_SITE_ARRAY_PUT = 7; // a[i] = b
+	int OPERATOR_SITE_IF = 8; // IF (c)
+	int OPERATOR_SITE_ELSE = 9;
+	int OPERATOR_SITE_END_IF = 10;
+	int OPERATOR_SITE_SWITCH = 11; // SWITCH (a)
+	int OPERATOR_SITE_CASE = 12;
+	int OPERATOR_SITE_OTHERWISE = 13;
+	int OPERATOR_SITE_END_SWITCH = 14;
 
 	// See java.lang.invoke.LambdaMetafactory constants - option bitflags when calling altMetaFactory()
 	int FLAG_SERIALIZABLE = 0x01;
@@ -24,6 +24,7 @@ import org.eclipse.jdt.internal.compiler.env.*;
 import org.eclipse.jdt.internal.compiler.impl.Constant;
 import org.eclipse.jdt.internal.compiler.lookup.TagBits;
 import org.eclipse.jdt.internal.compiler.lookup.TypeIds;
+import org.eclipse.jdt.internal.compiler.util.SimpleSetOfCharArray;
 import org.eclipse.jdt.internal.compiler.util.Util;
 
 public class ClassFileReader extends ClassFileStruct implements IBinaryType {
@@ -54,6 +55,7 @@ public class ClassFileReader extends ClassFileStruct implements IBinaryType {
 	private long version;
 	private char[] enclosingTypeName;
 	private char[][][] missingTypeNames;
+	private int[] operatorCallSites;
 	private int enclosingNameAndTypeIndex;
 	private char[] enclosingMethod;
 
@@ -381,6 +383,26 @@ public ClassFileReader(byte[] classFileBytes, char[] fileName, boolean fullyInit
 							}
 						}
 					}
+					break;
+				case 'O' :
+					if (CharOperation.equals(attributeName, AttributeNamesConstants.OperatorCallSitesName)) {
+						// decode the operator call sites
+						int siteOffset = readOffset + 6;
+						int numberOfSites = (int) u4At(siteOffset);
+						siteOffset += 4;
+						int[] sites = new int[numberOfSites * 7];
+						for (int j = 0, index = 0; j < numberOfSites; j++) {
+							sites[index++] = u2At(siteOffset);
+							sites[index++] = u2At(siteOffset + 2);
+							sites[index++] = u1At(siteOffset + 4);
+							sites[index++] = u1At(siteOffset + 5);
+							sites[index++] = u2At(siteOffset + 6);
+							sites[index++] = i4At(siteOffset + 8);
+							sites[index++] = i4At(siteOffset + 12);
+							siteOffset += 16;
+						}
+						this.operatorCallSites = sites;
+					}
 			}
 			readOffset += (6 + u4At(readOffset + 2));
 		}
@@ -703,6 +725,16 @@ public char[][][] getMissingTypeNames() {
 	return this.missingTypeNames;
 }
 
+/**
+ * Operator overloading: answer the call sites listed by the OperatorCallSites attribute of this class file,
+ * or null if it has none. Each call site is described by 7 consecutive ints: the index of the method, the pc
+ * of the invocation, the kind of the site (see {@link ClassFileConstants#OPERATOR_SITE_BINARY} and following),
+ * the operator, the line number, and the source start and end of the operator.
+ */
+public int[] getOperatorCallSites() {
+	return this.operatorCallSites;
+}
+
 /**
  * Answer an int whose bits are set according the access constants
  * defined by the VM spec.
@@ -868,6 +900,27 @@ public boolean hasStructuralChanges(byte[] newBytes) {
  * @return boolean Returns true is there is a structural change between the two .class files, false otherwise
  */
 public boolean hasStructuralChanges(byte[] newBytes, boolean orderRequired, boolean excludesSynthetic) {
+	return hasStructuralChanges(newBytes, orderRequired, excludesSynthetic, null);
+}
+
+/**
+ * Check if the receiver has structural changes compare to the byte array in argument, as
+ * {@link #hasStructuralChanges(byte[])} does, and report which fields and methods changed.
+ * When only fields and methods were added, removed or changed, their keys are added to changedMembers:
+ * - 'foo' for the field foo
+ * - 'foo/2' for the method foo with 2 parameters
+ * - 'foo/*' for the varargs method foo whatever its number of parameters, the same goes for the constructors
+ * Otherwise the type itself changed and changedMembers is left empty. This includes changes to an abstract
+ * method, which affect the implementations of the type as much as its callers.
+ * @param newBytes the bytes of the .class file we want to compare the receiver to
+ * @param changedMembers the set the keys of the changed members are added to
+ * @return boolean Returns true is there is a structural change between the two .class files, false otherwise
+ */
+public boolean hasStructuralChanges(byte[] newBytes, SimpleSetOfCharArray changedMembers) {
+	return hasStructuralChanges(newBytes, true, true, changedMembers);
+}
+
+private boolean hasStructuralChanges(byte[] newBytes, boolean orderRequired, boolean excludesSynthetic, SimpleSetOfCharArray changedMembers) {
 	try {
 		ClassFileReader newClassFile =
 			new ClassFileReader(newBytes, this.classFileName);
@@ -921,6 +974,29 @@ public boolean hasStructuralChanges(byte[] newBytes, boolean orderRequired, bool
 						return true;
 		}
 
+		// missing types
+		char[][][] missingTypes = getMissingTypeNames();
+		char[][][] newMissingTypes = newClassFile.getMissingTypeNames();
+		if (missingTypes != null) {
+			if (newMissingTypes == null) {
+				return true;
+			}
+			int length = missingTypes.length;
+			if (length != newMissingTypes.length) {
+				return true;
+			}
+			for (int i = 0; i < length; i++) {
+				if (!CharOperation.equals(missingTypes[i], newMissingTypes[i])) {
+					return true;
+				}
+			}
+		} else if (newMissingTypes != null) {
+			return true;
+		}
+
+		if (changedMembers != null)
+			return hasStructuralMemberChanges(newClassFile, changedMembers);
+
 		// fields
 		FieldInfo[] otherFieldInfos = (FieldInfo[]) newClassFile.getFields();
 		int otherFieldInfosLength = otherFieldInfos == null ? 0 : otherFieldInfos.length;
@@ -981,29 +1057,103 @@ public boolean hasStructuralChanges(byte[] newBytes, boolean orderRequired, bool
 			}
 		}
 
-		// missing types
-		char[][][] missingTypes = getMissingTypeNames();
-		char[][][] newMissingTypes = newClassFile.getMissingTypeNames();
-		if (missingTypes != null) {
-			if (newMissingTypes == null) {
-				return true;
-			}
-			int length = missingTypes.length;
-			if (length != newMissingTypes.length) {
-				return true;
+		return false;
+	} catch (ClassFormatException e) {
+		return true;
+	}
+}
+
+/*
+ * Collect the keys of the fields and methods added, removed or changed, see hasStructuralChanges(byte[], SimpleSetOfCharArray).
+ * Answer whether the changes are structural, or clear the keys and answer true when an abstract method changed.
+ */
+private boolean hasStructuralMemberChanges(ClassFileReader newClassFile, SimpleSetOfCharArray changedMembers) {
+	FieldInfo[] otherFieldInfos = (FieldInfo[]) newClassFile.getFields();
+	int length1 = this.fieldsCount;
+	int length2 = otherFieldInfos == null ? 0 : otherFieldInfos.length;
+	if (length1 != 0)
+		Arrays.sort(this.fields);
+	if (length2 != 0)
+		Arrays.sort(otherFieldInfos);
+	int index1 = 0;
+	int index2 = 0;
+	while (index1 < length1 || index2 < length2) {
+		FieldInfo current = index1 < length1 ? this.fields[index1] : null;
+		FieldInfo other = index2 < length2 ? otherFieldInfos[index2] : null;
+		if (current != null && current.isSynthetic()) {
+			index1++;
+		} else if (other != null && other.isSynthetic()) {
+			index2++;
+		} else {
+			int order = current == null ? 1 : other == null ? -1 : current.compareTo(other);
+			if (order < 0) {
+				changedMembers.add(current.getName());
+				index1++;
+			} else if (order > 0) {
+				changedMembers.add(other.getName());
+				index2++;
+			} else {
+				if (hasStructuralFieldChanges(current, other))
+					changedMembers.add(current.getName());
+				index1++;
+				index2++;
 			}
-			for (int i = 0; i < length; i++) {
-				if (!CharOperation.equals(missingTypes[i], newMissingTypes[i])) {
-					return true;
+		}
+	}
+
+	MethodInfo[] otherMethodInfos = (MethodInfo[]) newClassFile.getMethods();
+	length1 = this.methodsCount;
+	length2 = otherMethodInfos == null ? 0 : otherMethodInfos.length;
+	if (length1 != 0)
+		Arrays.sort(this.methods);
+	if (length2 != 0)
+		Arrays.sort(otherMethodInfos);
+	index1 = 0;
+	index2 = 0;
+	while (index1 < length1 || index2 < length2) {
+		MethodInfo current = index1 < length1 ? this.methods[index1] : null;
+		MethodInfo other = index2 < length2 ? otherMethodInfos[index2] : null;
+		MethodInfo changed = null;
+		if (current != null && (current.isSynthetic() || current.isClinit())) {
+			index1++;
+		} else if (other != null && (other.isSynthetic() || other.isClinit())) {
+			index2++;
+		} else {
+			int order = current == null ? 1 : other == null ? -1 : current.compareTo(other);
+			if (order < 0) {
+				changed = current;
+				index1++;
+			} else if (order > 0) {
+				changed = other;
+				index2++;
+			} else {
+				if (hasStructuralMethodChanges(current, other)) {
+					if ((other.getModifiers() & ClassFileConstants.AccAbstract) != 0) {
+						changedMembers.clear();
+						return true;
+					}
+					changed = (other.getModifiers() & ClassFileConstants.AccVarargs) != 0 ? other : current;
 				}
+				index1++;
+				index2++;
 			}
-		} else if (newMissingTypes != null) {
-			return true;
 		}
-		return false;
-	} catch (ClassFormatException e) {
-		return true;
+		if (changed != null) {
+			if ((changed.getModifiers() & ClassFileConstants.AccAbstract) != 0) {
+				changedMembers.clear();
+				return true;
+			}
+			changedMembers.add(getMemberKey(changed));
+		}
 	}
+	return changedMembers.elementSize > 0;
+}
+
+private static char[] getMemberKey(MethodInfo method) {
+	char[] selector = method.getSelector();
+	if (method.isConstructor() || (method.getModifiers() & ClassFileConstants.AccVarargs) != 0)
+		return CharOperation.concat(selector, new char[] {'/', '*'});
+	return CharOperation.concat(selector, String.valueOf(Util.getParameterCount(method.getMethodDescriptor())).toCharArray(), '/');
 }
 
 private boolean hasStructuralAnnotationChanges(IBinaryAnnotation[] currentAnnotations, IBinaryAnnotation[] otherAnnotations) {
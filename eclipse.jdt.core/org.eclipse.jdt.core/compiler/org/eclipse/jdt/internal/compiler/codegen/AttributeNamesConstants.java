@@ -44,4 +44,6 @@ public interface AttributeNamesConstants {
 	final char[] RuntimeInvisibleTypeAnnotationsName = "RuntimeInvisibleTypeAnnotations".toCharArray(); //$NON-NLS-1$
 	// jep118
 	final char[] MethodParametersName = "MethodParameters".toCharArray(); //$NON-NLS-1$
+	// operator overloading
+	final char[] OperatorCallSitesName = "OperatorCallSites".toCharArray(); //$NON-NLS-1$
 }
@@ -10,8 +10,14 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.compiler.codegen;
 
+import java.util.Arrays;
+
 import org.eclipse.jdt.core.compiler.CharOperation;
 
+/**
+ * Constant pool indexes keyed by names, signatures or strings. Open addressing over a power of two
+ * number of slots; clearing keeps the slots, so that a pool reset for the next class file allocates nothing.
+ */
 public class CharArrayCache {
 	// to avoid using Enumerations, walk the individual tables skipping nulls
 	public char[] keyTable[];
@@ -23,29 +29,32 @@ public class CharArrayCache {
  * Note that the hashtable will automatically grow when it gets full.
  */
 public CharArrayCache() {
-	this(9);
+	this(8);
 }
 /**
  * Constructs a new, empty hashtable with the specified initial
  * capacity.
  * @param initialCapacity int
- *	the initial number of buckets; must be less than Integer.MAX_VALUE / 2
+ *	the initial number of buckets, rounded up to a power of two; must be less than Integer.MAX_VALUE / 2
  */
 public CharArrayCache(int initialCapacity) {
+	int capacity = 8;
+	while (capacity < initialCapacity)
+		capacity <<= 1;
 	this.elementSize = 0;
-	this.threshold = (initialCapacity * 2) / 3; // faster than float operation
-	this.keyTable = new char[initialCapacity][];
-	this.valueTable = new int[initialCapacity];
+	this.threshold = capacity * 3 / 4;
+	this.keyTable = new char[capacity][];
+	this.valueTable = new int[capacity];
 }
 /**
  * Clears the hash table so that it has no more elements in it.
  */
 public void clear() {
-	for (int i = this.keyTable.length; --i >= 0;) {
-		this.keyTable[i] = null;
-		this.valueTable[i] = 0;
+	if (this.elementSize > 0) {
+		Arrays.fill(this.keyTable, null);
+		Arrays.fill(this.valueTable, 0);
+		this.elementSize = 0;
 	}
-	this.elementSize = 0;
 }
 /** Returns true if the collection contains an element for the key.
  *
@@ -53,15 +62,7 @@ public void clear() {
  * @return boolean
  */
 public boolean containsKey(char[] key) {
-	int length = this.keyTable.length, index = CharOperation.hashCode(key) % length;
-	while (this.keyTable[index] != null) {
-		if (CharOperation.equals(this.keyTable[index], key))
-			return true;
-		if (++index == length) { // faster than modulo
-			index = 0;
-		}
-	}
-	return false;
+	return get(key) != -1;
 }
 /** Gets the object associated with the specified key in the
  * hashtable.
@@ -70,16 +71,18 @@ public boolean containsKey(char[] key) {
  *	defined in the hash table.
  */
 public int get(char[] key) {
-	int length = this.keyTable.length, index = CharOperation.hashCode(key) % length;
-	while (this.keyTable[index] != null) {
-		if (CharOperation.equals(this.keyTable[index], key))
+	int mask = this.keyTable.length - 1;
+	char[] current;
+	for (int index = hash(key) & mask; (current = this.keyTable[index]) != null; index = (index + 1) & mask) {
+		if (CharOperation.equals(current, key))
 			return this.valueTable[index];
-		if (++index == length) { // faster than modulo
-			index = 0;
-		}
 	}
 	return -1;
 }
+private static int hash(char[] key) {
+	int hash = CharOperation.hashCode(key);
+	return hash ^ (hash >>> 16);
+}
 /**
  * Puts the specified element into the hashtable if it wasn't there already,
  * using the specified key.  The element may be retrieved by doing a get() with the same key.
@@ -90,80 +93,67 @@ public int get(char[] key) {
  * @return int the old value of the key, or -value if it did not have one.
  */
 public int putIfAbsent(char[] key, int value) {
-	int length = this.keyTable.length, index = CharOperation.hashCode(key) % length;
-	while (this.keyTable[index] != null) {
-		if (CharOperation.equals(this.keyTable[index], key))
+	int mask = this.keyTable.length - 1;
+	int index = hash(key) & mask;
+	char[] current;
+	for (; (current = this.keyTable[index]) != null; index = (index + 1) & mask) {
+		if (CharOperation.equals(current, key))
 			return this.valueTable[index];
-		if (++index == length) { // faster than modulo
-			index = 0;
-		}
 	}
 	this.keyTable[index] = key;
 	this.valueTable[index] = value;
-
-	// assumes the threshold is never equal to the size of the table
 	if (++this.elementSize > this.threshold)
 		rehash();
 	return -value; // negative when added (value is assumed to be > 0)
 }
-
 /**
- * Puts the specified element into the hashtable, using the specified
- * key.  The element may be retrieved by doing a get() with the same key.
- * The key and the element cannot be null.
- *
- * @param key <CODE>Object</CODE> the specified key in the hashtable
- * @param value <CODE>int</CODE> the specified element
- * @return int the old value of the key, or -1 if it did not have one.
+ * Doubles the number of slots, moving the entries straight into the new tables.
  */
-private int put(char[] key, int value) {
-	int length = this.keyTable.length, index = CharOperation.hashCode(key) % length;
-	while (this.keyTable[index] != null) {
-		if (CharOperation.equals(this.keyTable[index], key))
-			return this.valueTable[index] = value;
-		if (++index == length) { // faster than modulo
-			index = 0;
+private void rehash() {
+	char[][] oldKeys = this.keyTable;
+	int[] oldValues = this.valueTable;
+	int capacity = oldKeys.length * 2, mask = capacity - 1;
+	this.keyTable = new char[capacity][];
+	this.valueTable = new int[capacity];
+	this.threshold = capacity * 3 / 4;
+	for (int i = oldKeys.length; --i >= 0;) {
+		char[] key = oldKeys[i];
+		if (key != null) {
+			int index = hash(key) & mask;
+			while (this.keyTable[index] != null)
+				index = (index + 1) & mask;
+			this.keyTable[index] = key;
+			this.valueTable[index] = oldValues[i];
 		}
 	}
-	this.keyTable[index] = key;
-	this.valueTable[index] = value;
-
-	// assumes the threshold is never equal to the size of the table
-	if (++this.elementSize > this.threshold)
-		rehash();
-	return value;
-}
-/**
- * Rehashes the content of the table into a bigger table.
- * This method is called automatically when the hashtable's
- * size exceeds the threshold.
- */
-private void rehash() {
-	CharArrayCache newHashtable = new CharArrayCache(this.keyTable.length * 2);
-	for (int i = this.keyTable.length; --i >= 0;)
-		if (this.keyTable[i] != null)
-			newHashtable.put(this.keyTable[i], this.valueTable[i]);
-
-	this.keyTable = newHashtable.keyTable;
-	this.valueTable = newHashtable.valueTable;
-	this.threshold = newHashtable.threshold;
 }
 /** Remove the object associated with the specified key in the
  * hashtable.
  * @param key <CODE>char[]</CODE> the specified key
  */
 public void remove(char[] key) {
-	int length = this.keyTable.length, index = CharOperation.hashCode(key) % length;
-	while (this.keyTable[index] != null) {
-		if (CharOperation.equals(this.keyTable[index], key)) {
-			this.valueTable[index] = 0;
-			this.keyTable[index] = null;
-			return;
-		}
-		if (++index == length) { // faster than modulo
-			index = 0;
+	int mask = this.keyTable.length - 1;
+	int index = hash(key) & mask;
+	char[] current;
+	for (; (current = this.keyTable[index]) != null; index = (index + 1) & mask) {
+		if (CharOperation.equals(current, key))
+			break;
+	}
+	if (current == null)
+		return;
+	// shift back the entries of the probe sequence which follow, so that they stay reachable
+	int free = index;
+	for (index = (index + 1) & mask; (current = this.keyTable[index]) != null; index = (index + 1) & mask) {
+		int home = hash(current) & mask;
+		if (((index - home) & mask) >= ((index - free) & mask)) {
+			this.keyTable[free] = current;
+			this.valueTable[free] = this.valueTable[index];
+			free = index;
 		}
 	}
+	this.keyTable[free] = null;
+	this.valueTable[free] = 0;
+	this.elementSize--;
 }
 /**
  * Returns the key corresponding to the value. Returns null if the
@@ -173,7 +163,7 @@ public void remove(char[] key) {
  */
 public char[] returnKeyFor(int value) {
 	for (int i = this.keyTable.length; i-- > 0;) {
-		if (this.valueTable[i] == value) {
+		if (this.valueTable[i] == value && this.keyTable[i] != null) {
 			return this.keyTable[i];
 		}
 	}
@@ -193,16 +183,14 @@ public int size() {
  * return String the ascii representation of the receiver
  */
 public String toString() {
-	int max = size();
 	StringBuffer buf = new StringBuffer();
 	buf.append("{"); //$NON-NLS-1$
-	for (int i = 0; i < max; ++i) {
+	for (int i = 0, length = this.keyTable.length; i < length; ++i) {
 		if (this.keyTable[i] != null) {
+			if (buf.length() > 1)
+				buf.append(", "); //$NON-NLS-1$
 			buf.append(this.keyTable[i]).append("->").append(this.valueTable[i]); //$NON-NLS-1$
 		}
-		if (i < max) {
-			buf.append(", "); //$NON-NLS-1$
-		}
 	}
 	buf.append("}"); //$NON-NLS-1$
 	return buf.toString();
@@ -98,6 +98,9 @@ public class CodeStream {
 	public int maxLocals;
 	public AbstractMethodDeclaration methodDeclaration;
 	public LambdaExpression lambdaExpression;
+	// operator overloading: pc, kind and operator, source start and source end of each call site of the method
+	public int[] operatorCallSites;
+	public int operatorCallSitesCount;
 	public int[] pcToSourceMap = new int[24];
 	public int pcToSourceMapSize;
 	public int position; // So when first set can be incremented
@@ -4140,6 +4143,7 @@ public void init(ClassFile targetClassFile) {
 	this.stackDepth = 0;
 	this.maxLocals = 0;
 	this.position = 0;
+	this.operatorCallSitesCount = 0;
 }
 
 /**
@@ -6265,6 +6269,27 @@ public void record(LocalVariableBinding local) {
 	local.initializationCount = 0;
 }
 
+/**
+ * Operator overloading: record that the invocation generated next implements an overloaded operator,
+ * or a DSL statement, of the given kind (see {@link ClassFileConstants#OPERATOR_SITE_BINARY} and
+ * following), for the operator call sites attribute.
+ */
+public void recordOperatorCallSite(int kind, int operator, ASTNode node) {
+	if ((this.generateAttributes & ClassFileConstants.ATTR_OPERATOR_CALL_SITES) == 0)
+		return;
+	int count = this.operatorCallSitesCount;
+	if (this.operatorCallSites == null) {
+		this.operatorCallSites = new int[32];
+	} else if (count + 4 > this.operatorCallSites.length) {
+		System.arraycopy(this.operatorCallSites, 0, this.operatorCallSites = new int[count * 2], 0, count);
+	}
+	this.operatorCallSites[count++] = this.position;
+	this.operatorCallSites[count++] = (kind << 8) | operator;
+	this.operatorCallSites[count++] = node.sourceStart;
+	this.operatorCallSites[count++] = node.sourceEnd;
+	this.operatorCallSitesCount = count;
+}
+
 public void recordExpressionType(TypeBinding typeBinding) {
 	// nothing to do
 }
@@ -6749,7 +6774,7 @@ private final void resizeByteArray() {
 		// must be sure to grow enough
 		requiredSize = this.classFileOffset + length;
 	}
-	System.arraycopy(this.bCodeStream, 0, this.bCodeStream = new byte[requiredSize], 0, length);
+	System.arraycopy(this.bCodeStream, 0, this.bCodeStream = this.classFile.newBytes(requiredSize), 0, length);
 }
 
 final public void ret(int index) {
@@ -43,9 +43,10 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 	public static final int NAMEANDTYPE_INITIAL_SIZE = 272;
 	public static final int CONSTANTPOOL_INITIAL_SIZE = 2000;
 	public static final int CONSTANTPOOL_GROW_SIZE = 6000;
-	protected DoubleCache doubleCache;
-	protected FloatCache floatCache;
-	protected IntegerCache intCache;
+	// primitive constants are keyed by their bits, see LongCache
+	protected LongCache doubleCache;
+	protected LongCache floatCache;
+	protected LongCache intCache;
 	protected LongCache longCache;
 	public CharArrayCache UTF8Cache;
 	protected CharArrayCache stringCache;
@@ -473,9 +474,9 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 		// lazy initialization for base type caches
 		// If it is null, initialize it, otherwise use it
 		if (this.doubleCache == null) {
-			this.doubleCache = new DoubleCache(DOUBLE_INITIAL_SIZE);
+			this.doubleCache = new LongCache(DOUBLE_INITIAL_SIZE);
 		}
-		if ((index = this.doubleCache.putIfAbsent(key, this.currentIndex)) < 0) {
+		if ((index = this.doubleCache.putIfAbsent(java.lang.Double.doubleToLongBits(key), this.currentIndex)) < 0) {
 			if ((index = -index)> 0xFFFF){
 				this.classFile.referenceBinding.scope.problemReporter().noMoreAvailableSpaceInConstantPool(this.classFile.referenceBinding.scope.referenceType());
 			}
@@ -520,9 +521,9 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 		// lazy initialization for base type caches
 		// If it is null, initialize it, otherwise use it
 		if (this.floatCache == null) {
-			this.floatCache = new FloatCache(FLOAT_INITIAL_SIZE);
+			this.floatCache = new LongCache(FLOAT_INITIAL_SIZE);
 		}
-		if ((index = this.floatCache.putIfAbsent(key, this.currentIndex)) < 0) {
+		if ((index = this.floatCache.putIfAbsent(java.lang.Float.floatToIntBits(key), this.currentIndex)) < 0) {
 			if ((index = -index) > 0xFFFF){
 				this.classFile.referenceBinding.scope.problemReporter().noMoreAvailableSpaceInConstantPool(this.classFile.referenceBinding.scope.referenceType());
 			}
@@ -562,7 +563,7 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 		// lazy initialization for base type caches
 		// If it is null, initialize it, otherwise use it
 		if (this.intCache == null) {
-			this.intCache = new IntegerCache(INT_INITIAL_SIZE);
+			this.intCache = new LongCache(INT_INITIAL_SIZE);
 		}
 		if ((index = this.intCache.putIfAbsent(key, this.currentIndex)) < 0) {
 			this.currentIndex++;
@@ -1078,7 +1079,7 @@ public class ConstantPool implements ClassFileConstants, TypeIds {
 		int toAdd = length;
 		if (toAdd < minimalSize)
 			toAdd = minimalSize;
-		System.arraycopy(this.poolContent, 0, this.poolContent = new byte[length + toAdd], 0, length);
+		System.arraycopy(this.poolContent, 0, this.poolContent = this.classFile.newBytes(length + toAdd), 0, length);
 	}
 	/**
 	 * Write a unsigned byte into the byte array
@@ -0,0 +1,137 @@
+package org.eclipse.jdt.internal.compiler.codegen;
+
+import org.eclipse.jdt.internal.compiler.lookup.LocalVariableBinding;
+
+/**
+ * The locals live at the frames of a method, computed in one sweep over its code.
+ * <p>
+ * The initialization ranges of all the locals recorded by the code stream are bucketed by pc once,
+ * then {@link #moveTo(int)} applies the ranges starting and ending up to the pc of the next frame.
+ * Computing the locals of all the frames is linear in the code length and in the number of ranges,
+ * where scanning all the locals of the method for each frame was quadratic for generated methods
+ * with thousands of branch targets.
+ */
+public class LiveLocals {
+	private final LocalVariableBinding[] locals;
+	private final int codeLength;
+	// events by pc: index of a local, shifted left once, with the low bit set when its range ends
+	private final int[] events;
+	private final int[] eventStarts;
+	// number of the ranges of each local containing the current pc
+	private final int[] liveRanges;
+	// indexes of the live locals of each slot
+	private final int[][] liveBySlot;
+	private final int[] liveCounts;
+	private int pc;
+
+public LiveLocals(LocalVariableBinding[] locals, int localsCount, int codeLength) {
+	this.locals = locals;
+	this.codeLength = codeLength;
+	this.eventStarts = new int[codeLength + 2];
+	int slots = 0;
+	int eventsCount = 0;
+	for (int i = 0; i < localsCount; i++) {
+		LocalVariableBinding local = locals[i];
+		if (local == null || local.resolvedPosition < 0) continue;
+		if (local.resolvedPosition >= slots) {
+			slots = local.resolvedPosition + 1;
+		}
+		for (int j = 0; j < local.initializationCount; j++) {
+			int startPC = local.initializationPCs[j << 1];
+			int endPC = local.initializationPCs[(j << 1) + 1];
+			if (startPC >= endPC || startPC > codeLength) continue; // never live at a frame
+			this.eventStarts[startPC + 1]++;
+			eventsCount++;
+			if (endPC <= codeLength) {
+				this.eventStarts[endPC + 1]++;
+				eventsCount++;
+			}
+		}
+	}
+	for (int i = 1; i <= codeLength + 1; i++) {
+		this.eventStarts[i] += this.eventStarts[i - 1];
+	}
+	this.events = new int[eventsCount];
+	int[] fill = new int[codeLength + 1];
+	System.arraycopy(this.eventStarts, 0, fill, 0, codeLength + 1);
+	for (int i = 0; i < localsCount; i++) {
+		LocalVariableBinding local = locals[i];
+		if (local == null || local.resolvedPosition < 0) continue;
+		for (int j = 0; j < local.initializationCount; j++) {
+			int startPC = local.initializationPCs[j << 1];
+			int endPC = local.initializationPCs[(j << 1) + 1];
+			if (startPC >= endPC || startPC > codeLength) continue;
+			this.events[fill[startPC]++] = i << 1;
+			if (endPC <= codeLength) {
+				this.events[fill[endPC]++] = (i << 1) | 1;
+			}
+		}
+	}
+	this.liveRanges = new int[localsCount];
+	this.liveBySlot = new int[slots][];
+	this.liveCounts = new int[slots];
+	this.pc = -1;
+}
+/**
+ * Answer the first recorded local live in the given slot at the current pc, or null if none.
+ */
+public LocalVariableBinding liveLocal(int slot) {
+	if (slot >= this.liveCounts.length) return null;
+	int count = this.liveCounts[slot];
+	if (count == 0) return null;
+	int[] live = this.liveBySlot[slot];
+	int first = live[0];
+	for (int i = 1; i < count; i++) {
+		if (live[i] < first) {
+			first = live[i];
+		}
+	}
+	return this.locals[first];
+}
+/**
+ * Apply the ranges starting or ending up to the given pc, which must not be lower than the previous one.
+ */
+public void moveTo(int newPC) {
+	if (newPC > this.codeLength) {
+		newPC = this.codeLength;
+	}
+	for (int p = this.pc + 1; p <= newPC; p++) {
+		for (int e = this.eventStarts[p], max = this.eventStarts[p + 1]; e < max; e++) {
+			int event = this.events[e];
+			int index = event >> 1;
+			if ((event & 1) == 0) {
+				if (this.liveRanges[index]++ == 0) {
+					addLive(this.locals[index].resolvedPosition, index);
+				}
+			} else if (--this.liveRanges[index] == 0) {
+				removeLive(this.locals[index].resolvedPosition, index);
+			}
+		}
+	}
+	if (newPC > this.pc) {
+		this.pc = newPC;
+	}
+}
+private void addLive(int slot, int index) {
+	int[] live = this.liveBySlot[slot];
+	int count = this.liveCounts[slot];
+	if (live == null) {
+		this.liveBySlot[slot] = live = new int[2];
+	} else if (count == live.length) {
+		System.arraycopy(live, 0, this.liveBySlot[slot] = live = new int[count * 2], 0, count);
+	}
+	live[count] = index;
+	this.liveCounts[slot] = count + 1;
+}
+private void removeLive(int slot, int index) {
+	int[] live = this.liveBySlot[slot];
+	int count = this.liveCounts[slot];
+	for (int i = 0; i < count; i++) {
+		if (live[i] == index) {
+			live[i] = live[count - 1];
+			this.liveCounts[slot] = count - 1;
+			return;
+		}
+	}
+}
+}
@@ -10,6 +10,18 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.compiler.codegen;
 
+import java.util.Arrays;
+
+/**
+ * Constant pool indexes of the primitive constants of a class file, keyed by their bits:
+ * <code>int</code> and <code>long</code> values as they are, <code>float</code> and <code>double</code>
+ * values through {@link Float#floatToIntBits(float)} and {@link Double#doubleToLongBits(double)},
+ * so that <code>0.0</code> and <code>-0.0</code> get their own entries.
+ * <p>
+ * Open addressing over a power of two number of slots, a slot being free when its value is 0
+ * (constant pool indexes start at 1). Clearing keeps the slots, so that a pool reset for the next
+ * class file allocates nothing.
+ */
 public class LongCache {
 	public long keyTable[];
 	public int valueTable[];
@@ -27,23 +39,25 @@ public LongCache() {
  * Constructs a new, empty hashtable with the specified initial
  * capacity.
  * @param initialCapacity int
- *  the initial number of buckets
+ *  the initial number of buckets, rounded up to a power of two
  */
 public LongCache(int initialCapacity) {
+	int capacity = 8;
+	while (capacity < initialCapacity)
+		capacity <<= 1;
 	this.elementSize = 0;
-	this.threshold = (int) (initialCapacity * 0.66);
-	this.keyTable = new long[initialCapacity];
-	this.valueTable = new int[initialCapacity];
+	this.threshold = capacity * 3 / 4;
+	this.keyTable = new long[capacity];
+	this.valueTable = new int[capacity];
 }
 /**
  * Clears the hash table so that it has no more elements in it.
  */
 public void clear() {
-	for (int i = this.keyTable.length; --i >= 0;) {
-		this.keyTable[i] = 0;
-		this.valueTable[i] = 0;
+	if (this.elementSize > 0) {
+		Arrays.fill(this.valueTable, 0);
+		this.elementSize = 0;
 	}
-	this.elementSize = 0;
 }
 /** Returns true if the collection contains an element for the key.
  *
@@ -51,93 +65,85 @@ public void clear() {
  * @return boolean
  */
 public boolean containsKey(long key) {
-	int index = hash(key), length = this.keyTable.length;
-	while ((this.keyTable[index] != 0) || ((this.keyTable[index] == 0) &&(this.valueTable[index] != 0))) {
+	int mask = this.keyTable.length - 1;
+	for (int index = hash(key) & mask; this.valueTable[index] != 0; index = (index + 1) & mask) {
 		if (this.keyTable[index] == key)
 			return true;
-		if (++index == length) {
-			index = 0;
-		}
 	}
 	return false;
 }
 /**
- * Return a hashcode for the value of the key parameter.
+ * Return a hashcode for the value of the key parameter, spread over the low bits.
  * @param key long
  * @return int the hash code corresponding to the key value
  */
-public int hash(long key) {
-	return ((int) key & 0x7FFFFFFF) % this.keyTable.length;
+public static int hash(long key) {
+	int hash = (int) (key ^ (key >>> 32)) * 0x9E3779B9;
+	return hash ^ (hash >>> 16);
 }
 /**
  * Puts the specified element into the hashtable, using the specified
  * key.  The element may be retrieved by doing a get() with the same key.
  *
  * @param key <CODE>long</CODE> the specified key in the hashtable
- * @param value <CODE>int</CODE> the specified element
+ * @param value <CODE>int</CODE> the specified element, greater than 0
  * @return int value
  */
 public int put(long key, int value) {
-	int index = hash(key), length = this.keyTable.length;
-	while ((this.keyTable[index] != 0) || ((this.keyTable[index] == 0) && (this.valueTable[index] != 0))) {
+	int mask = this.keyTable.length - 1;
+	int index = hash(key) & mask;
+	for (; this.valueTable[index] != 0; index = (index + 1) & mask) {
 		if (this.keyTable[index] == key)
 			return this.valueTable[index] = value;
-		if (++index == length) {
-			index = 0;
-		}
 	}
 	this.keyTable[index] = key;
 	this.valueTable[index] = value;
-
-	// assumes the threshold is never equal to the size of the table
-	if (++this.elementSize > this.threshold) {
+	if (++this.elementSize > this.threshold)
 		rehash();
-	}
 	return value;
 }
 /**
- * Puts the specified element into the hashtable, using the specified
+ * Puts the specified element into the hashtable if absent, using the specified
  * key.  The element may be retrieved by doing a get() with the same key.
  *
  * @param key <CODE>long</CODE> the specified key in the hashtable
- * @param value <CODE>int</CODE> the specified element
- * @return int value
+ * @param value <CODE>int</CODE> the specified element, greater than 0
+ * @return int the value of the key, or -value if it did not have one
  */
 public int putIfAbsent(long key, int value) {
-	int index = hash(key), length = this.keyTable.length;
-	while ((this.keyTable[index] != 0) || ((this.keyTable[index] == 0) && (this.valueTable[index] != 0))) {
+	int mask = this.keyTable.length - 1;
+	int index = hash(key) & mask;
+	for (; this.valueTable[index] != 0; index = (index + 1) & mask) {
 		if (this.keyTable[index] == key)
 			return this.valueTable[index];
-		if (++index == length) {
-			index = 0;
-		}
 	}
 	this.keyTable[index] = key;
 	this.valueTable[index] = value;
-
-	// assumes the threshold is never equal to the size of the table
-	if (++this.elementSize > this.threshold) {
+	if (++this.elementSize > this.threshold)
 		rehash();
-	}
 	return -value; // negative when added, assumes value is > 0
 }
 /**
- * Rehashes the content of the table into a bigger table.
- * This method is called automatically when the hashtable's
- * size exceeds the threshold.
+ * Doubles the number of slots, moving the entries straight into the new tables.
  */
 private void rehash() {
-	LongCache newHashtable = new LongCache(this.keyTable.length * 2);
-	for (int i = this.keyTable.length; --i >= 0;) {
-		long key = this.keyTable[i];
-		int value = this.valueTable[i];
-		if ((key != 0) || ((key == 0) && (value != 0))) {
-			newHashtable.put(key, value);
+	long[] oldKeys = this.keyTable;
+	int[] oldValues = this.valueTable;
+	int capacity = oldKeys.length * 2, mask = capacity - 1;
+	this.keyTable = new long[capacity];
+	this.valueTable = new int[capacity];
+	this.threshold = capacity * 3 / 4;
+	for (int i = oldKeys.length; --i >= 0;) {
+		int value = oldValues[i];
+		if (value != 0) {
+			long key = oldKeys[i];
+			int index = hash(key) & mask;
+			while (this.valueTable[index] != 0)
+				index = (index + 1) & mask;
+			this.keyTable[index] = key;
+			this.valueTable[index] = value;
 		}
 	}
-	this.keyTable = newHashtable.keyTable;
-	this.valueTable = newHashtable.valueTable;
-	this.threshold = newHashtable.threshold;
 }
 /**
  * Returns the number of elements contained in the hashtable.
@@ -153,16 +159,14 @@ public int size() {
  * @return String the ascii representation of the receiver
  */
 public String toString() {
-	int max = size();
 	StringBuffer buf = new StringBuffer();
 	buf.append("{"); //$NON-NLS-1$
-	for (int i = 0; i < max; ++i) {
-		if ((this.keyTable[i] != 0) || ((this.keyTable[i] == 0) && (this.valueTable[i] != 0))) {
+	for (int i = 0, length = this.keyTable.length; i < length; ++i) {
+		if (this.valueTable[i] != 0) {
+			if (buf.length() > 1)
+				buf.append(", "); //$NON-NLS-1$
 			buf.append(this.keyTable[i]).append("->").append(this.valueTable[i]); //$NON-NLS-1$
 		}
-		if (i < max) {
-			buf.append(", "); //$NON-NLS-1$
-		}
 	}
 	buf.append("}"); //$NON-NLS-1$
 	return buf.toString();
@@ -356,6 +356,7 @@ public UnconditionalFlowInfo mitigateNullInfoOf(FlowInfo flowInfo) {
             		newCopy = true;
             		source = source.unconditionalCopy();
         	  	}
+        	  	source.unshareExtra(NULL_EXTRA);
         		source.extra[1 + 1][i] &= ~m;
         		source.extra[2 + 1][i] &= (nm1 = ~m1) & ((nm2 = ~m2) | a4);
         		source.extra[3 + 1][i] &= (nm1 | a2) & nm2;
@@ -88,6 +88,10 @@ public class UnconditionalFlowInfo extends FlowInfo {
 		// extra[0] holds definiteInits values, extra[1] potentialInits, etc.
 		// lifecycle is extra == null or else all extra[]'s are allocated
 		// arrays which have the same size
+	int sharedExtra;
+		// rows of extra which copies of this flow info may share (bit 1 << row),
+		// they are copied before being written (copy on write, see unshareExtra)
+	static final int INITS_EXTRA = 0x03, NULL_EXTRA = 0x3C, ALL_EXTRA = 0x3F;
 
 	public int maxFieldCount; // limit between fields and locals
 
@@ -122,6 +126,7 @@ private FlowInfo addInfoFrom(FlowInfo inits, boolean handleInits) {
 	if (inits == DEAD_END)
 		return this;
 	UnconditionalFlowInfo otherInits = inits.unconditionalInits();
+	unshareExtra(handleInits ? ALL_EXTRA : NULL_EXTRA);
 
 	if (handleInits) {
 		// union of definitely assigned variables,
@@ -335,6 +340,7 @@ public FlowInfo addPotentialInitializationsFrom(FlowInfo inits) {
 	this.potentialInits |= otherInits.potentialInits;
 	// treating extra storage
 	if (this.extra != null) {
+		unshareExtra(INITS_EXTRA);
 		if (otherInits.extra != null) {
 			// both sides have extra storage
 			int i = 0, length, otherLength;
@@ -392,6 +398,7 @@ public UnconditionalFlowInfo addPotentialNullInfoFrom(
 		return this;
 	}
 	// if we get here, otherInits has some null info
+	unshareExtra(NULL_EXTRA);
 	boolean thisHadNulls = (this.tagBits & NULL_FLAG_MASK) != 0,
 		thisHasNulls = false;
 	long a1, a2, a3, a4,
@@ -639,28 +646,45 @@ public FlowInfo copy() {
 	copy.tagBits = this.tagBits;
 	copy.maxFieldCount = this.maxFieldCount;
 	if (this.extra != null) {
-		int length;
+		// share the rows until either side writes them
 		copy.extra = new long[extraLength][];
-		System.arraycopy(this.extra[0], 0,
-			(copy.extra[0] = new long[length = this.extra[0].length]), 0,
-			length);
-		System.arraycopy(this.extra[1], 0,
-			(copy.extra[1] = new long[length]), 0, length);
+		copy.extra[0] = this.extra[0];
+		copy.extra[1] = this.extra[1];
+		int shared = INITS_EXTRA;
 		if (hasNullInfo) {
 			for (int j = 2; j < extraLength; j++) {
-				System.arraycopy(this.extra[j], 0,
-					(copy.extra[j] = new long[length]), 0, length);
+				copy.extra[j] = this.extra[j];
 			}
+			shared = ALL_EXTRA;
 		}
 		else {
+			int length = this.extra[0].length;
 			for (int j = 2; j < extraLength; j++) {
 				copy.extra[j] = new long[length];
 			}
 		}
+		this.sharedExtra |= shared;
+		copy.sharedExtra = shared;
 	}
 	return copy;
 }
 
+/**
+ * Copy the given rows of extra (bits 1 &lt;&lt; row) if they are shared with other
+ * flow infos, so that they can be written.
+ */
+final void unshareExtra(int rows) {
+	int shared = this.sharedExtra & rows;
+	if (shared != 0) {
+		for (int j = 0; j < extraLength; j++) {
+			if ((shared & (1 << j)) != 0) {
+				this.extra[j] = this.extra[j].clone();
+			}
+		}
+		this.sharedExtra &= ~shared;
+	}
+}
+
 /**
  * Discard definite inits and potential inits from this, then return this.
  * The returned flow info only holds null related information.
@@ -673,6 +697,7 @@ public UnconditionalFlowInfo discardInitializationInfo() {
 	this.definiteInits =
 		this.potentialInits = 0;
 	if (this.extra != null) {
+		unshareExtra(INITS_EXTRA);
 		for (int i = 0, length = this.extra[0].length; i < length; i++) {
 			this.extra[0][i] = this.extra[1][i] = 0;
 		}
@@ -703,6 +728,7 @@ public UnconditionalFlowInfo discardNonFieldInitializations() {
 	if ((vectorIndex = (limit / BitCacheSize) - 1) >= length) {
 		return this; // not enough room yet
 	}
+	unshareExtra(ALL_EXTRA);
 	if (vectorIndex >= 0) {
 		// else we only have complete non field array items left
 		long mask = (1L << (limit % BitCacheSize))-1;
@@ -1086,6 +1112,7 @@ public void markAsComparedEqualToNonNull(LocalVariableBinding local) {
 		}
 		else {
 			// use extra vector
+			unshareExtra(NULL_EXTRA);
 			int vectorIndex = (position / BitCacheSize) - 1;
 			if (this.extra == null) {
 				int length = vectorIndex + 1;
@@ -1180,6 +1207,7 @@ public void markAsComparedEqualToNull(LocalVariableBinding local) {
 		}
 		else {
 			// use extra vector
+			unshareExtra(NULL_EXTRA);
 			int vectorIndex = (position / BitCacheSize) - 1;
 			mask = 1L << (position % BitCacheSize);
 			if (this.extra == null) {
@@ -1247,6 +1275,7 @@ final private void markAsDefinitelyAssigned(int position) {
 		}
 		else {
 			// use extra vector
+			unshareExtra(INITS_EXTRA);
 			int vectorIndex = (position / BitCacheSize) - 1;
 			if (this.extra == null) {
 				int length = vectorIndex + 1;
@@ -1305,6 +1334,7 @@ public void markAsDefinitelyNonNull(LocalVariableBinding local) {
     	}
     	else {
     		// use extra vector
+    		unshareExtra(NULL_EXTRA);
     		int vectorIndex = (position / BitCacheSize) - 1;
     		if (this.extra == null) {
     			int length = vectorIndex + 1;
@@ -1359,6 +1389,7 @@ public void markAsDefinitelyNull(LocalVariableBinding local) {
     	}
     	else {
     		// use extra vector
+    		unshareExtra(NULL_EXTRA);
     		int vectorIndex = (position / BitCacheSize) - 1;
     		if (this.extra == null) {
     			int length = vectorIndex + 1;
@@ -1420,6 +1451,7 @@ public void markAsDefinitelyUnknown(LocalVariableBinding local) {
 		}
 		else {
 			// use extra vector
+			unshareExtra(NULL_EXTRA);
 			int vectorIndex = (position / BitCacheSize) - 1;
 			if (this.extra == null) {
 				int length = vectorIndex + 1;
@@ -1465,6 +1497,7 @@ public void resetNullInfo(LocalVariableBinding local) {
             this.nullBit4 &= mask;
         } else {
     		// use extra vector
+    		unshareExtra(NULL_EXTRA);
     		int vectorIndex = (position / BitCacheSize) - 1;
     		if (this.extra == null || vectorIndex >= this.extra[2].length) {
     			// in case we attempt to reset the null info of a variable that has not been encountered
@@ -1502,6 +1535,7 @@ public void markPotentiallyUnknownBit(LocalVariableBinding local) {
 			}
         } else {
     		// use extra vector
+    		unshareExtra(NULL_EXTRA);
     		int vectorIndex = (position / BitCacheSize) - 1;
     		if (this.extra == null) {
 				int length = vectorIndex + 1;
@@ -1552,6 +1586,7 @@ public void markPotentiallyNullBit(LocalVariableBinding local) {
 			}
         } else {
     		// use extra vector
+    		unshareExtra(NULL_EXTRA);
     		int vectorIndex = (position / BitCacheSize) - 1;
     		if (this.extra == null) {
 				int length = vectorIndex + 1;
@@ -1602,6 +1637,7 @@ public void markPotentiallyNonNullBit(LocalVariableBinding local) {
 			}
         } else {
     		// use extra vector
+    		unshareExtra(NULL_EXTRA);
     		int vectorIndex  = (position / BitCacheSize) - 1;
     		if (this.extra == null) {
 				int length = vectorIndex + 1;
@@ -1652,6 +1688,7 @@ public UnconditionalFlowInfo mergedWith(UnconditionalFlowInfo otherInits) {
 		}
 		return (UnconditionalFlowInfo) otherInits.copy(); // make sure otherInits won't be affected
 	}
+	unshareExtra(ALL_EXTRA);
 
 	// intersection of definitely assigned variables,
 	this.definiteInits &= otherInits.definiteInits;
@@ -1915,16 +1952,15 @@ public UnconditionalFlowInfo nullInfoLessUnconditionalCopy() {
 	copy.tagBits = this.tagBits & ~NULL_FLAG_MASK;
 	copy.maxFieldCount = this.maxFieldCount;
 	if (this.extra != null) {
-		int length;
+		int length = this.extra[0].length;
 		copy.extra = new long[extraLength][];
-		System.arraycopy(this.extra[0], 0,
-			(copy.extra[0] =
-				new long[length = this.extra[0].length]), 0, length);
-		System.arraycopy(this.extra[1], 0,
-			(copy.extra[1] = new long[length]), 0, length);
+		copy.extra[0] = this.extra[0];
+		copy.extra[1] = this.extra[1];
 		for (int j = 2; j < extraLength; j++) {
 			copy.extra[j] = new long[length];
 		}
+		this.sharedExtra |= INITS_EXTRA;
+		copy.sharedExtra = INITS_EXTRA;
 	}
 	return copy;
 }
@@ -1947,6 +1983,7 @@ public FlowInfo setReachMode(int reachMode) {
 			// see InitializationTest#test090 (and others)
 			this.potentialInits = 0;
 			if (this.extra != null) {
+				unshareExtra(INITS_EXTRA);
 				for (int i = 0, length = this.extra[0].length;
 						i < length; i++) {
 					this.extra[1][i] = 0;
@@ -2103,6 +2140,7 @@ public void resetAssignmentInfo(int position) {
 			this.potentialInits &= mask;
 		} else {
 			// use extra vector
+			unshareExtra(INITS_EXTRA);
 			int vectorIndex = (position / BitCacheSize) - 1;
 			if (this.extra == null || vectorIndex >= this.extra[0].length) return;	// variable doesnt exist in flow info
 			long mask;
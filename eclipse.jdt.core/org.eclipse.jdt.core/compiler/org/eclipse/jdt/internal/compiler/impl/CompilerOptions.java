@@ -50,6 +50,7 @@ public class CompilerOptions {
 	public static final String OPTION_SourceFileAttribute = "org.eclipse.jdt.core.compiler.debug.sourceFile"; //$NON-NLS-1$
 	public static final String OPTION_PreserveUnusedLocal = "org.eclipse.jdt.core.compiler.codegen.unusedLocal"; //$NON-NLS-1$
 	public static final String OPTION_MethodParametersAttribute = "org.eclipse.jdt.core.compiler.codegen.methodParameters"; //$NON-NLS-1$
+	public static final String OPTION_OperatorCallSitesAttribute = "org.eclipse.jdt.core.compiler.codegen.operatorCallSites"; //$NON-NLS-1$
 	public static final String OPTION_LambdaGenericSignature = "org.eclipse.jdt.core.compiler.codegen.lambda.genericSignature"; //$NON-NLS-1$
 	public static final String OPTION_DocCommentSupport= "org.eclipse.jdt.core.compiler.doc.comment.support"; //$NON-NLS-1$
 	public static final String OPTION_ReportMethodWithConstructorName = "org.eclipse.jdt.core.compiler.problem.methodWithConstructorName"; //$NON-NLS-1$
@@ -157,6 +158,8 @@ public class CompilerOptions {
 	public static final String OPTION_ReportTasks = "org.eclipse.jdt.core.compiler.problem.tasks"; //$NON-NLS-1$
 	public static final String OPTION_ReportUnusedObjectAllocation = "org.eclipse.jdt.core.compiler.problem.unusedObjectAllocation";  //$NON-NLS-1$
 	public static final String OPTION_ForceMAXJ = "org.eclipse.jdt.core.compiler.forceMaxJ"; //$NON-NLS-1$
+	public static final String OPTION_FuseOperatorChains = "org.eclipse.jdt.core.compiler.fuseOperatorChains"; //$NON-NLS-1$
+	public static final String OPTION_MaxWarningsPerUnit = "org.eclipse.jdt.core.compiler.maxWarningsPerUnit"; //$NON-NLS-1$
 	/**
 	 * Illegal mexeler assert
 	 */
@@ -323,10 +326,14 @@ public class CompilerOptions {
 	 * Default settings are to be defined in {@lnk CompilerOptions#resetDefaults()}
 	 */
 	public boolean forceMAXJ;
+	/** Operator overloading: compile chains like <code>a + b + c</code> to a single call of an n-ary or varargs <code>add</code>, when there is one */
+	public boolean fuseOperatorChains;
 	/** Classfile debug information, may contain source file name, line numbers, local variable tables, etc... */
 	public int produceDebugAttributes; 
 	/** Classfile method patameters information as per JEP 118... */
 	public boolean produceMethodParameters;
+	/** Operator overloading: list the invocations overloaded operators and DSL statements compile to in an OperatorCallSites attribute */
+	public boolean produceOperatorCallSites;
 	/** Indicates whether generic signature should be generated for lambda expressions */
 	public boolean generateGenericSignatureForLambdaExpressions;
 	/** Compliance level for the compiler, refers to a JDK version, e.g. {@link ClassFileConstants#JDK1_4} */
@@ -357,6 +364,8 @@ public class CompilerOptions {
 	public boolean parseLiteralExpressionsAsConstants;
 	/** Max problems per compilation unit */
 	public int maxProblemsPerUnit;
+	/** Max warnings per compilation unit, the others are counted in a single warning, 0 for no limit */
+	public int maxWarningsPerUnit;
 	/** Tags used to recognize tasks in comments */
 	public char[][] taskTags;
 	/** Respective priorities of recognized task tags */
@@ -1064,6 +1073,7 @@ public class CompilerOptions {
 		optionsMap.put(OPTION_LineNumberAttribute, (this.produceDebugAttributes & ClassFileConstants.ATTR_LINES) != 0 ? GENERATE : DO_NOT_GENERATE);
 		optionsMap.put(OPTION_SourceFileAttribute, (this.produceDebugAttributes & ClassFileConstants.ATTR_SOURCE) != 0 ? GENERATE : DO_NOT_GENERATE);
 		optionsMap.put(OPTION_MethodParametersAttribute, this.produceMethodParameters ? GENERATE : DO_NOT_GENERATE);
+		optionsMap.put(OPTION_OperatorCallSitesAttribute, this.produceOperatorCallSites ? GENERATE : DO_NOT_GENERATE);
 		optionsMap.put(OPTION_LambdaGenericSignature, this.generateGenericSignatureForLambdaExpressions ? GENERATE : DO_NOT_GENERATE);
 		optionsMap.put(OPTION_PreserveUnusedLocal, this.preserveAllLocalVariables ? PRESERVE : OPTIMIZE_OUT);
 		optionsMap.put(OPTION_DocCommentSupport, this.docCommentSupport ? ENABLED : DISABLED);
@@ -1133,6 +1143,7 @@ public class CompilerOptions {
 		optionsMap.put(OPTION_ReportUnusedTypeArgumentsForMethodInvocation, getSeverityString(UnusedTypeArguments));
 		optionsMap.put(OPTION_Compliance, versionFromJdkLevel(this.complianceLevel));
 		optionsMap.put(OPTION_ForceMAXJ, this.forceMAXJ ? ENABLED : DISABLED);
+		optionsMap.put(OPTION_FuseOperatorChains, this.fuseOperatorChains ? ENABLED : DISABLED);
 		optionsMap.put(OPTION_ReportMaxelerAssertStatement, getSeverityString(MaxelerAssertStatement));
 
 		optionsMap.put(OPTION_Source, versionFromJdkLevel(this.sourceLevel));
@@ -1149,6 +1160,7 @@ public class CompilerOptions {
 		optionsMap.put(OPTION_ReportUnusedParameterIncludeDocCommentReference, this.reportUnusedParameterIncludeDocCommentReference ? ENABLED : DISABLED);
 		optionsMap.put(OPTION_ReportSpecialParameterHidingField, this.reportSpecialParameterHidingField ? ENABLED : DISABLED);
 		optionsMap.put(OPTION_MaxProblemPerUnit, String.valueOf(this.maxProblemsPerUnit));
+		optionsMap.put(OPTION_MaxWarningsPerUnit, String.valueOf(this.maxWarningsPerUnit));
 		optionsMap.put(OPTION_InlineJsr, this.inlineJsrBytecode ? ENABLED : DISABLED);
 		optionsMap.put(OPTION_ShareCommonFinallyBlocks, this.shareCommonFinallyBlocks ? ENABLED : DISABLED);
 		optionsMap.put(OPTION_ReportNullReference, getSeverityString(NullReference));
@@ -1259,12 +1271,14 @@ public class CompilerOptions {
 		this.preserveAllLocalVariables = false;
 		
 		this.produceMethodParameters = false;
+		this.produceOperatorCallSites = false;
 
 		// indicates whether literal expressions are inlined at parse-time or not
 		this.parseLiteralExpressionsAsConstants = true;
 
 		// max problems per compilation unit
 		this.maxProblemsPerUnit = 100; // no more than 100 problems per default
+		this.maxWarningsPerUnit = 0; // all warnings per default
 
 		// tags used to recognize tasks in comments
 		this.taskTags = null;
@@ -1311,6 +1325,7 @@ public class CompilerOptions {
 		this.shareCommonFinallyBlocks = false;
 
 		this.forceMAXJ = false;
+		this.fuseOperatorChains = false;
 
 		// javadoc comment support
 		this.docCommentSupport = false;
@@ -1419,6 +1434,13 @@ public class CompilerOptions {
 				this.forceMAXJ = false;
 			}
 		}
+		if ((optionValue = optionsMap.get(OPTION_FuseOperatorChains)) != null) {
+			if (ENABLED.equals(optionValue)) {
+				this.fuseOperatorChains = true;
+			} else if (DISABLED.equals(optionValue)) {
+				this.fuseOperatorChains = false;
+			}
+		}
 		if ((optionValue = optionsMap.get(OPTION_ReportUnusedDeclaredThrownExceptionWhenOverriding)) != null) {
 			if (ENABLED.equals(optionValue)) {
 				this.reportUnusedDeclaredThrownExceptionWhenOverriding = true;
@@ -1522,6 +1544,17 @@ public class CompilerOptions {
 				}
 			}
 		}
+		if ((optionValue = optionsMap.get(OPTION_MaxWarningsPerUnit)) != null) {
+			if (optionValue instanceof String) {
+				String stringValue = (String) optionValue;
+				try {
+					int val = Integer.parseInt(stringValue);
+					if (val >= 0) this.maxWarningsPerUnit = val;
+				} catch(NumberFormatException e){
+					// ignore ill-formatted limit
+				}
+			}
+		}
 		if ((optionValue = optionsMap.get(OPTION_TaskTags)) != null) {
 			if (optionValue instanceof String) {
 				String stringValue = (String) optionValue;
@@ -1572,6 +1605,13 @@ public class CompilerOptions {
 				this.produceMethodParameters = false;
 			}
 		}
+		if ((optionValue = optionsMap.get(OPTION_OperatorCallSitesAttribute)) != null) {
+			if (GENERATE.equals(optionValue)) {
+				this.produceOperatorCallSites = true;
+			} else if (DO_NOT_GENERATE.equals(optionValue)) {
+				this.produceOperatorCallSites = false;
+			}
+		}
 		if ((optionValue = optionsMap.get(OPTION_LambdaGenericSignature)) != null) {
 			if (GENERATE.equals(optionValue)) {
 				this.generateGenericSignatureForLambdaExpressions = true;
@@ -1879,6 +1919,7 @@ public class CompilerOptions {
 		buf.append("\n\t- line number debug attributes: ").append((this.produceDebugAttributes & ClassFileConstants.ATTR_LINES) != 0 ? "ON" : " OFF"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 		buf.append("\n\t- source debug attributes: ").append((this.produceDebugAttributes & ClassFileConstants.ATTR_SOURCE) != 0 ? "ON" : " OFF"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 		buf.append("\n\t- MethodParameters attributes: ").append(this.produceMethodParameters ? GENERATE : DO_NOT_GENERATE); //$NON-NLS-1$
+		buf.append("\n\t- OperatorCallSites attributes: ").append(this.produceOperatorCallSites ? GENERATE : DO_NOT_GENERATE); //$NON-NLS-1$
 		buf.append("\n\t- Generic signature for lambda expressions: ").append(this.generateGenericSignatureForLambdaExpressions ? GENERATE : DO_NOT_GENERATE); //$NON-NLS-1$
 		buf.append("\n\t- preserve all local variables: ").append(this.preserveAllLocalVariables ? "ON" : " OFF"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
 		buf.append("\n\t- method with constructor name: ").append(getSeverityString(MethodWithConstructorName)); //$NON-NLS-1$
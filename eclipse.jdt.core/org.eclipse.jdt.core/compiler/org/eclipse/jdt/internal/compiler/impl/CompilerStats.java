@@ -10,9 +10,34 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.compiler.impl;
 
+import java.io.IOException;
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+
 @SuppressWarnings("rawtypes")
 public class CompilerStats implements Comparable {
 
+	// compile phases, as indexes of UnitStats#times and UnitStats#allocations
+	public static final int PARSE = 0;
+	public static final int RESOLVE = 1;
+	public static final int ANALYZE = 2;
+	public static final int GENERATE = 3;
+	static final String[] PHASE_NAMES = { "parse", "resolve", "analyze", "generate" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+
+	// counters, as indexes of #counters and UnitStats#counters
+	public static final int OPERATOR_OVERLOAD_HITS = 0; // lookups answered by the operator overload cache
+	public static final int OPERATOR_OVERLOAD_MISSES = 1;
+	public static final int OPERATOR_OVERLOAD_AMBIGUITIES = 2;
+	public static final int BINARY_TYPES = 3; // binary types loaded
+	public static final int CLASSPATH_LOOKUPS = 4; // queries of the name environment
+	public static final int OPERATOR_INFERENCE_HITS = 5; // generic operator methods whose inference was memoized
+	public static final int OPERATOR_INFERENCE_MISSES = 6;
+	static final String[] COUNTER_NAMES = { "operatorOverloadHits", "operatorOverloadMisses", "operatorOverloadAmbiguities", "binaryTypes", "classpathLookups", "operatorInferenceHits", "operatorInferenceMisses" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$
+
 	// overall
 	public long startTime;
 	public long endTime;
@@ -24,6 +49,111 @@ public class CompilerStats implements Comparable {
 	public long analyzeTime;
 	public long generateTime;
 
+	public long[] counters = new long[COUNTER_NAMES.length];
+
+	// per unit statistics, only recorded once enabled by recordUnits()
+	public ArrayList<UnitStats> units;
+
+/**
+ * Statistics of a compilation unit: time (in nanoseconds) and allocated memory (in bytes, -1 if
+ * the VM does not tell) per phase, and the counters incremented while the unit was processed.
+ * The times of a phase only include the work done for this unit, not the work done for all
+ * units at once, e.g. the completion of type bindings, which is only part of the totals.
+ */
+public static class UnitStats {
+	public final String fileName;
+	public long lineCount;
+	public final long[] times = new long[PHASE_NAMES.length];
+	public final long[] allocations = new long[PHASE_NAMES.length];
+	public final long[] counters = new long[COUNTER_NAMES.length];
+
+	private long phaseStart, phaseAllocationStart;
+
+	UnitStats(String fileName) {
+		this.fileName = fileName;
+	}
+
+	/**
+	 * Start measuring a phase on the current thread.
+	 */
+	public void startPhase() {
+		this.phaseAllocationStart = allocatedBytes();
+		this.phaseStart = System.nanoTime();
+	}
+
+	/**
+	 * Stop measuring the given phase, started on the current thread, and start measuring the next one.
+	 */
+	public void endPhase(int phase) {
+		long now = System.nanoTime();
+		long allocated = allocatedBytes();
+		this.times[phase] += now - this.phaseStart;
+		if (allocated >= 0 && this.allocations[phase] >= 0)
+			this.allocations[phase] += allocated - this.phaseAllocationStart;
+		else
+			this.allocations[phase] = -1;
+		this.phaseAllocationStart = allocated;
+		this.phaseStart = now;
+	}
+
+	public long elapsedTime() {
+		long time = 0;
+		for (int i = 0; i < this.times.length; i++)
+			time += this.times[i];
+		return time;
+	}
+}
+
+private static Object ThreadBean;
+private static Method GetThreadAllocatedBytes; // com.sun.management.ThreadMXBean#getThreadAllocatedBytes(long), when available
+
+static {
+	try {
+		Object threadBean = ManagementFactory.getThreadMXBean();
+		Method method = Class.forName("com.sun.management.ThreadMXBean").getMethod("getThreadAllocatedBytes", new Class[] { long.class }); //$NON-NLS-1$ //$NON-NLS-2$
+		if (method.getDeclaringClass().isInstance(threadBean)) {
+			ThreadBean = threadBean;
+			GetThreadAllocatedBytes = method;
+		}
+	} catch (Exception e) {
+		// not a HotSpot VM, allocations are not recorded
+	} catch (LinkageError e) {
+		// no java.lang.management, allocations are not recorded
+	}
+}
+
+/**
+ * Answer the number of bytes allocated so far by the current thread, or -1 if the VM does not tell.
+ */
+static long allocatedBytes() {
+	if (GetThreadAllocatedBytes == null)
+		return -1;
+	try {
+		return ((Long) GetThreadAllocatedBytes.invoke(ThreadBean, new Object[] { Long.valueOf(Thread.currentThread().getId()) })).longValue();
+	} catch (Exception e) {
+		return -1;
+	}
+}
+
+/**
+ * Record statistics per compilation unit from now on.
+ */
+public void recordUnits() {
+	if (this.units == null)
+		this.units = new ArrayList<UnitStats>();
+}
+
+/**
+ * Answer new statistics for the given unit, or <code>null</code> if units are not recorded.
+ */
+public synchronized UnitStats newUnit(char[] fileName) {
+	if (this.units == null)
+		return null;
+	UnitStats unit = new UnitStats(new String(fileName));
+	this.units.add(unit);
+	return unit;
+}
+
 /**
  * Returns the total elapsed time (between start and end)
  * @return the time spent between start and end
@@ -41,4 +171,126 @@ public int compareTo(Object o) {
 	long time2 = otherStats.elapsedTime();
 	return time1 < time2 ? -1 : (time1 == time2 ? 0 : 1);
 }
+
+/**
+ * Write these statistics as JSON: totals, counters, then units from the slowest to the fastest.
+ * Field names carry their unit: totals are in milliseconds, as measured for the -time output,
+ * whereas the phases of a unit are in nanoseconds.
+ */
+public void writeJSON(Writer writer) throws IOException {
+	StringBuffer buffer = new StringBuffer();
+	buffer.append("{\n"); //$NON-NLS-1$
+	buffer.append("  \"elapsedMillis\": ").append(elapsedTime()).append(",\n"); //$NON-NLS-1$ //$NON-NLS-2$
+	buffer.append("  \"lineCount\": ").append(this.lineCount).append(",\n"); //$NON-NLS-1$ //$NON-NLS-2$
+	buffer.append("  \"phaseMillis\": { "); //$NON-NLS-1$
+	long[] phaseTimes = { this.parseTime, this.resolveTime, this.analyzeTime, this.generateTime };
+	for (int i = 0; i < phaseTimes.length; i++) {
+		if (i > 0) buffer.append(", "); //$NON-NLS-1$
+		buffer.append('"').append(PHASE_NAMES[i]).append("\": ").append(phaseTimes[i]); //$NON-NLS-1$
+	}
+	buffer.append(" },\n"); //$NON-NLS-1$
+	buffer.append("  \"counters\": { "); //$NON-NLS-1$
+	appendJSONCounters(buffer, this.counters);
+	buffer.append(" },\n"); //$NON-NLS-1$
+	buffer.append("  \"units\": ["); //$NON-NLS-1$
+	UnitStats[] sortedUnits = sortedUnits();
+	for (int i = 0; i < sortedUnits.length; i++) {
+		UnitStats unit = sortedUnits[i];
+		buffer.append(i == 0 ? "\n" : ",\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		buffer.append("    { \"file\": "); //$NON-NLS-1$
+		appendJSONString(buffer, unit.fileName);
+		buffer.append(", \"lineCount\": ").append(unit.lineCount); //$NON-NLS-1$
+		buffer.append(", \"elapsedNanos\": ").append(unit.elapsedTime()); //$NON-NLS-1$
+		for (int phase = 0; phase < PHASE_NAMES.length; phase++) {
+			buffer.append(", \"").append(PHASE_NAMES[phase]).append("\": { \"nanos\": ").append(unit.times[phase]); //$NON-NLS-1$ //$NON-NLS-2$
+			buffer.append(", \"allocatedBytes\": ").append(unit.allocations[phase]).append(" }"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		buffer.append(", "); //$NON-NLS-1$
+		appendJSONCounters(buffer, unit.counters);
+		buffer.append(" }"); //$NON-NLS-1$
+		if (buffer.length() > 8192) {
+			writer.write(buffer.toString());
+			buffer.setLength(0);
+		}
+	}
+	buffer.append("\n  ]\n}\n"); //$NON-NLS-1$
+	writer.write(buffer.toString());
+}
+
+/**
+ * Write the statistics of the units as CSV, a line per unit from the slowest to the fastest.
+ * Times are in nanoseconds, allocations in bytes.
+ */
+public void writeCSV(Writer writer) throws IOException {
+	StringBuffer buffer = new StringBuffer();
+	buffer.append("file,lineCount,elapsedNanos"); //$NON-NLS-1$
+	for (int phase = 0; phase < PHASE_NAMES.length; phase++)
+		buffer.append(',').append(PHASE_NAMES[phase]).append("Nanos,").append(PHASE_NAMES[phase]).append("AllocatedBytes"); //$NON-NLS-1$ //$NON-NLS-2$
+	for (int counter = 0; counter < COUNTER_NAMES.length; counter++)
+		buffer.append(',').append(COUNTER_NAMES[counter]);
+	buffer.append('\n');
+	UnitStats[] sortedUnits = sortedUnits();
+	for (int i = 0; i < sortedUnits.length; i++) {
+		UnitStats unit = sortedUnits[i];
+		String fileName = unit.fileName;
+		if (fileName.indexOf(',') >= 0 || fileName.indexOf('"') >= 0)
+			fileName = '"' + fileName.replace("\"", "\"\"") + '"'; //$NON-NLS-1$ //$NON-NLS-2$
+		buffer.append(fileName).append(',').append(unit.lineCount).append(',').append(unit.elapsedTime());
+		for (int phase = 0; phase < PHASE_NAMES.length; phase++)
+			buffer.append(',').append(unit.times[phase]).append(',').append(unit.allocations[phase]);
+		for (int counter = 0; counter < COUNTER_NAMES.length; counter++)
+			buffer.append(',').append(unit.counters[counter]);
+		buffer.append('\n');
+		if (buffer.length() > 8192) {
+			writer.write(buffer.toString());
+			buffer.setLength(0);
+		}
+	}
+	writer.write(buffer.toString());
+}
+
+private UnitStats[] sortedUnits() {
+	if (this.units == null)
+		return new UnitStats[0];
+	UnitStats[] sortedUnits;
+	synchronized (this) {
+		sortedUnits = this.units.toArray(new UnitStats[this.units.size()]);
+	}
+	Arrays.sort(sortedUnits, new Comparator<UnitStats>() {
+		public int compare(UnitStats unit1, UnitStats unit2) {
+			long time1 = unit1.elapsedTime();
+			long time2 = unit2.elapsedTime();
+			return time1 > time2 ? -1 : (time1 == time2 ? 0 : 1);
+		}
+	});
+	return sortedUnits;
+}
+
+private static void appendJSONCounters(StringBuffer buffer, long[] counters) {
+	for (int counter = 0; counter < COUNTER_NAMES.length; counter++) {
+		if (counter > 0) buffer.append(", "); //$NON-NLS-1$
+		buffer.append('"').append(COUNTER_NAMES[counter]).append("\": ").append(counters[counter]); //$NON-NLS-1$
+	}
+}
+
+private static void appendJSONString(StringBuffer buffer, String string) {
+	buffer.append('"');
+	for (int i = 0, length = string.length(); i < length; i++) {
+		char c = string.charAt(i);
+		switch (c) {
+			case '"' :
+			case '\\' :
+				buffer.append('\\').append(c);
+				break;
+			default :
+				if (c < 0x20) {
+					String hex = Integer.toHexString(c);
+					buffer.append("\\u0000", 0, 6 - hex.length()).append(hex); //$NON-NLS-1$
+				} else {
+					buffer.append(c);
+				}
+		}
+	}
+	buffer.append('"');
+}
 }
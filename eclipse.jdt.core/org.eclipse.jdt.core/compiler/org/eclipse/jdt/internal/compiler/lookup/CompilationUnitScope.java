@@ -38,6 +38,8 @@ public class CompilationUnitScope extends Scope {
 	private SimpleNameVector rootReferences;
 	private ObjectVector referencedTypes;
 	private ObjectVector referencedSuperTypes;
+	// selector -> int[] {mask of the arities it was looked up with, see recordMemberReference()}
+	private HashtableOfObject memberReferences;
 
 	HashtableOfType constantPoolNameUsage;
 	private int captureID = 1;
@@ -71,12 +73,14 @@ public CompilationUnitScope(CompilationUnitDeclaration unit, LookupEnvironment e
 		this.rootReferences = new SimpleNameVector();
 		this.referencedTypes = new ObjectVector();
 		this.referencedSuperTypes = new ObjectVector();
+		this.memberReferences = new HashtableOfObject();
 	} else {
 		this.qualifiedReferences = null; // used to test if dependencies should be recorded
 		this.simpleNameReferences = null;
 		this.rootReferences = null;
 		this.referencedTypes = null;
 		this.referencedSuperTypes = null;
+		this.memberReferences = null;
 	}
 }
 void buildFieldsAndMethods() {
@@ -543,6 +547,7 @@ private Binding findSingleStaticImport(char[][] compoundName, int mask) {
 	}
 
 	// look to see if there is a static method with the same selector
+	recordMemberReference(name, -1);
 	MethodBinding method = (mask & Binding.METHOD) != 0 ? findStaticMethod(type, name) : null;
 	if (method != null) return method;
 
@@ -655,6 +660,28 @@ OR 'a' -> 'a' in the simple name collection
 -> As long as each single char[] is interned, we should not have a space problem
  and can handle collision cases.
 */
+/*
+Member references are recorded as the selectors of the methods and the names of the fields
+looked up by the unit, whether found or not, so that adding, removing or changing a member of
+a type only affects the units which looked up its name:
+ 'foo/2' for a method foo looked up with 2 arguments (constructors are '<init>/n')
+ 'foo/*' for a method foo looked up with any number of arguments (static imports, method references)
+ 'foo' for a field foo
+*/
+public void recordMemberReference(char[] name) {
+	recordMemberReference(name, MEMBER_FIELD);
+}
+public void recordMemberReference(char[] selector, int arity) {
+	if (this.memberReferences == null) return; // not recording dependencies
+
+	int bit = arity == MEMBER_FIELD ? 1 << 31 : arity < 0 || arity >= MEMBER_MAX_ARITY ? 1 << MEMBER_MAX_ARITY : 1 << arity;
+	int[] arities = (int[]) this.memberReferences.get(selector);
+	if (arities == null)
+		this.memberReferences.put(selector, arities = new int[1]);
+	arities[0] |= bit;
+}
+static final int MEMBER_FIELD = Integer.MIN_VALUE;
+static final int MEMBER_MAX_ARITY = 30; // larger arities are recorded as any arity
 void recordQualifiedReference(char[][] qualifiedName) {
 	if (this.qualifiedReferences == null) return; // not recording dependencies
 
@@ -794,6 +821,66 @@ public void storeDependencyInfo() {
 	for (int i = 0; i < size; i++)
 		rootRefs[i] = this.rootReferences.elementAt(i);
 	this.referenceContext.compilationResult.rootReferences = rootRefs;
+
+	SimpleNameVector memberRefs = new SimpleNameVector();
+	char[][] selectors = this.memberReferences.keyTable;
+	Object[] arities = this.memberReferences.valueTable;
+	for (int i = 0, l = selectors.length; i < l; i++) {
+		if (selectors[i] == null) continue;
+		int mask = ((int[]) arities[i])[0];
+		if ((mask & (1 << 31)) != 0)
+			memberRefs.add(selectors[i]);
+		if ((mask & (1 << MEMBER_MAX_ARITY)) != 0) {
+			memberRefs.add(CharOperation.concat(selectors[i], new char[] {'/', '*'}));
+			continue; // covers all the arities
+		}
+		for (int arity = 0; arity < MEMBER_MAX_ARITY; arity++)
+			if ((mask & (1 << arity)) != 0)
+				memberRefs.add(CharOperation.concat(selectors[i], String.valueOf(arity).toCharArray(), '/'));
+	}
+	char[][] memberReferenceNames = new char[memberRefs.size][];
+	memberRefs.copyInto(memberReferenceNames);
+	this.referenceContext.compilationResult.memberReferences = memberReferenceNames;
+
+	// the types declared by this unit inherit, override or implement the members of their supertypes,
+	// so they depend on any change to them
+	SimpleNameVector superTypeRefs = new SimpleNameVector();
+	ObjectVector visited = new ObjectVector();
+	for (int i = 0, l = this.topLevelTypes.length; i < l; i++)
+		recordSuperTypesOfDeclaredType(this.topLevelTypes[i], superTypeRefs, visited);
+	CompilationUnitDeclaration unit = this.referenceContext;
+	for (int i = 0; i < unit.localTypeCount; i++)
+		recordSuperTypesOf(unit.localTypes[i], superTypeRefs, visited);
+	char[][] superTypeNames = new char[superTypeRefs.size][];
+	superTypeRefs.copyInto(superTypeNames);
+	this.referenceContext.compilationResult.superTypeReferences = superTypeNames;
+}
+private void recordSuperTypesOfDeclaredType(ReferenceBinding type, SimpleNameVector superTypeNames, ObjectVector visited) {
+	recordSuperTypesOf(type, superTypeNames, visited);
+	ReferenceBinding[] memberTypes = type.memberTypes();
+	for (int i = 0, l = memberTypes.length; i < l; i++)
+		recordSuperTypesOfDeclaredType(memberTypes[i], superTypeNames, visited);
+}
+private void recordSuperTypesOf(ReferenceBinding type, SimpleNameVector superTypeNames, ObjectVector visited) {
+	if (visited.containsIdentical(type)) return;
+	visited.add(type);
+
+	ReferenceBinding superclass = type.superclass();
+	if (superclass != null)
+		recordSuperType(superclass, superTypeNames, visited);
+	ReferenceBinding[] interfaces = type.superInterfaces();
+	if (interfaces != null)
+		for (int i = 0, l = interfaces.length; i < l; i++)
+			recordSuperType(interfaces[i], superTypeNames, visited);
+}
+private void recordSuperType(ReferenceBinding superType, SimpleNameVector superTypeNames, ObjectVector visited) {
+	ReferenceBinding actualType = typeToRecord(superType);
+	if (actualType == null) return;
+	// changes are reported against the top level type
+	ReferenceBinding topLevelType = actualType.outermostEnclosingType();
+	if (!superTypeNames.contains(topLevelType.sourceName))
+		superTypeNames.add(topLevelType.sourceName);
+	recordSuperTypesOf(actualType, superTypeNames, visited);
 }
 public String toString() {
 	return "--- CompilationUnit Scope : " + new String(this.referenceContext.getFileName()); //$NON-NLS-1$
@@ -83,6 +83,13 @@ public class LookupEnvironment implements ProblemReasons, TypeConstants {
 	private SimpleLookupTable uniquePolymorphicMethodBindings;
 	private SimpleLookupTable uniqueGetClassMethodBinding; // https://bugs.eclipse.org/bugs/show_bug.cgi?id=300734
 
+	// Operator overloading: resolved methods per operator shape
+	public OperatorOverloadCache operatorOverloadCache;
+
+	// statistics, not reset with the environment (see CompilerStats)
+	public int binaryTypes; // binary type bindings created
+	public int classpathLookups; // queries of the name environment
+
 	public CompilationUnitDeclaration unitBeingCompleted = null; // only set while completing units
 	public Object missingClassFileLocation = null; // only set when resolving certain references, to help locating problems
 	private CompilationUnitDeclaration[] units = new CompilationUnitDeclaration[4];
@@ -125,6 +132,7 @@ public LookupEnvironment(ITypeRequestor typeRequestor, CompilerOptions globalOpt
 	this.accessRestrictions = new HashMap(3);
 	this.classFilePool = ClassFilePool.newInstance();
 	this.typesBeingConnected = new HashSet();
+	this.operatorOverloadCache = new OperatorOverloadCache();
 	this.typeSystem = this.globalOptions.sourceLevel >= ClassFileConstants.JDK1_8 && this.globalOptions.storeAnnotations ? new AnnotatableTypeSystem(this) : new TypeSystem(this);
 }
 
@@ -134,6 +142,7 @@ public LookupEnvironment(ITypeRequestor typeRequestor, CompilerOptions globalOpt
  */
 
 public ReferenceBinding askForType(char[][] compoundName) {
+	this.classpathLookups++;
 	NameEnvironmentAnswer answer = this.nameEnvironment.findType(compoundName);
 	if (answer == null) return null;
 
@@ -157,6 +166,7 @@ ReferenceBinding askForType(PackageBinding packageBinding, char[] name) {
 	if (packageBinding == null) {
 		packageBinding = this.defaultPackage;
 	}
+	this.classpathLookups++;
 	NameEnvironmentAnswer answer = this.nameEnvironment.findType(name, packageBinding.compoundName);
 	if (answer == null)
 		return null;
@@ -682,6 +692,7 @@ public BinaryTypeBinding createBinaryTypeFrom(IBinaryType binaryType, PackageBin
 }
 
 public BinaryTypeBinding createBinaryTypeFrom(IBinaryType binaryType, PackageBinding packageBinding, boolean needFieldsAndMethods, AccessRestriction accessRestriction) {
+	this.binaryTypes++;
 	BinaryTypeBinding binaryBinding = new BinaryTypeBinding(packageBinding, binaryType, this);
 
 	// resolve any array bindings which reference the unresolvedType
@@ -755,6 +766,7 @@ public PackageBinding createPackage(char[][] compoundName) {
 			// catches the case of a package statement of: package java.lang.Object;
 			// since the package can be added after a set of source files have already been compiled,
 			// we need to check whenever a package is created
+			this.classpathLookups++;
 			if (this.nameEnvironment.findType(compoundName[i], parent.compoundName) != null)
 				return null;
 
@@ -1110,6 +1122,7 @@ PackageBinding getTopLevelPackage(char[] name) {
 		return packageBinding;
 	}
 
+	this.classpathLookups++;
 	if (this.nameEnvironment.isPackage(null, name)) {
 		this.knownPackages.put(name, packageBinding = new PackageBinding(name, this));
 		return packageBinding;
@@ -1513,6 +1526,7 @@ boolean isMissingType(char[] typeName) {
 /* Ask the oracle if a package exists named name in the package named compoundName.
 */
 boolean isPackage(char[][] compoundName, char[] name) {
+	this.classpathLookups++;
 	if (compoundName == null || compoundName.length == 0)
 		return this.nameEnvironment.isPackage(null, name);
 	return this.nameEnvironment.isPackage(compoundName, name);
@@ -1552,6 +1566,7 @@ public void reset() {
 	this.uniqueGetClassMethodBinding = null;
 	this.missingTypes = null;
 	this.typesBeingConnected = new HashSet();
+	this.operatorOverloadCache.reset();
 
 	for (int i = this.units.length; --i >= 0;)
 		this.units[i] = null;
@@ -0,0 +1,222 @@
+package org.eclipse.jdt.internal.compiler.lookup;
+
+import java.util.HashMap;
+
+import org.eclipse.jdt.core.compiler.CharOperation;
+
+/**
+ * Operator overloading: memoizes the method lookups performed for overloaded operators
+ * (<code>a + b</code>, <code>a += b</code>, <code>a &lt;== b</code>, <code>a === b</code>, <code>c ? a : b</code>)
+ * so that repeated operator shapes are answered by a hash lookup instead of a full
+ * {@link Scope#getMethod(TypeBinding, char[], TypeBinding[], InvocationSite)} walk.
+ * <p>
+ * Entries are keyed on (invocation type, receiver type, selector, argument types, expected type)
+ * and hold whatever binding the lookup answered, including problem bindings (negative results).
+ * The invocation type is part of the key since visibility of the candidate methods depends on it.
+ * <p>
+ * It also memoizes the type inference of generic operator methods, keyed on (generic method, argument types,
+ * expected type, inference level) only: the outcome does not depend on where the operator is written, so
+ * structurally identical operators in different types share it, and so do the lookups of one operator
+ * that try several generic candidates.
+ * <p>
+ * The cache lives as long as its {@link LookupEnvironment} and is flushed by {@link LookupEnvironment#reset()}.
+ */
+public class OperatorOverloadCache {
+
+	// recorded for the inferences that found the generic method not applicable
+	public static final MethodBinding NOT_APPLICABLE = new MethodBinding();
+
+	private HashMap<Key, MethodBinding> methods;
+	private HashMap<InferenceKey, MethodBinding> inferences;
+	// statistics of the overloaded operator resolutions, not reset with the cache (see CompilerStats)
+	public int hits, misses, ambiguities;
+	public int inferenceHits, inferenceMisses;
+	// reused to look up an operator without allocating a key, and to pass its argument types, by number of arguments
+	private final Key probe = new Key();
+	private TypeBinding[][] probeArgumentTypes = { Binding.NO_TYPES, new TypeBinding[1], new TypeBinding[2], new TypeBinding[3] };
+
+	public OperatorOverloadCache() {
+		this.methods = new HashMap<Key, MethodBinding>();
+		this.inferences = new HashMap<InferenceKey, MethodBinding>();
+	}
+
+	/**
+	 * Answer the binding recorded for the given operator shape, or null. Does not allocate, nor hold onto
+	 * the argument types, so they can be the array answered by {@link #probeArgumentTypes(int)}.
+	 */
+	public MethodBinding get(ReferenceBinding invocationType, TypeBinding receiverType, char[] selector, TypeBinding[] argumentTypes, TypeBinding expectedType) {
+		this.probe.set(invocationType, receiverType, selector, argumentTypes, expectedType);
+		MethodBinding method = this.methods.get(this.probe);
+		this.probe.set(null, null, CharOperation.NO_CHAR, Binding.NO_TYPES, null); // do not hold onto the bindings
+		if (method == null)
+			this.misses++;
+		else
+			this.hits++;
+		return method;
+	}
+
+	/**
+	 * Answer an array of the given length to pass the argument types of an operator to {@link #get(ReferenceBinding, TypeBinding, char[], TypeBinding[], TypeBinding)}
+	 * without allocating. It is shared by all the lookups, so it must be filled right before the lookup, and copied to be kept.
+	 */
+	public TypeBinding[] probeArgumentTypes(int length) {
+		int max = this.probeArgumentTypes.length;
+		if (length >= max) // fused operator chains
+			System.arraycopy(this.probeArgumentTypes, 0, this.probeArgumentTypes = new TypeBinding[length + 1][], 0, max);
+		TypeBinding[] argumentTypes = this.probeArgumentTypes[length];
+		if (argumentTypes == null)
+			this.probeArgumentTypes[length] = argumentTypes = new TypeBinding[length];
+		return argumentTypes;
+	}
+
+	public void put(ReferenceBinding invocationType, TypeBinding receiverType, char[] selector, TypeBinding[] argumentTypes, TypeBinding expectedType, MethodBinding method) {
+		this.methods.put(new Key(invocationType, receiverType, selector, argumentTypes, expectedType), method);
+	}
+
+	/**
+	 * Answer the inferred substitute of the given generic method, {@link #NOT_APPLICABLE}, or null if not inferred yet.
+	 */
+	public MethodBinding getInferred(MethodBinding genericMethod, TypeBinding[] argumentTypes, TypeBinding expectedType, int inferenceLevel) {
+		MethodBinding method = this.inferences.get(new InferenceKey(genericMethod, argumentTypes, expectedType, inferenceLevel));
+		if (method == null)
+			this.inferenceMisses++;
+		else
+			this.inferenceHits++;
+		return method;
+	}
+
+	public void putInferred(MethodBinding genericMethod, TypeBinding[] argumentTypes, TypeBinding expectedType, int inferenceLevel, MethodBinding method) {
+		this.inferences.put(new InferenceKey(genericMethod, argumentTypes, expectedType, inferenceLevel), method == null ? NOT_APPLICABLE : method);
+	}
+
+	public void reset() {
+		this.methods.clear();
+		this.inferences.clear();
+	}
+
+	public int size() {
+		return this.methods.size();
+	}
+
+	private static final class Key {
+		ReferenceBinding invocationType;
+		TypeBinding receiverType;
+		char[] selector;
+		TypeBinding[] argumentTypes;
+		TypeBinding expectedType;
+		private int hashCode;
+
+		Key() {
+			// the probe, see set(..)
+		}
+
+		Key(ReferenceBinding invocationType, TypeBinding receiverType, char[] selector, TypeBinding[] argumentTypes, TypeBinding expectedType) {
+			set(invocationType, receiverType, selector, argumentTypes, expectedType);
+		}
+
+		void set(ReferenceBinding invocationType, TypeBinding receiverType, char[] selector, TypeBinding[] argumentTypes, TypeBinding expectedType) {
+			this.invocationType = invocationType;
+			this.receiverType = receiverType;
+			this.selector = selector;
+			this.argumentTypes = argumentTypes;
+			this.expectedType = expectedType;
+			int hash = hash(invocationType);
+			hash = 31 * hash + hash(receiverType);
+			for (int i = 0, length = selector.length; i < length; i++)
+				hash = 31 * hash + selector[i];
+			for (int i = 0, length = argumentTypes.length; i < length; i++)
+				hash = 31 * hash + hash(argumentTypes[i]);
+			this.hashCode = 31 * hash + hash(expectedType);
+		}
+
+		static int hash(TypeBinding type) {
+			if (type == null)
+				return 0;
+			// consistent with TypeBinding.equalsEquals(..): equal ids mean equal types
+			return type.id != TypeIds.NoId ? type.id : System.identityHashCode(type);
+		}
+
+		static boolean same(TypeBinding one, TypeBinding two) {
+			if (one == two)
+				return true;
+			if (one == null || two == null)
+				return false;
+			return TypeBinding.equalsEquals(one, two);
+		}
+
+		public int hashCode() {
+			return this.hashCode;
+		}
+
+		public boolean equals(Object object) {
+			if (this == object)
+				return true;
+			if (!(object instanceof Key))
+				return false;
+			Key other = (Key) object;
+			if (this.hashCode != other.hashCode)
+				return false;
+			if (!same(this.invocationType, other.invocationType)
+					|| !same(this.receiverType, other.receiverType)
+					|| !same(this.expectedType, other.expectedType))
+				return false;
+			if (!CharOperation.equals(this.selector, other.selector))
+				return false;
+			int length = this.argumentTypes.length;
+			if (length != other.argumentTypes.length)
+				return false;
+			for (int i = 0; i < length; i++) {
+				if (!same(this.argumentTypes[i], other.argumentTypes[i]))
+					return false;
+			}
+			return true;
+		}
+	}
+
+	private static final class InferenceKey {
+		final MethodBinding genericMethod;
+		final TypeBinding[] argumentTypes;
+		final TypeBinding expectedType;
+		final int inferenceLevel;
+		private final int hashCode;
+
+		InferenceKey(MethodBinding genericMethod, TypeBinding[] argumentTypes, TypeBinding expectedType, int inferenceLevel) {
+			this.genericMethod = genericMethod;
+			this.argumentTypes = argumentTypes;
+			this.expectedType = expectedType;
+			this.inferenceLevel = inferenceLevel;
+			// methods of parameterized types may be copied, their original and declaring class identify them
+			int hash = 31 * System.identityHashCode(genericMethod.original()) + Key.hash(genericMethod.declaringClass);
+			for (int i = 0, length = argumentTypes.length; i < length; i++)
+				hash = 31 * hash + Key.hash(argumentTypes[i]);
+			hash = 31 * hash + Key.hash(expectedType);
+			this.hashCode = 31 * hash + inferenceLevel;
+		}
+
+		public int hashCode() {
+			return this.hashCode;
+		}
+
+		public boolean equals(Object object) {
+			if (this == object)
+				return true;
+			if (!(object instanceof InferenceKey))
+				return false;
+			InferenceKey other = (InferenceKey) object;
+			if (this.hashCode != other.hashCode
+					|| this.genericMethod.original() != other.genericMethod.original()
+					|| !Key.same(this.genericMethod.declaringClass, other.genericMethod.declaringClass)
+					|| this.inferenceLevel != other.inferenceLevel
+					|| !Key.same(this.expectedType, other.expectedType))
+				return false;
+			int length = this.argumentTypes.length;
+			if (length != other.argumentTypes.length)
+				return false;
+			for (int i = 0; i < length; i++) {
+				if (!Key.same(this.argumentTypes[i], other.argumentTypes[i]))
+					return false;
+			}
+			return true;
+		}
+	}
+}
@@ -0,0 +1,53 @@
+package org.eclipse.jdt.internal.compiler.lookup;
+
+import org.eclipse.jdt.internal.compiler.ast.ExpressionContext;
+
+/**
+ * Operator overloading: the invocation site of the method an overloaded operator binds to,
+ * only created when the lookup is not answered by the {@link OperatorOverloadCache}.
+ */
+public final class OperatorOverloadSite implements OperatorOverloadInvocationSite {
+
+	private final TypeBinding expectedType;
+
+	public OperatorOverloadSite(TypeBinding expectedType) {
+		this.expectedType = expectedType;
+	}
+
+	public TypeBinding[] genericTypeArguments() { return null; }
+	public boolean isSuperAccess() { return false; }
+	public boolean isTypeAccess() { return true; }
+	public void setActualReceiverType(ReferenceBinding actualReceiverType) { /* ignore */ }
+	public void setDepth(int depth) { /* ignore */ }
+	public void setFieldIndex(int depth) { /* ignore */ }
+	public int sourceStart() { return 0; }
+	public int sourceEnd() { return 0; }
+
+	public TypeBinding getExpectedType() {
+		return this.expectedType;
+	}
+
+	public TypeBinding expectedType() {
+		return this.expectedType;
+	}
+
+	public TypeBinding invocationTargetType() {
+		return this.expectedType;
+	}
+
+	public boolean receiverIsImplicitThis() {
+		return false;
+	}
+
+	/*
+	 * Generic operator methods are inferred from the argument types (15.12.2.7), even at 1.8,
+	 * see ParameterizedGenericMethodBinding.computeCompatibleMethod().
+	 */
+	public InferenceContext18 freshInferenceContext(Scope scope) {
+		return null;
+	}
+
+	public ExpressionContext getExpressionContext() {
+		return ExpressionContext.VANILLA_CONTEXT;
+	}
+}
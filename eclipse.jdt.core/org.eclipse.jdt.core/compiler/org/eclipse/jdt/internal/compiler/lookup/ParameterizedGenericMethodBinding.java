@@ -98,7 +98,8 @@ public class ParameterizedGenericMethodBinding extends ParameterizedMethodBindin
 // ==== 1.8: The main driver for inference of generic methods: ====
 			InferenceContext18 infCtx18 = null;
 			CompilerOptions compilerOptions = scope.compilerOptions();
-			if (compilerOptions.sourceLevel >= ClassFileConstants.JDK1_8) {
+			// operator overloading: an operator site has no argument expressions to infer from, only their types
+			if (compilerOptions.sourceLevel >= ClassFileConstants.JDK1_8 && !(invocationSite instanceof OperatorOverloadInvocationSite)) {
 				if ((inferenceLevel & Scope.APPLICABILITY) != 0)
 					infCtx18 = invocationSite.freshInferenceContext(scope);
 				else if (invocationSite instanceof Invocation && originalMethod instanceof ParameterizedGenericMethodBinding)
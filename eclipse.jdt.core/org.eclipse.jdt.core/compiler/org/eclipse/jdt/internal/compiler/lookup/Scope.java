@@ -738,7 +738,10 @@ public abstract class Scope {
 				arguments = newArgs;
 			else  // ensure that computeCompatibleMethod() below can update arguments without harming our caller: (TODO: always copy before the loop? only in 1.8?)
 				System.arraycopy(arguments, 0, arguments=new TypeBinding[argLength], 0, argLength);
-			method = ParameterizedGenericMethodBinding.computeCompatibleMethod(method, arguments, this, invocationSite, inferenceLevel);
+			if (invocationSite instanceof OperatorOverloadInvocationSite && genericTypeArguments == null)
+				method = inferOperatorOverloadMethod(method, arguments, (OperatorOverloadInvocationSite) invocationSite, inferenceLevel);
+			else
+				method = ParameterizedGenericMethodBinding.computeCompatibleMethod(method, arguments, this, invocationSite, inferenceLevel);
 			if (method == null) return null; // incompatible
 			if (!method.isValidBinding()) return method; // bound check issue is taking precedence
 		} else if (genericTypeArguments != null && compilerOptions.complianceLevel < ClassFileConstants.JDK1_7) {
@@ -770,6 +773,24 @@ public abstract class Scope {
 		return null; // incompatible
 	}
 
+	/*
+	 * Operator overloading: infer the type arguments of a generic operator method once per environment for
+	 * given argument and expected types, see OperatorOverloadCache.
+	 */
+	private MethodBinding inferOperatorOverloadMethod(MethodBinding method, TypeBinding[] arguments, OperatorOverloadInvocationSite invocationSite, int inferenceLevel) {
+		OperatorOverloadCache cache = environment().operatorOverloadCache;
+		TypeBinding expectedType = invocationSite.getExpectedType();
+		MethodBinding inferred = cache.getInferred(method, arguments, expectedType, inferenceLevel);
+		if (inferred == null) {
+			TypeBinding[] argumentTypes; // the inference may update the arguments
+			System.arraycopy(arguments, 0, argumentTypes = new TypeBinding[arguments.length], 0, arguments.length);
+			inferred = ParameterizedGenericMethodBinding.computeCompatibleMethod(method, arguments, this, invocationSite, inferenceLevel);
+			cache.putInferred(method, argumentTypes, expectedType, inferenceLevel, inferred);
+			return inferred;
+		}
+		return inferred == OperatorOverloadCache.NOT_APPLICABLE ? null : inferred;
+	}
+
 	private int parameterCompatibilityLevel18(MethodBinding method, TypeBinding[] arguments, boolean tiebreakingVarargsMethods, InvocationSite site) {
 		jdk18checks:
 		if (site instanceof Invocation && compilerOptions().complianceLevel >= ClassFileConstants.JDK1_8) {
@@ -1349,6 +1370,7 @@ public abstract class Scope {
 	public MethodBinding findExactMethod(ReferenceBinding receiverType, char[] selector, TypeBinding[] argumentTypes, InvocationSite invocationSite) {
 		CompilationUnitScope unitScope = compilationUnitScope();
 		unitScope.recordTypeReferences(argumentTypes);
+		unitScope.recordMemberReference(selector, argumentTypes.length);
 		MethodBinding exactMethod = receiverType.getExactMethod(selector, argumentTypes, unitScope);
 		if (exactMethod != null && exactMethod.typeVariables == Binding.NO_TYPE_VARIABLES && !exactMethod.isBridge()) {
 			// in >= 1.5 mode, ensure the exactMatch did not match raw types
@@ -1408,6 +1430,7 @@ public abstract class Scope {
 
 		CompilationUnitScope unitScope = compilationUnitScope();
 		unitScope.recordTypeReference(receiverType);
+		unitScope.recordMemberReference(fieldName);
 
 		checkArrayField: {
 			TypeBinding leafType;
@@ -1682,6 +1705,7 @@ public abstract class Scope {
 		ObjectVector found = new ObjectVector(3);
 		CompilationUnitScope unitScope = compilationUnitScope();
 		unitScope.recordTypeReferences(argumentTypes);
+		unitScope.recordMemberReference(selector, argumentTypes.length);
 
 		if (receiverTypeIsInterface) {
 			unitScope.recordTypeReference(receiverType);
@@ -2340,6 +2364,7 @@ public abstract class Scope {
 		
 		CompilationUnitScope unitScope = compilationUnitScope();
 		unitScope.recordTypeReference(type);
+		unitScope.recordMemberReference(selector, -1);
 		type = type.capture(this, invocationSite.sourceEnd());
 		
 		for (int i = 0, typesLength = typePlusSupertypes.length; i < typesLength; i++) {
@@ -2454,6 +2479,7 @@ public abstract class Scope {
 			env.missingClassFileLocation = invocationSite;
 			unitScope.recordTypeReference(receiverType);
 			unitScope.recordTypeReferences(argumentTypes);
+			unitScope.recordMemberReference(TypeConstants.INIT, argumentTypes.length);
 			MethodBinding methodBinding = receiverType.getExactConstructor(argumentTypes);
 			if (methodBinding != null && methodBinding.canBeSeenBy(invocationSite, this)) {
 			    // targeting a non generic constructor with type arguments ?
@@ -2953,6 +2979,97 @@ public abstract class Scope {
 		}
 	}
 
+	/* Operator overloading: answer the method an overloaded operator binds to.
+	* Same as getMethod(...), but repeated lookups of the same operator shape (same invocation type,
+	* receiver, selector, argument types and expected type) are answered from the environment's
+	* OperatorOverloadCache. Problem bindings are cached as well.
+	* The argument types are neither kept nor modified, and the argument types and the invocation site
+	* are only allocated when the lookup is not cached, so resolving an operator shape seen before does not allocate.
+	*/
+	public MethodBinding getOperatorOverloadMethod(TypeBinding receiverType, char[] selector, TypeBinding[] argumentTypes, TypeBinding expectedType) {
+		OperatorOverloadCache cache = environment().operatorOverloadCache;
+		int length = argumentTypes.length;
+		TypeBinding[] probeArgumentTypes = cache.probeArgumentTypes(length);
+		if (argumentTypes != probeArgumentTypes)
+			System.arraycopy(argumentTypes, 0, probeArgumentTypes, 0, length);
+		return getOperatorOverloadMethod(cache, receiverType, selector, probeArgumentTypes, expectedType);
+	}
+
+	/* Operator overloading: answer an array to pass the argument types of an operator taking the given number of
+	* arguments to getOperatorOverloadMethod(...) without allocating. It is shared by all the operator lookups,
+	* so it must be filled right before the lookup.
+	*/
+	public TypeBinding[] getOperatorOverloadArgumentTypes(int length) {
+		return environment().operatorOverloadCache.probeArgumentTypes(length);
+	}
+
+	/* Operator overloading: same as getOperatorOverloadMethod(...) for the operators taking no argument.
+	*/
+	public MethodBinding getOperatorOverloadMethod(TypeBinding receiverType, char[] selector, TypeBinding expectedType) {
+		OperatorOverloadCache cache = environment().operatorOverloadCache;
+		return getOperatorOverloadMethod(cache, receiverType, selector, cache.probeArgumentTypes(0), expectedType);
+	}
+
+	/* Operator overloading: same as getOperatorOverloadMethod(...) for the operators taking a single argument.
+	*/
+	public MethodBinding getOperatorOverloadMethod(TypeBinding receiverType, char[] selector, TypeBinding argumentType, TypeBinding expectedType) {
+		OperatorOverloadCache cache = environment().operatorOverloadCache;
+		TypeBinding[] probeArgumentTypes = cache.probeArgumentTypes(1);
+		probeArgumentTypes[0] = argumentType;
+		return getOperatorOverloadMethod(cache, receiverType, selector, probeArgumentTypes, expectedType);
+	}
+
+	/* Operator overloading: same as getOperatorOverloadMethod(...) for the operators taking two arguments.
+	*/
+	public MethodBinding getOperatorOverloadMethod(TypeBinding receiverType, char[] selector, TypeBinding firstArgumentType, TypeBinding secondArgumentType, TypeBinding expectedType) {
+		OperatorOverloadCache cache = environment().operatorOverloadCache;
+		TypeBinding[] probeArgumentTypes = cache.probeArgumentTypes(2);
+		probeArgumentTypes[0] = firstArgumentType;
+		probeArgumentTypes[1] = secondArgumentType;
+		return getOperatorOverloadMethod(cache, receiverType, selector, probeArgumentTypes, expectedType);
+	}
+
+	/* Operator overloading: same as getOperatorOverloadMethod(...) for the operators taking three arguments.
+	*/
+	public MethodBinding getOperatorOverloadMethod(TypeBinding receiverType, char[] selector, TypeBinding firstArgumentType, TypeBinding secondArgumentType, TypeBinding thirdArgumentType, TypeBinding expectedType) {
+		OperatorOverloadCache cache = environment().operatorOverloadCache;
+		TypeBinding[] probeArgumentTypes = cache.probeArgumentTypes(3);
+		probeArgumentTypes[0] = firstArgumentType;
+		probeArgumentTypes[1] = secondArgumentType;
+		probeArgumentTypes[2] = thirdArgumentType;
+		return getOperatorOverloadMethod(cache, receiverType, selector, probeArgumentTypes, expectedType);
+	}
+
+	// the argument types are the cache's probe array, copied before anything else may look up an operator
+	private MethodBinding getOperatorOverloadMethod(OperatorOverloadCache cache, TypeBinding receiverType, char[] selector, TypeBinding[] probeArgumentTypes, TypeBinding expectedType) {
+		CompilationUnitScope unitScope = compilationUnitScope();
+		ReferenceBinding invocationType = enclosingSourceType();
+		int length = probeArgumentTypes.length;
+		MethodBinding methodBinding = cache.get(invocationType, receiverType, selector, probeArgumentTypes, expectedType);
+		if (methodBinding == null) {
+			TypeBinding[] argumentTypes = length == 0 ? Binding.NO_PARAMETERS : new TypeBinding[length];
+			System.arraycopy(probeArgumentTypes, 0, argumentTypes, 0, length);
+			for (int i = 0; i < length; i++)
+				probeArgumentTypes[i] = null; // do not hold onto the bindings
+			methodBinding = getMethod(receiverType, selector, argumentTypes, new OperatorOverloadSite(expectedType));
+			cache.put(invocationType, receiverType, selector, argumentTypes, expectedType, methodBinding);
+			return methodBinding;
+		}
+		if (receiverType.kind() != Binding.BASE_TYPE) {
+			// the lookup was skipped, still record the references it would have recorded for this unit
+			unitScope.recordTypeReference(receiverType);
+			unitScope.recordTypeReferences(probeArgumentTypes);
+			unitScope.recordMemberReference(selector, length);
+			if (methodBinding.isValidBinding()) {
+				unitScope.recordTypeReference(methodBinding.declaringClass);
+				unitScope.recordTypeReferences(methodBinding.thrownExceptions);
+			}
+		}
+		for (int i = 0; i < length; i++)
+			probeArgumentTypes[i] = null; // do not hold onto the bindings
+		return methodBinding;
+	}
+
 	/* Answer the package from the compoundName or null if it begins with a type.
 	* Intended to be used while resolving a qualified type name.
 	*
@@ -61,7 +61,6 @@ import org.eclipse.jdt.internal.compiler.problem.AbortCompilationUnit;
 import org.eclipse.jdt.internal.compiler.problem.ProblemReporter;
 import org.eclipse.jdt.internal.compiler.problem.ProblemSeverities;
 import org.eclipse.jdt.internal.compiler.util.Messages;
-import org.eclipse.jdt.internal.compiler.util.SuffixConstants;
 import org.eclipse.jdt.internal.compiler.util.Util;
 
 @SuppressWarnings({"rawtypes", "unchecked"})
@@ -11376,9 +11375,7 @@ public void parse(ConstructorDeclaration cd, CompilationUnitDeclaration unit, bo
 
 	//convert bugs into parse error
 
-	String fileName = new String(unit.getFileName());
-	if(fileName.endsWith(SuffixConstants.SUFFIX_STRING_maxjava) || this.options.forceMAXJ)
-		this.scanner.useDSLConstructs = true;
+	this.scanner.useDSLConstructs = unit.isMaxJ || this.options.forceMAXJ;
 
 	boolean oldMethodRecoveryActivated = this.methodRecoveryActivated;
 	if(this.options.performMethodsFullRecovery) {
@@ -11467,9 +11464,7 @@ public void parse(
 	CompilationUnitDeclaration unit,
 	char[] initializationSource) {
 	//only parse the initializationSource of the given field
-	String fileName = new String(unit.getFileName());
-	if(fileName.endsWith(SuffixConstants.SUFFIX_STRING_maxjava) || this.options.forceMAXJ)
-		this.scanner.useDSLConstructs = true;
+	this.scanner.useDSLConstructs = unit.isMaxJ || this.options.forceMAXJ;
 
 	//convert bugs into parse error
 
@@ -11512,9 +11507,7 @@ public CompilationUnitDeclaration parse(
 	/**
 	 * new Milan: check for file extension
 	 */
-	String fileName = new String(sourceUnit.getFileName());
-	if(fileName.endsWith(SuffixConstants.SUFFIX_STRING_maxjava) || this.options.forceMAXJ)
-		this.scanner.useDSLConstructs = true;
+	this.scanner.useDSLConstructs = Util.isMaxJFileName(sourceUnit.getFileName()) || this.options.forceMAXJ;
 
 	return parse(sourceUnit, compilationResult, -1, -1/*parse without reseting the scanner*/);
 }
@@ -11530,9 +11523,7 @@ public CompilationUnitDeclaration parse(
 	/**
 	 * new Milan: check for file extension
 	 */
-	String fileName = new String(sourceUnit.getFileName());
-	if(fileName.endsWith(SuffixConstants.SUFFIX_STRING_maxjava) || this.options.forceMAXJ)
-		this.scanner.useDSLConstructs = true;
+	this.scanner.useDSLConstructs = Util.isMaxJFileName(sourceUnit.getFileName()) || this.options.forceMAXJ;
 
 	CompilationUnitDeclaration unit;
 	try {
@@ -11586,9 +11577,7 @@ public void parse(
 
 	//convert bugs into parse error
 
-	String fileName = new String(unit.getFileName());
-	if(fileName.endsWith(SuffixConstants.SUFFIX_STRING_maxjava) || this.options.forceMAXJ)
-		this.scanner.useDSLConstructs = true;
+	this.scanner.useDSLConstructs = unit.isMaxJ || this.options.forceMAXJ;
 
 	boolean oldMethodRecoveryActivated = this.methodRecoveryActivated;
 	if(this.options.performMethodsFullRecovery) {
@@ -11645,9 +11634,7 @@ public void parse(MethodDeclaration md, CompilationUnitDeclaration unit) {
 	//fill out method statements
 
 	//convert bugs into parse error
-	String fileName = new String(unit.getFileName());
-	if(fileName.endsWith(SuffixConstants.SUFFIX_STRING_maxjava) || this.options.forceMAXJ)
-		this.scanner.useDSLConstructs = true;
+	this.scanner.useDSLConstructs = unit.isMaxJ || this.options.forceMAXJ;
 
 	if (md.isAbstract())
 		return;
@@ -51,6 +51,18 @@ public class Scanner implements TerminalTokens {
 
 	public boolean useDSLConstructs = false;
 
+	// DSL keywords, by perfect hash of their first character and length (see scanDSLKeyword)
+	private static final int DSL_KEYWORDS_MASK = 7;
+	private static final char[][] DSL_KEYWORDS = new char[DSL_KEYWORDS_MASK + 1][];
+	private static final int[] DSL_KEYWORD_TOKENS = new int[DSL_KEYWORDS_MASK + 1];
+	static {
+		registerDSLKeyword("CASE", TokenNameCASE); //$NON-NLS-1$
+		registerDSLKeyword("ELSE", TokenNameELSE); //$NON-NLS-1$
+		registerDSLKeyword("IF", TokenNameIF); //$NON-NLS-1$
+		registerDSLKeyword("OTHERWISE", TokenNameOTHERWISE); //$NON-NLS-1$
+		registerDSLKeyword("SWITCH", TokenNameSWITCH); //$NON-NLS-1$
+	}
+
 	public boolean recordLineSeparator = false;
 	public char currentCharacter;
 	public int startPosition;
@@ -3079,16 +3091,12 @@ private int internalScanIdentifierOrKeyword(int index, int length, char[] data)
 				default :
 					return TokenNameIdentifier;
 			}
-		case 'C' :
-			if (length == 4) {
-				if ((data[++index] == 'A') && (data[++index] == 'S') && (data[++index] == 'E')){
-					if(this.useDSLConstructs)
-						return TokenNameCASE;
-					else
-						return TokenNameIdentifier;
-				}
-			}
-			return TokenNameIdentifier;
+		case 'C' : // CASE
+		case 'E' : // ELSE
+		case 'I' : // IF
+		case 'O' : // OTHERWISE
+		case 'S' : // SWITCH
+			return this.useDSLConstructs ? scanDSLKeyword(index, length, data) : TokenNameIdentifier;
 
 		case 'd' : //default do double
 			switch (length) {
@@ -3153,17 +3161,6 @@ private int internalScanIdentifierOrKeyword(int index, int length, char[] data)
 					return TokenNameIdentifier;
 			}
 
-		case 'E' :
-			if (length == 4) {
-				if ((data[++index] == 'L') && (data[++index] == 'S') && (data[++index] == 'E')){
-					if(this.useDSLConstructs)
-						return TokenNameELSE;
-					else
-						return TokenNameIdentifier;
-				}
-			}
-			return TokenNameIdentifier;
-
 		case 'f' : //final finally float for false
 			switch (length) {
 				case 3 :
@@ -3282,17 +3279,6 @@ private int internalScanIdentifierOrKeyword(int index, int length, char[] data)
 				default :
 					return TokenNameIdentifier;
 			}
-		case 'I' :
-			if (length == 2) {
-				if ((data[++index] == 'F')) {
-					if(this.useDSLConstructs)
-						return TokenNameIF;
-					else
-						return TokenNameIdentifier;
-				}
-			}
-			return TokenNameIdentifier;
-
 		case 'l' : //long
 			if (length == 4) {
 				if ((data[++index] == 'o')
@@ -3327,24 +3313,6 @@ private int internalScanIdentifierOrKeyword(int index, int length, char[] data)
 				default :
 					return TokenNameIdentifier;
 			}
-		case 'O' :
-			if (length == 9) {
-				if ((data[++index] == 'T')
-					&& (data[++index] == 'H')
-					&& (data[++index] == 'E')
-					&& (data[++index] == 'R')
-					&& (data[++index] == 'W')
-					&& (data[++index] == 'I')
-					&& (data[++index] == 'S')
-					&& (data[++index] == 'E')){
-					if(this.useDSLConstructs)
-						return TokenNameOTHERWISE;
-					else
-						return TokenNameIdentifier;
-				}
-			}
-			return TokenNameIdentifier;
-
 		case 'p' : //package private protected public
 			switch (length) {
 				case 6 :
@@ -3470,17 +3438,6 @@ private int internalScanIdentifierOrKeyword(int index, int length, char[] data)
 					return TokenNameIdentifier;
 			}
 
-		case 'S' :
-			if (length == 6) {
-				if ((data[++index] == 'W') && (data[++index] == 'I') && (data[++index] == 'T') && (data[++index] == 'C') && (data[++index] == 'H')){
-					if(this.useDSLConstructs)
-						return TokenNameSWITCH;
-					else
-						return TokenNameIdentifier;
-				}
-			}
-			return TokenNameIdentifier;
-
 		case 't' : //try throw throws transient this true
 			switch (length) {
 				case 3 :
@@ -3580,6 +3537,28 @@ private int internalScanIdentifierOrKeyword(int index, int length, char[] data)
 }
 
 
+private static void registerDSLKeyword(String keyword, int token) {
+	int hash = (keyword.charAt(0) ^ keyword.length()) & DSL_KEYWORDS_MASK;
+	if (DSL_KEYWORDS[hash] != null)
+		throw new IllegalStateException("DSL keywords " + keyword + " and " + new String(DSL_KEYWORDS[hash]) + " collide"); //$NON-NLS-1$ //$NON-NLS-2$
+	DSL_KEYWORDS[hash] = keyword.toCharArray();
+	DSL_KEYWORD_TOKENS[hash] = token;
+}
+/*
+ * Answer the DSL keyword the identifier of the given length at the given index is, if any.
+ * A DSL keyword is found with a single probe in a table indexed by its first character and length.
+ */
+private int scanDSLKeyword(int index, int length, char[] data) {
+	int hash = (data[index] ^ length) & DSL_KEYWORDS_MASK;
+	char[] keyword = DSL_KEYWORDS[hash];
+	if (keyword == null || keyword.length != length)
+		return TokenNameIdentifier;
+	for (int i = 0; i < length; i++) {
+		if (data[index + i] != keyword[i])
+			return TokenNameIdentifier;
+	}
+	return DSL_KEYWORD_TOKENS[hash];
+}
 public int scanNumber(boolean dotPrefix) throws InvalidInputException {
 
 	//when entering this method the currentCharacter is the first
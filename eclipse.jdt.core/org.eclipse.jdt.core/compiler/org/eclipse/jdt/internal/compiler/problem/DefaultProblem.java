@@ -12,6 +12,7 @@ package org.eclipse.jdt.internal.compiler.problem;
 
 import org.eclipse.jdt.core.compiler.CategorizedProblem;
 import org.eclipse.jdt.core.compiler.IProblem;
+import org.eclipse.jdt.internal.compiler.util.HashtableOfInt;
 import org.eclipse.jdt.internal.compiler.util.Messages;
 import org.eclipse.jdt.internal.compiler.util.Util;
 
@@ -25,6 +26,10 @@ public class DefaultProblem extends CategorizedProblem {
 	private int severity;
 	private String[] arguments;
 	private String message;
+	// templates and arguments the message is formatted from when first asked for
+	private HashtableOfInt messageTemplates;
+	private int elaborationId;
+	private String[] messageArguments;
 
 	// cannot directly point to IJavaModelMarker constants from within batch compiler
 	private static final String MARKER_TYPE_PROBLEM = "org.eclipse.jdt.core.problem"; //$NON-NLS-1$
@@ -54,6 +59,29 @@ public DefaultProblem(
 	this.column = column;
 }
 
+/**
+ * Create a problem whose message is only formatted when asked for: most warnings of large units
+ * are never displayed, or dropped past the limits on problems per unit.
+ */
+DefaultProblem(
+	char[] originatingFileName,
+	HashtableOfInt messageTemplates,
+	int elaborationId,
+	String[] messageArguments,
+	int id,
+	String[] stringArguments,
+	int severity,
+	int startPosition,
+	int endPosition,
+	int line,
+	int column) {
+
+	this(originatingFileName, null, id, stringArguments, severity, startPosition, endPosition, line, column);
+	this.messageTemplates = messageTemplates;
+	this.elaborationId = elaborationId;
+	this.messageArguments = messageArguments;
+}
+
 public String errorReportSource(char[] unitSource) {
 	//extra from the source the innacurate     token
 	//and "highlight" it using some underneath ^^^^^
@@ -189,6 +217,8 @@ public String getMarkerType() {
  * @return java.lang.String
  */
 public String getMessage() {
+	if (this.message == null && this.messageTemplates != null)
+		this.message = DefaultProblemFactory.formatMessage(this.messageTemplates, this.id, this.elaborationId, this.messageArguments);
 	return this.message;
 }
 
@@ -280,8 +310,9 @@ public void setSourceStart(int sourceStart) {
 
 public String toString() {
 	String s = "Pb(" + (this.id & IProblem.IgnoreCategoriesMask) + ") "; //$NON-NLS-1$ //$NON-NLS-2$
-	if (this.message != null) {
-		s += this.message;
+	String problemMessage = getMessage();
+	if (problemMessage != null) {
+		s += problemMessage;
 	} else {
 		if (this.arguments != null)
 			for (int i = 0; i < this.arguments.length; i++)
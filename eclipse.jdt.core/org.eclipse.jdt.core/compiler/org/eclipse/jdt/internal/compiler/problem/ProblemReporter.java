@@ -1484,6 +1484,8 @@ public int computeSeverity(int problemID){
 	switch (problemID) {
 		case IProblem.VarargsConflict :
 			return ProblemSeverities.Warning;
+		case IProblem.MaxelerMoreWarnings :
+			return ProblemSeverities.Warning;
  		case IProblem.TypeCollidesWithPackage :
 			return ProblemSeverities.Warning;
 
@@ -8264,6 +8266,15 @@ public void maxelerAssertStatement(AssertStatement statement) {
 		statement.sourceStart,
 		statement.sourceEnd);
 }
+public void maxelerMoreWarnings(int count, CategorizedProblem firstWarning) {
+	String[] arguments = new String[] {String.valueOf(count)};
+	this.handle(
+		IProblem.MaxelerMoreWarnings,
+		arguments,
+		arguments,
+		firstWarning.getSourceStart(),
+		firstWarning.getSourceEnd());
+}
 public void unexpectedStaticModifierForField(SourceTypeBinding type, FieldDeclaration fieldDecl) {
 	String[] arguments = new String[] {new String(fieldDecl.name)};
 	this.handle(
@@ -0,0 +1,529 @@
+package org.eclipse.jdt.internal.compiler.util;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * An index of the entries of a jar, grouped by package, which is built once from the central directory
+ * of the jar and then shared by all the compilers of the user through an index file.
+ * <p>
+ * Index files live in the directory named by the <code>jdt.compiler.jarIndex</code> system property
+ * (by default <code>jdt-jar-index-&lt;user name&gt;</code> in the temporary directory, <code>none</code> keeps indexes
+ * in memory only). Since compilers trust the indexes they find, the default directory is only used if it belongs to
+ * the current user, who is then the only one allowed to read and write it. Index files are memory-mapped
+ * and validated against the path, modification time and size of their jar. Indexes are also shared within a VM,
+ * so that the batch compiler, the compiler tool and the builder do not scan a jar twice.
+ * <p>
+ * An index remembers where the data of each entry starts in the jar, so that stored and deflated entries
+ * can be read with {@link #getEntryContent(RandomAccessFile, String)} without opening the jar as a zip file.
+ * Jars which cannot be indexed (zip64 archives, corrupted central directories) have no index and must be
+ * read through {@link java.util.zip.ZipFile}.
+ * <p>
+ * The format of an index file is:
+ * <pre>
+ * header:      magic, version, jar path, jar modification time, jar size, package count
+ * packages:    (package name, entries offset, entry count)*  -- sorted by package name
+ * entries:     (entry name, local header offset, compressed size, size, method)*  -- grouped by package
+ * </pre>
+ * where names are UTF-8 encoded and prefixed by their length, packages are qualified with '/'
+ * (the default package is the empty name) and entry names are relative to their package.
+ * Every parent of a package which has entries is listed, possibly without entries.
+ */
+public class JarIndex {
+
+	private static final int MAGIC = 0x4A444958; // JDIX
+	private static final int VERSION = 1;
+
+	public static final int STORED = 0;
+	public static final int DEFLATED = 8;
+
+	// zip format
+	private static final int END_OF_CENTRAL_DIRECTORY = 0x06054b50;
+	private static final int CENTRAL_DIRECTORY_ENTRY = 0x02014b50;
+	private static final int LOCAL_HEADER = 0x04034b50;
+	private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+	private static final int CENTRAL_DIRECTORY_ENTRY_SIZE = 46;
+	private static final int LOCAL_HEADER_SIZE = 30;
+	private static final int MAX_COMMENT_SIZE = 0xFFFF;
+
+	private static final String UTF8 = "UTF-8"; //$NON-NLS-1$
+	private static final String NO_INDEX_DIRECTORY = "none"; //$NON-NLS-1$
+
+	// indexes of the VM, by canonical jar path
+	private static final HashMap<String, JarIndex> Indexes = new HashMap<String, JarIndex>();
+	private static File IndexDirectory;
+	private static boolean IndexDirectoryInitialized;
+
+	/*
+	 * An entry of the jar.
+	 */
+	static class Entry {
+		long offset; // of the local header
+		int compressedSize, size, method;
+	}
+
+	private String path;
+	private long lastModified, length;
+	private ByteBuffer buffer;
+	// package name -> { entries offset, entry count }
+	private HashMap<String, int[]> packages;
+	// package name -> entry name -> entry, for the packages which entries have been read
+	private HashMap<String, HashMap<String, Entry>> entries;
+
+private JarIndex(String path, long lastModified, long length, ByteBuffer buffer) throws IOException {
+	this.path = path;
+	this.lastModified = lastModified;
+	this.length = length;
+	this.buffer = buffer;
+	this.entries = new HashMap<String, HashMap<String, Entry>>();
+	readPackages();
+}
+
+/**
+ * Answer the index of the given jar, or <code>null</code> if the jar cannot be indexed.
+ * The answered index is shared and up to date with the jar.
+ */
+public static JarIndex get(File jar) {
+	String path;
+	try {
+		path = jar.getCanonicalPath();
+	} catch (IOException e) {
+		path = jar.getAbsolutePath();
+	}
+	long lastModified = jar.lastModified();
+	long length = jar.length();
+	if (lastModified == 0 || length == 0)
+		return null; // missing or empty
+	synchronized (Indexes) {
+		JarIndex index = Indexes.get(path);
+		if (index != null && index.lastModified == lastModified && index.length == length)
+			return index;
+		Indexes.remove(path);
+		try {
+			index = load(path, lastModified, length);
+			if (index == null) {
+				byte[] bytes = build(jar, path, lastModified, length);
+				if (bytes == null)
+					return null;
+				index = save(path, lastModified, length, bytes);
+				if (index == null)
+					index = new JarIndex(path, lastModified, length, ByteBuffer.wrap(bytes));
+			}
+		} catch (IOException e) {
+			return null;
+		}
+		Indexes.put(path, index);
+		return index;
+	}
+}
+
+/**
+ * Forget the indexes of the VM. Index files are left untouched.
+ */
+public static void flush() {
+	synchronized (Indexes) {
+		Indexes.clear();
+	}
+}
+
+private static synchronized File getIndexDirectory() {
+	if (!IndexDirectoryInitialized) {
+		IndexDirectoryInitialized = true;
+		String directory = System.getProperty("jdt.compiler.jarIndex"); //$NON-NLS-1$
+		if (directory == null) {
+			File file = new File(System.getProperty("java.io.tmpdir"), "jdt-jar-index-" + System.getProperty("user.name")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			// fails for a directory created by another user, indexes are then kept in memory
+			if ((file.isDirectory() || file.mkdirs()) && Util.restrictToOwner(file))
+				IndexDirectory = file;
+		} else if (!NO_INDEX_DIRECTORY.equals(directory)) {
+			File file = new File(directory);
+			if (file.isDirectory() || file.mkdirs())
+				IndexDirectory = file;
+		}
+	}
+	return IndexDirectory;
+}
+
+private static File getIndexFile(String path) {
+	File directory = getIndexDirectory();
+	if (directory == null)
+		return null;
+	String name = new File(path).getName();
+	return new File(directory, name + '-' + Integer.toHexString(path.hashCode()) + ".idx"); //$NON-NLS-1$
+}
+
+/*
+ * Map the index file of the given jar, if it is up to date.
+ */
+private static JarIndex load(String path, long lastModified, long length) {
+	File indexFile = getIndexFile(path);
+	if (indexFile == null || !indexFile.isFile())
+		return null;
+	try {
+		ByteBuffer buffer = map(indexFile);
+		if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION)
+			return null;
+		if (!path.equals(readName(buffer)) || buffer.getLong() != lastModified || buffer.getLong() != length)
+			return null; // another jar with the same hash, or a stale index
+		buffer.rewind();
+		return new JarIndex(path, lastModified, length, buffer);
+	} catch (IOException e) {
+		return null;
+	} catch (RuntimeException e) {
+		return null; // truncated index file
+	}
+}
+
+/*
+ * Write the given index to its index file and map it, answer null if the index cannot be written.
+ */
+private static JarIndex save(String path, long lastModified, long length, byte[] bytes) {
+	File indexFile = getIndexFile(path);
+	if (indexFile == null)
+		return null;
+	File tempFile = null;
+	try {
+		// write aside then rename, so that concurrent compilers never see a partial index
+		tempFile = File.createTempFile(indexFile.getName(), ".tmp", indexFile.getParentFile()); //$NON-NLS-1$
+		FileOutputStream output = new FileOutputStream(tempFile);
+		try {
+			output.write(bytes);
+		} finally {
+			output.close();
+		}
+		if (!tempFile.renameTo(indexFile)) {
+			indexFile.delete();
+			if (!tempFile.renameTo(indexFile))
+				return null;
+		}
+		tempFile = null;
+		return load(path, lastModified, length);
+	} catch (IOException e) {
+		return null;
+	} finally {
+		if (tempFile != null)
+			tempFile.delete();
+	}
+}
+
+private static ByteBuffer map(File file) throws IOException {
+	RandomAccessFile input = new RandomAccessFile(file, "r"); //$NON-NLS-1$
+	try {
+		FileChannel channel = input.getChannel();
+		return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+	} finally {
+		input.close(); // the mapping stays valid
+	}
+}
+
+/*
+ * Read the central directory of the given jar and answer the bytes of its index,
+ * or null if the jar cannot be indexed.
+ */
+private static byte[] build(File jar, String path, long lastModified, long length) throws IOException {
+	RandomAccessFile input = new RandomAccessFile(jar, "r"); //$NON-NLS-1$
+	byte[] directory;
+	int entryCount;
+	try {
+		// find the end of central directory record, which is followed by a comment of at most 64k
+		int tailLength = (int) Math.min(length, END_OF_CENTRAL_DIRECTORY_SIZE + MAX_COMMENT_SIZE);
+		byte[] tail = new byte[tailLength];
+		input.seek(length - tailLength);
+		input.readFully(tail);
+		int end = -1;
+		for (int i = tailLength - END_OF_CENTRAL_DIRECTORY_SIZE; i >= 0; i--) {
+			if (readInt(tail, i) == END_OF_CENTRAL_DIRECTORY) {
+				end = i;
+				break;
+			}
+		}
+		if (end < 0)
+			return null; // not a zip file
+		entryCount = readShort(tail, end + 10);
+		long directorySize = readInt(tail, end + 12) & 0xFFFFFFFFL;
+		long directoryOffset = readInt(tail, end + 16) & 0xFFFFFFFFL;
+		if (entryCount == 0xFFFF || directorySize == 0xFFFFFFFFL || directoryOffset == 0xFFFFFFFFL)
+			return null; // zip64
+		if (directoryOffset + directorySize > length)
+			return null;
+		directory = new byte[(int) directorySize];
+		input.seek(directoryOffset);
+		input.readFully(directory);
+	} finally {
+		input.close();
+	}
+
+	// group the entries by package
+	HashMap<String, ArrayList<Object[]>> packages = new HashMap<String, ArrayList<Object[]>>();
+	packages.put(Util.EMPTY_STRING, new ArrayList<Object[]>());
+	int position = 0;
+	for (int i = 0; i < entryCount; i++) {
+		if (position + CENTRAL_DIRECTORY_ENTRY_SIZE > directory.length || readInt(directory, position) != CENTRAL_DIRECTORY_ENTRY)
+			return null;
+		int method = readShort(directory, position + 10);
+		long compressedSize = readInt(directory, position + 20) & 0xFFFFFFFFL;
+		long size = readInt(directory, position + 24) & 0xFFFFFFFFL;
+		int nameLength = readShort(directory, position + 28);
+		int extraLength = readShort(directory, position + 30);
+		int commentLength = readShort(directory, position + 32);
+		long offset = readInt(directory, position + 42) & 0xFFFFFFFFL;
+		if (compressedSize == 0xFFFFFFFFL || size == 0xFFFFFFFFL || offset == 0xFFFFFFFFL)
+			return null; // zip64
+		String name = new String(directory, position + CENTRAL_DIRECTORY_ENTRY_SIZE, nameLength, UTF8);
+		position += CENTRAL_DIRECTORY_ENTRY_SIZE + nameLength + extraLength + commentLength;
+
+		if (name.endsWith("/")) { //$NON-NLS-1$
+			// directory entry, only its package matters
+			if (name.length() > 1)
+				addPackage(packages, name.substring(0, name.length() - 1));
+			continue;
+		}
+		int last = name.lastIndexOf('/');
+		String packageName = last < 0 ? Util.EMPTY_STRING : name.substring(0, last);
+		addPackage(packages, packageName).add(new Object[] {name.substring(last + 1), new long[] {offset, compressedSize, size, method}});
+	}
+
+	// write the index, packages first
+	String[] packageNames = packages.keySet().toArray(new String[packages.size()]);
+	Arrays.sort(packageNames);
+	byte[][] encodedNames = new byte[packageNames.length][];
+	int headerSize = 4 + 4 + 2 + path.getBytes(UTF8).length + 8 + 8 + 4;
+	int directorySize = 0;
+	for (int i = 0; i < packageNames.length; i++) {
+		encodedNames[i] = packageNames[i].getBytes(UTF8);
+		directorySize += 2 + encodedNames[i].length + 4 + 4;
+	}
+	ByteArrayOutputStream bytes = new ByteArrayOutputStream(headerSize + directorySize + entryCount * 32);
+	DataOutputStream output = new DataOutputStream(bytes);
+	output.writeInt(MAGIC);
+	output.writeInt(VERSION);
+	writeName(output, path.getBytes(UTF8));
+	output.writeLong(lastModified);
+	output.writeLong(length);
+	output.writeInt(packageNames.length);
+	ByteArrayOutputStream entryBytes = new ByteArrayOutputStream(entryCount * 32);
+	DataOutputStream entryOutput = new DataOutputStream(entryBytes);
+	int entriesStart = headerSize + directorySize;
+	for (int i = 0; i < packageNames.length; i++) {
+		ArrayList<Object[]> packageEntries = packages.get(packageNames[i]);
+		writeName(output, encodedNames[i]);
+		output.writeInt(entriesStart + entryOutput.size());
+		output.writeInt(packageEntries.size());
+		for (int j = 0, size = packageEntries.size(); j < size; j++) {
+			Object[] entry = packageEntries.get(j);
+			long[] values = (long[]) entry[1];
+			writeName(entryOutput, ((String) entry[0]).getBytes(UTF8));
+			entryOutput.writeInt((int) values[0]);
+			entryOutput.writeInt((int) values[1]);
+			entryOutput.writeInt((int) values[2]);
+			entryOutput.writeShort((int) values[3]);
+		}
+	}
+	entryOutput.flush();
+	entryBytes.writeTo(output);
+	output.flush();
+	return bytes.toByteArray();
+}
+
+/*
+ * Register the given package and its parents, answer the entries of the given package.
+ */
+private static ArrayList<Object[]> addPackage(HashMap<String, ArrayList<Object[]>> packages, String packageName) {
+	ArrayList<Object[]> packageEntries = packages.get(packageName);
+	if (packageEntries != null)
+		return packageEntries;
+	packageEntries = new ArrayList<Object[]>();
+	packages.put(packageName, packageEntries);
+	String parent = packageName;
+	int last;
+	while ((last = parent.lastIndexOf('/')) > 0) {
+		parent = parent.substring(0, last);
+		if (packages.containsKey(parent))
+			break;
+		packages.put(parent, new ArrayList<Object[]>());
+	}
+	return packageEntries;
+}
+
+private static void writeName(DataOutputStream output, byte[] name) throws IOException {
+	output.writeShort(name.length);
+	output.write(name);
+}
+
+private static String readName(ByteBuffer buffer) throws UnsupportedEncodingException {
+	byte[] bytes = new byte[buffer.getShort() & 0xFFFF];
+	buffer.get(bytes);
+	return new String(bytes, UTF8);
+}
+
+// little endian, as in zip files
+private static int readInt(byte[] bytes, int position) {
+	return (bytes[position] & 0xFF)
+		| (bytes[position + 1] & 0xFF) << 8
+		| (bytes[position + 2] & 0xFF) << 16
+		| (bytes[position + 3] & 0xFF) << 24;
+}
+
+private static int readShort(byte[] bytes, int position) {
+	return (bytes[position] & 0xFF) | (bytes[position + 1] & 0xFF) << 8;
+}
+
+private void readPackages() throws IOException {
+	ByteBuffer directory = this.buffer.duplicate();
+	directory.getInt(); // magic
+	directory.getInt(); // version
+	readName(directory);
+	directory.getLong();
+	directory.getLong();
+	int packageCount = directory.getInt();
+	this.packages = new HashMap<String, int[]>(packageCount * 2);
+	for (int i = 0; i < packageCount; i++) {
+		String packageName = readName(directory);
+		this.packages.put(packageName, new int[] {directory.getInt(), directory.getInt()});
+	}
+}
+
+/*
+ * Answer the entries of the given package, reading them from the index the first time.
+ */
+private synchronized HashMap<String, Entry> getEntries(String packageName) {
+	HashMap<String, Entry> packageEntries = this.entries.get(packageName);
+	if (packageEntries != null)
+		return packageEntries;
+	int[] location = this.packages.get(packageName);
+	if (location == null)
+		return null;
+	int count = location[1];
+	packageEntries = new HashMap<String, Entry>(count * 2);
+	ByteBuffer block = this.buffer.duplicate();
+	block.position(location[0]);
+	try {
+		for (int i = 0; i < count; i++) {
+			String entryName = readName(block);
+			Entry entry = new Entry();
+			entry.offset = block.getInt() & 0xFFFFFFFFL;
+			entry.compressedSize = block.getInt();
+			entry.size = block.getInt();
+			entry.method = block.getShort() & 0xFFFF;
+			packageEntries.put(entryName, entry);
+		}
+	} catch (UnsupportedEncodingException e) {
+		// UTF-8 is always supported
+	}
+	this.entries.put(packageName, packageEntries);
+	return packageEntries;
+}
+
+private Entry getEntry(String entryName) {
+	int last = entryName.lastIndexOf('/');
+	HashMap<String, Entry> packageEntries = getEntries(last < 0 ? Util.EMPTY_STRING : entryName.substring(0, last));
+	return packageEntries == null ? null : packageEntries.get(entryName.substring(last + 1));
+}
+
+/**
+ * Answer the path of the indexed jar.
+ */
+public String getPath() {
+	return this.path;
+}
+
+/**
+ * Answer whether the given package (qualified with '/') has entries in the jar,
+ * directly or in one of its sub-packages.
+ */
+public boolean isPackage(String packageName) {
+	return this.packages.containsKey(packageName);
+}
+
+/**
+ * Answer the names of all the packages of the jar, qualified with '/'.
+ */
+public String[] getPackageNames() {
+	return this.packages.keySet().toArray(new String[this.packages.size()]);
+}
+
+/**
+ * Answer the names of the files of the given package (relative to the package),
+ * or <code>null</code> if the package does not exist.
+ */
+public String[] getEntryNames(String packageName) {
+	HashMap<String, Entry> packageEntries = getEntries(packageName);
+	if (packageEntries == null)
+		return null;
+	return packageEntries.keySet().toArray(new String[packageEntries.size()]);
+}
+
+/**
+ * Answer whether the given file (e.g. <code>java/lang/Object.class</code>) is in the jar.
+ */
+public boolean contains(String entryName) {
+	return getEntry(entryName) != null;
+}
+
+/**
+ * Answer the contents of the given file of the jar, read through the given (open) jar file,
+ * or <code>null</code> if the jar has no such file.
+ *
+ * @throws IOException if the file cannot be read, or is compressed in a way which is not supported here,
+ * in which case it should be read through {@link java.util.zip.ZipFile}
+ */
+public byte[] getEntryContent(RandomAccessFile jar, String entryName) throws IOException {
+	Entry entry = getEntry(entryName);
+	if (entry == null)
+		return null;
+	if (entry.method != STORED && entry.method != DEFLATED)
+		throw new IOException("Unsupported compression method " + entry.method + " for " + entryName); //$NON-NLS-1$ //$NON-NLS-2$
+	byte[] header = new byte[LOCAL_HEADER_SIZE];
+	jar.seek(entry.offset);
+	jar.readFully(header);
+	if (readInt(header, 0) != LOCAL_HEADER)
+		throw new IOException("Invalid local header for " + entryName); //$NON-NLS-1$
+	// the local header has its own name and extra field lengths, the sizes are taken from the central directory
+	jar.seek(entry.offset + LOCAL_HEADER_SIZE + readShort(header, 26) + readShort(header, 28));
+	if (entry.method == STORED) {
+		byte[] contents = new byte[entry.size];
+		jar.readFully(contents);
+		return contents;
+	}
+	byte[] compressed = new byte[entry.compressedSize + 1]; // an extra byte is required by raw inflaters
+	jar.readFully(compressed, 0, entry.compressedSize);
+	byte[] contents = new byte[entry.size];
+	Inflater inflater = new Inflater(true);
+	try {
+		inflater.setInput(compressed);
+		int read = 0;
+		while (read < contents.length) {
+			int count = inflater.inflate(contents, read, contents.length - read);
+			if (count == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary()))
+				break;
+			read += count;
+		}
+		if (read != contents.length)
+			throw new IOException("Truncated entry " + entryName); //$NON-NLS-1$
+	} catch (DataFormatException e) {
+		throw new IOException("Invalid compressed data for " + entryName); //$NON-NLS-1$
+	} finally {
+		inflater.end();
+	}
+	return contents;
+}
+
+public String toString() {
+	StringBuffer buffer = new StringBuffer("Index of "); //$NON-NLS-1$
+	buffer.append(this.path).append(" ("); //$NON-NLS-1$
+	buffer.append(this.packages.size()).append(" packages)"); //$NON-NLS-1$
+	return buffer.toString();
+}
+}
@@ -0,0 +1,156 @@
+package org.eclipse.jdt.internal.compiler.util;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.IllegalCharsetNameException;
+import java.nio.charset.UnsupportedCharsetException;
+
+/**
+ * Reads source files into character arrays without going through streams: large files are memory-mapped,
+ * small ones are read into a byte buffer, and both are decoded into a char buffer from which the contents
+ * are copied once, to an array of their exact length.
+ * <p>
+ * Byte buffers, char buffers and decoders are pooled per thread, so that the threads of the
+ * {@link org.eclipse.jdt.internal.compiler.ReadManager} decode thousands of files without allocating
+ * more than their contents. Buffers grown for a very large file are not kept.
+ * <p>
+ * Contents are decoded as {@link Util#getFileCharContent(File, String)} does: malformed input is replaced,
+ * an unsupported encoding falls back to the default one, and the BOM of UTF-8 files is dropped.
+ * <p>
+ * A mapped file stays mapped until its buffer is garbage collected, which on Windows prevents the file
+ * from being changed or deleted. Long running compilers, such as the compiler server, therefore read
+ * all the files, see {@link #disableMapping()}.
+ */
+public final class SourceReader {
+
+	/** files of this size or more are memory-mapped, smaller ones are read */
+	static final int MAP_THRESHOLD = 64 * 1024;
+	/** initial size of the pooled buffers */
+	static final int BUFFER_SIZE = 16 * 1024;
+	/** buffers grown beyond this size are dropped after use */
+	static final int MAX_POOLED_SIZE = 1024 * 1024;
+
+	private static volatile boolean MapFiles = true;
+
+	private static final ThreadLocal<SourceReader> READERS = new ThreadLocal<SourceReader>() {
+		protected SourceReader initialValue() {
+			return new SourceReader();
+		}
+	};
+
+	private ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+	private CharBuffer chars = CharBuffer.allocate(BUFFER_SIZE);
+	private CharsetDecoder decoder;
+
+private SourceReader() {
+	// pooled per thread
+}
+
+/**
+ * Read large files as the small ones from now on, instead of memory-mapping them.
+ */
+public static void disableMapping() {
+	MapFiles = false;
+}
+
+/**
+ * Answer the contents of the given file decoded with the given encoding (<code>null</code> for the default one).
+ */
+public static char[] getFileCharContent(File file, String encoding) throws IOException {
+	return READERS.get().read(file, encoding);
+}
+
+private char[] read(File file, String encoding) throws IOException {
+	FileInputStream stream = new FileInputStream(file);
+	try {
+		FileChannel channel = stream.getChannel();
+		long size = channel.size();
+		if (size > Integer.MAX_VALUE)
+			throw new IOException("File too large: " + file); //$NON-NLS-1$
+		ByteBuffer input;
+		if (size >= MAP_THRESHOLD && MapFiles) {
+			input = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+		} else {
+			if (this.bytes.capacity() < size)
+				this.bytes = ByteBuffer.allocate((int) size);
+			input = this.bytes;
+			input.clear();
+			while (input.hasRemaining() && channel.read(input) >= 0) {
+				// files may grow while being read, the contents read so far are decoded
+			}
+			input.flip();
+		}
+		char[] contents = decode(input, encoding);
+		if (this.bytes.capacity() > MAX_POOLED_SIZE)
+			this.bytes = ByteBuffer.allocate(BUFFER_SIZE);
+		return contents;
+	} finally {
+		try {
+			stream.close();
+		} catch (IOException e) {
+			// ignore
+		}
+	}
+}
+
+private char[] decode(ByteBuffer input, String encoding) throws CharacterCodingException {
+	CharsetDecoder charsetDecoder = decoder(encoding);
+	CharBuffer output = this.chars;
+	int capacity = (int) (input.remaining() * (double) charsetDecoder.maxCharsPerByte()) + 1;
+	if (output.capacity() < capacity)
+		output = CharBuffer.allocate(capacity);
+	output.clear();
+	charsetDecoder.reset();
+	CoderResult result = charsetDecoder.decode(input, output, true);
+	if (!result.isUnderflow())
+		result.throwException();
+	result = charsetDecoder.flush(output);
+	if (!result.isUnderflow())
+		result.throwException();
+	output.flip();
+
+	// Do not keep first character for UTF-8 BOM encoding
+	if (output.hasRemaining() && output.get(0) == 0xFEFF && Util.UTF_8.equals(charsetDecoder.charset().name()))
+		output.position(1);
+	char[] contents = new char[output.remaining()];
+	output.get(contents);
+
+	if (output.capacity() <= MAX_POOLED_SIZE)
+		this.chars = output;
+	else
+		this.chars = CharBuffer.allocate(BUFFER_SIZE);
+	return contents;
+}
+
+private CharsetDecoder decoder(String encoding) {
+	Charset charset = charset(encoding);
+	if (this.decoder == null || !this.decoder.charset().equals(charset)) {
+		this.decoder = charset.newDecoder()
+			.onMalformedInput(CodingErrorAction.REPLACE)
+			.onUnmappableCharacter(CodingErrorAction.REPLACE);
+	}
+	return this.decoder;
+}
+
+private static Charset charset(String encoding) {
+	if (encoding != null) {
+		try {
+			return Charset.forName(encoding);
+		} catch (IllegalCharsetNameException e) {
+			// encoding is not supported
+		} catch (UnsupportedCharsetException e) {
+			// encoding is not supported
+		}
+	}
+	return Charset.defaultCharset();
+}
+}
@@ -833,6 +833,14 @@ public class Util implements SuffixConstants {
 		return true;
 	}
 
+	/**
+	 * Returns true iff str.endsWith(".maxj"), i.e. the unit is written in the MaxJ dialect
+	 * implementation is not creating extra strings.
+	 */
+	public final static boolean isMaxJFileName(char[] name) {
+		return name != null && CharOperation.endsWith(name, SUFFIX_maxjava);
+	}
+
 	/**
 	 * Returns true iff str.toLowerCase().endsWith(".java")
 	 * implementation is not creating extra strings.
@@ -850,6 +858,22 @@ public class Util implements SuffixConstants {
 		return true;
 	}
 
+	/**
+	 * Make the given file or folder only readable and writable (and for a folder, listable) by its owner.
+	 * Changing the permissions of a file fails for another user than its owner.
+	 * Windows cannot clear the read permission, the files of the user profile being private there anyway.
+	 * @param file the file or folder to restrict
+	 * @return whether the file is now private to the current user
+	 */
+	public static boolean restrictToOwner(File file) {
+		boolean restricted = file.setReadable(false, false) & file.setReadable(true, true)
+			& file.setWritable(false, false) & file.setWritable(true, true)
+			& file.setExecutable(false, false);
+		if (file.isDirectory())
+			restricted &= file.setExecutable(true, true);
+		return restricted || File.separatorChar == '\\';
+	}
+
 	public static void reverseQuickSort(char[][] list, int left, int right) {
 		int original_left= left;
 		int original_right= right;
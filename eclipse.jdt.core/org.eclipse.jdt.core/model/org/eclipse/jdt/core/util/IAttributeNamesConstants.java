@@ -169,4 +169,10 @@ public interface IAttributeNamesConstants {
 	 * @since 3.10
 	 */
 	char[] METHOD_PARAMETERS = "MethodParameters".toCharArray(); //$NON-NLS-1$
+
+	/**
+	 * "OperatorCallSites" attribute (operator overloading).
+	 * @since 3.10
+	 */
+	char[] OPERATOR_CALL_SITES = "OperatorCallSites".toCharArray(); //$NON-NLS-1$
 }
@@ -0,0 +1,92 @@
+package org.eclipse.jdt.core.util;
+
+/**
+ * Description of a call site listed by an operator call sites attribute: the invocation an overloaded
+ * operator, or a DSL statement, was compiled to.
+ *
+ * This interface may be implemented by clients.
+ *
+ * @see IOperatorCallSitesAttribute
+ * @since 3.10
+ */
+public interface IOperatorCallSite {
+
+	/** Binary operator, <code>a + b</code> */
+	int BINARY = 1;
+	/** Unary operator, <code>-a</code> */
+	int UNARY = 2;
+	/** Compound assignment, <code>a += b</code> */
+	int COMPOUND_ASSIGNMENT = 3;
+	/** Connection, <code>a &lt;== b</code> */
+	int CONNECT = 4;
+	/** Conditional expression, <code>c ? a : b</code> */
+	int TERNARY_IF = 5;
+	/** Array access, <code>a[i]</code> */
+	int ARRAY_GET = 6;
+	/** Array assignment, <code>a[i] = b</code> */
+	int ARRAY_PUT = 7;
+	/** <code>IF</code> statement */
+	int IF = 8;
+	/** <code>ELSE</code> of an <code>IF</code> statement */
+	int ELSE = 9;
+	/** End of an <code>IF</code> statement */
+	int END_IF = 10;
+	/** <code>SWITCH</code> statement */
+	int SWITCH = 11;
+	/** <code>CASE</code> of a <code>SWITCH</code> statement */
+	int CASE = 12;
+	/** <code>OTHERWISE</code> of a <code>SWITCH</code> statement */
+	int OTHERWISE = 13;
+	/** End of a <code>SWITCH</code> statement */
+	int END_SWITCH = 14;
+
+	/**
+	 * Answer back the index of the method containing the call site, in the methods of the class file.
+	 *
+	 * @return the index of the method containing the call site
+	 */
+	int getMethodIndex();
+
+	/**
+	 * Answer back the pc of the invocation in the code of the method.
+	 *
+	 * @return the pc of the invocation
+	 */
+	int getPC();
+
+	/**
+	 * Answer back the kind of the call site, one of the constants of this interface.
+	 *
+	 * @return the kind of the call site
+	 */
+	int getKind();
+
+	/**
+	 * Answer back the id of the operator of a binary, unary or compound assignment call site,
+	 * as used by the compiler. Answer 0 for the other kinds of call site.
+	 *
+	 * @return the id of the operator
+	 */
+	int getOperator();
+
+	/**
+	 * Answer back the line number of the call site in the source file, 65535 for the lines after it.
+	 *
+	 * @return the line number of the call site
+	 */
+	int getLineNumber();
+
+	/**
+	 * Answer back the position of the first character of the call site in the source file.
+	 *
+	 * @return the source start of the call site
+	 */
+	int getSourceStart();
+
+	/**
+	 * Answer back the position of the last character of the call site in the source file.
+	 *
+	 * @return the source end of the call site
+	 */
+	int getSourceEnd();
+}
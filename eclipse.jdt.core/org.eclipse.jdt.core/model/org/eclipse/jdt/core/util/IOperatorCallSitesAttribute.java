@@ -0,0 +1,31 @@
+package org.eclipse.jdt.core.util;
+
+/**
+ * Description of an operator call sites attribute, which lists the invocations the overloaded
+ * operators and the DSL statements of a class were compiled to.
+ * <p>
+ * The attribute is only generated on demand, see the <code>-operatorCallSites</code> option of the
+ * batch compiler.
+ * </p>
+ *
+ * This interface may be implemented by clients.
+ *
+ * @since 3.10
+ */
+public interface IOperatorCallSitesAttribute extends IClassFileAttribute {
+
+	/**
+	 * Answer back the number of call sites listed by this attribute.
+	 *
+	 * @return the number of call sites listed by this attribute
+	 */
+	int getOperatorCallSitesLength();
+
+	/**
+	 * Answer back the call sites listed by this attribute, ordered by method and pc.
+	 * Answer an empty array if none.
+	 *
+	 * @return the call sites listed by this attribute. Answer an empty array if none
+	 */
+	IOperatorCallSite[] getOperatorCallSites();
+}
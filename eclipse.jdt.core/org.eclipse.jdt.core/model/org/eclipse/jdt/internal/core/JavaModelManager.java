@@ -234,6 +234,27 @@ public class JavaModelManager implements ISaveParticipant, IContentTypeChangeLis
 	 */
 	public static final String MAX_COMPILED_UNITS_AT_ONCE = "maxCompiledUnitsAtOnce"; //$NON-NLS-1$
 
+	/**
+	 * Name of the JVM parameter to specify whether the builder sizes the groups of compilation units it handles at once
+	 * from the available heap and the memory used by the units compiled so far, instead of <code>MAX_COMPILED_UNITS_AT_ONCE</code>.
+	 * The default value is represented by <code>AbstractImageBuilder#ADAPTIVE_AT_ONCE</code>.
+	 */
+	public static final String ADAPTIVE_COMPILED_UNITS_AT_ONCE = "adaptiveCompiledUnitsAtOnce"; //$NON-NLS-1$
+
+	/**
+	 * Name of the JVM parameter to specify how many projects the builder may compile at the same time during a build.
+	 * The default value of 1 leaves each project to be compiled when the platform invokes its builder.
+	 * The default value is represented by <code>ProjectBuildCoordinator#PARALLEL_BUILDS</code>.
+	 */
+	public static final String PARALLEL_PROJECT_BUILDS = "parallelProjectBuilds"; //$NON-NLS-1$
+
+	/**
+	 * Name of the JVM parameter to specify whether the builder remembers a hash of the class files it writes,
+	 * so that a class file compiled again with identical contents is recognized without reading it back.
+	 * The default value is represented by <code>AbstractImageBuilder#SKIP_UNCHANGED_OUTPUT</code>.
+	 */
+	public static final String SKIP_UNCHANGED_OUTPUT = "skipUnchangedOutput"; //$NON-NLS-1$
+
 	/**
 	 * Special value used for recognizing ongoing initialization and breaking initialization cycles
 	 */
@@ -60,6 +60,16 @@ protected SimpleSet filesWithAnnotations = null;
 
 //2000 is best compromise between space used and speed
 public static int MAX_AT_ONCE = Integer.getInteger(JavaModelManager.MAX_COMPILED_UNITS_AT_ONCE, 2000).intValue();
+// size the groups of units compiled at once from the free heap & the memory used by each unit instead of MAX_AT_ONCE
+public static boolean ADAPTIVE_AT_ONCE = Boolean.getBoolean(JavaModelManager.ADAPTIVE_COMPILED_UNITS_AT_ONCE);
+public static int MIN_AT_ONCE = 100; // smallest adaptive group, unless fewer units remain
+// memory used by each compiled unit, measured over the groups of the previous builds, updated while holding the class lock
+public static volatile long UnitMemory = 256 * 1024;
+private static int CompilingBuilders = 0; // builders compiling a group at the moment, which share the free heap
+private long groupStartMemory;
+private long groupPeakMemory;
+// remember a hash of each class file written, so identical contents are recognized without reading the class file back
+public static boolean SKIP_UNCHANGED_OUTPUT = Boolean.getBoolean(JavaModelManager.SKIP_UNCHANGED_OUTPUT);
 public final static String[] JAVA_PROBLEM_MARKER_ATTRIBUTE_NAMES = {
 	IMarker.MESSAGE,
 	IMarker.SEVERITY,
@@ -126,6 +136,7 @@ public void acceptResult(CompilationResult result) {
 	SourceFile compilationUnit = (SourceFile) result.getCompilationUnit(); // go directly back to the sourceFile
 	if (!this.workQueue.isCompiled(compilationUnit)) {
 		this.workQueue.finished(compilationUnit);
+		recordMemoryUsed();
 
 		try {
 			updateProblemsFor(compilationUnit, result); // record compilation problems before potentially adding duplicate errors
@@ -295,7 +306,8 @@ protected void compile(SourceFile[] units) {
 	}
 
 	int unitsLength = units.length;
-	this.compiledAllAtOnce = MAX_AT_ONCE == 0 || unitsLength <= MAX_AT_ONCE;
+	int doNow = ADAPTIVE_AT_ONCE ? computeGroupSize(unitsLength) : MAX_AT_ONCE;
+	this.compiledAllAtOnce = doNow == 0 || unitsLength <= doNow;
 	if (this.compiledAllAtOnce) {
 		// do them all now
 		if (JavaBuilder.DEBUG)
@@ -305,11 +317,16 @@ protected void compile(SourceFile[] units) {
 	} else {
 		SourceFile[] remainingUnits = new SourceFile[unitsLength]; // copy of units, removing units when about to compile
 		System.arraycopy(units, 0, remainingUnits, 0, unitsLength);
-		int doNow = unitsLength < MAX_AT_ONCE ? unitsLength : MAX_AT_ONCE;
-		SourceFile[] toCompile = new SourceFile[doNow];
+		if (ADAPTIVE_AT_ONCE)
+			this.nameEnvironment.keepLibraryTypes(true);
 		int remainingIndex = 0;
 		boolean compilingFirstGroup = true;
 		while (remainingIndex < unitsLength) {
+			if (ADAPTIVE_AT_ONCE && !compilingFirstGroup)
+				doNow = computeGroupSize(unitsLength - remainingIndex);
+			if (doNow > unitsLength - remainingIndex)
+				doNow = unitsLength - remainingIndex;
+			SourceFile[] toCompile = new SourceFile[doNow];
 			int count = 0;
 			while (remainingIndex < unitsLength && count < doNow) {
 				// Although it needed compiling when this method was called, it may have
@@ -331,6 +348,8 @@ protected void compile(SourceFile[] units) {
 			compile(toCompile, remainingUnits, compilingFirstGroup);
 			compilingFirstGroup = false;
 		}
+		if (ADAPTIVE_AT_ONCE)
+			this.nameEnvironment.keepLibraryTypes(false);
 	}
 
 	if (participantResults != null) {
@@ -362,20 +381,54 @@ protected void compile(SourceFile[] units, SourceFile[] additionalUnits, boolean
 		initialTypeNames[i] = units[i].initialTypeName;
 	this.nameEnvironment.setNames(initialTypeNames, additionalUnits);
 	this.notifier.checkCancel();
+	boolean adaptive = ADAPTIVE_AT_ONCE;
+	if (adaptive) {
+		synchronized (AbstractImageBuilder.class) {
+			CompilingBuilders++;
+		}
+		this.groupPeakMemory = this.groupStartMemory = usedMemory();
+	}
 	try {
 		this.inCompiler = true;
 		this.compiler.compile(units);
+		if (adaptive)
+			recordUnitMemory(units.length);
 	} catch (AbortCompilation ignored) {
 		// ignore the AbortCompilcation coming from BuildNotifier.checkCancelWithinCompiler()
 		// the Compiler failed after the user has chose to cancel... likely due to an OutOfMemory error
 	} finally {
 		this.inCompiler = false;
+		if (adaptive) {
+			synchronized (AbstractImageBuilder.class) {
+				CompilingBuilders--;
+			}
+		}
 	}
 	// Check for cancel immediately after a compile, because the compiler may
 	// have been cancelled but without propagating the correct exception
 	this.notifier.checkCancel();
 }
 
+/*
+ * Answer how many of the remaining units can be compiled at once in this builder's share of the heap left,
+ * given the memory each unit used in the groups compiled so far.
+ */
+protected int computeGroupSize(int remainingUnits) {
+	Runtime runtime = Runtime.getRuntime();
+	long freeMemory = runtime.maxMemory() - usedMemory();
+	int builders;
+	synchronized (AbstractImageBuilder.class) {
+		builders = CompilingBuilders + 1; // the builders of the projects compiled ahead & this one
+	}
+	// leave a third of the free heap for the class files, markers & state built from the results
+	long groupSize = freeMemory / 3 * 2 / builders / UnitMemory;
+	if (groupSize < MIN_AT_ONCE)
+		groupSize = MIN_AT_ONCE > 0 ? MIN_AT_ONCE : 1;
+	int doNow = groupSize < remainingUnits ? (int) groupSize : remainingUnits;
+	this.notifier.compilingGroup(doNow, remainingUnits, freeMemory, UnitMemory);
+	return doNow;
+}
+
 protected void copyResource(IResource source, IResource destination) throws CoreException {
 	IPath destPath = destination.getFullPath();
 	try {
@@ -445,7 +498,7 @@ protected SourceFile findSourceFile(IFile file, boolean mustExist) {
 
 protected void finishedWith(String sourceLocator, CompilationResult result, char[] mainTypeName, ArrayList definedTypeNames, ArrayList duplicateTypeNames) {
 	if (duplicateTypeNames == null) {
-		this.newState.record(sourceLocator, result.qualifiedReferences, result.simpleNameReferences, result.rootReferences, mainTypeName, definedTypeNames);
+		this.newState.record(sourceLocator, result.qualifiedReferences, result.simpleNameReferences, result.rootReferences, result.memberReferences, result.superTypeReferences, mainTypeName, definedTypeNames);
 		return;
 	}
 
@@ -461,7 +514,7 @@ protected void finishedWith(String sourceLocator, CompilationResult result, char
 		System.arraycopy(simpleRefs, 0, simpleRefs = new char[sLength + 1][], 0, sLength);
 		simpleRefs[sLength] = typeName;
 	}
-	this.newState.record(sourceLocator, result.qualifiedReferences, simpleRefs, result.rootReferences, mainTypeName, definedTypeNames);
+	this.newState.record(sourceLocator, result.qualifiedReferences, simpleRefs, result.rootReferences, result.memberReferences, result.superTypeReferences, mainTypeName, definedTypeNames);
 }
 
 protected IContainer createFolder(IPath packagePath, IContainer outputFolder) throws CoreException {
@@ -500,6 +553,26 @@ protected RuntimeException internalException(CoreException t) {
 	return imageBuilderException;
 }
 
+/*
+ * 64-bit FNV-1a hash of the class file contents.
+ */
+static long hashOf(byte[] bytes) {
+	long hash = 0xcbf29ce484222325L;
+	for (int i = 0, l = bytes.length; i < l; i++) {
+		hash ^= bytes[i] & 0xFF;
+		hash *= 0x100000001b3L;
+	}
+	return hash;
+}
+
+/*
+ * Answer whether the given output file was last written by this builder with the given contents.
+ */
+protected boolean isUnchangedOutput(IFile file, byte[] bytes) {
+	if (!SKIP_UNCHANGED_OUTPUT) return false;
+	return this.newState.isUnchangedOutput(file.getProjectRelativePath().toString(), hashOf(bytes), file.getModificationStamp());
+}
+
 protected boolean isExcludedFromProject(IPath childPath) throws JavaModelException {
 	// answer whether the folder should be ignored when walking the project as a source folder
 	if (childPath.segmentCount() > 2) return false; // is a subfolder of a package
@@ -631,6 +704,32 @@ protected void processAnnotations(CompilationParticipantResult[] results) {
 	processAnnotationResults(results);
 }
 
+/*
+ * Sample the heap while the results of a group are accepted, since all its bindings are still reachable.
+ */
+protected void recordMemoryUsed() {
+	if (ADAPTIVE_AT_ONCE) {
+		long used = usedMemory();
+		if (used > this.groupPeakMemory)
+			this.groupPeakMemory = used;
+	}
+}
+
+private void recordUnitMemory(int unitCount) {
+	if (unitCount < 10) return; // too few to be measured
+	long unitMemory = (this.groupPeakMemory - this.groupStartMemory) / unitCount;
+	if (unitMemory > 0) {
+		synchronized (AbstractImageBuilder.class) {
+			UnitMemory = (UnitMemory + unitMemory) / 2; // smooth out the collections happening during a group
+		}
+	}
+}
+
+private static long usedMemory() {
+	Runtime runtime = Runtime.getRuntime();
+	return runtime.totalMemory() - runtime.freeMemory();
+}
+
 protected void recordParticipantResult(CompilationParticipantResult result) {
 	// any added/changed/deleted generated files have already been taken care
 	// just record the problems and dependencies - do not expect there to be many
@@ -655,6 +754,18 @@ protected void recordParticipantResult(CompilationParticipantResult result) {
 	}
 }
 
+protected void recordOutputHash(IFile file, byte[] bytes) {
+	if (SKIP_UNCHANGED_OUTPUT)
+		this.newState.recordOutputHash(file.getProjectRelativePath().toString(), hashOf(bytes), file.getModificationStamp());
+}
+
+protected void removeOutputHash(IResource output) {
+	if (output.getType() == IResource.FILE)
+		this.newState.removeOutputHash(output.getProjectRelativePath().toString());
+	else
+		this.newState.removeOutputHashes(output.getProjectRelativePath().toString());
+}
+
 /**
  * Creates a marker from each problem and adds it to the resource.
  * The marker is as follows:
@@ -865,7 +976,8 @@ protected void writeClassFileContents(ClassFile classFile, IFile file, String qu
 //	InputStream input = new SequenceInputStream(
 //			new ByteArrayInputStream(classFile.header, 0, classFile.headerOffset),
 //			new ByteArrayInputStream(classFile.contents, 0, classFile.contentsOffset));
-	InputStream input = new ByteArrayInputStream(classFile.getBytes());
+	byte[] bytes = classFile.getBytes();
+	InputStream input = new ByteArrayInputStream(bytes);
 	if (file.exists()) {
 		// Deal with shared output folders... last one wins... no collision cases detected
 		if (JavaBuilder.DEBUG)
@@ -879,5 +991,6 @@ protected void writeClassFileContents(ClassFile classFile, IFile file, String qu
 			System.out.println("Writing new class file " + file.getName());//$NON-NLS-1$
 		file.create(input, IResource.FORCE | IResource.DERIVED, null);
 	}
+	recordOutputHash(file, bytes);
 }
 }
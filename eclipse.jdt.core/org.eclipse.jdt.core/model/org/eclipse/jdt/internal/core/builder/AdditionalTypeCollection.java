@@ -14,8 +14,8 @@ public class AdditionalTypeCollection extends ReferenceCollection {
 
 char[][] definedTypeNames;
 
-protected AdditionalTypeCollection(char[][] definedTypeNames, char[][][] qualifiedReferences, char[][] simpleNameReferences, char[][] rootReferences) {
-	super(qualifiedReferences, simpleNameReferences, rootReferences);
+protected AdditionalTypeCollection(char[][] definedTypeNames, char[][][] qualifiedReferences, char[][] simpleNameReferences, char[][] rootReferences, char[][] memberReferences, char[][] superTypeReferences) {
+	super(qualifiedReferences, simpleNameReferences, rootReferences, memberReferences, superTypeReferences);
 	this.definedTypeNames = definedTypeNames; // do not bother interning member type names (i.e. 'A$M')
 }
 }
@@ -16,7 +16,9 @@ import org.eclipse.core.runtime.*;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.compiler.*;
 import org.eclipse.jdt.internal.compiler.ClassFile;
+import org.eclipse.jdt.internal.compiler.CompilationResult;
 import org.eclipse.jdt.internal.compiler.impl.CompilerStats;
+import org.eclipse.jdt.internal.compiler.util.SimpleLookupTable;
 import org.eclipse.jdt.internal.core.util.Messages;
 import org.eclipse.jdt.internal.core.util.Util;
 
@@ -28,6 +30,7 @@ public class BatchImageBuilder extends AbstractImageBuilder {
 	IncrementalImageBuilder incrementalBuilder; // if annotations or secondary types have to be processed after the compile loop
 	ArrayList secondaryTypes; // qualified names for all secondary types found during batch compile
 	StringSet typeLocatorsWithUndefinedTypes; // type locators for all source files with errors that may be caused by 'not found' secondary types
+	ProjectBuildCoordinator.PrecompiledProject precompiledProject; // results compiled ahead by the ProjectBuildCoordinator, if any
 
 protected BatchImageBuilder(JavaBuilder javaBuilder, boolean buildStarting) {
 	super(javaBuilder, buildStarting, null);
@@ -35,6 +38,7 @@ protected BatchImageBuilder(JavaBuilder javaBuilder, boolean buildStarting) {
 	this.incrementalBuilder = null;
 	this.secondaryTypes = null;
 	this.typeLocatorsWithUndefinedTypes = null;
+	this.precompiledProject = null;
 }
 
 public void build() {
@@ -58,7 +62,10 @@ public void build() {
 
 			this.notifier.setProgressPerCompilationUnit(0.75f / allSourceFiles.length);
 			this.workQueue.addAll(allSourceFiles);
-			compile(allSourceFiles);
+			if (this.precompiledProject != null)
+				acceptPrecompiledResults(allSourceFiles);
+			else
+				compile(allSourceFiles);
 
 			if (this.typeLocatorsWithUndefinedTypes != null)
 				if (this.secondaryTypes != null && !this.secondaryTypes.isEmpty())
@@ -78,6 +85,40 @@ public void build() {
 	}
 }
 
+protected void acceptPrecompiledResults(SourceFile[] allSourceFiles) {
+	SimpleLookupTable sourceFilesByLocator = new SimpleLookupTable(allSourceFiles.length);
+	for (int i = 0, l = allSourceFiles.length; i < l; i++)
+		sourceFilesByLocator.put(allSourceFiles[i].typeLocator(), allSourceFiles[i]);
+	if (!this.precompiledProject.compiledAllAtOnce)
+		this.secondaryTypes = new ArrayList(7);
+
+	ArrayList results = this.precompiledProject.results;
+	this.precompiledProject = null;
+	for (int i = 0, l = results.size(); i < l; i++) {
+		CompilationResult result = (CompilationResult) results.get(i);
+		SourceFile sourceFile = (SourceFile) sourceFilesByLocator.get(((SourceFile) result.getCompilationUnit()).typeLocator());
+		if (sourceFile != null) {
+			result.compilationUnit = sourceFile; // the source locations of this build
+			acceptResult(result);
+		}
+	}
+
+	// compile the source files which were not compiled ahead
+	ArrayList remaining = null;
+	for (int i = 0, l = allSourceFiles.length; i < l; i++) {
+		if (this.workQueue.isWaiting(allSourceFiles[i])) {
+			if (remaining == null)
+				remaining = new ArrayList(3);
+			remaining.add(allSourceFiles[i]);
+		}
+	}
+	if (remaining != null) {
+		SourceFile[] units = new SourceFile[remaining.size()];
+		remaining.toArray(units);
+		compile(units);
+	}
+}
+
 protected void acceptSecondaryType(ClassFile classFile) {
 	if (this.secondaryTypes != null)
 		this.secondaryTypes.add(classFile.fileName());
@@ -170,6 +211,7 @@ protected void cleanUp() {
 	this.incrementalBuilder = null;
 	this.secondaryTypes = null;
 	this.typeLocatorsWithUndefinedTypes = null;
+	this.precompiledProject = null;
 	super.cleanUp();
 }
 
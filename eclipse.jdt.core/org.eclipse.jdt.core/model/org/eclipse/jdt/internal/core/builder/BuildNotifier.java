@@ -101,6 +101,18 @@ public void compiled(SourceFile unit) {
 	checkCancelWithinCompiler();
 }
 
+/**
+ * Notification before a group of units is compiled at once, with the free heap and the memory
+ * expected for each unit it was sized from.
+ */
+public void compilingGroup(int groupSize, int remainingUnits, long freeMemory, long unitMemory) {
+	if (JavaBuilder.DEBUG)
+		System.out.println("Compiling " + groupSize + " of " + remainingUnits + " units at once, " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			+ (freeMemory >> 10) + "K free and " + (unitMemory >> 10) + "K per unit"); //$NON-NLS-1$ //$NON-NLS-2$
+	if (groupSize < remainingUnits)
+		subTask(Messages.bind(Messages.build_compilingGroup, String.valueOf(groupSize), String.valueOf(remainingUnits)));
+}
+
 public void done() {
 	NewErrorCount = this.newErrorCount;
 	FixedErrorCount = this.fixedErrorCount;
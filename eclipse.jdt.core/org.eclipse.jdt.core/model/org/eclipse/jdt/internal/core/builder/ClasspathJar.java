@@ -18,6 +18,7 @@ import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFormatException;
 import org.eclipse.jdt.internal.compiler.env.AccessRuleSet;
 import org.eclipse.jdt.internal.compiler.env.NameEnvironmentAnswer;
+import org.eclipse.jdt.internal.compiler.util.JarIndex;
 import org.eclipse.jdt.internal.compiler.util.SimpleLookupTable;
 import org.eclipse.jdt.internal.compiler.util.SimpleSet;
 import org.eclipse.jdt.internal.compiler.util.SuffixConstants;
@@ -59,6 +60,15 @@ static SimpleSet findPackageSet(ClasspathJar jar) {
 
 	SimpleSet packageSet = new SimpleSet(41);
 	packageSet.add(""); //$NON-NLS-1$
+	JarIndex index = JarIndex.get(new File(zipFileName));
+	if (index != null) {
+		// shared with the other compilers of the machine
+		String[] packageNames = index.getPackageNames();
+		for (int i = 0, length = packageNames.length; i < length; i++)
+			packageSet.add(packageNames[i]);
+		PackageCache.put(zipFileName, new PackageCacheEntry(lastModified, fileSize, packageSet));
+		return packageSet;
+	}
 	nextEntry : for (Enumeration e = jar.zipFile.entries(); e.hasMoreElements(); ) {
 		String fileName = ((ZipEntry) e.nextElement()).getName();
 
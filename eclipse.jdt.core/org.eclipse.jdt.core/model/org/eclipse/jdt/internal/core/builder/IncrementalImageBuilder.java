@@ -20,6 +20,7 @@ import org.eclipse.jdt.internal.compiler.classfmt.*;
 import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
 import org.eclipse.jdt.internal.compiler.problem.*;
 import org.eclipse.jdt.internal.compiler.util.SimpleLookupTable;
+import org.eclipse.jdt.internal.compiler.util.SimpleSetOfCharArray;
 import org.eclipse.jdt.internal.compiler.util.SuffixConstants;
 import org.eclipse.jdt.internal.core.util.Messages;
 import org.eclipse.jdt.internal.core.util.Util;
@@ -39,6 +40,11 @@ protected ArrayList previousSourceFiles;
 protected StringSet qualifiedStrings;
 protected StringSet simpleStrings;
 protected StringSet rootStrings;
+// types whose changes are limited to some of their fields & methods, whose names are in changedMembers
+protected StringSet memberQualifiedStrings;
+protected StringSet memberSimpleStrings;
+protected StringSet memberRootStrings;
+protected StringSet changedMembers;
 protected SimpleLookupTable secondaryTypesToRemove;
 protected boolean hasStructuralChanges;
 protected int compileLoop;
@@ -181,12 +187,17 @@ protected void buildAfterBatchBuild() {
 }
 
 protected void addAffectedSourceFiles() {
-	if (this.qualifiedStrings.elementSize == 0 && this.simpleStrings.elementSize == 0) return;
-
-	addAffectedSourceFiles(this.qualifiedStrings, this.simpleStrings, this.rootStrings, null);
+	if (this.qualifiedStrings.elementSize > 0 || this.simpleStrings.elementSize > 0)
+		addAffectedSourceFiles(this.qualifiedStrings, this.simpleStrings, this.rootStrings, null);
+	if (this.changedMembers.elementSize > 0)
+		addAffectedSourceFiles(this.memberQualifiedStrings, this.memberSimpleStrings, this.memberRootStrings, this.changedMembers, null);
 }
 
 protected void addAffectedSourceFiles(StringSet qualifiedSet, StringSet simpleSet, StringSet rootSet, StringSet affectedTypes) {
+	addAffectedSourceFiles(qualifiedSet, simpleSet, rootSet, null, affectedTypes);
+}
+
+protected void addAffectedSourceFiles(StringSet qualifiedSet, StringSet simpleSet, StringSet rootSet, StringSet memberSet, StringSet affectedTypes) {
 	// the qualifiedStrings are of the form 'p1/p2' & the simpleStrings are just 'X'
 	char[][][] internedQualifiedNames = ReferenceCollection.internQualifiedNames(qualifiedSet);
 	// if a well known qualified name was found then we can skip over these
@@ -197,6 +208,13 @@ protected void addAffectedSourceFiles(StringSet qualifiedSet, StringSet simpleSe
 	if (internedSimpleNames.length < simpleSet.elementSize)
 		internedSimpleNames = null;
 	char[][] internedRootNames = ReferenceCollection.internSimpleNames(rootSet, false);
+	// only the references to the changed members matter, unless the type is a supertype of the unit's types
+	char[][] internedMemberNames = null;
+	char[][] internedTypeNames = null;
+	if (memberSet != null) {
+		internedMemberNames = ReferenceCollection.internSimpleNames(memberSet, false);
+		internedTypeNames = ReferenceCollection.internSimpleNames(simpleSet, false);
+	}
 
 	Object[] keyTable = this.newState.references.keyTable;
 	Object[] valueTable = this.newState.references.valueTable;
@@ -206,6 +224,7 @@ protected void addAffectedSourceFiles(StringSet qualifiedSet, StringSet simpleSe
 			if (affectedTypes != null && !affectedTypes.includes(typeLocator)) continue next;
 			ReferenceCollection refs = (ReferenceCollection) valueTable[i];
 			if (refs.includes(internedQualifiedNames, internedSimpleNames, internedRootNames)) {
+				if (internedMemberNames != null && !refs.includesMembers(internedMemberNames, internedTypeNames)) continue next;
 				IFile file = this.javaBuilder.currentProject.getFile(typeLocator);
 				SourceFile sourceFile = findSourceFile(file, true);
 				if (sourceFile == null) continue next;
@@ -260,6 +279,15 @@ protected void addDependentsOf(IPath path, boolean isStructuralChange, StringSet
 			+ typeName + " in " + packageName); //$NON-NLS-1$
 }
 
+protected void addDependentsOf(IPath path, SimpleSetOfCharArray members) {
+	addDependentsOf(path, true, this.memberQualifiedStrings, this.memberSimpleStrings, this.memberRootStrings);
+	char[][] values = members.values;
+	for (int i = 0, l = values.length; i < l; i++) {
+		if (values[i] != null && this.changedMembers.add(new String(values[i])) && JavaBuilder.DEBUG)
+			System.out.println("  will look for references to " + new String(values[i])); //$NON-NLS-1$
+	}
+}
+
 protected boolean checkForClassFileChanges(IResourceDelta binaryDelta, ClasspathMultiDirectory md, int segmentCount) throws CoreException {
 	IResource resource = binaryDelta.getResource();
 	// remember that if inclusion & exclusion patterns change then a full build is done
@@ -298,6 +326,10 @@ protected void cleanUp() {
 	this.qualifiedStrings = null;
 	this.simpleStrings = null;
 	this.rootStrings = null;
+	this.memberQualifiedStrings = null;
+	this.memberSimpleStrings = null;
+	this.memberRootStrings = null;
+	this.changedMembers = null;
 	this.secondaryTypesToRemove = null;
 	this.hasStructuralChanges = false;
 	this.compileLoop = 0;
@@ -579,6 +611,7 @@ protected boolean findSourceFiles(IResourceDelta sourceDelta, ClasspathMultiDire
 					IFolder removedPackageFolder = md.binaryFolder.getFolder(removedPackagePath);
 					if (removedPackageFolder.exists())
 						removedPackageFolder.delete(IResource.FORCE, null);
+					removeOutputHash(removedPackageFolder);
 					// add dependents even when the package thinks it does not exist to be on the safe side
 					if (JavaBuilder.DEBUG)
 						System.out.println("Found removed package " + removedPackagePath); //$NON-NLS-1$
@@ -757,6 +790,7 @@ protected void removeClassFile(IPath typePath, IContainer outputFolder) throws C
 			System.out.println("Deleting class file of removed type " + typePath); //$NON-NLS-1$
 		classFile.delete(IResource.FORCE, null);
 	}
+	removeOutputHash(classFile);
 }
 
 protected void removeSecondaryTypes() throws CoreException {
@@ -784,6 +818,10 @@ protected void resetCollections() {
 		this.qualifiedStrings = new StringSet(3);
 		this.simpleStrings = new StringSet(3);
 		this.rootStrings = new StringSet(3);
+		this.memberQualifiedStrings = new StringSet(3);
+		this.memberSimpleStrings = new StringSet(3);
+		this.memberRootStrings = new StringSet(3);
+		this.changedMembers = new StringSet(3);
 		this.hasStructuralChanges = false;
 		this.compileLoop = 0;
 	} else {
@@ -793,6 +831,10 @@ protected void resetCollections() {
 		this.qualifiedStrings.clear();
 		this.simpleStrings.clear();
 		this.rootStrings.clear();
+		this.memberQualifiedStrings.clear();
+		this.memberSimpleStrings.clear();
+		this.memberRootStrings.clear();
+		this.changedMembers.clear();
 		this.workQueue.clear();
 	}
 }
@@ -828,6 +870,12 @@ protected void writeClassFileContents(ClassFile classfile, IFile file, String qu
 	// If structural changes occurred then add dependent source files
 	byte[] bytes = classfile.getBytes();
 	if (file.exists()) {
+		if (!compilationUnit.updateClassFile && isUnchangedOutput(file, bytes)) {
+			// same contents as written last time, no need to read the class file back to compare it
+			if (JavaBuilder.DEBUG)
+				System.out.println("Skipped over class file with unchanged hash " + file.getName());//$NON-NLS-1$
+			return;
+		}
 		if (writeClassFileCheck(file, qualifiedFileName, bytes) || compilationUnit.updateClassFile) { // see 46093
 			if (JavaBuilder.DEBUG)
 				System.out.println("Writing changed class file " + file.getName());//$NON-NLS-1$
@@ -837,6 +885,7 @@ protected void writeClassFileContents(ClassFile classfile, IFile file, String qu
 		} else if (JavaBuilder.DEBUG) {
 			System.out.println("Skipped over unchanged class file " + file.getName());//$NON-NLS-1$
 		}
+		recordOutputHash(file, bytes);
 	} else {
 		if (isTopLevelType)
 			addDependentsOf(new Path(qualifiedFileName), true); // new type
@@ -866,6 +915,7 @@ protected void writeClassFileContents(ClassFile classfile, IFile file, String qu
 						// file is defined by the same compilationUnit, but won't be deleted until later so do it now
 						IFile collision = file.getParent().getFile(new Path(oldFilePath.lastSegment()));
 						collision.delete(true, false, null);
+						removeOutputHash(collision);
 						boolean success = false;
 						try {
 							file.create(new ByteArrayInputStream(bytes), IResource.FORCE | IResource.DERIVED, null);
@@ -873,7 +923,10 @@ protected void writeClassFileContents(ClassFile classfile, IFile file, String qu
 						} catch (CoreException ignored) {
 							// ignore the second exception
 						}
-						if (success) return;
+						if (success) {
+							recordOutputHash(file, bytes);
+							return;
+						}
 					}
 				}
 				// catch the case that a type has been renamed and collides on disk with an as-yet-to-be-deleted type
@@ -881,6 +934,7 @@ protected void writeClassFileContents(ClassFile classfile, IFile file, String qu
 			}
 			throw e; // rethrow
 		}
+		recordOutputHash(file, bytes);
 	}
 }
 
@@ -897,10 +951,17 @@ protected boolean writeClassFileCheck(IFile file, String fileName, byte[] newByt
 		String filePath = location.getSchemeSpecificPart();
 		ClassFileReader reader = new ClassFileReader(oldBytes, filePath.toCharArray());
 		// ignore local types since they're only visible inside a single method
-		if (!(reader.isLocal() || reader.isAnonymous()) && reader.hasStructuralChanges(newBytes)) {
-			if (JavaBuilder.DEBUG)
-				System.out.println("Type has structural changes " + fileName); //$NON-NLS-1$
-			addDependentsOf(new Path(fileName), true);
+		SimpleSetOfCharArray members = new SimpleSetOfCharArray(3);
+		if (!(reader.isLocal() || reader.isAnonymous()) && reader.hasStructuralChanges(newBytes, members)) {
+			if (members.elementSize > 0) {
+				if (JavaBuilder.DEBUG)
+					System.out.println("Type has structural changes to its members " + fileName); //$NON-NLS-1$
+				addDependentsOf(new Path(fileName), members);
+			} else {
+				if (JavaBuilder.DEBUG)
+					System.out.println("Type has structural changes " + fileName); //$NON-NLS-1$
+				addDependentsOf(new Path(fileName), true);
+			}
 			this.newState.wasStructurallyChanged(fileName);
 		}
 	} catch (ClassFormatException e) {
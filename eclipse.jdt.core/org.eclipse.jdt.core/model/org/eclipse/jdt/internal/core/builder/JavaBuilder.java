@@ -100,6 +100,7 @@ public static void buildStarting() {
  */
 public static void buildFinished() {
 	BuildNotifier.resetProblemCounters();
+	ProjectBuildCoordinator.buildFinished();
 }
 
 public static void removeProblemsFor(IResource resource) {
@@ -253,6 +254,7 @@ private void buildAll() {
 		System.out.println("JavaBuilder: Clearing last state : " + this.lastState); //$NON-NLS-1$
 	clearLastState();
 	BatchImageBuilder imageBuilder = new BatchImageBuilder(this, true);
+	imageBuilder.precompiledProject = ProjectBuildCoordinator.takePrecompiledProject(this);
 	imageBuilder.build();
 	recordNewState(imageBuilder.newState);
 }
@@ -549,7 +551,7 @@ private boolean hasClasspathChanged() {
 	return false;
 }
 
-private boolean hasJavaBuilder(IProject project) throws CoreException {
+static boolean hasJavaBuilder(IProject project) throws CoreException {
 	ICommand[] buildCommands = project.getDescription().getBuildSpec();
 	for (int i = 0, l = buildCommands.length; i < l; i++)
 		if (buildCommands[i].getBuilderName().equals(JavaCore.BUILDER_ID))
@@ -579,7 +581,7 @@ private boolean hasStructuralDelta() {
 	return false;
 }
 
-private int initializeBuilder(int kind, boolean forBuild) throws CoreException {
+int initializeBuilder(int kind, boolean forBuild) throws CoreException {
 	// some calls just need the nameEnvironment initialized so skip the rest
 	this.javaProject = (JavaProject) JavaCore.create(this.currentProject);
 	this.workspaceRoot = this.currentProject.getWorkspace().getRoot();
@@ -757,6 +759,7 @@ private void recordNewState(State state) {
 		System.out.println("JavaBuilder: Recording new state : " + state); //$NON-NLS-1$
 	// state.dump();
 	JavaModelManager.getJavaModelManager().setLastBuiltState(this.currentProject, state);
+	ProjectBuildCoordinator.projectBuilt(this.currentProject);
 }
 
 /**
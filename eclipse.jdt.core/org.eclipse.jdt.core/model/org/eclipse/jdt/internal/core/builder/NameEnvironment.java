@@ -40,6 +40,15 @@ BuildNotifier notifier;
 
 SimpleSet initialTypeNames; // assumed that each name is of the form "a/b/ClassName"
 SimpleLookupTable additionalUnits;
+// maps the qualified names of the types read from jars to their LibraryType, while units are compiled in groups
+SimpleLookupTable libraryTypes;
+int groupCount; // number of groups compiled since the library types were kept
+
+static class LibraryType {
+	int group; // last group which read the type from its jar
+	int locationIndex; // of the jar in binaryLocations
+	NameEnvironmentAnswer answer; // kept once a second group looks the type up
+}
 
 NameEnvironment(IWorkspaceRoot root, JavaProject javaProject, SimpleLookupTable binaryLocationsPerProject, BuildNotifier notifier) throws CoreException {
 	this.isIncrementalBuild = false;
@@ -244,6 +253,7 @@ private void computeClasspathLocations(
 public void cleanup() {
 	this.initialTypeNames = null;
 	this.additionalUnits = null;
+	this.libraryTypes = null;
 	for (int i = 0, l = this.sourceLocations.length; i < l; i++)
 		this.sourceLocations[i].cleanup();
 	for (int i = 0, l = this.binaryLocations.length; i < l; i++)
@@ -302,14 +312,30 @@ private NameEnvironmentAnswer findClass(String qualifiedTypeName, char[] typeNam
 		binaryFileName = qBinaryFileName.substring(typeNameStart);
 	}
 
+	LibraryType libraryType = null;
+	if (this.libraryTypes != null) {
+		libraryType = (LibraryType) this.libraryTypes.get(qualifiedTypeName);
+		if (libraryType != null && libraryType.answer != null) {
+			// the output & class folders ahead of its jar can define the type during the build
+			int i = 0;
+			while (i < libraryType.locationIndex && this.binaryLocations[i].findClass(binaryFileName, qPackageName, qBinaryFileName) == null)
+				i++;
+			if (i == libraryType.locationIndex)
+				return libraryType.answer;
+		}
+	}
+
 	// NOTE: the output folders are added at the beginning of the binaryLocations
 	NameEnvironmentAnswer suggestedAnswer = null;
 	for (int i = 0, l = this.binaryLocations.length; i < l; i++) {
 		NameEnvironmentAnswer answer = this.binaryLocations[i].findClass(binaryFileName, qPackageName, qBinaryFileName);
 		if (answer != null) {
 			if (!answer.ignoreIfBetter()) {
-				if (answer.isBetter(suggestedAnswer))
+				if (answer.isBetter(suggestedAnswer)) {
+					if (this.libraryTypes != null && this.binaryLocations[i] instanceof ClasspathJar)
+						recordLibraryType(qualifiedTypeName, libraryType, i, answer);
 					return answer;
+				}
 			} else if (answer.isBetter(suggestedAnswer))
 				// remember suggestion and keep looking
 				suggestedAnswer = answer;
@@ -349,7 +375,28 @@ public boolean isPackage(String qualifiedPackageName) {
 	return false;
 }
 
+/*
+ * Remember the types read from jars while the units are compiled in groups, and keep the ones which are looked up
+ * again by a later group so that resetting the LookupEnvironment between groups does not read & decode them again.
+ */
+void keepLibraryTypes(boolean keep) {
+	this.libraryTypes = keep ? new SimpleLookupTable() : null;
+	this.groupCount = 0;
+}
+
+private void recordLibraryType(String qualifiedTypeName, LibraryType libraryType, int locationIndex, NameEnvironmentAnswer answer) {
+	if (libraryType == null) {
+		libraryType = new LibraryType();
+		this.libraryTypes.put(qualifiedTypeName, libraryType);
+	} else if (libraryType.group != this.groupCount) {
+		libraryType.answer = answer; // hot since it is needed by more than one group
+	}
+	libraryType.group = this.groupCount;
+	libraryType.locationIndex = locationIndex;
+}
+
 void setNames(String[] typeNames, SourceFile[] additionalFiles) {
+	this.groupCount++;
 	// convert the initial typeNames to a set
 	if (typeNames == null) {
 		this.initialTypeNames = null;
@@ -0,0 +1,312 @@
+package org.eclipse.jdt.internal.core.builder;
+
+import org.eclipse.core.resources.*;
+import org.eclipse.core.runtime.*;
+
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.internal.compiler.CompilationResult;
+import org.eclipse.jdt.internal.compiler.util.SimpleLookupTable;
+import org.eclipse.jdt.internal.compiler.util.SimpleSet;
+import org.eclipse.jdt.internal.core.JavaModelManager;
+import org.eclipse.jdt.internal.core.JavaProject;
+
+import java.util.*;
+
+/**
+ * Compiles the projects which need a full build ahead of the platform, on a pool of worker threads,
+ * as soon as all the projects they require have been built during the current build.
+ * <p>
+ * The platform still invokes the JavaBuilder of each project in turn while holding the workspace lock,
+ * so workers never modify resources: each one compiles a project into memory with its own NameEnvironment
+ * and Compiler, and the JavaBuilder of that project publishes the results (class files, markers and new state)
+ * when it runs. A project is only compiled ahead once the states of its prerequisites have been recorded,
+ * so it always sees their published class files, and only if the JavaBuilder is its first builder, so no
+ * other builder of the project can change its sources in the meantime.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class ProjectBuildCoordinator implements Runnable {
+
+static class PrecompiledProject {
+	IProject project;
+	String[] requiredProjectNames;
+	long[] requiredStructuralBuildTimes; // of the required projects when the project was scheduled
+	boolean started;
+	boolean done;
+	ArrayList results; // of CompilationResult
+	boolean compiledAllAtOnce;
+	Throwable exception;
+}
+
+public static int PARALLEL_BUILDS = Integer.getInteger(JavaModelManager.PARALLEL_PROJECT_BUILDS, 1).intValue();
+public static int PrecompiledProjectsTaken = 0; // for tests, counts the projects whose builders published results compiled ahead
+
+private static ProjectBuildCoordinator Current; // for the build in progress
+
+IWorkspaceRoot workspaceRoot;
+// projects which have no state yet, until their JavaBuilder records one during this build
+SimpleSet unbuiltProjects;
+// projects which can be compiled ahead once their prerequisites are built, mapped to their required project names
+SimpleLookupTable waitingProjects;
+ArrayList scheduledProjects; // PrecompiledProjects waiting for a worker
+SimpleLookupTable precompiledProjects; // maps a project to its PrecompiledProject, from scheduling until its JavaBuilder takes it
+private Thread[] workerThreads;
+private IProgressMonitor monitor; // cancelled when the build finishes
+private boolean shutdown;
+
+/**
+ * Answer the results compiled ahead for the project of the given builder, waiting for them if the
+ * project is being compiled, or null if the builder must compile the project itself.
+ * The first call during a build starts compiling ahead the other projects which need a full build.
+ */
+static PrecompiledProject takePrecompiledProject(JavaBuilder javaBuilder) {
+	if (PARALLEL_BUILDS <= 1) return null;
+
+	ProjectBuildCoordinator coordinator;
+	synchronized (ProjectBuildCoordinator.class) {
+		if (Current == null) {
+			Current = new ProjectBuildCoordinator(javaBuilder.workspaceRoot);
+			Current.initialize(javaBuilder.currentProject);
+		}
+		coordinator = Current;
+	}
+	return coordinator.take(javaBuilder.currentProject);
+}
+
+/**
+ * Called once the state of the given project has been recorded, to compile ahead its dependents.
+ */
+static void projectBuilt(IProject project) {
+	ProjectBuildCoordinator coordinator;
+	synchronized (ProjectBuildCoordinator.class) {
+		coordinator = Current;
+	}
+	if (coordinator != null)
+		coordinator.built(project);
+}
+
+/**
+ * Discards the results which were not published during the build that just finished.
+ */
+static void buildFinished() {
+	ProjectBuildCoordinator coordinator;
+	synchronized (ProjectBuildCoordinator.class) {
+		coordinator = Current;
+		Current = null;
+	}
+	if (coordinator != null)
+		coordinator.shutdown();
+}
+
+private ProjectBuildCoordinator(IWorkspaceRoot workspaceRoot) {
+	this.workspaceRoot = workspaceRoot;
+	this.unbuiltProjects = new SimpleSet(11);
+	this.waitingProjects = new SimpleLookupTable(11);
+	this.scheduledProjects = new ArrayList(11);
+	this.precompiledProjects = new SimpleLookupTable(11);
+	this.monitor = new NullProgressMonitor();
+	this.shutdown = false;
+}
+
+private synchronized void initialize(IProject currentProject) {
+	this.unbuiltProjects.add(currentProject);
+	JavaModelManager manager = JavaModelManager.getJavaModelManager();
+	IProject[] projects = this.workspaceRoot.getProjects();
+	for (int i = 0, l = projects.length; i < l; i++) {
+		IProject project = projects[i];
+		if (project.equals(currentProject) || !JavaProject.hasJavaNature(project)) continue;
+		if (manager.getLastBuiltState(project, null) != null) continue; // only its incremental build can tell what to compile
+		try {
+			if (!JavaBuilder.hasJavaBuilder(project)) continue;
+			this.unbuiltProjects.add(project);
+
+			// the builders which run before the JavaBuilder may change the sources, after they were compiled ahead
+			if (!project.getDescription().getBuildSpec()[0].getBuilderName().equals(JavaCore.BUILDER_ID))
+				continue;
+			// leave the projects in cycles or with participants to their own builders since they need to run on the build thread
+			JavaProject javaProject = (JavaProject) JavaCore.create(project);
+			if (javaProject.hasCycleMarker() || manager.compilationParticipants.getCompilationParticipants(javaProject) != null)
+				continue;
+			// resolves the classpath on the build thread, a worker initializing a container would wait for the workspace lock
+			this.waitingProjects.put(project, javaProject.getRequiredProjectNames());
+		} catch (CoreException e) {
+			// leave it to its builder
+		}
+	}
+	if (JavaBuilder.DEBUG)
+		System.out.println("ProjectBuildCoordinator: " + this.waitingProjects.elementSize + " projects can be compiled ahead"); //$NON-NLS-1$ //$NON-NLS-2$
+	schedule();
+}
+
+private synchronized void built(IProject project) {
+	if (this.unbuiltProjects.remove(project) != null)
+		schedule();
+}
+
+private void schedule() {
+	if (this.shutdown) return;
+
+	ArrayList ready = null;
+	Object[] keyTable = this.waitingProjects.keyTable;
+	Object[] valueTable = this.waitingProjects.valueTable;
+	nextProject : for (int i = 0, l = keyTable.length; i < l; i++) {
+		if (keyTable[i] != null) {
+			String[] requiredProjectNames = (String[]) valueTable[i];
+			for (int j = 0, m = requiredProjectNames.length; j < m; j++)
+				if (this.unbuiltProjects.includes(this.workspaceRoot.getProject(requiredProjectNames[j])))
+					continue nextProject;
+			if (ready == null)
+				ready = new ArrayList(3);
+			ready.add(keyTable[i]);
+		}
+	}
+	if (ready == null) return;
+
+	for (int i = 0, l = ready.size(); i < l; i++) {
+		PrecompiledProject next = new PrecompiledProject();
+		next.project = (IProject) ready.get(i);
+		next.requiredProjectNames = (String[]) this.waitingProjects.removeKey(next.project);
+		next.requiredStructuralBuildTimes = getStructuralBuildTimes(next.requiredProjectNames);
+		this.scheduledProjects.add(next);
+		this.precompiledProjects.put(next.project, next);
+		if (JavaBuilder.DEBUG)
+			System.out.println("ProjectBuildCoordinator: Scheduled " + next.project.getName()); //$NON-NLS-1$
+	}
+	if (this.workerThreads == null) {
+		// the build thread compiles the projects the platform asks for in the meantime
+		this.workerThreads = new Thread[PARALLEL_BUILDS - 1];
+		for (int i = this.workerThreads.length; --i >= 0;) {
+			this.workerThreads[i] = new Thread(this, "Java Builder Project Compilation"); //$NON-NLS-1$
+			this.workerThreads[i].setDaemon(true);
+			this.workerThreads[i].start();
+		}
+	}
+	notifyAll();
+}
+
+private synchronized PrecompiledProject take(IProject project) {
+	this.waitingProjects.removeKey(project); // its builder compiles it now
+	PrecompiledProject precompiled = (PrecompiledProject) this.precompiledProjects.removeKey(project);
+	if (precompiled == null) return null;
+	if (!precompiled.started) {
+		this.scheduledProjects.remove(precompiled);
+		return null;
+	}
+	while (!precompiled.done) {
+		try {
+			wait();
+		} catch (InterruptedException ignore) {
+			// ignore
+		}
+	}
+	if (precompiled.exception != null) {
+		if (JavaBuilder.DEBUG) {
+			System.out.println("ProjectBuildCoordinator: Failed to compile ahead " + project.getName()); //$NON-NLS-1$
+			precompiled.exception.printStackTrace();
+		}
+		return null;
+	}
+	long[] buildTimes = getStructuralBuildTimes(precompiled.requiredProjectNames);
+	for (int i = 0, l = buildTimes.length; i < l; i++) {
+		if (buildTimes[i] != precompiled.requiredStructuralBuildTimes[i]) {
+			if (JavaBuilder.DEBUG)
+				System.out.println("ProjectBuildCoordinator: Discarded " + project.getName() //$NON-NLS-1$
+					+ " since " + precompiled.requiredProjectNames[i] + " was structurally changed"); //$NON-NLS-1$ //$NON-NLS-2$
+			return null;
+		}
+	}
+	PrecompiledProjectsTaken++;
+	return precompiled;
+}
+
+private long[] getStructuralBuildTimes(String[] projectNames) {
+	JavaModelManager manager = JavaModelManager.getJavaModelManager();
+	long[] buildTimes = new long[projectNames.length];
+	for (int i = 0, l = projectNames.length; i < l; i++) {
+		IProject project = this.workspaceRoot.getProject(projectNames[i]);
+		State state = JavaProject.hasJavaNature(project) ? (State) manager.getLastBuiltState(project, null) : null;
+		buildTimes[i] = state == null ? 0 : state.lastStructuralBuildTime;
+	}
+	return buildTimes;
+}
+
+public void run() {
+	while (true) {
+		PrecompiledProject next;
+		synchronized (this) {
+			while (!this.shutdown && this.scheduledProjects.isEmpty()) {
+				try {
+					wait();
+				} catch (InterruptedException ignore) {
+					// ignore
+				}
+			}
+			if (this.shutdown) return;
+			next = (PrecompiledProject) this.scheduledProjects.remove(0);
+			next.started = true;
+		}
+
+		Throwable caught = null;
+		try {
+			precompile(next);
+		} catch (CoreException e) {
+			caught = e;
+		} catch (Error e) {
+			caught = e;
+		} catch (RuntimeException e) {
+			caught = e;
+		}
+
+		synchronized (this) {
+			next.exception = caught;
+			next.done = true;
+			notifyAll(); // wake up the build thread if it is waiting for this project
+		}
+	}
+}
+
+private void precompile(PrecompiledProject precompiled) throws CoreException {
+	if (JavaBuilder.DEBUG)
+		System.out.println("ProjectBuildCoordinator: Compiling ahead " + precompiled.project.getName()); //$NON-NLS-1$
+	JavaBuilder javaBuilder = new JavaBuilder();
+	javaBuilder.currentProject = precompiled.project;
+	javaBuilder.notifier = new BuildNotifier(this.monitor, precompiled.project);
+	javaBuilder.initializeBuilder(IncrementalProjectBuilder.FULL_BUILD, false);
+
+	final ArrayList results = new ArrayList();
+	BatchImageBuilder imageBuilder = new BatchImageBuilder(javaBuilder, true) {
+		public void acceptResult(CompilationResult result) {
+			SourceFile compilationUnit = (SourceFile) result.getCompilationUnit();
+			if (!this.workQueue.isCompiled(compilationUnit)) {
+				this.workQueue.finished(compilationUnit);
+				recordMemoryUsed();
+				results.add(result); // its class files are released once published
+			}
+		}
+		protected IContainer createFolder(IPath packagePath, IContainer outputFolder) {
+			return outputFolder; // created when the results are published
+		}
+	};
+	try {
+		ArrayList sourceFiles = new ArrayList(33);
+		imageBuilder.addAllSourceFiles(sourceFiles);
+		if (sourceFiles.size() > 0) {
+			SourceFile[] allSourceFiles = new SourceFile[sourceFiles.size()];
+			sourceFiles.toArray(allSourceFiles);
+			imageBuilder.workQueue.addAll(allSourceFiles);
+			imageBuilder.compile(allSourceFiles);
+		}
+		precompiled.compiledAllAtOnce = imageBuilder.compiledAllAtOnce;
+		precompiled.results = results;
+	} finally {
+		imageBuilder.cleanUp();
+	}
+}
+
+private synchronized void shutdown() {
+	this.shutdown = true;
+	this.monitor.setCanceled(true);
+	this.scheduledProjects.clear();
+	this.precompiledProjects = new SimpleLookupTable(1);
+	notifyAll();
+}
+}
@@ -19,11 +19,17 @@ public class ReferenceCollection {
 char[][][] qualifiedNameReferences; // contains no simple names as in just 'a' which is kept in simpleNameReferences instead
 char[][] simpleNameReferences;
 char[][] rootReferences;
+// the fields & methods looked up by the unit, as 'foo' for a field, 'foo/2' for a method with 2 arguments or 'foo/*' for any arity
+char[][] memberReferences;
+// simple names of the types whose members the unit depends on as a whole, i.e. the supertypes of the types it declares
+char[][] superTypeReferences;
 
-protected ReferenceCollection(char[][][] qualifiedNameReferences, char[][] simpleNameReferences, char[][] rootReferences) {
+protected ReferenceCollection(char[][][] qualifiedNameReferences, char[][] simpleNameReferences, char[][] rootReferences, char[][] memberReferences, char[][] superTypeReferences) {
 	this.qualifiedNameReferences = internQualifiedNames(qualifiedNameReferences, false);
 	this.simpleNameReferences = internSimpleNames(simpleNameReferences, true);
 	this.rootReferences = internSimpleNames(rootReferences, false);
+	this.memberReferences = internSimpleNames(memberReferences, false);
+	this.superTypeReferences = internSimpleNames(superTypeReferences, false);
 }
 
 public void addDependencies(String[] typeNameDependencies) {
@@ -35,6 +41,16 @@ public void addDependencies(String[] typeNameDependencies) {
 		qNames[i] = CharOperation.splitOn('.', typeNameDependencies[i].toCharArray());
 	qNames = internQualifiedNames(qNames, false);
 
+	// the unit depends on the members of the added types as a whole
+	for (int i = qNames.length; --i >= 0;) {
+		char[] typeName = internSimpleNames(new char[][] {qNames[i][qNames[i].length - 1]}, false)[0];
+		if (!includesSuperType(typeName)) {
+			int length = this.superTypeReferences.length;
+			System.arraycopy(this.superTypeReferences, 0, this.superTypeReferences = new char[length + 1][], 0, length);
+			this.superTypeReferences[length] = typeName;
+		}
+	}
+
 	next : for (int i = qNames.length; --i >= 0;) {
 		char[][] qualifiedTypeName = qNames[i];
 		while (!includes(qualifiedTypeName)) {
@@ -151,6 +167,50 @@ public boolean includes(char[][][] qualifiedNames, char[][] simpleNames, char[][
 	return false;
 }
 
+/**
+ * Answer whether the unit looked up one of the given interned member names, or depends as a whole
+ * on one of the given interned simple type names which declare them.
+ * Member names ending with '/*' match the method of any arity with the same selector.
+ */
+public boolean includesMembers(char[][] memberNames, char[][] declaringTypeNames) {
+	for (int i = 0, l = declaringTypeNames.length; i < l; i++) {
+		if (includesSuperType(declaringTypeNames[i])) {
+			if (JavaBuilder.DEBUG)
+				System.out.println("Found subtype of " + new String(declaringTypeNames[i])); //$NON-NLS-1$
+			return true;
+		}
+	}
+	for (int i = 0, l = memberNames.length; i < l; i++) {
+		char[] memberName = memberNames[i];
+		int separator = CharOperation.lastIndexOf('/', memberName);
+		boolean anyArity = separator > 0 && memberName[separator + 1] == '*';
+		for (int j = 0, m = this.memberReferences.length; j < m; j++) {
+			char[] reference = this.memberReferences[j];
+			if (reference == memberName
+					|| (separator > 0 && (anyArity || reference[reference.length - 1] == '*') && sameSelector(memberName, reference, separator))) {
+				if (JavaBuilder.DEBUG)
+					System.out.println("Found member match to " + new String(reference)); //$NON-NLS-1$
+				return true;
+			}
+		}
+	}
+	return false;
+}
+
+private static boolean sameSelector(char[] memberName, char[] reference, int separator) {
+	if (reference.length <= separator || reference[separator] != '/')
+		return false;
+	for (int i = separator; --i >= 0;)
+		if (memberName[i] != reference[i]) return false;
+	return true;
+}
+
+public boolean includesSuperType(char[] simpleName) {
+	for (int i = 0, l = this.superTypeReferences.length; i < l; i++)
+		if (simpleName == this.superTypeReferences[i]) return true;
+	return false;
+}
+
 public boolean insideRoot(char[] rootName) {
 	for (int i = 0, l = this.rootReferences.length; i < l; i++)
 		if (rootName == this.rootReferences[i]) return true;
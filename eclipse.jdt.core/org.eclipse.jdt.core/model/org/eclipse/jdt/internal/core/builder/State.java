@@ -21,6 +21,8 @@ import org.eclipse.jdt.internal.core.ClasspathAccessRule;
 import org.eclipse.jdt.internal.core.JavaModelManager;
 
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
 import java.util.*;
 
 @SuppressWarnings({"rawtypes", "unchecked"})
@@ -31,9 +33,14 @@ String javaProjectName;
 public ClasspathMultiDirectory[] sourceLocations;
 ClasspathLocation[] binaryLocations;
 // keyed by the project relative path of the type (i.e. "src1/p1/p2/A.java"), value is a ReferenceCollection or an AdditionalTypeCollection
+// null for a state read from disk until getReferences() decodes the encodedReferences section
 SimpleLookupTable references;
+private byte[] encodedReferences;
+private String[] internedTypeLocators;
 // keyed by qualified type name "p1/p2/A", value is the project relative path which defines this type "src1/p1/p2/A.java"
 public SimpleLookupTable typeLocators;
+// keyed by the project relative path of a class file "bin/p1/p2/A.class", value is a long[] {hash of its contents, modification stamp}
+SimpleLookupTable outputHashes;
 
 int buildNumber;
 long lastStructuralBuildTime;
@@ -45,7 +52,7 @@ private long previousStructuralBuildTime;
 private StringSet structurallyChangedTypes;
 public static int MaxStructurallyChangedTypes = 100; // keep track of ? structurally changed types, otherwise consider all to be changed
 
-public static final byte VERSION = 0x001B;
+public static final byte VERSION = 0x001E;
 
 static final byte SOURCE_FOLDER = 1;
 static final byte BINARY_FOLDER = 2;
@@ -65,6 +72,7 @@ protected State(JavaBuilder javaBuilder) {
 	this.binaryLocations = javaBuilder.nameEnvironment.binaryLocations;
 	this.references = new SimpleLookupTable(7);
 	this.typeLocators = new SimpleLookupTable(7);
+	this.outputHashes = new SimpleLookupTable(AbstractImageBuilder.SKIP_UNCHANGED_OUTPUT ? 7 : 1);
 
 	this.buildNumber = 0; // indicates a full build
 	this.lastStructuralBuildTime = computeStructuralBuildTime(javaBuilder.lastState == null ? 0 : javaBuilder.lastState.lastStructuralBuildTime);
@@ -87,8 +95,9 @@ void copyFrom(State lastState) {
 	this.structuralBuildTimes = lastState.structuralBuildTimes;
 
 	try {
-		this.references = (SimpleLookupTable) lastState.references.clone();
+		this.references = (SimpleLookupTable) lastState.getReferences().clone();
 		this.typeLocators = (SimpleLookupTable) lastState.typeLocators.clone();
+		this.outputHashes = (SimpleLookupTable) lastState.outputHashes.clone();
 	} catch (CloneNotSupportedException e) {
 		this.references = new SimpleLookupTable(lastState.references.elementSize);
 		Object[] keyTable = lastState.references.keyTable;
@@ -103,16 +112,28 @@ void copyFrom(State lastState) {
 		for (int i = 0, l = keyTable.length; i < l; i++)
 			if (keyTable[i] != null)
 				this.typeLocators.put(keyTable[i], valueTable[i]);
+
+		this.outputHashes = new SimpleLookupTable(lastState.outputHashes.elementSize);
+		keyTable = lastState.outputHashes.keyTable;
+		valueTable = lastState.outputHashes.valueTable;
+		for (int i = 0, l = keyTable.length; i < l; i++)
+			if (keyTable[i] != null)
+				this.outputHashes.put(keyTable[i], valueTable[i]);
 	}
 }
 public char[][] getDefinedTypeNamesFor(String typeLocator) {
-	Object c = this.references.get(typeLocator);
+	Object c = getReferences().get(typeLocator);
 	if (c instanceof AdditionalTypeCollection)
 		return ((AdditionalTypeCollection) c).definedTypeNames;
 	return null; // means only one type is defined with the same name as the file... saves space
 }
 
 public SimpleLookupTable getReferences() {
+	if (this.references == null) {
+		this.references = decodeReferences(this.encodedReferences, this.internedTypeLocators);
+		this.encodedReferences = null;
+		this.internedTypeLocators = null;
+	}
 	return this.references;
 }
 
@@ -126,6 +147,11 @@ StringSet getStructurallyChangedTypes(State prereqState) {
 	return null;
 }
 
+boolean isUnchangedOutput(String outputPath, long hash, long modificationStamp) {
+	long[] output = (long[]) this.outputHashes.get(outputPath);
+	return output != null && output[0] == hash && output[1] == modificationStamp;
+}
+
 public boolean isDuplicateLocator(String qualifiedTypeName, String typeLocator) {
 	String existing = (String) this.typeLocators.get(qualifiedTypeName);
 	return existing != null && !existing.equals(typeLocator);
@@ -169,14 +195,40 @@ boolean isSourceFolderEmpty(IContainer sourceFolder) {
 	return true;
 }
 
-void record(String typeLocator, char[][][] qualifiedRefs, char[][] simpleRefs, char[][] rootRefs, char[] mainTypeName, ArrayList typeNames) {
+void record(String typeLocator, char[][][] qualifiedRefs, char[][] simpleRefs, char[][] rootRefs, char[][] memberRefs, char[][] superTypeRefs, char[] mainTypeName, ArrayList typeNames) {
 	if (typeNames.size() == 1 && CharOperation.equals(mainTypeName, (char[]) typeNames.get(0))) {
-		this.references.put(typeLocator, new ReferenceCollection(qualifiedRefs, simpleRefs, rootRefs));
+		getReferences().put(typeLocator, new ReferenceCollection(qualifiedRefs, simpleRefs, rootRefs, memberRefs, superTypeRefs));
 	} else {
 		char[][] definedTypeNames = new char[typeNames.size()][]; // can be empty when no types are defined
 		typeNames.toArray(definedTypeNames);
-		this.references.put(typeLocator, new AdditionalTypeCollection(definedTypeNames, qualifiedRefs, simpleRefs, rootRefs));
+		getReferences().put(typeLocator, new AdditionalTypeCollection(definedTypeNames, qualifiedRefs, simpleRefs, rootRefs, memberRefs, superTypeRefs));
+	}
+}
+
+void recordOutputHash(String outputPath, long hash, long modificationStamp) {
+	this.outputHashes.put(outputPath, new long[] {hash, modificationStamp});
+}
+
+void removeOutputHash(String outputPath) {
+	this.outputHashes.removeKey(outputPath);
+}
+
+void removeOutputHashes(String outputFolderPath) {
+	if (this.outputHashes.elementSize == 0) return;
+	String prefix = outputFolderPath + '/';
+	ArrayList removedPaths = null;
+	Object[] keyTable = this.outputHashes.keyTable;
+	for (int i = 0, l = keyTable.length; i < l; i++) {
+		String outputPath = (String) keyTable[i];
+		if (outputPath != null && outputPath.startsWith(prefix)) {
+			if (removedPaths == null)
+				removedPaths = new ArrayList(7);
+			removedPaths.add(outputPath);
+		}
 	}
+	if (removedPaths != null)
+		for (int i = 0, l = removedPaths.size(); i < l; i++)
+			this.outputHashes.removeKey(removedPaths.get(i));
 }
 
 void recordLocatorForType(String qualifiedTypeName, String typeLocator) {
@@ -196,7 +248,7 @@ void recordStructuralDependency(IProject prereqProject, State prereqState) {
 
 void removeLocator(String typeLocatorToRemove) {
 	this.knownPackageNames = null;
-	this.references.removeKey(typeLocatorToRemove);
+	getReferences().removeKey(typeLocatorToRemove);
 	this.typeLocators.removeValue(typeLocatorToRemove);
 }
 
@@ -288,55 +340,68 @@ static State read(IProject project, DataInputStream in) throws IOException {
 	for (int i = 0; i < length; i++)
 		newState.recordLocatorForType(in.readUTF(), internedTypeLocators[in.readInt()]);
 
-	char[][] internedRootNames = ReferenceCollection.internSimpleNames(readNames(in), false);
-	char[][] internedSimpleNames = ReferenceCollection.internSimpleNames(readNames(in), false);
-	char[][][] internedQualifiedNames = new char[length = in.readInt()][][];
-	for (int i = 0; i < length; i++) {
-		int qLength = in.readInt();
-		char[][] qName = new char[qLength][];
-		for (int j = 0; j < qLength; j++)
-			qName[j] = internedSimpleNames[in.readInt()];
-		internedQualifiedNames[i] = qName;
-	}
-	internedQualifiedNames = ReferenceCollection.internQualifiedNames(internedQualifiedNames, false);
+	// the references are only decoded once an incremental build asks for them
+	newState.encodedReferences = new byte[in.readInt()];
+	in.readFully(newState.encodedReferences);
+	newState.internedTypeLocators = internedTypeLocators;
 
-	newState.references = new SimpleLookupTable(length = in.readInt());
-	for (int i = 0; i < length; i++) {
-		String typeLocator = internedTypeLocators[in.readInt()];
-		ReferenceCollection collection = null;
-		switch (in.readByte()) {
-			case 1 :
-				char[][] additionalTypeNames = readNames(in);
-				char[][][] qualifiedNames = new char[in.readInt()][][];
-				for (int j = 0, m = qualifiedNames.length; j < m; j++)
-					qualifiedNames[j] = internedQualifiedNames[in.readInt()];
-				char[][] simpleNames = new char[in.readInt()][];
-				for (int j = 0, m = simpleNames.length; j < m; j++)
-					simpleNames[j] = internedSimpleNames[in.readInt()];
-				char[][] rootNames = new char[in.readInt()][];
-				for (int j = 0, m = rootNames.length; j < m; j++)
-					rootNames[j] = internedRootNames[in.readInt()];
-				collection = new AdditionalTypeCollection(additionalTypeNames, qualifiedNames, simpleNames, rootNames);
-				break;
-			case 2 :
-				char[][][] qNames = new char[in.readInt()][][];
-				for (int j = 0, m = qNames.length; j < m; j++)
-					qNames[j] = internedQualifiedNames[in.readInt()];
-				char[][] sNames = new char[in.readInt()][];
-				for (int j = 0, m = sNames.length; j < m; j++)
-					sNames[j] = internedSimpleNames[in.readInt()];
-				char[][] rNames = new char[in.readInt()][];
-				for (int j = 0, m = rNames.length; j < m; j++)
-					rNames[j] = internedRootNames[in.readInt()];
-				collection = new ReferenceCollection(qNames, sNames, rNames);
-		}
-		newState.references.put(typeLocator, collection);
-	}
+	newState.outputHashes = new SimpleLookupTable(length = in.readInt());
+	for (int i = 0; i < length; i++)
+		newState.outputHashes.put(in.readUTF(), new long[] {in.readLong(), in.readLong()});
 	if (JavaBuilder.DEBUG)
 		System.out.println("Successfully read state for " + newState.javaProjectName); //$NON-NLS-1$
 	return newState;
 }
 
+private static SimpleLookupTable decodeReferences(byte[] section, String[] internedTypeLocators) {
+	ByteBuffer buffer = ByteBuffer.wrap(section);
+	int length = buffer.getInt();
+	int[] nameEnds = new int[length];
+	for (int i = 0; i < length; i++)
+		nameEnds[i] = buffer.getInt();
+	CharBuffer pool = buffer.asCharBuffer();
+	char[][] internedNames = new char[length][];
+	for (int i = 0, start = 0; i < length; i++) {
+		char[] name = new char[nameEnds[i] - start];
+		pool.get(name);
+		internedNames[i] = name;
+		start = nameEnds[i];
+	}
+	internedNames = ReferenceCollection.internSimpleNames(internedNames, false);
+	buffer.position(buffer.position() + 2 * pool.position());
+
+	char[][][] internedQualifiedNames = new char[length = buffer.getInt()][][];
+	for (int i = 0; i < length; i++)
+		internedQualifiedNames[i] = decodeNames(buffer, internedNames);
+	internedQualifiedNames = ReferenceCollection.internQualifiedNames(internedQualifiedNames, true); // keep the positions
+
+	SimpleLookupTable references = new SimpleLookupTable(length = buffer.getInt());
+	for (int i = 0; i < length; i++) {
+		String typeLocator = internedTypeLocators[buffer.getInt()];
+		char[][] additionalTypeNames = buffer.get() == 1 ? decodeNames(buffer, internedNames) : null;
+		char[][][] qualifiedNames = new char[buffer.getInt()][][];
+		for (int j = 0, m = qualifiedNames.length; j < m; j++)
+			qualifiedNames[j] = internedQualifiedNames[buffer.getInt()];
+		char[][] simpleNames = decodeNames(buffer, internedNames);
+		char[][] rootNames = decodeNames(buffer, internedNames);
+		char[][] memberNames = decodeNames(buffer, internedNames);
+		char[][] superTypeNames = decodeNames(buffer, internedNames);
+		references.put(typeLocator, additionalTypeNames == null
+			? new ReferenceCollection(qualifiedNames, simpleNames, rootNames, memberNames, superTypeNames)
+			: new AdditionalTypeCollection(additionalTypeNames, qualifiedNames, simpleNames, rootNames, memberNames, superTypeNames));
+	}
+	if (JavaBuilder.DEBUG && buffer.hasRemaining())
+		System.out.println("references section is inconsistent"); //$NON-NLS-1$
+	return references;
+}
+
+private static char[][] decodeNames(ByteBuffer buffer, char[][] internedNames) {
+	char[][] names = new char[buffer.getInt()][];
+	for (int i = 0, l = names.length; i < l; i++)
+		names[i] = internedNames[buffer.getInt()];
+	return names;
+}
+
 private static char[] readName(DataInputStream in) throws IOException {
 	int nLength = in.readInt();
 	char[] name = new char[nLength];
@@ -489,20 +554,19 @@ void write(DataOutputStream out) throws IOException {
 /*
  * String[]	Interned type locators
  */
-	out.writeInt(length = this.references.elementSize);
-	SimpleLookupTable internedTypeLocators = new SimpleLookupTable(length);
-	if (length > 0) {
+	String[] locators = this.internedTypeLocators;
+	if (this.references != null) {
+		locators = new String[this.references.elementSize];
 		keyTable = this.references.keyTable;
-		for (int i = 0, l = keyTable.length; i < l; i++) {
-			if (keyTable[i] != null) {
-				length--;
-				String key = (String) keyTable[i];
-				out.writeUTF(key);
-				internedTypeLocators.put(key, new Integer(internedTypeLocators.elementSize));
-			}
-		}
-		if (JavaBuilder.DEBUG && length != 0)
-			System.out.println("references table is inconsistent"); //$NON-NLS-1$
+		for (int i = 0, l = keyTable.length, index = 0; i < l; i++)
+			if (keyTable[i] != null)
+				locators[index++] = (String) keyTable[i];
+	}
+	out.writeInt(length = locators.length);
+	SimpleLookupTable internedTypeLocators = new SimpleLookupTable(length);
+	for (int i = 0; i < length; i++) {
+		out.writeUTF(locators[i]);
+		internedTypeLocators.put(locators[i], new Integer(i));
 	}
 
 /*
@@ -527,132 +591,142 @@ void write(DataOutputStream out) throws IOException {
 	}
 
 /*
- * char[][]	Interned root names
- * char[][][]	Interned qualified names
- * char[][]	Interned simple names
+ * int		length of the references section
+ * byte[]	References section, copied as is when the references were never decoded
+ */
+	byte[] section = this.references == null ? this.encodedReferences : encodeReferences(internedTypeLocators);
+	out.writeInt(section.length);
+	out.write(section);
+
+/*
+ * Output hashes table
+ * String		project relative path of the class file
+ * long			hash of its contents
+ * long			modification stamp
+ */
+	out.writeInt(length = this.outputHashes.elementSize);
+	if (length > 0) {
+		keyTable = this.outputHashes.keyTable;
+		valueTable = this.outputHashes.valueTable;
+		for (int i = 0, l = keyTable.length; i < l; i++) {
+			if (keyTable[i] != null) {
+				length--;
+				long[] output = (long[]) valueTable[i];
+				out.writeUTF((String) keyTable[i]);
+				out.writeLong(output[0]);
+				out.writeLong(output[1]);
+			}
+		}
+		if (JavaBuilder.DEBUG && length != 0)
+			System.out.println("outputHashes table is inconsistent"); //$NON-NLS-1$
+	}
+}
+
+/*
+ * int		interned name count
+ * int[]	end of each interned name in the char pool
+ * char[]	char pool of the interned simple, root, member, supertype & additional type names
+ * int		interned qualified name count
+ * int[]	length & interned name ids of each qualified name
+ * int		references count
+ * int		interned locator id
+ * byte		1 followed by the additional type name ids for an AdditionalTypeCollection, 2 otherwise
+ * int[]	count & interned ids of the qualified, simple, root, member & supertype names
  */
-	SimpleLookupTable internedRootNames = new SimpleLookupTable(3);
+private byte[] encodeReferences(SimpleLookupTable internedTypeLocators) throws IOException {
+	int length;
+	Object[] keyTable = this.references.keyTable;
+	Object[] valueTable = this.references.valueTable;
+	SimpleLookupTable internedNames = new SimpleLookupTable(31);
 	SimpleLookupTable internedQualifiedNames = new SimpleLookupTable(31);
-	SimpleLookupTable internedSimpleNames = new SimpleLookupTable(31);
-	valueTable = this.references.valueTable;
 	for (int i = 0, l = valueTable.length; i < l; i++) {
 		if (valueTable[i] != null) {
 			ReferenceCollection collection = (ReferenceCollection) valueTable[i];
-			char[][] rNames = collection.rootReferences;
-			for (int j = 0, m = rNames.length; j < m; j++) {
-				char[] rName = rNames[j];
-				if (!internedRootNames.containsKey(rName)) // remember the names have been interned
-					internedRootNames.put(rName, new Integer(internedRootNames.elementSize));
-			}
+			if (collection instanceof AdditionalTypeCollection)
+				internNames(((AdditionalTypeCollection) collection).definedTypeNames, internedNames);
 			char[][][] qNames = collection.qualifiedNameReferences;
 			for (int j = 0, m = qNames.length; j < m; j++) {
 				char[][] qName = qNames[j];
 				if (!internedQualifiedNames.containsKey(qName)) { // remember the names have been interned
 					internedQualifiedNames.put(qName, new Integer(internedQualifiedNames.elementSize));
-					for (int k = 0, n = qName.length; k < n; k++) {
-						char[] sName = qName[k];
-						if (!internedSimpleNames.containsKey(sName)) // remember the names have been interned
-							internedSimpleNames.put(sName, new Integer(internedSimpleNames.elementSize));
-					}
+					internNames(qName, internedNames);
 				}
 			}
-			char[][] sNames = collection.simpleNameReferences;
-			for (int j = 0, m = sNames.length; j < m; j++) {
-				char[] sName = sNames[j];
-				if (!internedSimpleNames.containsKey(sName)) // remember the names have been interned
-					internedSimpleNames.put(sName, new Integer(internedSimpleNames.elementSize));
-			}
+			internNames(collection.simpleNameReferences, internedNames);
+			internNames(collection.rootReferences, internedNames);
+			internNames(collection.memberReferences, internedNames);
+			internNames(collection.superTypeReferences, internedNames);
 		}
 	}
-	char[][] internedArray = new char[internedRootNames.elementSize][];
-	Object[] rootNames = internedRootNames.keyTable;
-	Object[] positions = internedRootNames.valueTable;
-	for (int i = positions.length; --i >= 0; ) {
-		if (positions[i] != null) {
-			int index = ((Integer) positions[i]).intValue();
-			internedArray[index] = (char[]) rootNames[i];
-		}
-	}
-	writeNames(internedArray, out);
-	// now write the interned simple names
-	internedArray = new char[internedSimpleNames.elementSize][];
-	Object[] simpleNames = internedSimpleNames.keyTable;
-	positions = internedSimpleNames.valueTable;
-	for (int i = positions.length; --i >= 0; ) {
-		if (positions[i] != null) {
-			int index = ((Integer) positions[i]).intValue();
-			internedArray[index] = (char[]) simpleNames[i];
-		}
+
+	ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+	DataOutputStream out = new DataOutputStream(bytes);
+	char[][] internedArray = new char[internedNames.elementSize][];
+	Object[] names = internedNames.keyTable;
+	Object[] positions = internedNames.valueTable;
+	for (int i = positions.length; --i >= 0; )
+		if (positions[i] != null)
+			internedArray[((Integer) positions[i]).intValue()] = (char[]) names[i];
+	out.writeInt(length = internedArray.length);
+	for (int i = 0, end = 0; i < length; i++)
+		out.writeInt(end += internedArray[i].length);
+	for (int i = 0; i < length; i++) {
+		char[] name = internedArray[i];
+		for (int j = 0, m = name.length; j < m; j++)
+			out.writeChar(name[j]);
 	}
-	writeNames(internedArray, out);
-	// now write the interned qualified names as arrays of interned simple names
+	// now write the interned qualified names as arrays of interned names
 	char[][][] internedQArray = new char[internedQualifiedNames.elementSize][][];
-	Object[] qualifiedNames = internedQualifiedNames.keyTable;
+	names = internedQualifiedNames.keyTable;
 	positions = internedQualifiedNames.valueTable;
-	for (int i = positions.length; --i >= 0; ) {
-		if (positions[i] != null) {
-			int index = ((Integer) positions[i]).intValue();
-			internedQArray[index] = (char[][]) qualifiedNames[i];
-		}
-	}
+	for (int i = positions.length; --i >= 0; )
+		if (positions[i] != null)
+			internedQArray[((Integer) positions[i]).intValue()] = (char[][]) names[i];
 	out.writeInt(length = internedQArray.length);
-	for (int i = 0; i < length; i++) {
-		char[][] qName = internedQArray[i];
-		int qLength = qName.length;
-		out.writeInt(qLength);
-		for (int j = 0; j < qLength; j++) {
-			Integer index = (Integer) internedSimpleNames.get(qName[j]);
-			out.writeInt(index.intValue());
-		}
-	}
+	for (int i = 0; i < length; i++)
+		writeNameIds(internedQArray[i], internedNames, out);
 
-/*
- * References table
- * int		interned locator id
- * ReferenceCollection
-*/
 	out.writeInt(length = this.references.elementSize);
-	if (length > 0) {
-		keyTable = this.references.keyTable;
-		for (int i = 0, l = keyTable.length; i < l; i++) {
-			if (keyTable[i] != null) {
-				length--;
-				Integer index = (Integer) internedTypeLocators.get(keyTable[i]);
-				out.writeInt(index.intValue());
-				ReferenceCollection collection = (ReferenceCollection) valueTable[i];
-				if (collection instanceof AdditionalTypeCollection) {
-					out.writeByte(1);
-					AdditionalTypeCollection atc = (AdditionalTypeCollection) collection;
-					writeNames(atc.definedTypeNames, out);
-				} else {
-					out.writeByte(2);
-				}
-				char[][][] qNames = collection.qualifiedNameReferences;
-				int qLength = qNames.length;
-				out.writeInt(qLength);
-				for (int j = 0; j < qLength; j++) {
-					index = (Integer) internedQualifiedNames.get(qNames[j]);
-					out.writeInt(index.intValue());
-				}
-				char[][] sNames = collection.simpleNameReferences;
-				int sLength = sNames.length;
-				out.writeInt(sLength);
-				for (int j = 0; j < sLength; j++) {
-					index = (Integer) internedSimpleNames.get(sNames[j]);
-					out.writeInt(index.intValue());
-				}
-				char[][] rNames = collection.rootReferences;
-				int rLength = rNames.length;
-				out.writeInt(rLength);
-				for (int j = 0; j < rLength; j++) {
-					index = (Integer) internedRootNames.get(rNames[j]);
-					out.writeInt(index.intValue());
-				}
+	for (int i = 0, l = keyTable.length; i < l; i++) {
+		if (keyTable[i] != null) {
+			length--;
+			out.writeInt(((Integer) internedTypeLocators.get(keyTable[i])).intValue());
+			ReferenceCollection collection = (ReferenceCollection) valueTable[i];
+			if (collection instanceof AdditionalTypeCollection) {
+				out.writeByte(1);
+				writeNameIds(((AdditionalTypeCollection) collection).definedTypeNames, internedNames, out);
+			} else {
+				out.writeByte(2);
 			}
+			char[][][] qNames = collection.qualifiedNameReferences;
+			out.writeInt(qNames.length);
+			for (int j = 0, m = qNames.length; j < m; j++)
+				out.writeInt(((Integer) internedQualifiedNames.get(qNames[j])).intValue());
+			writeNameIds(collection.simpleNameReferences, internedNames, out);
+			writeNameIds(collection.rootReferences, internedNames, out);
+			writeNameIds(collection.memberReferences, internedNames, out);
+			writeNameIds(collection.superTypeReferences, internedNames, out);
 		}
-		if (JavaBuilder.DEBUG && length != 0)
-			System.out.println("references table is inconsistent"); //$NON-NLS-1$
 	}
+	if (JavaBuilder.DEBUG && length != 0)
+		System.out.println("references table is inconsistent"); //$NON-NLS-1$
+	out.flush();
+	return bytes.toByteArray();
+}
+
+private static void internNames(char[][] names, SimpleLookupTable internedNames) {
+	for (int i = 0, l = names.length; i < l; i++) {
+		char[] name = names[i];
+		if (!internedNames.containsKey(name)) // remember the names have been interned
+			internedNames.put(name, new Integer(internedNames.elementSize));
+	}
+}
+
+private static void writeNameIds(char[][] names, SimpleLookupTable internedNames, DataOutputStream out) throws IOException {
+	int length = names.length;
+	out.writeInt(length);
+	for (int i = 0; i < length; i++)
+		out.writeInt(((Integer) internedNames.get(names[i])).intValue());
 }
 
 private void writeName(char[] name, DataOutputStream out) throws IOException {
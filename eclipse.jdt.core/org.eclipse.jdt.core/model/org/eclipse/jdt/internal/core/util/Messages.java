@@ -89,6 +89,7 @@ public final class Messages extends NLS {
 	public static String build_cleaningOutput;
 	public static String build_copyingResources;
 	public static String build_compiling;
+	public static String build_compilingGroup;
 	public static String build_foundHeader;
 	public static String build_fixedHeader;
 	public static String build_oneError;
@@ -0,0 +1,79 @@
+package org.eclipse.jdt.internal.core.util;
+
+import org.eclipse.jdt.core.util.ClassFormatException;
+import org.eclipse.jdt.core.util.IOperatorCallSite;
+
+/**
+ * Default implementation of {@link IOperatorCallSite}
+ */
+public class OperatorCallSite
+	extends ClassFileStruct
+	implements IOperatorCallSite {
+
+	private int methodIndex;
+	private int pc;
+	private int kind;
+	private int operator;
+	private int lineNumber;
+	private int sourceStart;
+	private int sourceEnd;
+
+	public OperatorCallSite(byte classFileBytes[], int offset) throws ClassFormatException {
+		this.methodIndex = u2At(classFileBytes, 0, offset);
+		this.pc = u2At(classFileBytes, 2, offset);
+		this.kind = u1At(classFileBytes, 4, offset);
+		this.operator = u1At(classFileBytes, 5, offset);
+		this.lineNumber = u2At(classFileBytes, 6, offset);
+		this.sourceStart = i4At(classFileBytes, 8, offset);
+		this.sourceEnd = i4At(classFileBytes, 12, offset);
+	}
+
+	/**
+	 * @see IOperatorCallSite#getMethodIndex()
+	 */
+	public int getMethodIndex() {
+		return this.methodIndex;
+	}
+
+	/**
+	 * @see IOperatorCallSite#getPC()
+	 */
+	public int getPC() {
+		return this.pc;
+	}
+
+	/**
+	 * @see IOperatorCallSite#getKind()
+	 */
+	public int getKind() {
+		return this.kind;
+	}
+
+	/**
+	 * @see IOperatorCallSite#getOperator()
+	 */
+	public int getOperator() {
+		return this.operator;
+	}
+
+	/**
+	 * @see IOperatorCallSite#getLineNumber()
+	 */
+	public int getLineNumber() {
+		return this.lineNumber;
+	}
+
+	/**
+	 * @see IOperatorCallSite#getSourceStart()
+	 */
+	public int getSourceStart() {
+		return this.sourceStart;
+	}
+
+	/**
+	 * @see IOperatorCallSite#getSourceEnd()
+	 */
+	public int getSourceEnd() {
+		return this.sourceEnd;
+	}
+}
@@ -0,0 +1,56 @@
+package org.eclipse.jdt.internal.core.util;
+
+import org.eclipse.jdt.core.util.ClassFormatException;
+import org.eclipse.jdt.core.util.IConstantPool;
+import org.eclipse.jdt.core.util.IOperatorCallSite;
+import org.eclipse.jdt.core.util.IOperatorCallSitesAttribute;
+
+/**
+ * Default implementation of IOperatorCallSitesAttribute.
+ */
+public class OperatorCallSitesAttribute extends ClassFileAttribute implements IOperatorCallSitesAttribute {
+	private static final IOperatorCallSite[] NO_ENTRIES = new IOperatorCallSite[0];
+
+	private IOperatorCallSite[] entries;
+	private int numberOfCallSites;
+
+	/**
+	 * Constructor for OperatorCallSitesAttribute.
+	 * @param classFileBytes
+	 * @param constantPool
+	 * @param offset
+	 * @throws ClassFormatException
+	 */
+	public OperatorCallSitesAttribute(
+			byte[] classFileBytes,
+			IConstantPool constantPool,
+			int offset) throws ClassFormatException {
+		super(classFileBytes, constantPool, offset);
+		this.numberOfCallSites = (int) u4At(classFileBytes, 6, offset);
+		final int length = this.numberOfCallSites;
+		if (length != 0) {
+			int readOffset = 10;
+			this.entries = new IOperatorCallSite[length];
+			for (int i = 0; i < length; i++) {
+				this.entries[i] = new OperatorCallSite(classFileBytes, offset + readOffset);
+				readOffset += 16;
+			}
+		} else {
+			this.entries = NO_ENTRIES;
+		}
+	}
+
+	/**
+	 * @see IOperatorCallSitesAttribute#getOperatorCallSites()
+	 */
+	public IOperatorCallSite[] getOperatorCallSites() {
+		return this.entries;
+	}
+
+	/**
+	 * @see IOperatorCallSitesAttribute#getOperatorCallSitesLength()
+	 */
+	public int getOperatorCallSitesLength() {
+		return this.numberOfCallSites;
+	}
+}